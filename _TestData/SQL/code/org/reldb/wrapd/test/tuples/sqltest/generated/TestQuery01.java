@@ -0,0 +1,54 @@
+package org.reldb.wrapd.test.tuples.sqltest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class TestQuery01<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("select * from sometable where x = ?");
+
+	@SuppressWarnings("unchecked")
+	protected TestQuery01(SQLTemplate queryTemplate, Class<TestTuple01> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<TestTuple01> query(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm) throws SQLException {
+		return db.query(new TestQuery01<>(sqlTemplate, TestTuple01.class, testparm));
+	}
+
+	public static Stream<TestTuple01> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm) throws SQLException {
+		return db.query(connection, new TestQuery01<>(sqlTemplate, TestTuple01.class, testparm));
+	}
+
+	public static List<TestTuple01> queryAsList(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm) throws SQLException {
+		return db.queryAsList(new TestQuery01<>(sqlTemplate, TestTuple01.class, testparm));
+	}
+
+	public static List<TestTuple01> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm) throws SQLException {
+		return db.queryAsList(connection, new TestQuery01<>(sqlTemplate, TestTuple01.class, testparm));
+	}
+
+	public static TestTuple01[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm) throws SQLException {
+		return db.queryAsArray(new TestQuery01<>(sqlTemplate, TestTuple01.class, testparm));
+	}
+
+	public static TestTuple01[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm) throws SQLException {
+		return db.queryAsArray(connection, new TestQuery01<>(sqlTemplate, TestTuple01.class, testparm));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package org.reldb.wrapd.test.tuples.sqltest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class TestQuery02<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("select * from sometable where x = ? and y = ?");
+
+	@SuppressWarnings("unchecked")
+	protected TestQuery02(SQLTemplate queryTemplate, Class<TestTuple02> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<TestTuple02> query(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm, java.lang.Integer testparm2) throws SQLException {
+		return db.query(new TestQuery02<>(sqlTemplate, TestTuple02.class, testparm, testparm2));
+	}
+
+	public static Stream<TestTuple02> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm, java.lang.Integer testparm2) throws SQLException {
+		return db.query(connection, new TestQuery02<>(sqlTemplate, TestTuple02.class, testparm, testparm2));
+	}
+
+	public static List<TestTuple02> queryAsList(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm, java.lang.Integer testparm2) throws SQLException {
+		return db.queryAsList(new TestQuery02<>(sqlTemplate, TestTuple02.class, testparm, testparm2));
+	}
+
+	public static List<TestTuple02> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm, java.lang.Integer testparm2) throws SQLException {
+		return db.queryAsList(connection, new TestQuery02<>(sqlTemplate, TestTuple02.class, testparm, testparm2));
+	}
+
+	public static TestTuple02[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm, java.lang.Integer testparm2) throws SQLException {
+		return db.queryAsArray(new TestQuery02<>(sqlTemplate, TestTuple02.class, testparm, testparm2));
+	}
+
+	public static TestTuple02[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm, java.lang.Integer testparm2) throws SQLException {
+		return db.queryAsArray(connection, new TestQuery02<>(sqlTemplate, TestTuple02.class, testparm, testparm2));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+		ParameterBinders.bindInteger(statement, 2, (java.lang.Integer)arguments[1]);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package org.reldb.wrapd.test.tuples.sqltest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class TestQuery04<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("select * from sometable where x = ? and y = ? and z = ?");
+
+	@SuppressWarnings("unchecked")
+	protected TestQuery04(SQLTemplate queryTemplate, Class<TestTuple04> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<TestTuple04> query(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm, java.lang.Integer p1, java.lang.Integer testparm3) throws SQLException {
+		return db.query(new TestQuery04<>(sqlTemplate, TestTuple04.class, testparm, p1, testparm3));
+	}
+
+	public static Stream<TestTuple04> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm, java.lang.Integer p1, java.lang.Integer testparm3) throws SQLException {
+		return db.query(connection, new TestQuery04<>(sqlTemplate, TestTuple04.class, testparm, p1, testparm3));
+	}
+
+	public static List<TestTuple04> queryAsList(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm, java.lang.Integer p1, java.lang.Integer testparm3) throws SQLException {
+		return db.queryAsList(new TestQuery04<>(sqlTemplate, TestTuple04.class, testparm, p1, testparm3));
+	}
+
+	public static List<TestTuple04> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm, java.lang.Integer p1, java.lang.Integer testparm3) throws SQLException {
+		return db.queryAsList(connection, new TestQuery04<>(sqlTemplate, TestTuple04.class, testparm, p1, testparm3));
+	}
+
+	public static TestTuple04[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.lang.Integer testparm, java.lang.Integer p1, java.lang.Integer testparm3) throws SQLException {
+		return db.queryAsArray(new TestQuery04<>(sqlTemplate, TestTuple04.class, testparm, p1, testparm3));
+	}
+
+	public static TestTuple04[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer testparm, java.lang.Integer p1, java.lang.Integer testparm3) throws SQLException {
+		return db.queryAsArray(connection, new TestQuery04<>(sqlTemplate, TestTuple04.class, testparm, p1, testparm3));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+		ParameterBinders.bindInteger(statement, 2, (java.lang.Integer)arguments[1]);
+		ParameterBinders.bindInteger(statement, 3, (java.lang.Integer)arguments[2]);
+	}
+}
\ No newline at end of file
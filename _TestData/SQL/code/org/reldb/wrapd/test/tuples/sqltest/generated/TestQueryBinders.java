@@ -0,0 +1,56 @@
+package org.reldb.wrapd.test.tuples.sqltest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class TestQueryBinders<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("select * from sometable where x = ? and y = ? and z = ?");
+
+	@SuppressWarnings("unchecked")
+	protected TestQueryBinders(SQLTemplate queryTemplate, Class<TestTupleBinders> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<TestTupleBinders> query(org.reldb.wrapd.sqldb.Database db, java.lang.Integer x, java.lang.String y, java.util.UUID z) throws SQLException {
+		return db.query(new TestQueryBinders<>(sqlTemplate, TestTupleBinders.class, x, y, z));
+	}
+
+	public static Stream<TestTupleBinders> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer x, java.lang.String y, java.util.UUID z) throws SQLException {
+		return db.query(connection, new TestQueryBinders<>(sqlTemplate, TestTupleBinders.class, x, y, z));
+	}
+
+	public static List<TestTupleBinders> queryAsList(org.reldb.wrapd.sqldb.Database db, java.lang.Integer x, java.lang.String y, java.util.UUID z) throws SQLException {
+		return db.queryAsList(new TestQueryBinders<>(sqlTemplate, TestTupleBinders.class, x, y, z));
+	}
+
+	public static List<TestTupleBinders> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer x, java.lang.String y, java.util.UUID z) throws SQLException {
+		return db.queryAsList(connection, new TestQueryBinders<>(sqlTemplate, TestTupleBinders.class, x, y, z));
+	}
+
+	public static TestTupleBinders[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.lang.Integer x, java.lang.String y, java.util.UUID z) throws SQLException {
+		return db.queryAsArray(new TestQueryBinders<>(sqlTemplate, TestTupleBinders.class, x, y, z));
+	}
+
+	public static TestTupleBinders[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer x, java.lang.String y, java.util.UUID z) throws SQLException {
+		return db.queryAsArray(connection, new TestQueryBinders<>(sqlTemplate, TestTupleBinders.class, x, y, z));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+		ParameterBinders.bindString(statement, 2, (java.lang.String)arguments[1]);
+		database.getParameterBinders().bind(statement, 3, arguments[2]);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package org.reldb.wrapd.test.tuples.sqltest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class TestQueryCached<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("select * from sometable");
+
+	@SuppressWarnings("unchecked")
+	protected TestQueryCached(SQLTemplate queryTemplate, Class<TestTupleCached> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<TestTupleCached> query(org.reldb.wrapd.sqldb.Database db) throws SQLException {
+		return db.queryAll(new TestQueryCached<>(sqlTemplate, TestTupleCached.class));
+	}
+
+	public static Stream<TestTupleCached> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection) throws SQLException {
+		return db.queryAll(connection, new TestQueryCached<>(sqlTemplate, TestTupleCached.class));
+	}
+
+	public static List<TestTupleCached> queryAsList(org.reldb.wrapd.sqldb.Database db) throws SQLException {
+		return db.queryAllAsList(new TestQueryCached<>(sqlTemplate, TestTupleCached.class));
+	}
+
+	public static List<TestTupleCached> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection) throws SQLException {
+		return db.queryAllAsList(connection, new TestQueryCached<>(sqlTemplate, TestTupleCached.class));
+	}
+
+	public static TestTupleCached[] queryAsArray(org.reldb.wrapd.sqldb.Database db) throws SQLException {
+		return db.queryAllAsArray(new TestQueryCached<>(sqlTemplate, TestTupleCached.class));
+	}
+
+	public static TestTupleCached[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection) throws SQLException {
+		return db.queryAllAsArray(connection, new TestQueryCached<>(sqlTemplate, TestTupleCached.class));
+	}
+
+	@Override
+	public boolean isCacheable() {
+		return true;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package org.reldb.wrapd.test.tuples.tupletest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.Tuple;
+import java.sql.*;
+import java.util.*;
+import org.reldb.toolbox.types.Pair;
+import org.reldb.wrapd.sqldb.UpdatableTuple;
+import org.reldb.wrapd.sqldb.Database;
+
+public class TestChangeTrackingTuple extends UpdatableTuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public java.lang.String col1;
+
+	/** Field */
+	public int col2;
+
+	/** 
+	* Constructor for using this UpdatableTuple in non-update context.
+	*/
+	public TestChangeTrackingTuple() {}
+
+	/** 
+	* Constructor for updatable & insertable UpdatableTuple.
+	*
+	* @param db Database.
+	*/
+	public TestChangeTrackingTuple(Database db) {
+		super(db);
+	}
+
+	/** 
+	* Insert this Tuple into table 'sometable'.
+	*
+	* @param connection Connection to database, typically obtained via a Transaction.
+	* @return List of failures to retrieve one or more fields. Empty if all fields retrieved.
+	* @throws SQLException Failure.
+	*/
+	public List<FieldGetFailure> insert(Connection connection) throws SQLException {
+		return insert(connection, "sometable");
+	}
+
+	/** 
+	* Insert this Tuple into table 'sometable'.
+	*
+	* @return List of failures to retrieve one or more fields. Empty if all fields retrieved.
+	* @throws SQLException Failure.
+	*/
+	public List<FieldGetFailure> insert() throws SQLException {
+		return insert("sometable");
+	}
+
+	/** 
+	* Insert multiple Tuples into table 'sometable' using JDBC batching.
+	*
+	* @param db Database.
+	* @param connection Connection to database, typically obtained via a Transaction.
+	* @param tuples Tuples to insert.
+	* @param batchSize Maximum number of Tuples to insert per batch.
+	* @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+	* @throws SQLException Failure.
+	*/
+	public static List<InsertFailure> insertAll(Database db, Connection connection, Iterable<? extends TestChangeTrackingTuple> tuples, int batchSize) throws SQLException {
+		return db.insertAll(connection, "sometable", tuples, batchSize);
+	}
+
+	/** 
+	* Insert multiple Tuples into table 'sometable' using JDBC batching.
+	*
+	* @param db Database.
+	* @param tuples Tuples to insert.
+	* @param batchSize Maximum number of Tuples to insert per batch.
+	* @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+	* @throws SQLException Failure.
+	*/
+	public static List<InsertFailure> insertAll(Database db, Iterable<? extends TestChangeTrackingTuple> tuples, int batchSize) throws SQLException {
+		return db.insertAll("sometable", tuples, batchSize);
+	}
+
+	/** 
+	* Update this Tuple in table 'sometable'.
+	*
+	* @param connection Connection to database, typically obtained via a Transaction.
+	* @return Return a pair of List&lt;FieldGetFailure&gt; where the left item is the new field
+	*         get failures, and the right item is the original (backup) field get failures.
+	*         Both lists in the Pair are empty if successful.
+	* @throws SQLException Failure.
+	*/
+	public Pair<List<FieldGetFailure>, List<FieldGetFailure>> update(Connection connection) throws SQLException {
+		return update(connection, "sometable");
+	}
+
+	/** 
+	* Update this Tuple in table 'sometable'.
+	*
+	* @return Return a pair of List&lt;FieldGetFailure&gt; where the left item is the new field
+	*         get failures, and the right item is the original (backup) field get failures.
+	*         Both lists in the Pair are empty if successful.
+	* @throws SQLException Failure.
+	*/
+	public Pair<List<FieldGetFailure>, List<FieldGetFailure>> update() throws SQLException {
+		return update("sometable");
+	}
+
+	/** This tuple records changes via its setters, so it doesn't need a backup. */
+	@Override
+	protected boolean isChangeTracking() {
+		return true;
+	}
+
+	/** 
+	* Set col1, recording its original value the first time it's changed.
+	*
+	* @param col1 New value of col1.
+	*/
+	public void setCol1(java.lang.String col1) {
+		if (!isChangeRecorded("col1"))
+			recordChange("col1", this.col1);
+		this.col1 = col1;
+	}
+
+	/** 
+	* Set col2, recording its original value the first time it's changed.
+	*
+	* @param col2 New value of col2.
+	*/
+	public void setCol2(int col2) {
+		if (!isChangeRecorded("col2"))
+			recordChange("col2", this.col2);
+		this.col2 = col2;
+	}
+
+	/** 
+	* Populate a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*/
+	private static TestChangeTrackingTuple populate(TestChangeTrackingTuple tuple, ResultSet resultSet) throws SQLException {
+		tuple.col1 = resultSet.getString(1);
+		tuple.col2 = resultSet.getInt(2);
+		if (resultSet.wasNull())
+			throw org.reldb.wrapd.sqldb.ResultSetToTuple.newNullInPrimitiveException("col2");
+		return tuple;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestChangeTrackingTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		return populate(new TestChangeTrackingTuple(), resultSet);
+	}
+
+	/** 
+	* Create an updatable & insertable tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param db Database.
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestChangeTrackingTuple fromResultSet(Database db, ResultSet resultSet) throws SQLException {
+		return populate(new TestChangeTrackingTuple(db), resultSet);
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("TestChangeTrackingTuple {col1 = %s, col2 = %s}", this.col1, this.col2);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package org.reldb.wrapd.test.tuples.tupletest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.ImmutableTuple;
+
+public final class TestImmutableTuple extends ImmutableTuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public final java.lang.String Col1;
+
+	/** Field */
+	public final java.lang.Integer Col2;
+
+	/** Field */
+	public final byte[] Col3;
+
+	/** Field */
+	public final double Col4;
+
+	private transient int hashCodeCache;
+
+	/** 
+	* Constructor.
+	*
+	* @param Col1 Value of Col1.
+	* @param Col2 Value of Col2.
+	* @param Col3 Value of Col3.
+	* @param Col4 Value of Col4.
+	*/
+	public TestImmutableTuple(java.lang.String Col1, java.lang.Integer Col2, byte[] Col3, double Col4) {
+		this.Col1 = Col1;
+		this.Col2 = Col2;
+		this.Col3 = Col3;
+		this.Col4 = Col4;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestImmutableTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		var column1 = resultSet.getString(1);
+		var value2 = resultSet.getInt(2);
+		var column2 = resultSet.wasNull() ? null : value2;
+		var column3 = resultSet.getBytes(3);
+		var column4 = resultSet.getDouble(4);
+		if (resultSet.wasNull())
+			throw org.reldb.wrapd.sqldb.ResultSetToTuple.newNullInPrimitiveException("Col4");
+		return new TestImmutableTuple(column1, column2, column3, column4);
+	}
+
+	/** Return true if the given object is a TestImmutableTuple whose attribute values are equal to this one's. */
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (!(object instanceof TestImmutableTuple))
+			return false;
+		var other = (TestImmutableTuple)object;
+		return java.util.Objects.equals(this.Col1, other.Col1)
+			&& java.util.Objects.equals(this.Col2, other.Col2)
+			&& java.util.Objects.deepEquals(this.Col3, other.Col3)
+			&& Double.compare(this.Col4, other.Col4) == 0;
+	}
+
+	/** Obtain a hash code from this tuple's attribute values. It is computed on first use and retained. */
+	public int hashCode() {
+		var hash = hashCodeCache;
+		if (hash == 0) {
+			hash = 1;
+			hash = 31 * hash + java.util.Objects.hashCode(this.Col1);
+			hash = 31 * hash + java.util.Objects.hashCode(this.Col2);
+			hash = 31 * hash + java.util.Arrays.hashCode(this.Col3);
+			hash = 31 * hash + Double.hashCode(this.Col4);
+			hashCodeCache = hash;
+		}
+		return hash;
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("TestImmutableTuple {Col1 = %s, Col2 = %s, Col3 = %s, Col4 = %s}", this.Col1, this.Col2, this.Col3, this.Col4);
+	}
+}
\ No newline at end of file
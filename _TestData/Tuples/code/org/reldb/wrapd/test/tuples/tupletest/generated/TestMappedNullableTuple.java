@@ -0,0 +1,51 @@
+package org.reldb.wrapd.test.tuples.tupletest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.Tuple;
+
+public class TestMappedNullableTuple extends Tuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public int x;
+
+	/** Field */
+	public java.lang.Integer y;
+
+	/** Field */
+	public java.lang.String z;
+
+	/** 
+	* Populate a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*/
+	private static TestMappedNullableTuple populate(TestMappedNullableTuple tuple, ResultSet resultSet) throws SQLException {
+		tuple.x = resultSet.getInt(1);
+		if (resultSet.wasNull())
+			throw org.reldb.wrapd.sqldb.ResultSetToTuple.newNullInPrimitiveException("x");
+		var value2 = resultSet.getInt(2);
+		tuple.y = resultSet.wasNull() ? null : value2;
+		tuple.z = resultSet.getString(3);
+		return tuple;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestMappedNullableTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		return populate(new TestMappedNullableTuple(), resultSet);
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("TestMappedNullableTuple {x = %s, y = %s, z = %s}", this.x, this.y, this.z);
+	}
+}
\ No newline at end of file
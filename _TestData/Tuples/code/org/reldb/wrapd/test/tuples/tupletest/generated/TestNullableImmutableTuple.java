@@ -0,0 +1,82 @@
+package org.reldb.wrapd.test.tuples.tupletest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.ImmutableTuple;
+
+public final class TestNullableImmutableTuple extends ImmutableTuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public final java.lang.Integer x;
+
+	/** Field */
+	public final java.lang.Integer y;
+
+	/** Field */
+	public final java.lang.String z;
+
+	private transient int hashCodeCache;
+
+	/** 
+	* Constructor.
+	*
+	* @param x Value of x.
+	* @param y Value of y.
+	* @param z Value of z.
+	*/
+	public TestNullableImmutableTuple(java.lang.Integer x, java.lang.Integer y, java.lang.String z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestNullableImmutableTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		var value1 = resultSet.getInt(1);
+		var column1 = resultSet.wasNull() ? null : value1;
+		var value2 = resultSet.getInt(2);
+		var column2 = resultSet.wasNull() ? null : value2;
+		var column3 = resultSet.getString(3);
+		return new TestNullableImmutableTuple(column1, column2, column3);
+	}
+
+	/** Return true if the given object is a TestNullableImmutableTuple whose attribute values are equal to this one's. */
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (!(object instanceof TestNullableImmutableTuple))
+			return false;
+		var other = (TestNullableImmutableTuple)object;
+		return java.util.Objects.equals(this.x, other.x)
+			&& java.util.Objects.equals(this.y, other.y)
+			&& java.util.Objects.equals(this.z, other.z);
+	}
+
+	/** Obtain a hash code from this tuple's attribute values. It is computed on first use and retained. */
+	public int hashCode() {
+		var hash = hashCodeCache;
+		if (hash == 0) {
+			hash = 1;
+			hash = 31 * hash + java.util.Objects.hashCode(this.x);
+			hash = 31 * hash + java.util.Objects.hashCode(this.y);
+			hash = 31 * hash + java.util.Objects.hashCode(this.z);
+			hashCodeCache = hash;
+		}
+		return hash;
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("TestNullableImmutableTuple {x = %s, y = %s, z = %s}", this.x, this.y, this.z);
+	}
+}
\ No newline at end of file
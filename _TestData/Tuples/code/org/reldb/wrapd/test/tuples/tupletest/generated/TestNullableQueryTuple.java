@@ -0,0 +1,50 @@
+package org.reldb.wrapd.test.tuples.tupletest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.Tuple;
+
+public class TestNullableQueryTuple extends Tuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public java.lang.Integer x;
+
+	/** Field */
+	public java.lang.Integer y;
+
+	/** Field */
+	public java.lang.String z;
+
+	/** 
+	* Populate a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*/
+	private static TestNullableQueryTuple populate(TestNullableQueryTuple tuple, ResultSet resultSet) throws SQLException {
+		var value1 = resultSet.getInt(1);
+		tuple.x = resultSet.wasNull() ? null : value1;
+		var value2 = resultSet.getInt(2);
+		tuple.y = resultSet.wasNull() ? null : value2;
+		tuple.z = resultSet.getString(3);
+		return tuple;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestNullableQueryTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		return populate(new TestNullableQueryTuple(), resultSet);
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("TestNullableQueryTuple {x = %s, y = %s, z = %s}", this.x, this.y, this.z);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package org.reldb.wrapd.test.tuples.tupletest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.Tuple;
+import java.sql.*;
+import java.util.*;
+import org.reldb.toolbox.types.Pair;
+import org.reldb.wrapd.sqldb.UpdatableTuple;
+import org.reldb.wrapd.sqldb.Database;
+
+public class TestNullableTableTuple extends UpdatableTuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public int x;
+
+	/** Field */
+	public java.lang.Integer y;
+
+	/** Field */
+	public java.lang.String z;
+
+	/** 
+	* Constructor for using this UpdatableTuple in non-update context.
+	*/
+	public TestNullableTableTuple() {}
+
+	/** 
+	* Constructor for updatable & insertable UpdatableTuple.
+	*
+	* @param db Database.
+	*/
+	public TestNullableTableTuple(Database db) {
+		super(db);
+	}
+
+	/** 
+	* Insert this Tuple into table '$$nullable'.
+	*
+	* @param connection Connection to database, typically obtained via a Transaction.
+	* @return List of failures to retrieve one or more fields. Empty if all fields retrieved.
+	* @throws SQLException Failure.
+	*/
+	public List<FieldGetFailure> insert(Connection connection) throws SQLException {
+		return insert(connection, "$$nullable");
+	}
+
+	/** 
+	* Insert this Tuple into table '$$nullable'.
+	*
+	* @return List of failures to retrieve one or more fields. Empty if all fields retrieved.
+	* @throws SQLException Failure.
+	*/
+	public List<FieldGetFailure> insert() throws SQLException {
+		return insert("$$nullable");
+	}
+
+	/** 
+	* Insert multiple Tuples into table '$$nullable' using JDBC batching.
+	*
+	* @param db Database.
+	* @param connection Connection to database, typically obtained via a Transaction.
+	* @param tuples Tuples to insert.
+	* @param batchSize Maximum number of Tuples to insert per batch.
+	* @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+	* @throws SQLException Failure.
+	*/
+	public static List<InsertFailure> insertAll(Database db, Connection connection, Iterable<? extends TestNullableTableTuple> tuples, int batchSize) throws SQLException {
+		return db.insertAll(connection, "$$nullable", tuples, batchSize);
+	}
+
+	/** 
+	* Insert multiple Tuples into table '$$nullable' using JDBC batching.
+	*
+	* @param db Database.
+	* @param tuples Tuples to insert.
+	* @param batchSize Maximum number of Tuples to insert per batch.
+	* @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+	* @throws SQLException Failure.
+	*/
+	public static List<InsertFailure> insertAll(Database db, Iterable<? extends TestNullableTableTuple> tuples, int batchSize) throws SQLException {
+		return db.insertAll("$$nullable", tuples, batchSize);
+	}
+
+	/** 
+	* Update this Tuple in table '$$nullable'.
+	*
+	* @param connection Connection to database, typically obtained via a Transaction.
+	* @return Return a pair of List&lt;FieldGetFailure&gt; where the left item is the new field
+	*         get failures, and the right item is the original (backup) field get failures.
+	*         Both lists in the Pair are empty if successful.
+	* @throws SQLException Failure.
+	*/
+	public Pair<List<FieldGetFailure>, List<FieldGetFailure>> update(Connection connection) throws SQLException {
+		return update(connection, "$$nullable");
+	}
+
+	/** 
+	* Update this Tuple in table '$$nullable'.
+	*
+	* @return Return a pair of List&lt;FieldGetFailure&gt; where the left item is the new field
+	*         get failures, and the right item is the original (backup) field get failures.
+	*         Both lists in the Pair are empty if successful.
+	* @throws SQLException Failure.
+	*/
+	public Pair<List<FieldGetFailure>, List<FieldGetFailure>> update() throws SQLException {
+		return update("$$nullable");
+	}
+
+	/** 
+	* Populate a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*/
+	private static TestNullableTableTuple populate(TestNullableTableTuple tuple, ResultSet resultSet) throws SQLException {
+		tuple.x = resultSet.getInt(1);
+		if (resultSet.wasNull())
+			throw org.reldb.wrapd.sqldb.ResultSetToTuple.newNullInPrimitiveException("x");
+		var value2 = resultSet.getInt(2);
+		tuple.y = resultSet.wasNull() ? null : value2;
+		tuple.z = resultSet.getString(3);
+		return tuple;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestNullableTableTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		return populate(new TestNullableTableTuple(), resultSet);
+	}
+
+	/** 
+	* Create an updatable & insertable tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param db Database.
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestNullableTableTuple fromResultSet(Database db, ResultSet resultSet) throws SQLException {
+		return populate(new TestNullableTableTuple(db), resultSet);
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("TestNullableTableTuple {x = %s, y = %s, z = %s}", this.x, this.y, this.z);
+	}
+}
\ No newline at end of file
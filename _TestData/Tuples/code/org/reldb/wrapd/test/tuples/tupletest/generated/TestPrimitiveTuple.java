@@ -0,0 +1,48 @@
+package org.reldb.wrapd.test.tuples.tupletest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.Tuple;
+
+public class TestPrimitiveTuple extends Tuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public int x;
+
+	/** Field */
+	public int y;
+
+	/** 
+	* Populate a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*/
+	private static TestPrimitiveTuple populate(TestPrimitiveTuple tuple, ResultSet resultSet) throws SQLException {
+		tuple.x = resultSet.getInt(1);
+		if (resultSet.wasNull())
+			throw org.reldb.wrapd.sqldb.ResultSetToTuple.newNullInPrimitiveException("x");
+		tuple.y = resultSet.getInt(2);
+		if (resultSet.wasNull())
+			throw org.reldb.wrapd.sqldb.ResultSetToTuple.newNullInPrimitiveException("y");
+		return tuple;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestPrimitiveTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		return populate(new TestPrimitiveTuple(), resultSet);
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("TestPrimitiveTuple {x = %s, y = %s}", this.x, this.y);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package org.reldb.wrapd.test.tuples.tupletest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.Tuple;
+
+public class TestTuple extends Tuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public java.lang.String Col1;
+
+	/** Field */
+	public java.lang.Integer Col2;
+
+	/** Field */
+	public java.lang.Boolean Col3;
+
+	/** Field */
+	public java.lang.Double Col4;
+
+	/** 
+	* Populate a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*/
+	private static TestTuple populate(TestTuple tuple, ResultSet resultSet) throws SQLException {
+		tuple.Col1 = resultSet.getString(1);
+		var value2 = resultSet.getInt(2);
+		tuple.Col2 = resultSet.wasNull() ? null : value2;
+		var value3 = resultSet.getBoolean(3);
+		tuple.Col3 = resultSet.wasNull() ? null : value3;
+		var value4 = resultSet.getDouble(4);
+		tuple.Col4 = resultSet.wasNull() ? null : value4;
+		return tuple;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static TestTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		return populate(new TestTuple(), resultSet);
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("TestTuple {Col1 = %s, Col2 = %s, Col3 = %s, Col4 = %s}", this.Col1, this.Col2, this.Col3, this.Col4);
+	}
+}
\ No newline at end of file
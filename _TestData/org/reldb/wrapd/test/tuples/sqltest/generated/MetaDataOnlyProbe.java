@@ -0,0 +1,54 @@
+package org.reldb.wrapd.test.tuples.sqltest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class MetaDataOnlyProbe<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("SELECT x, y FROM $$probe WHERE x > ?");
+
+	@SuppressWarnings("unchecked")
+	protected MetaDataOnlyProbe(SQLTemplate queryTemplate, Class<MetaDataOnlyProbeTuple> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<MetaDataOnlyProbeTuple> query(org.reldb.wrapd.sqldb.Database db, java.lang.Integer lower) throws SQLException {
+		return db.query(new MetaDataOnlyProbe<>(sqlTemplate, MetaDataOnlyProbeTuple.class, lower));
+	}
+
+	public static Stream<MetaDataOnlyProbeTuple> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer lower) throws SQLException {
+		return db.query(connection, new MetaDataOnlyProbe<>(sqlTemplate, MetaDataOnlyProbeTuple.class, lower));
+	}
+
+	public static List<MetaDataOnlyProbeTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.lang.Integer lower) throws SQLException {
+		return db.queryAsList(new MetaDataOnlyProbe<>(sqlTemplate, MetaDataOnlyProbeTuple.class, lower));
+	}
+
+	public static List<MetaDataOnlyProbeTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer lower) throws SQLException {
+		return db.queryAsList(connection, new MetaDataOnlyProbe<>(sqlTemplate, MetaDataOnlyProbeTuple.class, lower));
+	}
+
+	public static MetaDataOnlyProbeTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.lang.Integer lower) throws SQLException {
+		return db.queryAsArray(new MetaDataOnlyProbe<>(sqlTemplate, MetaDataOnlyProbeTuple.class, lower));
+	}
+
+	public static MetaDataOnlyProbeTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer lower) throws SQLException {
+		return db.queryAsArray(connection, new MetaDataOnlyProbe<>(sqlTemplate, MetaDataOnlyProbeTuple.class, lower));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package org.reldb.wrapd.test.tuples.sqltest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.Tuple;
+
+public class MetaDataOnlyProbeTuple extends Tuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public java.lang.Integer x;
+
+	/** Field */
+	public java.lang.String y;
+
+	/** 
+	* Populate a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*/
+	private static MetaDataOnlyProbeTuple populate(MetaDataOnlyProbeTuple tuple, ResultSet resultSet) throws SQLException {
+		var value1 = resultSet.getInt(1);
+		tuple.x = resultSet.wasNull() ? null : value1;
+		tuple.y = resultSet.getString(2);
+		return tuple;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static MetaDataOnlyProbeTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		return populate(new MetaDataOnlyProbeTuple(), resultSet);
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("MetaDataOnlyProbeTuple {x = %s, y = %s}", this.x, this.y);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.reldb.wrapd.test.tuples.sqltest.generated;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Optional;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+import org.reldb.wrapd.sqldb.ValueOf;
+
+public class MetaDataOnlyProbeValueOf extends ValueOf {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("SELECT y FROM $$probe WHERE x > ?");
+
+	protected MetaDataOnlyProbeValueOf(SQLTemplate queryTemplate, Object... arguments) {
+		super(queryTemplate, arguments);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static Optional<java.lang.String> valueOf(org.reldb.wrapd.sqldb.Database db, java.lang.Integer lower) throws SQLException {
+		return (Optional<java.lang.String>)db.valueOf(new MetaDataOnlyProbeValueOf(sqlTemplate, lower));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static Optional<java.lang.String> valueOf(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer lower) throws SQLException {
+		return (Optional<java.lang.String>)db.valueOf(connection, new MetaDataOnlyProbeValueOf(sqlTemplate, lower));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package org.reldb.wrapd.test.tuples.sqltest.incremental;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class IncrementalQuery<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("SELECT * FROM $$incremental WHERE x = ?");
+
+	@SuppressWarnings("unchecked")
+	protected IncrementalQuery(SQLTemplate queryTemplate, Class<IncrementalQueryTuple> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<IncrementalQueryTuple> query(org.reldb.wrapd.sqldb.Database db, java.lang.Integer x) throws SQLException {
+		return db.query(new IncrementalQuery<>(sqlTemplate, IncrementalQueryTuple.class, x));
+	}
+
+	public static Stream<IncrementalQueryTuple> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer x) throws SQLException {
+		return db.query(connection, new IncrementalQuery<>(sqlTemplate, IncrementalQueryTuple.class, x));
+	}
+
+	public static List<IncrementalQueryTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.lang.Integer x) throws SQLException {
+		return db.queryAsList(new IncrementalQuery<>(sqlTemplate, IncrementalQueryTuple.class, x));
+	}
+
+	public static List<IncrementalQueryTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer x) throws SQLException {
+		return db.queryAsList(connection, new IncrementalQuery<>(sqlTemplate, IncrementalQueryTuple.class, x));
+	}
+
+	public static IncrementalQueryTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.lang.Integer x) throws SQLException {
+		return db.queryAsArray(new IncrementalQuery<>(sqlTemplate, IncrementalQueryTuple.class, x));
+	}
+
+	public static IncrementalQueryTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer x) throws SQLException {
+		return db.queryAsArray(connection, new IncrementalQuery<>(sqlTemplate, IncrementalQueryTuple.class, x));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+	}
+}
\ No newline at end of file
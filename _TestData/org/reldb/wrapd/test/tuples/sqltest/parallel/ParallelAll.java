@@ -0,0 +1,48 @@
+package org.reldb.wrapd.test.tuples.sqltest.parallel;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class ParallelAll<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("SELECT * FROM $$parallel");
+
+	@SuppressWarnings("unchecked")
+	protected ParallelAll(SQLTemplate queryTemplate, Class<ParallelAllTuple> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<ParallelAllTuple> query(org.reldb.wrapd.sqldb.Database db) throws SQLException {
+		return db.queryAll(new ParallelAll<>(sqlTemplate, ParallelAllTuple.class));
+	}
+
+	public static Stream<ParallelAllTuple> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection) throws SQLException {
+		return db.queryAll(connection, new ParallelAll<>(sqlTemplate, ParallelAllTuple.class));
+	}
+
+	public static List<ParallelAllTuple> queryAsList(org.reldb.wrapd.sqldb.Database db) throws SQLException {
+		return db.queryAllAsList(new ParallelAll<>(sqlTemplate, ParallelAllTuple.class));
+	}
+
+	public static List<ParallelAllTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection) throws SQLException {
+		return db.queryAllAsList(connection, new ParallelAll<>(sqlTemplate, ParallelAllTuple.class));
+	}
+
+	public static ParallelAllTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db) throws SQLException {
+		return db.queryAllAsArray(new ParallelAll<>(sqlTemplate, ParallelAllTuple.class));
+	}
+
+	public static ParallelAllTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection) throws SQLException {
+		return db.queryAllAsArray(connection, new ParallelAll<>(sqlTemplate, ParallelAllTuple.class));
+	}
+}
\ No newline at end of file
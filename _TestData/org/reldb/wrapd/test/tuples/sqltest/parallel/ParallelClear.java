@@ -0,0 +1,34 @@
+package org.reldb.wrapd.test.tuples.sqltest.parallel;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+import org.reldb.wrapd.sqldb.Update;
+
+public class ParallelClear extends Update {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("DELETE FROM $$parallel WHERE x = ?");
+
+	@SuppressWarnings("unchecked")
+	protected ParallelClear(SQLTemplate queryTemplate, Object... arguments) {
+		super(queryTemplate, arguments);
+	}
+
+	public static boolean update(org.reldb.wrapd.sqldb.Database db, java.lang.Integer xValue) throws SQLException {
+		return db.update(new ParallelClear(sqlTemplate, xValue));
+	}
+
+	public static boolean update(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return db.update(connection, new ParallelClear(sqlTemplate, xValue));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package org.reldb.wrapd.test.tuples.sqltest.parallel;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class ParallelWhere<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("SELECT * FROM $$parallel WHERE x > ? AND x < ?");
+
+	@SuppressWarnings("unchecked")
+	protected ParallelWhere(SQLTemplate queryTemplate, Class<ParallelWhereTuple> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<ParallelWhereTuple> query(org.reldb.wrapd.sqldb.Database db, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return db.query(new ParallelWhere<>(sqlTemplate, ParallelWhereTuple.class, lower, higher));
+	}
+
+	public static Stream<ParallelWhereTuple> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return db.query(connection, new ParallelWhere<>(sqlTemplate, ParallelWhereTuple.class, lower, higher));
+	}
+
+	public static List<ParallelWhereTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return db.queryAsList(new ParallelWhere<>(sqlTemplate, ParallelWhereTuple.class, lower, higher));
+	}
+
+	public static List<ParallelWhereTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return db.queryAsList(connection, new ParallelWhere<>(sqlTemplate, ParallelWhereTuple.class, lower, higher));
+	}
+
+	public static ParallelWhereTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return db.queryAsArray(new ParallelWhere<>(sqlTemplate, ParallelWhereTuple.class, lower, higher));
+	}
+
+	public static ParallelWhereTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return db.queryAsArray(connection, new ParallelWhere<>(sqlTemplate, ParallelWhereTuple.class, lower, higher));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+		ParameterBinders.bindInteger(statement, 2, (java.lang.Integer)arguments[1]);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.reldb.wrapd.test.tuples.sqltest.parallel;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Optional;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+import org.reldb.wrapd.sqldb.ValueOf;
+
+public class ParallelYOf extends ValueOf {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("SELECT y FROM $$parallel WHERE x = ?");
+
+	protected ParallelYOf(SQLTemplate queryTemplate, Object... arguments) {
+		super(queryTemplate, arguments);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static Optional<java.lang.String> valueOf(org.reldb.wrapd.sqldb.Database db, java.lang.Integer xValue) throws SQLException {
+		return (Optional<java.lang.String>)db.valueOf(new ParallelYOf(sqlTemplate, xValue));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static Optional<java.lang.String> valueOf(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return (Optional<java.lang.String>)db.valueOf(connection, new ParallelYOf(sqlTemplate, xValue));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+	}
+}
\ No newline at end of file
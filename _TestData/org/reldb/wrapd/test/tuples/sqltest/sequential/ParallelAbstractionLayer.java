@@ -0,0 +1,190 @@
+package org.reldb.wrapd.test.tuples.sqltest.sequential;
+
+import java.util.stream.*;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.reldb.wrapd.sqldb.AsyncDatabase;
+import org.reldb.wrapd.sqldb.Database;
+
+public class ParallelAbstractionLayer {
+
+	private final Database database;
+	private final AsyncDatabase asyncDatabase;
+
+	public ParallelAbstractionLayer(Database database, Executor executor) {
+		this.database = database;
+		this.asyncDatabase = new AsyncDatabase(database, executor);
+	}
+
+	public ParallelAbstractionLayer(Database database) {
+		this(database, AsyncDatabase.getDefaultExecutor());
+	}
+
+	public Database getDatabase() {
+		return database;
+	}
+
+	public AsyncDatabase getAsyncDatabase() {
+		return asyncDatabase;
+	}
+
+	public List<ParallelAllTuple> parallelAllAsList() throws SQLException {
+		return ParallelAll.queryAsList(database);
+	}
+
+	public CompletableFuture<List<ParallelAllTuple>> parallelAllAsListAsync() {
+		return asyncDatabase.supplyAsync(db -> ParallelAll.queryAsList(db));
+	}
+
+	public List<ParallelAllTuple> parallelAllAsList(java.sql.Connection connection) throws SQLException {
+		return ParallelAll.queryAsList(database, connection);
+	}
+
+	public ParallelAllTuple[] parallelAllAsArray() throws SQLException {
+		return ParallelAll.queryAsArray(database);
+	}
+
+	public CompletableFuture<ParallelAllTuple[]> parallelAllAsArrayAsync() {
+		return asyncDatabase.supplyAsync(db -> ParallelAll.queryAsArray(db));
+	}
+
+	public ParallelAllTuple[] parallelAllAsArray(java.sql.Connection connection) throws SQLException {
+		return ParallelAll.queryAsArray(database, connection);
+	}
+
+	public Stream<ParallelAllTuple> parallelAll() throws SQLException {
+		return ParallelAll.query(database);
+	}
+
+	public CompletableFuture<Stream<ParallelAllTuple>> parallelAllAsync() {
+		return asyncDatabase.supplyAsync(db -> ParallelAll.query(db));
+	}
+
+	public Stream<ParallelAllTuple> parallelAll(java.sql.Connection connection) throws SQLException {
+		return ParallelAll.query(database, connection);
+	}
+
+	public boolean parallelClear(java.lang.Integer xValue) throws SQLException {
+		return ParallelClear.update(database, xValue);
+	}
+
+	public CompletableFuture<Boolean> parallelClearAsync(java.lang.Integer xValue) {
+		return asyncDatabase.supplyAsync(db -> ParallelClear.update(db, xValue));
+	}
+
+	public boolean parallelClear(java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return ParallelClear.update(database, connection, xValue);
+	}
+
+	public Optional<java.lang.Integer> parallelCount() throws SQLException {
+		return ParallelCount.valueOf(database);
+	}
+
+	public CompletableFuture<Optional<java.lang.Integer>> parallelCountAsync() {
+		return asyncDatabase.supplyAsync(db -> ParallelCount.valueOf(db));
+	}
+
+	public Optional<java.lang.Integer> parallelCount(java.sql.Connection connection) throws SQLException {
+		return ParallelCount.valueOf(database, connection);
+	}
+
+	public java.util.OptionalInt parallelCountAsInt() throws SQLException {
+		return ParallelCount.valueOfAsInt(database);
+	}
+
+	public CompletableFuture<java.util.OptionalInt> parallelCountAsIntAsync() {
+		return asyncDatabase.supplyAsync(db -> ParallelCount.valueOfAsInt(db));
+	}
+
+	public java.util.OptionalInt parallelCountAsInt(java.sql.Connection connection) throws SQLException {
+		return ParallelCount.valueOfAsInt(database, connection);
+	}
+
+	public List<ParallelWhereTuple> parallelWhereAsList(java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return ParallelWhere.queryAsList(database, lower, higher);
+	}
+
+	public CompletableFuture<List<ParallelWhereTuple>> parallelWhereAsListAsync(java.lang.Integer lower, java.lang.Integer higher) {
+		return asyncDatabase.supplyAsync(db -> ParallelWhere.queryAsList(db, lower, higher));
+	}
+
+	public List<ParallelWhereTuple> parallelWhereAsList(java.sql.Connection connection, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return ParallelWhere.queryAsList(database, connection, lower, higher);
+	}
+
+	public ParallelWhereTuple[] parallelWhereAsArray(java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return ParallelWhere.queryAsArray(database, lower, higher);
+	}
+
+	public CompletableFuture<ParallelWhereTuple[]> parallelWhereAsArrayAsync(java.lang.Integer lower, java.lang.Integer higher) {
+		return asyncDatabase.supplyAsync(db -> ParallelWhere.queryAsArray(db, lower, higher));
+	}
+
+	public ParallelWhereTuple[] parallelWhereAsArray(java.sql.Connection connection, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return ParallelWhere.queryAsArray(database, connection, lower, higher);
+	}
+
+	public Stream<ParallelWhereTuple> parallelWhere(java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return ParallelWhere.query(database, lower, higher);
+	}
+
+	public CompletableFuture<Stream<ParallelWhereTuple>> parallelWhereAsync(java.lang.Integer lower, java.lang.Integer higher) {
+		return asyncDatabase.supplyAsync(db -> ParallelWhere.query(db, lower, higher));
+	}
+
+	public Stream<ParallelWhereTuple> parallelWhere(java.sql.Connection connection, java.lang.Integer lower, java.lang.Integer higher) throws SQLException {
+		return ParallelWhere.query(database, connection, lower, higher);
+	}
+
+	public List<ParallelYTuple> parallelYAsList(java.lang.Integer xValue) throws SQLException {
+		return ParallelY.queryAsList(database, xValue);
+	}
+
+	public CompletableFuture<List<ParallelYTuple>> parallelYAsListAsync(java.lang.Integer xValue) {
+		return asyncDatabase.supplyAsync(db -> ParallelY.queryAsList(db, xValue));
+	}
+
+	public List<ParallelYTuple> parallelYAsList(java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return ParallelY.queryAsList(database, connection, xValue);
+	}
+
+	public ParallelYTuple[] parallelYAsArray(java.lang.Integer xValue) throws SQLException {
+		return ParallelY.queryAsArray(database, xValue);
+	}
+
+	public CompletableFuture<ParallelYTuple[]> parallelYAsArrayAsync(java.lang.Integer xValue) {
+		return asyncDatabase.supplyAsync(db -> ParallelY.queryAsArray(db, xValue));
+	}
+
+	public ParallelYTuple[] parallelYAsArray(java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return ParallelY.queryAsArray(database, connection, xValue);
+	}
+
+	public Stream<ParallelYTuple> parallelY(java.lang.Integer xValue) throws SQLException {
+		return ParallelY.query(database, xValue);
+	}
+
+	public CompletableFuture<Stream<ParallelYTuple>> parallelYAsync(java.lang.Integer xValue) {
+		return asyncDatabase.supplyAsync(db -> ParallelY.query(db, xValue));
+	}
+
+	public Stream<ParallelYTuple> parallelY(java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return ParallelY.query(database, connection, xValue);
+	}
+
+	public Optional<java.lang.String> parallelYOf(java.lang.Integer xValue) throws SQLException {
+		return ParallelYOf.valueOf(database, xValue);
+	}
+
+	public CompletableFuture<Optional<java.lang.String>> parallelYOfAsync(java.lang.Integer xValue) {
+		return asyncDatabase.supplyAsync(db -> ParallelYOf.valueOf(db, xValue));
+	}
+
+	public Optional<java.lang.String> parallelYOf(java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return ParallelYOf.valueOf(database, connection, xValue);
+	}
+
+}
@@ -0,0 +1,38 @@
+package org.reldb.wrapd.test.tuples.sqltest.sequential;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Optional;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+import org.reldb.wrapd.sqldb.ValueOf;
+
+public class ParallelCount extends ValueOf {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("SELECT COUNT(*) FROM $$parallel");
+
+	protected ParallelCount(SQLTemplate queryTemplate, Object... arguments) {
+		super(queryTemplate, arguments);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static Optional<java.lang.Integer> valueOf(org.reldb.wrapd.sqldb.Database db) throws SQLException {
+		return (Optional<java.lang.Integer>)db.valueOfAll(new ParallelCount(sqlTemplate));
+	}
+
+	@SuppressWarnings("unchecked")
+	public static Optional<java.lang.Integer> valueOf(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection) throws SQLException {
+		return (Optional<java.lang.Integer>)db.valueOfAll(connection, new ParallelCount(sqlTemplate));
+	}
+
+	public static java.util.OptionalInt valueOfAsInt(org.reldb.wrapd.sqldb.Database db) throws SQLException {
+		return db.intValueOf(new ParallelCount(sqlTemplate));
+	}
+
+	public static java.util.OptionalInt valueOfAsInt(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection) throws SQLException {
+		return db.intValueOf(connection, new ParallelCount(sqlTemplate));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package org.reldb.wrapd.test.tuples.sqltest.sequential;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.reldb.wrapd.sqldb.Tuple;
+import org.reldb.wrapd.sqldb.Database;
+import org.reldb.wrapd.sqldb.ParameterBinders;
+import org.reldb.wrapd.sqldb.Query;
+import org.reldb.wrapd.sqldb.SQLTemplate;
+
+public class ParallelY<T extends Tuple> extends Query<T> {
+	private final static SQLTemplate sqlTemplate = new SQLTemplate("SELECT y FROM $$parallel WHERE x = ?");
+
+	@SuppressWarnings("unchecked")
+	protected ParallelY(SQLTemplate queryTemplate, Class<ParallelYTuple> tupleClass, Object... arguments) {
+		super(queryTemplate, (Class<T>)tupleClass, arguments);
+	}
+
+	public static Stream<ParallelYTuple> query(org.reldb.wrapd.sqldb.Database db, java.lang.Integer xValue) throws SQLException {
+		return db.query(new ParallelY<>(sqlTemplate, ParallelYTuple.class, xValue));
+	}
+
+	public static Stream<ParallelYTuple> query(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return db.query(connection, new ParallelY<>(sqlTemplate, ParallelYTuple.class, xValue));
+	}
+
+	public static List<ParallelYTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.lang.Integer xValue) throws SQLException {
+		return db.queryAsList(new ParallelY<>(sqlTemplate, ParallelYTuple.class, xValue));
+	}
+
+	public static List<ParallelYTuple> queryAsList(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return db.queryAsList(connection, new ParallelY<>(sqlTemplate, ParallelYTuple.class, xValue));
+	}
+
+	public static ParallelYTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.lang.Integer xValue) throws SQLException {
+		return db.queryAsArray(new ParallelY<>(sqlTemplate, ParallelYTuple.class, xValue));
+	}
+
+	public static ParallelYTuple[] queryAsArray(org.reldb.wrapd.sqldb.Database db, java.sql.Connection connection, java.lang.Integer xValue) throws SQLException {
+		return db.queryAsArray(connection, new ParallelY<>(sqlTemplate, ParallelYTuple.class, xValue));
+	}
+
+	@Override
+	protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+		var arguments = getArguments();
+		ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);
+	}
+}
\ No newline at end of file
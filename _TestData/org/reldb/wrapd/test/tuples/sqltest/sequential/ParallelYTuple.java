@@ -0,0 +1,64 @@
+package org.reldb.wrapd.test.tuples.sqltest.sequential;
+
+/* WARNING: Auto-generated code. DO NOT EDIT!!! */
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.reldb.wrapd.sqldb.ImmutableTuple;
+
+public final class ParallelYTuple extends ImmutableTuple {
+	public static final long serialVersionUID = 0L;
+
+	/** Field */
+	public final java.lang.String y;
+
+	private transient int hashCodeCache;
+
+	/** 
+	* Constructor.
+	*
+	* @param y Value of y.
+	*/
+	public ParallelYTuple(java.lang.String y) {
+		this.y = y;
+	}
+
+	/** 
+	* Create a tuple from the current row of a ResultSet, without reflection.
+	* The ResultSet columns must be this tuple's attributes in the order they were generated.
+	*
+	* @param resultSet ResultSet positioned on a row.
+	* @return New tuple.
+	* @throws SQLException Failure.
+	*/
+	public static ParallelYTuple fromResultSet(ResultSet resultSet) throws SQLException {
+		var column1 = resultSet.getString(1);
+		return new ParallelYTuple(column1);
+	}
+
+	/** Return true if the given object is a ParallelYTuple whose attribute values are equal to this one's. */
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (!(object instanceof ParallelYTuple))
+			return false;
+		var other = (ParallelYTuple)object;
+		return java.util.Objects.equals(this.y, other.y);
+	}
+
+	/** Obtain a hash code from this tuple's attribute values. It is computed on first use and retained. */
+	public int hashCode() {
+		var hash = hashCodeCache;
+		if (hash == 0) {
+			hash = 1;
+			hash = 31 * hash + java.util.Objects.hashCode(this.y);
+			hashCodeCache = hash;
+		}
+		return hash;
+	}
+
+	/** Create string representation of this tuple. */
+	public String toString() {
+		return String.format("ParallelYTuple {y = %s}", this.y);
+	}
+}
\ No newline at end of file
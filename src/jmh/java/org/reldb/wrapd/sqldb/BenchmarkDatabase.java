@@ -0,0 +1,176 @@
+package org.reldb.wrapd.sqldb;
+
+import org.reldb.wrapd.response.Result;
+import org.reldb.wrapd.sqldb.sqlite.SQLiteCustomisations;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+
+import java.io.File;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * In-process SQLite Database shared by the benchmarks.
+ */
+class BenchmarkDatabase {
+
+    /** Table name prefix used by benchmark Database instances. */
+    static final String tablenamePrefix = "Bench_";
+
+    /**
+     * Create a DataSource for a fresh SQLite file.
+     *
+     * @param name Name of the SQLite file, without extension.
+     * @return DataSource.
+     */
+    static DataSource createDataSource(String name) {
+        var file = new File(System.getProperty("java.io.tmpdir"), "wrapd_" + name + ".sqlite");
+        file.delete();
+        var dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + file.getAbsolutePath());
+        return dataSource;
+    }
+
+    /**
+     * Create a Database for a DataSource.
+     *
+     * @param dataSource DataSource.
+     * @return Database.
+     */
+    static Database create(DataSource dataSource) {
+        return new Database(dataSource, tablenamePrefix, new SQLiteCustomisations());
+    }
+
+    /**
+     * Create a Database backed by a fresh SQLite file.
+     *
+     * @param name Name of the SQLite file, without extension.
+     * @return Database.
+     */
+    static Database create(String name) {
+        return create(createDataSource(name));
+    }
+
+    /**
+     * Create and populate the $$wide table with the given number of rows.
+     *
+     * @param database Database.
+     * @param rows Number of rows.
+     * @throws SQLException Error.
+     */
+    static void createWideTable(Database database, int rows) throws SQLException {
+        database.updateAll("DROP TABLE IF EXISTS $$wide");
+        database.updateAll("CREATE TABLE $$wide (" +
+                "id INTEGER, " +
+                "c01 VARCHAR(20), c02 INTEGER, c03 DOUBLE, c04 VARCHAR(20), " +
+                "c05 INTEGER, c06 DOUBLE, c07 VARCHAR(20), c08 INTEGER, " +
+                "c09 DOUBLE, c10 VARCHAR(20), c11 INTEGER, " +
+                "PRIMARY KEY (id))");
+        database.transact(xact -> {
+            for (var i = 0; i < rows; i++)
+                xact.update("INSERT INTO $$wide VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        i, "a" + i, i * 2, i * 0.5, "b" + i, i * 3, i * 0.25, "c" + i, i * 4, i * 0.125, "d" + i, i * 5);
+            return Result.OK;
+        });
+    }
+
+    /** Two-column tuple, populated via reflection. */
+    public static class NarrowTuple extends UpdatableTuple {
+        public Integer id;
+        public String c01;
+
+        public NarrowTuple() {}
+
+        public NarrowTuple(Database database) {
+            super(database);
+        }
+    }
+
+    /** Two-column tuple with a fromResultSet(...) mapper, as emitted by TupleTypeGenerator. */
+    public static class MappedNarrowTuple extends NarrowTuple {
+        public MappedNarrowTuple() {}
+
+        public MappedNarrowTuple(Database database) {
+            super(database);
+        }
+
+        private static MappedNarrowTuple populate(MappedNarrowTuple tuple, ResultSet resultSet) throws SQLException {
+            var value1 = resultSet.getInt(1);
+            tuple.id = resultSet.wasNull() ? null : value1;
+            tuple.c01 = resultSet.getString(2);
+            return tuple;
+        }
+
+        public static MappedNarrowTuple fromResultSet(ResultSet resultSet) throws SQLException {
+            return populate(new MappedNarrowTuple(), resultSet);
+        }
+
+        public static MappedNarrowTuple fromResultSet(Database db, ResultSet resultSet) throws SQLException {
+            return populate(new MappedNarrowTuple(db), resultSet);
+        }
+    }
+
+    /** Twelve-column tuple, populated via reflection. */
+    public static class WideTuple extends UpdatableTuple {
+        public Integer id;
+        public String c01;
+        public Integer c02;
+        public Double c03;
+        public String c04;
+        public Integer c05;
+        public Double c06;
+        public String c07;
+        public Integer c08;
+        public Double c09;
+        public String c10;
+        public Integer c11;
+
+        public WideTuple() {}
+
+        public WideTuple(Database database) {
+            super(database);
+        }
+    }
+
+    /** Twelve-column tuple with a fromResultSet(...) mapper, as emitted by TupleTypeGenerator. */
+    public static class MappedWideTuple extends WideTuple {
+        public MappedWideTuple() {}
+
+        public MappedWideTuple(Database database) {
+            super(database);
+        }
+
+        private static MappedWideTuple populate(MappedWideTuple tuple, ResultSet resultSet) throws SQLException {
+            var value1 = resultSet.getInt(1);
+            tuple.id = resultSet.wasNull() ? null : value1;
+            tuple.c01 = resultSet.getString(2);
+            var value3 = resultSet.getInt(3);
+            tuple.c02 = resultSet.wasNull() ? null : value3;
+            var value4 = resultSet.getDouble(4);
+            tuple.c03 = resultSet.wasNull() ? null : value4;
+            tuple.c04 = resultSet.getString(5);
+            var value6 = resultSet.getInt(6);
+            tuple.c05 = resultSet.wasNull() ? null : value6;
+            var value7 = resultSet.getDouble(7);
+            tuple.c06 = resultSet.wasNull() ? null : value7;
+            tuple.c07 = resultSet.getString(8);
+            var value9 = resultSet.getInt(9);
+            tuple.c08 = resultSet.wasNull() ? null : value9;
+            var value10 = resultSet.getDouble(10);
+            tuple.c09 = resultSet.wasNull() ? null : value10;
+            tuple.c10 = resultSet.getString(11);
+            var value12 = resultSet.getInt(12);
+            tuple.c11 = resultSet.wasNull() ? null : value12;
+            return tuple;
+        }
+
+        public static MappedWideTuple fromResultSet(ResultSet resultSet) throws SQLException {
+            return populate(new MappedWideTuple(), resultSet);
+        }
+
+        public static MappedWideTuple fromResultSet(Database db, ResultSet resultSet) throws SQLException {
+            return populate(new MappedWideTuple(db), resultSet);
+        }
+    }
+}
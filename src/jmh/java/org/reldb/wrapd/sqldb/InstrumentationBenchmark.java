@@ -0,0 +1,56 @@
+package org.reldb.wrapd.sqldb;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of statement instrumentation: no listeners and no SQLEvents, SQLEvents only, a synchronous
+ * StatementListener, and an AsyncStatementListener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    @Param({"none", "sqlEvents", "listener", "asyncListener"})
+    public String instrumentation;
+
+    private Database database;
+    private AsyncStatementListener asyncListener;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        database = BenchmarkDatabase.create("instrumentation");
+        BenchmarkDatabase.createWideTable(database, 10);
+        switch (instrumentation) {
+            case "sqlEvents":
+                database.sqlEvents.addListener(event -> {});
+                break;
+            case "listener":
+                database.getInstrumentation().addListener(event -> {});
+                break;
+            case "asyncListener":
+                asyncListener = new AsyncStatementListener(event -> {});
+                database.getInstrumentation().addListener(asyncListener);
+                break;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        if (asyncListener != null)
+            asyncListener.close();
+    }
+
+    @Benchmark
+    public void queryWithParameter(Blackhole blackhole) throws SQLException {
+        database.query("SELECT * FROM $$wide WHERE id = ?", BenchmarkDatabase.WideTuple.class, 5).forEach(blackhole::consume);
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.reldb.wrapd.sqldb;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping via queryAll(...), queryAllAsList(...), queryAllAsArray(...), query(...) and queryAllForUpdate(...),
+ * i.e. ResultSetToTuple.process(...) and processForUpdate(...), at different row and column counts, compared with
+ * reading the same rows into a ColumnarResult via queryAllColumnar(...).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int rows;
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        database = BenchmarkDatabase.create("rowmapping");
+        BenchmarkDatabase.createWideTable(database, rows);
+    }
+
+    @Benchmark
+    public void queryAllNarrowReflective(Blackhole blackhole) throws SQLException {
+        database.queryAll("SELECT id, c01 FROM $$wide", BenchmarkDatabase.NarrowTuple.class).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void queryAllNarrowMapped(Blackhole blackhole) throws SQLException {
+        database.queryAll("SELECT id, c01 FROM $$wide", BenchmarkDatabase.MappedNarrowTuple.class).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void queryAllWideReflective(Blackhole blackhole) throws SQLException {
+        database.queryAll("SELECT * FROM $$wide", BenchmarkDatabase.WideTuple.class).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void queryAllWideMapped(Blackhole blackhole) throws SQLException {
+        database.queryAll("SELECT * FROM $$wide", BenchmarkDatabase.MappedWideTuple.class).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void queryAllAsListNarrowMapped(Blackhole blackhole) throws SQLException {
+        var tuples = database.queryAllAsList("SELECT id, c01 FROM $$wide", BenchmarkDatabase.MappedNarrowTuple.class);
+        for (var index = 0; index < tuples.size(); index++)
+            blackhole.consume(tuples.get(index));
+    }
+
+    @Benchmark
+    public void queryAllAsArrayNarrowMapped(Blackhole blackhole) throws SQLException {
+        for (var tuple: database.queryAllAsArray("SELECT id, c01 FROM $$wide", BenchmarkDatabase.MappedNarrowTuple.class))
+            blackhole.consume(tuple);
+    }
+
+    @Benchmark
+    public void queryAllColumnarWide(Blackhole blackhole) throws SQLException {
+        blackhole.consume(database.queryAllColumnar("SELECT * FROM $$wide"));
+    }
+
+    @Benchmark
+    public void queryWideWithParameter(Blackhole blackhole) throws SQLException {
+        database.query("SELECT * FROM $$wide WHERE id >= ?", BenchmarkDatabase.WideTuple.class, rows / 2).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void queryAllForUpdateWide(Blackhole blackhole) throws SQLException {
+        database.queryAllForUpdate("SELECT * FROM $$wide", BenchmarkDatabase.WideTuple.class).forEach(blackhole::consume);
+    }
+
+}
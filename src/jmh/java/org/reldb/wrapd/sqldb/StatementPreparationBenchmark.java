@@ -0,0 +1,77 @@
+package org.reldb.wrapd.sqldb;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-statement overheads paid before any SQL is executed: table name prefix substitution and
+ * parameter binding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementPreparationBenchmark {
+
+    private static final String shortQuery = "SELECT * FROM $$wide WHERE id = ?";
+    private static final String longQuery =
+            "SELECT w.id, w.c01, w.c02, n.c03, n.c04 FROM $$wide w " +
+            "JOIN $$wide n ON n.id = w.c02 " +
+            "JOIN $$wide m ON m.id = n.c05 " +
+            "WHERE w.id > ? AND n.c01 LIKE ? AND m.c08 IN (SELECT c08 FROM $$wide WHERE c09 < ?) " +
+            "ORDER BY w.c01, n.c04";
+
+    @Param({"1", "4", "16"})
+    public int parameterCount;
+
+    private Database database;
+    private Connection connection;
+    private PreparedStatement statement;
+    private Object[] arguments;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        var dataSource = BenchmarkDatabase.createDataSource("statementpreparation");
+        database = BenchmarkDatabase.create(dataSource);
+        connection = dataSource.getConnection();
+        statement = connection.prepareStatement("SELECT " + "?".repeat(parameterCount).replaceAll(".(?!$)", "$0, "));
+        arguments = new Object[parameterCount];
+        for (var i = 0; i < parameterCount; i++) {
+            switch (i % 4) {
+                case 0: arguments[i] = i; break;
+                case 1: arguments[i] = "value" + i; break;
+                case 2: arguments[i] = i * 1.5; break;
+                default: arguments[i] = (long) i; break;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws SQLException {
+        statement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public String replaceTableNamesShort() {
+        return database.replaceTableNames(shortQuery);
+    }
+
+    @Benchmark
+    public String replaceTableNamesLong() {
+        return database.replaceTableNames(longQuery);
+    }
+
+    @Benchmark
+    public PreparedStatement setupParms() throws SQLException {
+        database.setupParms(statement, arguments);
+        return statement;
+    }
+
+}
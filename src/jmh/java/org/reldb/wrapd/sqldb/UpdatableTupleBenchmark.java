@@ -0,0 +1,125 @@
+package org.reldb.wrapd.sqldb;
+
+import org.openjdk.jmh.annotations.*;
+import org.reldb.wrapd.response.Result;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UpdatableTuple.insert(...) and update(...), with single-row inserts and updates compared to Database.insertAll(...),
+ * Database.updateTuples(...) and a hand-written JDBC batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdatableTupleBenchmark {
+
+    private static final String insertSQL = "INSERT INTO $$wide VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private Database database;
+    private BenchmarkDatabase.WideTuple[] tuples;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        database = BenchmarkDatabase.create("updatabletuple");
+        tuples = new BenchmarkDatabase.WideTuple[rows];
+        for (var i = 0; i < rows; i++) {
+            var tuple = new BenchmarkDatabase.WideTuple(database);
+            tuple.id = i;
+            tuple.c01 = "a" + i;
+            tuple.c02 = i * 2;
+            tuple.c03 = i * 0.5;
+            tuple.c04 = "b" + i;
+            tuple.c05 = i * 3;
+            tuple.c06 = i * 0.25;
+            tuple.c07 = "c" + i;
+            tuple.c08 = i * 4;
+            tuple.c09 = i * 0.125;
+            tuple.c10 = "d" + i;
+            tuple.c11 = i * 5;
+            tuples[i] = tuple;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class EmptyTable {
+        @Setup(Level.Invocation)
+        public void empty(UpdatableTupleBenchmark benchmark) throws SQLException {
+            BenchmarkDatabase.createWideTable(benchmark.database, 0);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PopulatedTable {
+        @Setup(Level.Invocation)
+        public void populate(UpdatableTupleBenchmark benchmark) throws SQLException {
+            BenchmarkDatabase.createWideTable(benchmark.database, benchmark.rows);
+        }
+    }
+
+    @Benchmark
+    public void insertSingle(EmptyTable empty) throws SQLException {
+        database.transact(xact -> {
+            for (var tuple: tuples)
+                xact.insert(tuple, "$$wide");
+            return Result.OK;
+        });
+    }
+
+    @Benchmark
+    public void insertAll(EmptyTable empty) throws SQLException {
+        database.transact(xact -> {
+            xact.insertAll("$$wide", Arrays.asList(tuples), 500);
+            return Result.OK;
+        });
+    }
+
+    @Benchmark
+    public void insertBatchedJDBC(EmptyTable empty) throws SQLException {
+        database.processTransaction(connection -> {
+            try (var statement = connection.prepareStatement(database.replaceTableNames(insertSQL))) {
+                for (var tuple: tuples) {
+                    database.setupParms(statement, tuple.id, tuple.c01, tuple.c02, tuple.c03, tuple.c04, tuple.c05,
+                            tuple.c06, tuple.c07, tuple.c08, tuple.c09, tuple.c10, tuple.c11);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return Result.OK;
+        });
+    }
+
+    @Benchmark
+    public void update(PopulatedTable populated) throws SQLException {
+        database.transact(xact -> {
+            xact.queryAllForUpdate("SELECT * FROM $$wide", BenchmarkDatabase.WideTuple.class).forEach(tuple -> {
+                tuple.c01 = tuple.c01 + "x";
+                try {
+                    xact.update(tuple, "$$wide");
+                } catch (SQLException sqe) {
+                    throw new RuntimeException(sqe);
+                }
+            });
+            return Result.OK;
+        });
+    }
+
+    @Benchmark
+    public void updateTuples(PopulatedTable populated) throws SQLException {
+        database.transact(xact -> {
+            var tuples = xact.queryAllForUpdate("SELECT * FROM $$wide", BenchmarkDatabase.WideTuple.class)
+                    .peek(tuple -> tuple.c01 = tuple.c01 + "x");
+            xact.updateTuples("$$wide", tuples, 500);
+            return Result.OK;
+        });
+    }
+
+}
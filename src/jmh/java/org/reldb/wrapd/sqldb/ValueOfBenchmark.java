@@ -0,0 +1,51 @@
+package org.reldb.wrapd.sqldb;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-value lookups: valueOf(...) returning Optional, the primitive intValueOf(...) and longValueOf(...),
+ * and valueOf(...) on a query that matches many rows, of which only the first is read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueOfBenchmark {
+
+    private Database database;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        database = BenchmarkDatabase.create("valueof");
+        BenchmarkDatabase.createWideTable(database, 1000);
+    }
+
+    @Benchmark
+    public Optional<?> keyLookup() throws SQLException {
+        return database.valueOf("SELECT c02 FROM $$wide WHERE id = ?", 500);
+    }
+
+    @Benchmark
+    public OptionalInt keyLookupInt() throws SQLException {
+        return database.intValueOf("SELECT c02 FROM $$wide WHERE id = ?", 500);
+    }
+
+    @Benchmark
+    public OptionalLong count() throws SQLException {
+        return database.longValueOf("SELECT COUNT(*) FROM $$wide WHERE id > ?", 500);
+    }
+
+    @Benchmark
+    public Optional<?> firstOfMany() throws SQLException {
+        return database.valueOf("SELECT c02 FROM $$wide WHERE id > ?", 0);
+    }
+
+}
@@ -5,6 +5,9 @@ import org.reldb.toolbox.il8n.Str;
 import org.reldb.wrapd.exceptions.FatalException;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 /**
  * Machinery for generating Java source code.
@@ -38,7 +41,8 @@ public class JavaGenerator {
     }
 
     /**
-     * Generate compilable Java code.
+     * Generate compilable Java code. If the source file already exists with the same content, it isn't rewritten,
+     * so its modification time is preserved and build tools don't needlessly recompile it.
      *
      * @param className The class name to be generated.
      * @param packageSpec The package.
@@ -49,7 +53,7 @@ public class JavaGenerator {
         // If resource directory doesn't exist, create it.
         var resourceDir = new File(userSourcePath);
         if (!(resourceDir.exists()))
-            if (!resourceDir.mkdirs())
+            if (!resourceDir.mkdirs() && !resourceDir.isDirectory())
                 throw new FatalException(Str.ing(ErrUnableToCreateResourceDir, resourceDir.toString()));
         File sourcef;
         try {
@@ -57,10 +61,12 @@ public class JavaGenerator {
             var packageDir = obtainDirectoryFromSourcePathAndPackage(userSourcePath, packageSpec);
             var packageDirFile = new File(packageDir);
             if (!packageDirFile.exists())
-                if (!packageDirFile.mkdirs())
+                if (!packageDirFile.mkdirs() && !packageDirFile.isDirectory())
                     throw new FatalException(Str.ing(ErrUnableToCreatePackageDir, packageDirFile.toString()));
             // Write source to a Java source file
             sourcef = new File(packageDir + "/" + getStrippedClassname(className) + ".java");
+            if (isUnchanged(sourcef, src))
+                return sourcef;
             var sourcePS = new PrintStream(new FileOutputStream(sourcef));
             sourcePS.print(src);
             sourcePS.close();
@@ -70,6 +76,14 @@ public class JavaGenerator {
         return sourcef;
     }
 
+    // Return true if the file exists and contains exactly the given source, as it would be written.
+    private static boolean isUnchanged(File sourcef, String src) throws IOException {
+        if (!sourcef.isFile())
+            return false;
+        var content = src.getBytes(Charset.defaultCharset());
+        return sourcef.length() == content.length && Arrays.equals(Files.readAllBytes(sourcef.toPath()), content);
+    }
+
     /**
      * Get a stripped name.  Only return text after the final '.'
      */
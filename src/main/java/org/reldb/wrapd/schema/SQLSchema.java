@@ -123,6 +123,9 @@ public abstract class SQLSchema extends AbstractSchema {
                 return (Result)database.processTransaction(transaction -> action.run());
             } catch (SQLException sqe) {
                 return Result.is(sqe);
+            } finally {
+                // An update may have changed any table, so cached keys and column types can't be trusted.
+                database.invalidateMetadata();
             }
         };
     }
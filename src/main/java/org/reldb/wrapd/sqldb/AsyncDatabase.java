@@ -0,0 +1,286 @@
+package org.reldb.wrapd.sqldb;
+
+import org.reldb.wrapd.response.Response;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous access to a Database. Each operation runs on an Executor and returns a CompletableFuture, so
+ * independent queries can be issued in parallel. A failed operation completes its CompletableFuture exceptionally
+ * with the SQLException (or other exception) thrown by the corresponding Database method.
+ *
+ * Every operation obtains its own Connection from the Database's DataSource, so the number of operations that
+ * actually run in parallel is limited by the DataSource's pool. Use transact(...) to run several operations in
+ * one transaction.
+ *
+ * By default, operations run on virtual threads if the JDK supports them (Java 21 or later), or on a shared
+ * pool of daemon threads otherwise.
+ */
+public class AsyncDatabase {
+
+    /**
+     * Used to define lambda expressions that perform an operation on a Database and return a value of type T.
+     *
+     * @param <T> Type of return value.
+     */
+    @FunctionalInterface
+    public interface DatabaseOperation<T> {
+        /**
+         * Perform the operation.
+         *
+         * @param database Database.
+         * @return Result of the operation.
+         * @throws SQLException Error.
+         */
+        T go(Database database) throws SQLException;
+    }
+
+    // Holds the default Executor, which is only created if it's used.
+    private static class DefaultExecutor {
+        private static final Executor executor = createDefaultExecutor();
+
+        private static Executor createDefaultExecutor() {
+            try {
+                var virtualThreadExecutorFactory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor)virtualThreadExecutorFactory.invoke(null);
+            } catch (ReflectiveOperationException virtualThreadsNotSupported) {
+                var threadNumber = new AtomicInteger();
+                return Executors.newCachedThreadPool(runnable -> {
+                    var thread = new Thread(runnable, "wrapd-async-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    /**
+     * Get the Executor used by AsyncDatabaseS that aren't given one. It uses virtual threads if the JDK supports
+     * them, or a shared pool of daemon threads otherwise.
+     *
+     * @return Default Executor.
+     */
+    public static Executor getDefaultExecutor() {
+        return DefaultExecutor.executor;
+    }
+
+    private final Database database;
+    private final Executor executor;
+
+    /**
+     * Create an AsyncDatabase that runs operations on a given Executor.
+     *
+     * @param database Database.
+     * @param executor Executor on which to run operations.
+     */
+    public AsyncDatabase(Database database, Executor executor) {
+        this.database = database;
+        this.executor = executor;
+    }
+
+    /**
+     * Create an AsyncDatabase that runs operations on the default Executor. See getDefaultExecutor().
+     *
+     * @param database Database.
+     */
+    public AsyncDatabase(Database database) {
+        this(database, getDefaultExecutor());
+    }
+
+    /**
+     * Get the Database.
+     *
+     * @return Database.
+     */
+    public Database getDatabase() {
+        return database;
+    }
+
+    /**
+     * Get the Executor on which operations run.
+     *
+     * @return Executor.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Run an arbitrary operation on the Database asynchronously.
+     *
+     * @param <T> Type of result.
+     * @param operation Operation, usually a lambda expression.
+     * @return CompletableFuture that completes with the operation's result.
+     */
+    public <T> CompletableFuture<T> supplyAsync(DatabaseOperation<T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return operation.go(database);
+            } catch (SQLException sqe) {
+                throw new CompletionException(sqe);
+            }
+        }, executor);
+    }
+
+    /**
+     * Asynchronously obtain a stream of Tuple derivatives from a query evaluation. See Database.queryAll(String, Class).
+     *
+     * @param <T> T extends Tuple.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return CompletableFuture of result stream.
+     */
+    public <T extends Tuple> CompletableFuture<Stream<T>> queryAll(String query, Class<T> tupleClass) {
+        return supplyAsync(db -> db.queryAll(query, tupleClass));
+    }
+
+    /**
+     * Asynchronously obtain a stream of Tuple derivatives from a query evaluation. See Database.queryAll(Query).
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return CompletableFuture of result stream.
+     */
+    public <T extends Tuple> CompletableFuture<Stream<T>> queryAll(Query<T> query) {
+        return supplyAsync(db -> db.queryAll(query));
+    }
+
+    /**
+     * Asynchronously obtain a stream of Tuple derivatives from a parametric query evaluation. See
+     * Database.query(String, Class, Object...).
+     *
+     * @param <T> T extends Tuple.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter arguments.
+     * @return CompletableFuture of result stream.
+     */
+    public <T extends Tuple> CompletableFuture<Stream<T>> query(String query, Class<T> tupleClass, Object... parms) {
+        return supplyAsync(db -> db.query(query, tupleClass, parms));
+    }
+
+    /**
+     * Asynchronously obtain a stream of Tuple derivatives from a query evaluation. See Database.query(Query).
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return CompletableFuture of result stream.
+     */
+    public <T extends Tuple> CompletableFuture<Stream<T>> query(Query<T> query) {
+        return supplyAsync(db -> db.query(query));
+    }
+
+    /**
+     * Asynchronously obtain a stream of UpdatableTuple derivatives from a parametric query evaluation for possible
+     * update. See Database.queryForUpdate(String, Class, Object...).
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param query Query string.
+     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter arguments.
+     * @return CompletableFuture of result stream.
+     */
+    public <T extends UpdatableTuple> CompletableFuture<Stream<T>> queryForUpdate(String query, Class<T> tupleClass, Object... parms) {
+        return supplyAsync(db -> db.queryForUpdate(query, tupleClass, parms));
+    }
+
+    /**
+     * Asynchronously obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update. See
+     * Database.queryForUpdate(Query).
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param query A Query.
+     * @return CompletableFuture of result stream.
+     */
+    public <T extends UpdatableTuple> CompletableFuture<Stream<T>> queryForUpdate(Query<T> query) {
+        return supplyAsync(db -> db.queryForUpdate(query));
+    }
+
+    /**
+     * Asynchronously issue an update query. See Database.updateAll(String).
+     *
+     * @param query SQL update query text.
+     * @return CompletableFuture of true if a ResultSet is returned, false otherwise.
+     */
+    public CompletableFuture<Boolean> updateAll(String query) {
+        return supplyAsync(db -> db.updateAll(query));
+    }
+
+    /**
+     * Asynchronously issue a parametric update query. See Database.update(String, Object...).
+     *
+     * @param query SQL update query text.
+     * @param parms Parameter arguments.
+     * @return CompletableFuture of true if a ResultSet is returned, false otherwise.
+     */
+    public CompletableFuture<Boolean> update(String query, Object... parms) {
+        return supplyAsync(db -> db.update(query, parms));
+    }
+
+    /**
+     * Asynchronously issue an update query. See Database.update(Update).
+     *
+     * @param update Parametric update query specification.
+     * @return CompletableFuture of true if a ResultSet is returned, false otherwise.
+     */
+    public CompletableFuture<Boolean> update(Update update) {
+        return supplyAsync(db -> db.update(update));
+    }
+
+    /**
+     * Asynchronously obtain the value of the first column of the first row of a query. See Database.valueOfAll(String).
+     *
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return CompletableFuture of value of first column of first row in result.
+     */
+    public CompletableFuture<Optional<?>> valueOfAll(String query) {
+        return supplyAsync(db -> db.valueOfAll(query));
+    }
+
+    /**
+     * Asynchronously obtain the value of the first column of the first row of a parametric query. See
+     * Database.valueOf(String, Object...).
+     *
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return CompletableFuture of value of first column of first row in result.
+     */
+    public CompletableFuture<Optional<?>> valueOf(String query, Object... parms) {
+        return supplyAsync(db -> db.valueOf(query, parms));
+    }
+
+    /**
+     * Asynchronously obtain the value of the first column of the first row of a query. See Database.valueOf(Query).
+     *
+     * @param query Query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return CompletableFuture of value of first column of first row in result.
+     */
+    public CompletableFuture<Optional<?>> valueOf(Query<? extends Tuple> query) {
+        return supplyAsync(db -> db.valueOf(query));
+    }
+
+    /**
+     * Asynchronously run one or more database operations in a transaction. See Database.transact(XactGo).
+     *
+     * @param <T> Response type parameter.
+     * @param transactionRunner The lambda defining one or more database operations.
+     * @return CompletableFuture of result.
+     */
+    public <T> CompletableFuture<Response<T>> transact(Database.XactGo<T> transactionRunner) {
+        return supplyAsync(db -> db.transact(transactionRunner));
+    }
+
+    public String toString() {
+        return "AsyncDatabase: " + database.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package org.reldb.wrapd.sqldb;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A StatementListener that passes StatementEventS to another StatementListener on a dedicated daemon thread, via
+ * a bounded buffer. Threads issuing statements never wait for the listener: if the buffer is full, the event is
+ * dropped and counted.
+ *
+ * Close it when it's no longer needed, after removing it from the Instrumentation, to stop its thread.
+ */
+public class AsyncStatementListener implements Instrumentation.StatementListener, AutoCloseable {
+
+    /** Default maximum number of StatementEventS waiting to be delivered. */
+    public static final int DefaultCapacity = 8192;
+
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+
+    private final Instrumentation.StatementListener listener;
+    private final BlockingQueue<StatementEvent> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread dispatcher;
+    private volatile boolean closed = false;
+
+    /**
+     * Create an AsyncStatementListener.
+     *
+     * @param listener The listener to which events will be delivered.
+     * @param capacity Maximum number of events waiting to be delivered. Must be at least 1.
+     */
+    public AsyncStatementListener(Instrumentation.StatementListener listener, int capacity) {
+        this.listener = listener;
+        buffer = new ArrayBlockingQueue<>(capacity);
+        dispatcher = new Thread(this::dispatch, "wrapd-statement-listener-" + threadNumber.incrementAndGet());
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Create an AsyncStatementListener with a buffer of DefaultCapacity events.
+     *
+     * @param listener The listener to which events will be delivered.
+     */
+    public AsyncStatementListener(Instrumentation.StatementListener listener) {
+        this(listener, DefaultCapacity);
+    }
+
+    private void dispatch() {
+        try {
+            while (!closed || !buffer.isEmpty()) {
+                var event = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (event == null)
+                    continue;
+                try {
+                    listener.statementCompleted(event);
+                } catch (RuntimeException listenerFailure) {
+                    // Keep delivering subsequent events.
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void statementCompleted(StatementEvent event) {
+        if (closed || !buffer.offer(event))
+            dropped.incrementAndGet();
+    }
+
+    /**
+     * Get the number of events dropped because the buffer was full or this listener was closed.
+     *
+     * @return Number of dropped events.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of events waiting to be delivered.
+     *
+     * @return Number of waiting events.
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Stop accepting events, deliver those already waiting, and stop the dispatching thread.
+     *
+     * If the calling thread is interrupted while waiting for the waiting events to be delivered, it stops
+     * waiting and its interrupt status is set. The dispatching thread still delivers the remaining events.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
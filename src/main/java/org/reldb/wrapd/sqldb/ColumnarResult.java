@@ -0,0 +1,737 @@
+package org.reldb.wrapd.sqldb;
+
+import org.reldb.toolbox.il8n.Msg;
+import org.reldb.toolbox.il8n.Str;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A query result held column by column rather than as one Tuple per row. Integer, long, double and boolean columns
+ * are held in primitive arrays, String columns are dictionary-encoded, and each column has a bitmap of NULL rows, so
+ * a large result needs a handful of allocations per column instead of several per row.
+ *
+ * Columns are identified by a zero-based index, in ResultSet order. Column types are resolved the same way as for
+ * generated TupleS, i.e., via Customisations.getSpecificColumnClass(...) where Customisations are given.
+ *
+ * The arrays and bitmaps returned by column accessors are the result's own storage, not copies, and must not be modified.
+ */
+public class ColumnarResult {
+    private final static Msg ErrNoSuchColumn = new Msg("Column {0} not found.", ColumnarResult.class);
+    private final static Msg ErrColumnStorageMismatch = new Msg("Column {0} holds {1} values, not {2}.", ColumnarResult.class);
+
+    /** How a column's values are held. */
+    public enum Storage {
+        /** int[], for Integer, Short and Byte columns. */
+        INT,
+        /** long[], for Long columns. */
+        LONG,
+        /** double[], for Double and Float columns. */
+        DOUBLE,
+        /** BitSet, for Boolean columns. */
+        BOOLEAN,
+        /** Dictionary-encoded, for String columns: an int[] of codes that index a List of distinct values. */
+        STRING,
+        /** Object[], for columns of any other type. */
+        OBJECT
+    }
+
+    private final static int DefaultInitialCapacity = 16;
+
+    private abstract static class Column {
+        final String name;
+        final Class<?> type;
+        final BitSet nulls = new BitSet();
+
+        Column(String name, Class<?> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        abstract Storage getStorage();
+
+        abstract void grow(int capacity);
+
+        abstract void read(ResultSet resultSet, int resultSetColumn, int row) throws SQLException;
+
+        abstract void trim(int rowCount);
+
+        abstract Object get(int row);
+    }
+
+    private static class IntColumn extends Column {
+        int[] values;
+
+        IntColumn(String name, Class<?> type, int capacity) {
+            super(name, type);
+            values = new int[capacity];
+        }
+
+        Storage getStorage() {
+            return Storage.INT;
+        }
+
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        void read(ResultSet resultSet, int resultSetColumn, int row) throws SQLException {
+            var value = resultSet.getInt(resultSetColumn);
+            if (resultSet.wasNull())
+                nulls.set(row);
+            else
+                values[row] = value;
+        }
+
+        void trim(int rowCount) {
+            if (values.length != rowCount)
+                values = Arrays.copyOf(values, rowCount);
+        }
+
+        Object get(int row) {
+            return values[row];
+        }
+    }
+
+    private static class LongColumn extends Column {
+        long[] values;
+
+        LongColumn(String name, Class<?> type, int capacity) {
+            super(name, type);
+            values = new long[capacity];
+        }
+
+        Storage getStorage() {
+            return Storage.LONG;
+        }
+
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        void read(ResultSet resultSet, int resultSetColumn, int row) throws SQLException {
+            var value = resultSet.getLong(resultSetColumn);
+            if (resultSet.wasNull())
+                nulls.set(row);
+            else
+                values[row] = value;
+        }
+
+        void trim(int rowCount) {
+            if (values.length != rowCount)
+                values = Arrays.copyOf(values, rowCount);
+        }
+
+        Object get(int row) {
+            return values[row];
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        double[] values;
+
+        DoubleColumn(String name, Class<?> type, int capacity) {
+            super(name, type);
+            values = new double[capacity];
+        }
+
+        Storage getStorage() {
+            return Storage.DOUBLE;
+        }
+
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        void read(ResultSet resultSet, int resultSetColumn, int row) throws SQLException {
+            var value = resultSet.getDouble(resultSetColumn);
+            if (resultSet.wasNull())
+                nulls.set(row);
+            else
+                values[row] = value;
+        }
+
+        void trim(int rowCount) {
+            if (values.length != rowCount)
+                values = Arrays.copyOf(values, rowCount);
+        }
+
+        Object get(int row) {
+            return values[row];
+        }
+    }
+
+    private static class BooleanColumn extends Column {
+        final BitSet values = new BitSet();
+
+        BooleanColumn(String name, Class<?> type) {
+            super(name, type);
+        }
+
+        Storage getStorage() {
+            return Storage.BOOLEAN;
+        }
+
+        void grow(int capacity) {
+        }
+
+        void read(ResultSet resultSet, int resultSetColumn, int row) throws SQLException {
+            var value = resultSet.getBoolean(resultSetColumn);
+            if (resultSet.wasNull())
+                nulls.set(row);
+            else if (value)
+                values.set(row);
+        }
+
+        void trim(int rowCount) {
+        }
+
+        Object get(int row) {
+            return values.get(row);
+        }
+    }
+
+    private static class StringColumn extends Column {
+        int[] codes;
+        final List<String> dictionary = new ArrayList<>();
+        HashMap<String, Integer> dictionaryIndex = new HashMap<>();
+
+        StringColumn(String name, Class<?> type, int capacity) {
+            super(name, type);
+            codes = new int[capacity];
+        }
+
+        Storage getStorage() {
+            return Storage.STRING;
+        }
+
+        void grow(int capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        void read(ResultSet resultSet, int resultSetColumn, int row) throws SQLException {
+            var value = resultSet.getString(resultSetColumn);
+            if (value == null) {
+                nulls.set(row);
+                codes[row] = -1;
+                return;
+            }
+            var code = dictionaryIndex.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                dictionaryIndex.put(value, code);
+            }
+            codes[row] = code;
+        }
+
+        void trim(int rowCount) {
+            if (codes.length != rowCount)
+                codes = Arrays.copyOf(codes, rowCount);
+            dictionaryIndex = null;
+        }
+
+        Object get(int row) {
+            return dictionary.get(codes[row]);
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+        final String sqlTypeName;
+        final Customisations customisations;
+        Object[] values;
+
+        ObjectColumn(String name, Class<?> type, String sqlTypeName, Customisations customisations, int capacity) {
+            super(name, type);
+            this.sqlTypeName = sqlTypeName;
+            this.customisations = customisations;
+            values = new Object[capacity];
+        }
+
+        Storage getStorage() {
+            return Storage.OBJECT;
+        }
+
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        void read(ResultSet resultSet, int resultSetColumn, int row) throws SQLException {
+            var value = resultSet.getObject(resultSetColumn);
+            if (value == null)
+                nulls.set(row);
+            else if (customisations != null && !type.isInstance(value))
+                values[row] = customisations.getSpecificColumnValue(value, sqlTypeName);
+            else
+                values[row] = value;
+        }
+
+        void trim(int rowCount) {
+            if (values.length != rowCount)
+                values = Arrays.copyOf(values, rowCount);
+        }
+
+        Object get(int row) {
+            return values[row];
+        }
+    }
+
+    private final Column[] columns;
+    private final int rowCount;
+
+    private ColumnarResult(Column[] columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    private static Column newColumn(String name, Class<?> type, String sqlTypeName, Customisations customisations, int capacity) {
+        if (type == Integer.class || type == Short.class || type == Byte.class)
+            return new IntColumn(name, type, capacity);
+        if (type == Long.class)
+            return new LongColumn(name, type, capacity);
+        if (type == Double.class || type == Float.class)
+            return new DoubleColumn(name, type, capacity);
+        if (type == Boolean.class)
+            return new BooleanColumn(name, type);
+        if (type == String.class)
+            return new StringColumn(name, type, capacity);
+        return new ObjectColumn(name, type, sqlTypeName, customisations, capacity);
+    }
+
+    /**
+     * Read every row of a ResultSet into a ColumnarResult.
+     *
+     * @param resultSet ResultSet, positioned before its first row.
+     * @param customisations Customisations for specific DBMS types. May be null.
+     * @param metadataCache Cache used to resolve column class names. If null, classes are loaded directly.
+     * @param expectedRows Expected number of rows, used to size the column arrays. They grow if there are more rows. 0 if unknown.
+     * @return ColumnarResult.
+     * @throws SQLException thrown if reading the ResultSet fails.
+     * @throws ClassNotFoundException thrown if a column class specified in the ResultSet metadata can't be loaded.
+     */
+    public static ColumnarResult from(ResultSet resultSet, Customisations customisations, MetadataCache metadataCache, int expectedRows) throws SQLException, ClassNotFoundException {
+        var metadata = resultSet.getMetaData();
+        var capacity = (expectedRows > 0)
+            ? Math.min(expectedRows, ResultSetToTuple.MaximumRowCountHint)
+            : DefaultInitialCapacity;
+        var names = new ArrayList<String>();
+        var types = new ArrayList<Class<?>>();
+        ResultSetToTuple.processResultSetAttributes(resultSet, customisations, metadataCache, (name, type) -> {
+            names.add(name);
+            types.add(type);
+        });
+        var columns = new Column[names.size()];
+        for (var column = 0; column < columns.length; column++)
+            columns[column] = newColumn(names.get(column), types.get(column), metadata.getColumnTypeName(column + 1), customisations, capacity);
+        var row = 0;
+        while (resultSet.next()) {
+            if (row == capacity) {
+                capacity = Math.max(capacity * 2, DefaultInitialCapacity);
+                for (var column: columns)
+                    column.grow(capacity);
+            }
+            for (var column = 0; column < columns.length; column++)
+                columns[column].read(resultSet, column + 1, row);
+            row++;
+        }
+        for (var column: columns)
+            column.trim(row);
+        return new ColumnarResult(columns, row);
+    }
+
+    /**
+     * Read every row of a ResultSet into a ColumnarResult.
+     *
+     * @param resultSet ResultSet, positioned before its first row.
+     * @param customisations Customisations for specific DBMS types. May be null.
+     * @return ColumnarResult.
+     * @throws SQLException thrown if reading the ResultSet fails.
+     * @throws ClassNotFoundException thrown if a column class specified in the ResultSet metadata can't be loaded.
+     */
+    public static ColumnarResult from(ResultSet resultSet, Customisations customisations) throws SQLException, ClassNotFoundException {
+        return from(resultSet, customisations, null, 0);
+    }
+
+    /**
+     * Get the number of rows.
+     *
+     * @return Number of rows.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get the number of columns.
+     *
+     * @return Number of columns.
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Get the name of a column.
+     *
+     * @param column Column index, starting at 0.
+     * @return Column name.
+     */
+    public String getColumnName(int column) {
+        return columns[column].name;
+    }
+
+    /**
+     * Get the index of a column, given its name. Names are compared without regard to case, as in JDBC.
+     *
+     * @param name Column name.
+     * @return Column index, starting at 0.
+     * @throws IllegalArgumentException thrown if there is no column with the given name.
+     */
+    public int getColumnIndex(String name) {
+        for (var column = 0; column < columns.length; column++)
+            if (columns[column].name.equalsIgnoreCase(name))
+                return column;
+        throw new IllegalArgumentException(Str.ing(ErrNoSuchColumn, name));
+    }
+
+    /**
+     * Get the Java type of a column's values, as resolved from ResultSet metadata.
+     *
+     * @param column Column index, starting at 0.
+     * @return Column type.
+     */
+    public Class<?> getColumnType(int column) {
+        return columns[column].type;
+    }
+
+    /**
+     * Get how a column's values are held, which determines which column accessor can be used.
+     *
+     * @param column Column index, starting at 0.
+     * @return Storage.
+     */
+    public Storage getStorage(int column) {
+        return columns[column].getStorage();
+    }
+
+    private Column getColumn(int column, Storage storage) {
+        var found = columns[column];
+        if (found.getStorage() != storage)
+            throw new IllegalArgumentException(Str.ing(ErrColumnStorageMismatch, found.name, found.getStorage(), storage));
+        return found;
+    }
+
+    /**
+     * Get the bitmap of NULL rows in a column. Bit n is set if the column is NULL in row n.
+     *
+     * @param column Column index, starting at 0.
+     * @return NULL bitmap.
+     */
+    public BitSet getNulls(int column) {
+        return columns[column].nulls;
+    }
+
+    /**
+     * Return true if a value is NULL.
+     *
+     * @param row Row index, starting at 0.
+     * @param column Column index, starting at 0.
+     * @return True if NULL.
+     */
+    public boolean isNull(int row, int column) {
+        return columns[column].nulls.get(row);
+    }
+
+    /**
+     * Get the values of an INT column. NULL rows hold 0.
+     *
+     * @param column Column index, starting at 0.
+     * @return Array with one value per row.
+     * @throws IllegalArgumentException thrown if the column isn't INT.
+     */
+    public int[] getInts(int column) {
+        return ((IntColumn)getColumn(column, Storage.INT)).values;
+    }
+
+    /**
+     * Get the values of a LONG column. NULL rows hold 0.
+     *
+     * @param column Column index, starting at 0.
+     * @return Array with one value per row.
+     * @throws IllegalArgumentException thrown if the column isn't LONG.
+     */
+    public long[] getLongs(int column) {
+        return ((LongColumn)getColumn(column, Storage.LONG)).values;
+    }
+
+    /**
+     * Get the values of a DOUBLE column. NULL rows hold 0.
+     *
+     * @param column Column index, starting at 0.
+     * @return Array with one value per row.
+     * @throws IllegalArgumentException thrown if the column isn't DOUBLE.
+     */
+    public double[] getDoubles(int column) {
+        return ((DoubleColumn)getColumn(column, Storage.DOUBLE)).values;
+    }
+
+    /**
+     * Get the values of a BOOLEAN column. Bit n is set if the column is true in row n.
+     *
+     * @param column Column index, starting at 0.
+     * @return Bitmap of true values.
+     * @throws IllegalArgumentException thrown if the column isn't BOOLEAN.
+     */
+    public BitSet getBooleans(int column) {
+        return ((BooleanColumn)getColumn(column, Storage.BOOLEAN)).values;
+    }
+
+    /**
+     * Get the dictionary codes of a STRING column. Each code is an index into getDictionary(column), or -1 for NULL.
+     *
+     * @param column Column index, starting at 0.
+     * @return Array with one code per row.
+     * @throws IllegalArgumentException thrown if the column isn't STRING.
+     */
+    public int[] getStringCodes(int column) {
+        return ((StringColumn)getColumn(column, Storage.STRING)).codes;
+    }
+
+    /**
+     * Get the distinct values of a STRING column, in order of first appearance.
+     *
+     * @param column Column index, starting at 0.
+     * @return Unmodifiable List of distinct values.
+     * @throws IllegalArgumentException thrown if the column isn't STRING.
+     */
+    public List<String> getDictionary(int column) {
+        return Collections.unmodifiableList(((StringColumn)getColumn(column, Storage.STRING)).dictionary);
+    }
+
+    /**
+     * Get the values of an OBJECT column. NULL rows hold null.
+     *
+     * @param column Column index, starting at 0.
+     * @return Array with one value per row.
+     * @throws IllegalArgumentException thrown if the column isn't OBJECT.
+     */
+    public Object[] getObjects(int column) {
+        return ((ObjectColumn)getColumn(column, Storage.OBJECT)).values;
+    }
+
+    /**
+     * Get a value from an INT column.
+     *
+     * @param row Row index, starting at 0.
+     * @param column Column index, starting at 0.
+     * @return Value, or 0 if NULL.
+     * @throws IllegalArgumentException thrown if the column isn't INT.
+     */
+    public int getInt(int row, int column) {
+        return getInts(column)[row];
+    }
+
+    /**
+     * Get a value from an INT or LONG column.
+     *
+     * @param row Row index, starting at 0.
+     * @param column Column index, starting at 0.
+     * @return Value, or 0 if NULL.
+     * @throws IllegalArgumentException thrown if the column isn't INT or LONG.
+     */
+    public long getLong(int row, int column) {
+        if (columns[column].getStorage() == Storage.INT)
+            return getInts(column)[row];
+        return getLongs(column)[row];
+    }
+
+    /**
+     * Get a value from an INT, LONG or DOUBLE column.
+     *
+     * @param row Row index, starting at 0.
+     * @param column Column index, starting at 0.
+     * @return Value, or 0 if NULL.
+     * @throws IllegalArgumentException thrown if the column isn't INT, LONG or DOUBLE.
+     */
+    public double getDouble(int row, int column) {
+        switch (columns[column].getStorage()) {
+            case INT: return getInts(column)[row];
+            case LONG: return getLongs(column)[row];
+            default: return getDoubles(column)[row];
+        }
+    }
+
+    /**
+     * Get a value from a BOOLEAN column.
+     *
+     * @param row Row index, starting at 0.
+     * @param column Column index, starting at 0.
+     * @return Value, or false if NULL.
+     * @throws IllegalArgumentException thrown if the column isn't BOOLEAN.
+     */
+    public boolean getBoolean(int row, int column) {
+        return getBooleans(column).get(row);
+    }
+
+    /**
+     * Get a value as a String. Values of columns other than STRING are converted with toString().
+     *
+     * @param row Row index, starting at 0.
+     * @param column Column index, starting at 0.
+     * @return Value, or null if NULL.
+     */
+    public String getString(int row, int column) {
+        var value = getObject(row, column);
+        return (value == null) ? null : value.toString();
+    }
+
+    /**
+     * Get a value from any column, boxed if necessary.
+     *
+     * @param row Row index, starting at 0.
+     * @param column Column index, starting at 0.
+     * @return Value, or null if NULL.
+     */
+    public Object getObject(int row, int column) {
+        var found = columns[column];
+        return found.nulls.get(row) ? null : found.get(row);
+    }
+
+    /**
+     * A view of one row of a ColumnarResult. It holds no values of its own.
+     */
+    public class Row {
+        private final int row;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        /**
+         * Get this row's index.
+         *
+         * @return Row index, starting at 0.
+         */
+        public int getIndex() {
+            return row;
+        }
+
+        /**
+         * Return true if a value is NULL. See ColumnarResult.isNull(int, int).
+         *
+         * @param column Column index, starting at 0.
+         * @return True if NULL.
+         */
+        public boolean isNull(int column) {
+            return ColumnarResult.this.isNull(row, column);
+        }
+
+        /**
+         * Get a value from an INT column. See ColumnarResult.getInt(int, int).
+         *
+         * @param column Column index, starting at 0.
+         * @return Value, or 0 if NULL.
+         */
+        public int getInt(int column) {
+            return ColumnarResult.this.getInt(row, column);
+        }
+
+        /**
+         * Get a value from an INT or LONG column. See ColumnarResult.getLong(int, int).
+         *
+         * @param column Column index, starting at 0.
+         * @return Value, or 0 if NULL.
+         */
+        public long getLong(int column) {
+            return ColumnarResult.this.getLong(row, column);
+        }
+
+        /**
+         * Get a value from an INT, LONG or DOUBLE column. See ColumnarResult.getDouble(int, int).
+         *
+         * @param column Column index, starting at 0.
+         * @return Value, or 0 if NULL.
+         */
+        public double getDouble(int column) {
+            return ColumnarResult.this.getDouble(row, column);
+        }
+
+        /**
+         * Get a value from a BOOLEAN column. See ColumnarResult.getBoolean(int, int).
+         *
+         * @param column Column index, starting at 0.
+         * @return Value, or false if NULL.
+         */
+        public boolean getBoolean(int column) {
+            return ColumnarResult.this.getBoolean(row, column);
+        }
+
+        /**
+         * Get a value as a String. See ColumnarResult.getString(int, int).
+         *
+         * @param column Column index, starting at 0.
+         * @return Value, or null if NULL.
+         */
+        public String getString(int column) {
+            return ColumnarResult.this.getString(row, column);
+        }
+
+        /**
+         * Get a value from any column. See ColumnarResult.getObject(int, int).
+         *
+         * @param column Column index, starting at 0.
+         * @return Value, or null if NULL.
+         */
+        public Object getObject(int column) {
+            return ColumnarResult.this.getObject(row, column);
+        }
+
+        /**
+         * Get a value from any column, by column name.
+         *
+         * @param name Column name.
+         * @return Value, or null if NULL.
+         */
+        public Object getObject(String name) {
+            return getObject(getColumnIndex(name));
+        }
+
+        public String toString() {
+            var out = new StringBuilder("Row " + row + ":");
+            for (var column = 0; column < columns.length; column++)
+                out.append(" ").append(columns[column].name).append(" = ").append(getObject(column));
+            return out.toString();
+        }
+    }
+
+    /**
+     * Get a view of a row.
+     *
+     * @param row Row index, starting at 0.
+     * @return Row view.
+     */
+    public Row getRow(int row) {
+        return new Row(row);
+    }
+
+    /**
+     * Get a Stream of views of every row, in order.
+     *
+     * @return Stream of Row.
+     */
+    public Stream<Row> rows() {
+        return IntStream.range(0, rowCount).mapToObj(Row::new);
+    }
+
+    public String toString() {
+        return "ColumnarResult: " + columns.length + " columns, " + rowCount + " rows";
+    }
+}
@@ -0,0 +1,511 @@
+package org.reldb.wrapd.sqldb;
+
+import org.reldb.toolbox.il8n.Msg;
+import org.reldb.toolbox.il8n.Str;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Properties;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * A lightweight JDBC connection pool, for use as the DataSource of a Database where an external pool isn't wanted.
+ *
+ * Idle connections are held in a lock-free LinkedTransferQueue, so a returned connection is handed directly to a
+ * waiting borrower if there is one. Neither borrowing nor returning uses synchronized or holds a lock while
+ * waiting or performing I/O, so borrowers may be virtual threads without pinning their carrier threads.
+ *
+ * A connection is only validated when it's borrowed after being idle for at least the validation idle time, so
+ * connections in constant use aren't checked on every borrow. When a connection is returned, any transaction
+ * left open is rolled back, and auto-commit, read-only and transaction isolation settings that were changed are
+ * restored.
+ *
+ * The time spent waiting to borrow each connection is recorded in a LatencyHistogram, so pool wait time can be
+ * distinguished from statement execution time. Active and idle connection counts, borrow timeouts and
+ * validation failures are also available.
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+    private final static Msg ErrPoolClosed = new Msg("Connection pool is closed.", ConnectionPool.class);
+    private final static Msg ErrBorrowTimeout = new Msg("Timed out after {0} ms waiting for one of {1} connections.", ConnectionPool.class);
+    private final static Msg ErrBorrowInterrupted = new Msg("Interrupted while waiting for a connection.", ConnectionPool.class);
+    private final static Msg ErrInvalidMaximumSize = new Msg("Maximum pool size must be at least 1, but it is {0}.", ConnectionPool.class);
+
+    /** Default maximum time to wait to borrow a connection, in milliseconds. */
+    public static final long DefaultBorrowTimeoutMillis = 30000;
+
+    /** Default time a connection may be idle before it's validated on borrow, in milliseconds. */
+    public static final long DefaultValidationIdleMillis = 1000;
+
+    /** Default maximum time to wait for a connection to be validated, in seconds. */
+    public static final int DefaultValidationTimeoutSeconds = 5;
+
+    // Longest single wait for a returned connection, after which a borrower checks whether it may open one instead.
+    // This bounds the delay if a connection is discarded just before the borrower starts to wait.
+    private static final long MaximumWaitSliceNanos = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * Used to define lambda expressions that open a new physical connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        /**
+         * Open a new connection.
+         *
+         * @return New connection.
+         * @throws SQLException Error.
+         */
+        Connection open() throws SQLException;
+    }
+
+    // A physical connection, with the settings to restore when it's returned.
+    static class PoolEntry {
+        final Connection connection;
+        final boolean defaultAutoCommit;
+        final boolean defaultReadOnly;
+        final int defaultTransactionIsolation;
+
+        // The following are only accessed by the connection's current borrower, or by the pool once it's returned.
+        long lastUsedNanos;
+        boolean autoCommitChanged;
+        boolean readOnlyChanged;
+        boolean transactionIsolationChanged;
+        boolean broken;
+
+        PoolEntry(Connection connection) throws SQLException {
+            this.connection = connection;
+            defaultAutoCommit = connection.getAutoCommit();
+            defaultReadOnly = connection.isReadOnly();
+            defaultTransactionIsolation = connection.getTransactionIsolation();
+            lastUsedNanos = System.nanoTime();
+        }
+
+        // Restore changed settings, rolling back any transaction left open.
+        void reset() throws SQLException {
+            if (autoCommitChanged) {
+                if (!connection.getAutoCommit())
+                    connection.rollback();
+                connection.setAutoCommit(defaultAutoCommit);
+                autoCommitChanged = false;
+            }
+            if (readOnlyChanged) {
+                connection.setReadOnly(defaultReadOnly);
+                readOnlyChanged = false;
+            }
+            if (transactionIsolationChanged) {
+                connection.setTransactionIsolation(defaultTransactionIsolation);
+                transactionIsolationChanged = false;
+            }
+        }
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final int maximumSize;
+
+    private final LinkedTransferQueue<PoolEntry> idle = new LinkedTransferQueue<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    private volatile long borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DefaultBorrowTimeoutMillis);
+    private volatile long validationIdleNanos = TimeUnit.MILLISECONDS.toNanos(DefaultValidationIdleMillis);
+    private volatile int validationTimeoutSeconds = DefaultValidationTimeoutSeconds;
+
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder created = new LongAdder();
+
+    /**
+     * Create a pool of connections opened by a ConnectionFactory. Connections are opened as they're needed.
+     *
+     * @param connectionFactory Opens a new physical connection.
+     * @param maximumSize Maximum number of connections, active and idle.
+     */
+    public ConnectionPool(ConnectionFactory connectionFactory, int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException(Str.ing(ErrInvalidMaximumSize, maximumSize));
+        this.connectionFactory = connectionFactory;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Create a pool of connections opened by an unpooled DataSource.
+     *
+     * @param unpooledDataSource Unpooled DataSource.
+     * @param maximumSize Maximum number of connections, active and idle.
+     */
+    public ConnectionPool(DataSource unpooledDataSource, int maximumSize) {
+        this(unpooledDataSource::getConnection, maximumSize);
+    }
+
+    /**
+     * Create a pool of connections opened by DriverManager.
+     *
+     * @param dbURL JDBC URL.
+     * @param properties Connection properties, such as user and password. May be null.
+     * @param maximumSize Maximum number of connections, active and idle.
+     */
+    public ConnectionPool(String dbURL, Properties properties, int maximumSize) {
+        this(() -> DriverManager.getConnection(dbURL, (properties == null) ? new Properties() : properties), maximumSize);
+    }
+
+    /**
+     * Set the maximum time to wait to borrow a connection when all are in use. If it elapses,
+     * getConnection() throws SQLTransientConnectionException.
+     *
+     * @param millis Maximum wait time in milliseconds.
+     */
+    public void setBorrowTimeout(long millis) {
+        borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+
+    /**
+     * Get the maximum time to wait to borrow a connection.
+     *
+     * @return Maximum wait time in milliseconds.
+     */
+    public long getBorrowTimeout() {
+        return TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos);
+    }
+
+    /**
+     * Set the time a connection may be idle before it's validated, using Connection.isValid(...), when it's
+     * borrowed. A connection that fails validation is closed, and another is borrowed in its place.
+     *
+     * @param millis Idle time in milliseconds. 0 validates on every borrow.
+     */
+    public void setValidationIdleTime(long millis) {
+        validationIdleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+
+    /**
+     * Get the time a connection may be idle before it's validated when it's borrowed.
+     *
+     * @return Idle time in milliseconds.
+     */
+    public long getValidationIdleTime() {
+        return TimeUnit.NANOSECONDS.toMillis(validationIdleNanos);
+    }
+
+    /**
+     * Set the maximum time to wait for a connection to be validated.
+     *
+     * @param seconds Maximum validation time in seconds. 0 means no limit.
+     */
+    public void setValidationTimeout(int seconds) {
+        validationTimeoutSeconds = Math.max(0, seconds);
+    }
+
+    /**
+     * Get the maximum time to wait for a connection to be validated.
+     *
+     * @return Maximum validation time in seconds.
+     */
+    public int getValidationTimeout() {
+        return validationTimeoutSeconds;
+    }
+
+    /**
+     * Get the maximum number of connections.
+     *
+     * @return Maximum number of connections, active and idle.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Get the number of open connections.
+     *
+     * @return Number of connections, active and idle.
+     */
+    public int getTotalCount() {
+        return total.get();
+    }
+
+    /**
+     * Get the number of connections currently borrowed.
+     *
+     * @return Number of active connections.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Get the number of open connections not currently borrowed.
+     *
+     * @return Number of idle connections.
+     */
+    public int getIdleCount() {
+        return Math.max(0, total.get() - active.get());
+    }
+
+    /**
+     * Get the number of borrowers currently waiting for a connection.
+     *
+     * @return Number of waiting borrowers.
+     */
+    public int getWaitingCount() {
+        return idle.getWaitingConsumerCount();
+    }
+
+    /**
+     * Get the histogram of time spent waiting to borrow a connection, in nanoseconds. Every borrow is recorded,
+     * including those that time out.
+     *
+     * @return Borrow wait time histogram.
+     */
+    public LatencyHistogram getBorrowWaitHistogram() {
+        return borrowWait;
+    }
+
+    /**
+     * Get the number of borrows that timed out.
+     *
+     * @return Number of timeouts.
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Get the number of idle connections that failed validation when borrowed, and were closed.
+     *
+     * @return Number of validation failures.
+     */
+    public long getValidationFailureCount() {
+        return validationFailures.sum();
+    }
+
+    /**
+     * Get the number of physical connections opened.
+     *
+     * @return Number of connections opened.
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * Reset the borrow wait time histogram and the timeout, validation failure and created counts.
+     */
+    public void resetStatistics() {
+        borrowWait.reset();
+        timeouts.reset();
+        validationFailures.reset();
+        created.reset();
+    }
+
+    // Open a new connection if there is room for it, or return null if the pool is full.
+    private PoolEntry createIfAllowed() throws SQLException {
+        int current;
+        do {
+            current = total.get();
+            if (current >= maximumSize)
+                return null;
+        } while (!total.compareAndSet(current, current + 1));
+        Connection connection = null;
+        try {
+            connection = connectionFactory.open();
+            var entry = new PoolEntry(connection);
+            created.increment();
+            return entry;
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            if (connection != null)
+                try {
+                    connection.close();
+                } catch (SQLException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            throw e;
+        }
+    }
+
+    // Return true if an idle connection may be borrowed, validating it if it's been idle long enough.
+    private boolean isUsable(PoolEntry entry) {
+        if (System.nanoTime() - entry.lastUsedNanos < validationIdleNanos)
+            return true;
+        try {
+            if (entry.connection.isValid(validationTimeoutSeconds))
+                return true;
+        } catch (SQLException invalid) {
+            // fall through
+        }
+        validationFailures.increment();
+        return false;
+    }
+
+    // Close a connection and remove it from the pool. If borrowers are waiting, open a replacement for them.
+    private void discard(PoolEntry entry) {
+        try {
+            entry.connection.close();
+        } catch (SQLException closeFailure) {
+            // It's being discarded anyway.
+        }
+        total.decrementAndGet();
+        if (!closed && idle.hasWaitingConsumer())
+            try {
+                var replacement = createIfAllowed();
+                if (replacement != null)
+                    idle.offer(replacement);
+            } catch (SQLException | RuntimeException openFailure) {
+                // Waiting borrowers will try again or time out.
+            }
+    }
+
+    /**
+     * Borrow a connection. Close it to return it to the pool.
+     *
+     * @return Connection.
+     * @throws SQLException Error, including SQLTransientConnectionException if the borrow timeout elapses.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        var start = System.nanoTime();
+        var deadline = start + borrowTimeoutNanos;
+        while (true) {
+            if (closed)
+                throw new SQLException(Str.ing(ErrPoolClosed));
+            var entry = idle.poll();
+            if (entry == null)
+                entry = createIfAllowed();
+            if (entry == null) {
+                var remaining = deadline - System.nanoTime();
+                if (remaining > 0)
+                    try {
+                        entry = idle.poll(Math.min(remaining, MaximumWaitSliceNanos), TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        borrowWait.record(System.nanoTime() - start);
+                        throw new SQLException(Str.ing(ErrBorrowInterrupted), interrupted);
+                    }
+                if (entry == null) {
+                    if (deadline - System.nanoTime() > 0)
+                        continue;
+                    timeouts.increment();
+                    borrowWait.record(System.nanoTime() - start);
+                    throw new SQLTransientConnectionException(Str.ing(ErrBorrowTimeout, getBorrowTimeout(), maximumSize));
+                }
+            }
+            if (!isUsable(entry)) {
+                discard(entry);
+                continue;
+            }
+            active.incrementAndGet();
+            borrowWait.record(System.nanoTime() - start);
+            return new PooledConnection(this, entry);
+        }
+    }
+
+    /**
+     * Return a connection to the pool. Called by PooledConnection.close() and PooledConnection.abort(...).
+     *
+     * @param entry Returned connection.
+     */
+    void release(PoolEntry entry) {
+        active.decrementAndGet();
+        if (!entry.broken)
+            try {
+                entry.reset();
+            } catch (SQLException resetFailure) {
+                entry.broken = true;
+            }
+        if (entry.broken || closed) {
+            discard(entry);
+            return;
+        }
+        entry.lastUsedNanos = System.nanoTime();
+        idle.offer(entry);
+        // If the pool was closed while the connection was being returned, close() may have missed it.
+        if (closed)
+            closeIdle();
+    }
+
+    private void closeIdle() {
+        PoolEntry entry;
+        while ((entry = idle.poll()) != null)
+            discard(entry);
+    }
+
+    /**
+     * Close the pool. Idle connections are closed immediately, and active connections are closed when they're
+     * returned. Subsequent attempts to borrow a connection throw SQLException.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        closeIdle();
+    }
+
+    /**
+     * Return true if the pool has been closed.
+     *
+     * @return True if closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Not supported. Credentials are specified when the pool is created.
+     *
+     * @param username User name.
+     * @param password Password.
+     * @return Never returns.
+     * @throws SQLException Always, as SQLFeatureNotSupportedException.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this))
+            return iface.cast(this);
+        throw new SQLException(ConnectionPool.class.getName() + " is not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    public String toString() {
+        return "ConnectionPool: " + getActiveCount() + " active, " + getIdleCount() + " idle, maximum " + maximumSize;
+    }
+}
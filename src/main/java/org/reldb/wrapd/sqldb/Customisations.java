@@ -24,4 +24,27 @@ public interface Customisations {
      * @return - class name of class returned by getSpecificColumnValue(Object retrievedValue)
      */
     Object getSpecificColumnValue(Object retrievedValue, String columnSQLType);
+
+    /**
+     * Obtain a query that returns no rows but has the same columns as the given query. It's used by
+     * Database.queryMetaData(...) to obtain a query's metadata without retrieving its rows, if the JDBC driver
+     * can't describe a PreparedStatement before it's executed. Override it if the DBMS needs a different form.
+     *
+     * @param query SQL SELECT query text, after table name prefix substitution.
+     * @return SQL SELECT query text that returns no rows.
+     */
+    default String getMetaDataProbeQuery(String query) {
+        return getDefaultMetaDataProbeQuery(query);
+    }
+
+    /**
+     * Obtain a query that returns no rows but has the same columns as the given query, by wrapping it in a
+     * derived table with a false WHERE clause. This is the default getMetaDataProbeQuery(String).
+     *
+     * @param query SQL SELECT query text, after table name prefix substitution.
+     * @return SQL SELECT query text that returns no rows.
+     */
+    static String getDefaultMetaDataProbeQuery(String query) {
+        return "SELECT * FROM (" + query + ") wrapd_probe WHERE 1 = 0";
+    }
 }
@@ -0,0 +1,137 @@
+package org.reldb.wrapd.sqldb;
+
+import java.lang.reflect.Field;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The INSERT and UPDATE statements for an UpdatableTuple class and a table, built once and reused by
+ * UpdatableTuple insert(...) and update(...), and by Database insertAll(...) and updateTuples(...).
+ * Obtained via Database.getDMLPlan(...), which caches one per class and table.
+ *
+ * Rows are updated by primary key if the table has one and every key column is a field of the Tuple.
+ * Otherwise, they're identified by the original values of all fields. Fields whose original value is null are
+ * matched with IS NULL rather than = ?, which would never be true.
+ */
+class DMLPlan {
+    /** UpdatableTuple class. */
+    final Class<?> tupleClass;
+
+    /** Table name, after table name prefix substitution. */
+    final String realTableName;
+
+    /** Data fields of the Tuple class, in the order their values are inserted. */
+    final Field[] dataFields;
+
+    /** Positions in dataFields of the primary key columns, or null if rows are identified by all fields. */
+    final int[] keyFieldIndexes;
+
+    /** INSERT statement, with one parameter per data field. */
+    final String insertSQL;
+
+    // UPDATE statements, by the set of positions in dataFields of the changed fields, followed by the set of
+    // positions (offset by dataFields.length) of the identifying fields whose original value is null.
+    private final Map<BitSet, String> updateSQL = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param tupleClass UpdatableTuple class.
+     * @param realTableName Table name, after table name prefix substitution.
+     * @param keyColumnNames Primary key column names of the table. Empty if it has none.
+     */
+    DMLPlan(Class<?> tupleClass, String realTableName, String[] keyColumnNames) {
+        this.tupleClass = tupleClass;
+        this.realTableName = realTableName;
+        this.dataFields = TupleTypeGenerator.getDataFields(tupleClass).toArray(Field[]::new);
+        this.keyFieldIndexes = getKeyFieldIndexes(dataFields, keyColumnNames);
+        this.insertSQL = buildInsertSQL();
+    }
+
+    private static int[] getKeyFieldIndexes(Field[] dataFields, String[] keyColumnNames) {
+        if (keyColumnNames == null || keyColumnNames.length == 0)
+            return null;
+        var keyFieldIndexes = new int[keyColumnNames.length];
+        for (var key = 0; key < keyColumnNames.length; key++) {
+            var index = 0;
+            while (index < dataFields.length && !dataFields[index].getName().equalsIgnoreCase(keyColumnNames[key]))
+                index++;
+            if (index == dataFields.length)
+                return null;
+            keyFieldIndexes[key] = index;
+        }
+        return keyFieldIndexes;
+    }
+
+    private String buildInsertSQL() {
+        var sql = new StringBuilder("INSERT INTO ").append(realTableName).append("(");
+        for (var i = 0; i < dataFields.length; i++) {
+            if (i > 0)
+                sql.append(", ");
+            sql.append(dataFields[i].getName());
+        }
+        sql.append(") VALUES (");
+        for (var i = 0; i < dataFields.length; i++)
+            sql.append((i > 0) ? ", ?" : "?");
+        return sql.append(")").toString();
+    }
+
+    /**
+     * Return true if rows are identified by their primary key.
+     *
+     * @return True if rows are identified by primary key; false if by all fields.
+     */
+    boolean hasKey() {
+        return keyFieldIndexes != null;
+    }
+
+    /**
+     * Obtain the UPDATE statement that sets the given fields. Its parameters are the new values of the changed
+     * fields, in dataFields order, followed by the non-null original values of the key fields in key order if
+     * hasKey(), or of all the data fields otherwise.
+     *
+     * @param changedFields Positions in dataFields of the changed fields.
+     * @param nullOriginals Positions in dataFields of the fields that identify the row and whose original value is null.
+     * @return SQL text of UPDATE statement.
+     */
+    String getUpdateSQL(BitSet changedFields, BitSet nullOriginals) {
+        var shape = (BitSet)changedFields.clone();
+        for (var index = nullOriginals.nextSetBit(0); index >= 0; index = nullOriginals.nextSetBit(index + 1))
+            shape.set(dataFields.length + index);
+        var sql = updateSQL.get(shape);
+        if (sql == null) {
+            sql = buildUpdateSQL(changedFields, nullOriginals);
+            updateSQL.put(shape, sql);
+        }
+        return sql;
+    }
+
+    private void appendCondition(StringBuilder sql, int index, BitSet nullOriginals) {
+        sql.append(dataFields[index].getName()).append(nullOriginals.get(index) ? " IS NULL" : " = ?");
+    }
+
+    private String buildUpdateSQL(BitSet changedFields, BitSet nullOriginals) {
+        var sql = new StringBuilder("UPDATE ").append(realTableName).append(" SET ");
+        var first = changedFields.nextSetBit(0);
+        for (var index = first; index >= 0; index = changedFields.nextSetBit(index + 1)) {
+            if (index != first)
+                sql.append(", ");
+            sql.append(dataFields[index].getName()).append(" = ?");
+        }
+        sql.append(" WHERE ");
+        if (hasKey())
+            for (var key = 0; key < keyFieldIndexes.length; key++) {
+                if (key > 0)
+                    sql.append(" AND ");
+                appendCondition(sql, keyFieldIndexes[key], nullOriginals);
+            }
+        else
+            for (var index = 0; index < dataFields.length; index++) {
+                if (index > 0)
+                    sql.append(" AND ");
+                appendCondition(sql, index, nullOriginals);
+            }
+        return sql.toString();
+    }
+}
@@ -7,25 +7,60 @@ import org.reldb.wrapd.exceptions.FatalException;
 import org.reldb.wrapd.response.Response;
 
 import javax.sql.DataSource;
-import java.sql.Date;
+import java.lang.reflect.Field;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
  * Database access layer.
  */
 public class Database {
-    private final static Msg ErrPrepArgCountMismatch = new Msg("Number of parameters ({0}) not matching number of arguments ({1}) in {2}.", Database.class);
     private final static Msg ErrResultSetToStreamFail1 = new Msg("ResultSet to Stream conversion failed in newResultSetToStream.", Database.class);
     private final static Msg ErrResultSetToStreamFail2 = new Msg("ResultSet to Stream conversion failed in newResultSetToStreamForUpdate.", Database.class);
+    private final static Msg ErrResultSetToListFail = new Msg("ResultSet to List conversion failed in newResultSetToList.", Database.class);
+    private final static Msg ErrResultSetToColumnarFail = new Msg("ResultSet to ColumnarResult conversion failed in newResultSetToColumnar.", Database.class);
     private final static Msg ErrQueryAllFail = new Msg("Failure inside ResultSetReceiver in queryAll.", Database.class);
     private final static Msg ErrQueryFail = new Msg("Failure inside ResultSetReceiver in query.", Database.class);
+    private final static Msg ErrQueryMetaDataFail = new Msg("Failure inside MetaDataReceiver in queryMetaData.", Database.class);
+    private final static Msg ErrLazyQueryFail = new Msg("Unable to create lazy Stream in {0}.", Database.class);
+    private final static Msg ErrInvalidBatchSize = new Msg("Batch size must be at least 1, but it is {0}.", Database.class);
 
     private final DataSource dataSource;
     private final String dbTablenamePrefix;
     private final Customisations customisations;
 
+    private final Map<Connection, PreparedStatementCache> preparedStatementCaches = new ConcurrentHashMap<>();
+    private final PreparedStatementCache.Statistics preparedStatementCacheStatistics = new PreparedStatementCache.Statistics();
+    private volatile int preparedStatementCacheSize = 0;
+    private final AtomicLong preparedStatementCacheGeneration = new AtomicLong();
+    private volatile long preparedStatementCacheSweepIntervalNanos = TimeUnit.SECONDS.toNanos(10);
+    private final AtomicLong preparedStatementCacheNextSweep = new AtomicLong(System.nanoTime());
+    private volatile int fetchSize = 0;
+
+    /** Default maximum number of SQLTemplateS cached by a Database. */
+    public static final int DefaultSQLTemplateCacheCapacity = 1024;
+
+    private volatile int sqlTemplateCacheCapacity = DefaultSQLTemplateCacheCapacity;
+    // Arbitrary SQLTemplateS are evicted once sqlTemplateCacheCapacity is exceeded, so lookups needn't lock.
+    private final Map<String, SQLTemplate> sqlTemplates = new ConcurrentHashMap<>();
+
+    private final MetadataCache metadataCache = new MetadataCache();
+
+    // INSERT and UPDATE statements per UpdatableTuple class, per table name as passed to Database methods.
+    private final Map<Class<?>, Map<String, DMLPlan>> dmlPlans = new ConcurrentHashMap<>();
+
+    private final ParameterBinders parameterBinders = new ParameterBinders();
+
+    private final Instrumentation instrumentation = new Instrumentation();
+    private MetricsRegistry metricsRegistry = null;
+
+    private final ResultCache resultCache = new ResultCache();
+
     /**
      * An instance of an SQL query, for monitoring queries processed by a Database.
      */
@@ -48,17 +83,96 @@ public class Database {
         }
     }
 
-    /** Subscribe to monitor queries processed by a Database. */
-    public final EventHandler<SQLEvent> sqlEvents = new EventHandler<>();
+    // An EventHandler that counts its listeners, so no SQLEvent need be created when there are none.
+    private static class SQLEventHandler extends EventHandler<SQLEvent> {
+        private final List<Consumer<SQLEvent>> listeners = new ArrayList<>();
+        private volatile int listenerCount = 0;
+
+        @Override
+        public synchronized void addListener(Consumer<SQLEvent> listener) {
+            super.addListener(listener);
+            listeners.add(listener);
+            listenerCount = listeners.size();
+        }
+
+        @Override
+        public synchronized void removeListener(Consumer<SQLEvent> listener) {
+            super.removeListener(listener);
+            listeners.remove(listener);
+            listenerCount = listeners.size();
+        }
+
+        boolean hasListeners() {
+            return listenerCount > 0;
+        }
+    }
+
+    private final SQLEventHandler sqlEventHandler = new SQLEventHandler();
 
     /**
-     * Distribute a SQLEvent to interested listeners.
+     * Subscribe to monitor queries processed by a Database.
+     *
+     * A SQLEvent is only created for a statement if a listener is subscribed. See getInstrumentation() for
+     * statement timings and counts, also at no cost when they're not used.
+     */
+    public final EventHandler<SQLEvent> sqlEvents = sqlEventHandler;
+
+    /**
+     * Distribute a SQLEvent to interested listeners, if there are any.
      *
      * @param location Where the query was generated or processed.
      * @param query The SQL text of the query.
      */
     protected void distributeSQLEvent(String location, String query) {
-        sqlEvents.distribute(new SQLEvent(location, query));
+        if (sqlEventHandler.hasListeners())
+            sqlEvents.distribute(new SQLEvent(location, query));
+    }
+
+    /**
+     * Get the Instrumentation of this Database. Add a listener to it to receive a StatementEvent, with timings
+     * and counts, for every statement issued by this Database.
+     *
+     * @return Instrumentation.
+     */
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Get the MetricsRegistry of this Database, which maintains latency histograms, throughput, row and error
+     * counts per Query, Update or ValueOf class. It's created and added to the Instrumentation on first use, so
+     * a Database that never calls this doesn't pay for metrics.
+     *
+     * @return MetricsRegistry.
+     */
+    public synchronized MetricsRegistry getMetricsRegistry() {
+        if (metricsRegistry == null) {
+            metricsRegistry = new MetricsRegistry();
+            instrumentation.addListener(metricsRegistry);
+        }
+        return metricsRegistry;
+    }
+
+    /**
+     * Get the ResultCache of this Database, which retains the results of Query classes defined with
+     * Definer.defineCachedQuery(...).
+     *
+     * @return ResultCache.
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    // Invalidate cached results of queries that read the tables written by a statement.
+    private void written(Connection connection, String sqlized) {
+        if (resultCache.isInUse())
+            resultCache.written(connection, ResultCache.getTableNames(sqlized));
+    }
+
+    // Invalidate cached results of queries that read a table.
+    private void writtenTable(Connection connection, String realTableName) {
+        if (resultCache.isInUse())
+            resultCache.written(connection, Set.of(ResultCache.normalise(realTableName)));
     }
 
     /**
@@ -72,12 +186,195 @@ public class Database {
         this.dataSource = dataSource;
         this.dbTablenamePrefix = nullToEmptyString(dbTablenamePrefix);
         this.customisations = customisations;
+        parameterBinders.register(Null.class, (statement, position, value) -> statement.setNull(position, value.type));
     }
 
     public String toString() {
         return "Database: " + dataSource.toString();
     }
 
+    /**
+     * Set the maximum number of PreparedStatementS to cache per Connection. When a statement is
+     * evicted to make room for another, the least recently used statement is closed.
+     *
+     * Where the DataSource is a connection pool whose ConnectionS can be unwrapped to the physical Connection
+     * they borrow, statements are cached against the physical Connection and prepared on it directly, so they
+     * are reused by every later borrower of that Connection rather than being discarded when it's returned
+     * to the pool. The pool therefore doesn't track or close them when the Connection is returned. A cache, with its
+     * statements, is discarded once its physical Connection has been closed, such as by the pool. Closed physical
+     * ConnectionS are looked for at most every ten seconds, and whenever a cache is created.
+     *
+     * Changing the size discards existing caches as their ConnectionS are next used.
+     *
+     * @param size Maximum number of cached PreparedStatementS per Connection. 0 (the default) disables caching.
+     */
+    public void setPreparedStatementCacheSize(int size) {
+        preparedStatementCacheSize = Math.max(0, size);
+        preparedStatementCacheGeneration.incrementAndGet();
+    }
+
+    /**
+     * Discard all cached PreparedStatementS, such as after a schema change that some database drivers
+     * don't detect in previously prepared statements. Each cache is discarded when its Connection is next used.
+     */
+    public void clearPreparedStatementCaches() {
+        preparedStatementCacheGeneration.incrementAndGet();
+    }
+
+    /**
+     * Get the maximum number of PreparedStatementS cached per Connection.
+     *
+     * @return Maximum number of cached PreparedStatementS per Connection. 0 if caching is disabled.
+     */
+    public int getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
+    /**
+     * Get the hit, miss and eviction counters for the PreparedStatement caches of this Database.
+     *
+     * @return PreparedStatement cache statistics.
+     */
+    public PreparedStatementCache.Statistics getPreparedStatementCacheStatistics() {
+        return preparedStatementCacheStatistics;
+    }
+
+    /**
+     * Set the number of rows the JDBC driver should retrieve from the database at a time when
+     * evaluating queryLazy(...), queryAllLazy(...), queryForUpdateLazy(...) and queryAllForUpdateLazy(...).
+     *
+     * Some drivers, such as PostgreSQL's, only retrieve rows incrementally inside a transaction. When a lazy query
+     * obtains its own Connection and the fetch size is greater than 0, auto-commit is turned off on the Connection
+     * until the resulting Stream is closed.
+     *
+     * @param fetchSize Number of rows to fetch at a time. 0 (the default) uses the JDBC driver's default.
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = Math.max(0, fetchSize);
+    }
+
+    /**
+     * Get the number of rows the JDBC driver should retrieve from the database at a time when evaluating lazy queries.
+     *
+     * @return Fetch size. 0 if the JDBC driver's default is used.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    // Obtain the PreparedStatement cache for the physical Connection underlying a Connection, or null if caching is disabled.
+    private PreparedStatementCache getPreparedStatementCache(Connection connection) throws SQLException {
+        var nextSweep = preparedStatementCacheNextSweep.get();
+        var now = System.nanoTime();
+        if (now - nextSweep >= 0 && preparedStatementCacheNextSweep.compareAndSet(nextSweep, now + preparedStatementCacheSweepIntervalNanos))
+            sweepPreparedStatementCaches();
+        var physicalConnection = getPhysicalConnection(connection);
+        var generation = preparedStatementCacheGeneration.get();
+        var cache = preparedStatementCaches.get(physicalConnection);
+        if (cache != null) {
+            if (cache.getGeneration() == generation)
+                return cache;
+            // Made before the size was changed or the caches were cleared. This thread is using its Connection, so no other thread is using its statements.
+            preparedStatementCaches.remove(physicalConnection, cache);
+            cache.close();
+        }
+        var size = preparedStatementCacheSize;
+        if (size == 0)
+            return null;
+        // A physical Connection new to this Database, which may have replaced one that has been closed.
+        sweepPreparedStatementCaches();
+        return preparedStatementCaches.computeIfAbsent(physicalConnection,
+                conn -> new PreparedStatementCache(conn, size, generation, preparedStatementCacheStatistics));
+    }
+
+    // Discard the caches of physical ConnectionS that have been closed, such as by a pool, so they can be garbage collected.
+    private void sweepPreparedStatementCaches() throws SQLException {
+        for (var existing: preparedStatementCaches.values())
+            if (existing.getConnection().isClosed())
+                preparedStatementCaches.remove(existing.getConnection(), existing);
+    }
+
+    // Set the minimum time between looks for caches of closed physical ConnectionS. For testing.
+    void setPreparedStatementCacheSweepInterval(long interval, TimeUnit unit) {
+        preparedStatementCacheSweepIntervalNanos = unit.toNanos(interval);
+        preparedStatementCacheNextSweep.set(System.nanoTime());
+    }
+
+    // Get the number of physical ConnectionS with a PreparedStatement cache. For testing.
+    int getPreparedStatementCacheCount() {
+        return preparedStatementCaches.size();
+    }
+
+    // Obtain the physical Connection borrowed by a pooled Connection, or the Connection itself if it doesn't wrap one.
+    private static Connection getPhysicalConnection(Connection connection) {
+        try {
+            if (connection.isWrapperFor(Connection.class)) {
+                var physicalConnection = connection.unwrap(Connection.class);
+                if (physicalConnection != null)
+                    return physicalConnection;
+            }
+        } catch (SQLException sqe) {
+            // Not unwrappable, so cache against the Connection itself.
+        }
+        return connection;
+    }
+
+    /**
+     * Set the maximum number of SQLTemplateS retained by this Database. If the cache is full when a new SQL text is
+     * encountered, arbitrary templates are evicted to make room for the new one. Concurrent additions may briefly
+     * exceed the maximum.
+     *
+     * @param capacity Maximum number of cached SQLTemplateS. 0 disables caching.
+     */
+    public void setSQLTemplateCacheCapacity(int capacity) {
+        sqlTemplateCacheCapacity = Math.max(0, capacity);
+        evictSQLTemplates(null);
+    }
+
+    // Evict arbitrary SQLTemplateS other than that of sqlTextToKeep until no more than sqlTemplateCacheCapacity remain.
+    private void evictSQLTemplates(String sqlTextToKeep) {
+        var iterator = sqlTemplates.keySet().iterator();
+        while (sqlTemplates.size() > sqlTemplateCacheCapacity && iterator.hasNext())
+            if (!iterator.next().equals(sqlTextToKeep))
+                iterator.remove();
+    }
+
+    // Get the number of cached SQLTemplateS. For testing.
+    int getSQLTemplateCacheSize() {
+        return sqlTemplates.size();
+    }
+
+    /**
+     * Get the maximum number of SQLTemplateS retained by this Database.
+     *
+     * @return Maximum number of cached SQLTemplateS.
+     */
+    public int getSQLTemplateCacheCapacity() {
+        return sqlTemplateCacheCapacity;
+    }
+
+    /**
+     * Obtain the SQLTemplate for the given SQL text, from this Database's template cache if possible.
+     *
+     * @param sqlText SQL text.
+     * @return SQLTemplate.
+     */
+    public SQLTemplate getSQLTemplate(String sqlText) {
+        if (sqlTemplateCacheCapacity == 0)
+            return new SQLTemplate(sqlText);
+        var template = sqlTemplates.get(sqlText);
+        if (template != null)
+            return template;
+        // If another thread retains a template for the same text meanwhile, use that one.
+        template = new SQLTemplate(sqlText);
+        var existing = sqlTemplates.putIfAbsent(sqlText, template);
+        if (existing != null)
+            return existing;
+        if (sqlTemplates.size() > sqlTemplateCacheCapacity)
+            evictSQLTemplates(sqlText);
+        return template;
+    }
+
     /**
      * Wherever $$ appears in the argument, replace it with dbTableNamePrefix.
      *
@@ -85,7 +382,7 @@ public class Database {
      * @return The source text with every $$ replaced with the contents of dbTablenamePrefix.
      */
     public String replaceTableNames(String query) {
-        return query.replaceAll("\\$\\$", dbTablenamePrefix);
+        return getSQLTemplate(query).getSQL(dbTablenamePrefix);
     }
 
     /**
@@ -115,11 +412,15 @@ public class Database {
      */
     public <T> Response<T> processConnection(ConnectionUser<T> connectionUser) throws SQLException {
         try (var connection = dataSource.getConnection()) {
-            try {
-                return Response.set(connectionUser.go(connection));
-            } catch (SQLException t) {
-                return Response.set(t);
-            }
+            return processConnection(connection, connectionUser);
+        }
+    }
+
+    private <T> Response<T> processConnection(Connection connection, ConnectionUser<T> connectionUser) {
+        try {
+            return Response.set(connectionUser.go(connection));
+        } catch (SQLException t) {
+            return Response.set(t);
         }
     }
 
@@ -138,6 +439,60 @@ public class Database {
         return result.value;
     }
 
+    /**
+     * Obtain a Connection for an operation that only reads, and that needn't see writes just made on other
+     * Connections. By default, it comes from the DataSource like any other Connection. RoutingDatabase overrides
+     * it to obtain Connections from replicas.
+     *
+     * Once the Connection has been closed, it's passed to readConnectionClosed(...).
+     *
+     * @return Connection.
+     * @throws SQLException Error obtaining connection.
+     */
+    protected Connection getReadConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Notification that a Connection obtained from getReadConnection() has been closed. Does nothing by default.
+     *
+     * @param connection Closed Connection.
+     */
+    protected void readConnectionClosed(Connection connection) {
+    }
+
+    /**
+     * Use a connection for an operation that only reads. See getReadConnection().
+     *
+     * @param <T> Type of return value from use of connection.
+     * @param connectionUser Instance of ConnectionUser, usually as a lambda expression.
+     * @return A Response&lt;T&gt; containing either a T (indicating success) or a SQLException.
+     * @throws SQLException Error obtaining connection.
+     */
+    public <T> Response<T> processReadConnection(ConnectionUser<T> connectionUser) throws SQLException {
+        var connection = getReadConnection();
+        try (connection) {
+            return processConnection(connection, connectionUser);
+        } finally {
+            readConnectionClosed(connection);
+        }
+    }
+
+    /**
+     * Use a connection for an operation that only reads. See getReadConnection().
+     *
+     * @param <T> Type of return value from user of connection.
+     * @param connectionUser Instance of ConnectionUser, usually as a lambda expression.
+     * @return A value of type T as a result of using a Connection.
+     * @throws SQLException Error.
+     */
+    public <T> T useReadConnection(ConnectionUser<T> connectionUser) throws SQLException {
+        var result = processReadConnection(connectionUser);
+        if (result.error != null)
+            throw (SQLException) result.error;
+        return result.value;
+    }
+
     /**
      * Used to define lambda expressions that receive a ResultSet for processing.
      * T specifies the type of the return value from processing the ResultSet.
@@ -155,6 +510,23 @@ public class Database {
         Response<T> go(ResultSet r);
     }
 
+    /**
+     * Used to define lambda expressions that process the ResultSetMetaData of a query without its rows.
+     * T specifies the type of the return value from processing the ResultSetMetaData.
+     *
+     * @param <T> Return type of go(...)
+     */
+    @FunctionalInterface
+    public interface MetaDataReceiver<T> {
+        /**
+         * Process ResultSetMetaData.
+         *
+         * @param metadata ResultSetMetaData to process.
+         * @return Specified return type, wrapped in a Response.
+         */
+        Response<T> go(ResultSetMetaData metadata);
+    }
+
     /**
      * Issue an update query.
      *
@@ -164,10 +536,29 @@ public class Database {
      * @throws SQLException Error.
      */
     public boolean updateAll(Connection connection, String sqlStatement) throws SQLException {
+        return updateAll(connection, sqlStatement, null);
+    }
+
+    private boolean updateAll(Connection connection, String sqlStatement, String name) throws SQLException {
         try (var statement = connection.createStatement()) {
             var sqlized = replaceTableNames(sqlStatement);
             distributeSQLEvent("updateAll: ", sqlized);
-            return statement.execute(sqlized);
+            var probe = instrumentation.begin("updateAll: ", name, sqlized, 0);
+            instrumentation.enter(probe);
+            Throwable failure = null;
+            try {
+                if (probe != null)
+                    probe.prepared();
+                var result = statement.execute(sqlized);
+                instrumentation.updated(statement);
+                written(connection, sqlized);
+                return result;
+            } catch (Throwable t) {
+                failure = t;
+                throw t;
+            } finally {
+                instrumentation.end(probe, failure);
+            }
         }
     }
 
@@ -194,9 +585,9 @@ public class Database {
      * @throws SQLException Error.
      */
     public Class<?> getTypeOfFirstColumn(Connection connection, String query, Object[] args) throws SQLException {
-        return args != null && args.length > 0
-            ? query(connection, query, resultSet -> ResultSetToTuple.obtainTypeOfFirstColumnOfResultSet(resultSet, customisations), args)
-            : queryAll(connection, query, resultSet -> ResultSetToTuple.obtainTypeOfFirstColumnOfResultSet(resultSet, customisations));
+        return metadataCache.getColumnType(query, () -> args != null && args.length > 0
+            ? query(connection, query, resultSet -> ResultSetToTuple.obtainTypeOfFirstColumnOfResultSet(resultSet, customisations, metadataCache), args)
+            : queryAll(connection, query, resultSet -> ResultSetToTuple.obtainTypeOfFirstColumnOfResultSet(resultSet, customisations, metadataCache)));
     }
 
     /**
@@ -224,15 +615,118 @@ public class Database {
      * @throws SQLException Error.
      */
     public Optional<?> valueOfAll(Connection connection, String query) throws SQLException {
-        return queryAll(connection, query, resultSet -> {
-            try {
-                if (resultSet.next())
-                    return Response.set(Optional.ofNullable(resultSet.getObject(1)));
-                return Response.set(Optional.empty());
-            } catch (SQLException sqe) {
-                return Response.set(sqe);
+        return valueOfAll(connection, query, null);
+    }
+
+    private Optional<?> valueOfAll(Connection connection, String query, String name) throws SQLException {
+        return scalarAll(connection, query, name, Database::readObject, Optional.empty());
+    }
+
+    /**
+     * Used to define lambda expressions that read the first column of the current row of a ResultSet.
+     *
+     * @param <T> Type of value.
+     */
+    @FunctionalInterface
+    private interface ScalarReader<T> {
+        T read(ResultSet resultSet) throws SQLException;
+    }
+
+    private static Optional<Object> readObject(ResultSet resultSet) throws SQLException {
+        return Optional.ofNullable(resultSet.getObject(1));
+    }
+
+    private static OptionalInt readInt(ResultSet resultSet) throws SQLException {
+        var value = resultSet.getInt(1);
+        return resultSet.wasNull() ? OptionalInt.empty() : OptionalInt.of(value);
+    }
+
+    private static OptionalLong readLong(ResultSet resultSet) throws SQLException {
+        var value = resultSet.getLong(1);
+        return resultSet.wasNull() ? OptionalLong.empty() : OptionalLong.of(value);
+    }
+
+    private static OptionalDouble readDouble(ResultSet resultSet) throws SQLException {
+        var value = resultSet.getDouble(1);
+        return resultSet.wasNull() ? OptionalDouble.empty() : OptionalDouble.of(value);
+    }
+
+    // Read the first column of the first row, if there is one, asking the driver for no more than one row.
+    private static <T> T readFirst(ResultSet resultSet, Instrumentation.Probe probe, ScalarReader<T> reader, T empty) throws SQLException {
+        if (probe != null)
+            probe.executed();
+        var found = resultSet.next();
+        if (probe != null)
+            probe.setRowCount(found ? 1 : 0);
+        return found ? reader.read(resultSet) : empty;
+    }
+
+    // Evaluate a non-parametric query for a single value, without a ResultSetReceiver or Response.
+    private <T> T scalarAll(Connection connection, String query, String name, ScalarReader<T> reader, T empty) throws SQLException {
+        var sqlized = replaceTableNames(query);
+        distributeSQLEvent("valueOfAll: ", sqlized);
+        var probe = instrumentation.begin("valueOfAll: ", name, sqlized, 0);
+        Throwable failure = null;
+        try (var statement = connection.createStatement()) {
+            statement.setMaxRows(1);
+            statement.setFetchSize(1);
+            if (probe != null)
+                probe.prepared();
+            try (var resultSet = statement.executeQuery(sqlized)) {
+                return readFirst(resultSet, probe, reader, empty);
             }
-        });
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            instrumentation.end(probe, failure);
+        }
+    }
+
+    // Evaluate a parametric query for a single value, without a ResultSetReceiver or Response. A cached
+    // PreparedStatement has its maximum rows and fetch size restored before it's returned to the cache.
+    private <T> T scalar(Connection connection, SQL sql, ScalarReader<T> reader, T empty) throws SQLException {
+        var template = sql.getTemplate();
+        var sqlized = template.getSQL(dbTablenamePrefix);
+        distributeSQLEvent("valueOf: ", sqlized);
+        var arguments = sql.getArguments();
+        template.checkParameterCount(sqlized, arguments);
+        var probe = instrumentation.begin("valueOf: ", sql.getName(), sqlized, arguments.length);
+        var cache = getPreparedStatementCache(connection);
+        PreparedStatement statement = null;
+        var reusable = false;
+        Throwable failure = null;
+        try {
+            statement = (cache == null) ? connection.prepareStatement(sqlized) : cache.checkOut(sqlized);
+            sql.bindParameters(this, statement);
+            var maxRows = statement.getMaxRows();
+            var fetchSize = statement.getFetchSize();
+            statement.setMaxRows(1);
+            statement.setFetchSize(1);
+            if (probe != null)
+                probe.prepared();
+            T value;
+            try (var resultSet = statement.executeQuery()) {
+                value = readFirst(resultSet, probe, reader, empty);
+            }
+            if (cache != null) {
+                statement.setMaxRows(maxRows);
+                statement.setFetchSize(fetchSize);
+                reusable = true;
+            }
+            return value;
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            if (statement != null) {
+                if (reusable)
+                    cache.checkIn(sqlized, statement);
+                else
+                    statement.close();
+            }
+            instrumentation.end(probe, failure);
+        }
     }
 
     /**
@@ -245,7 +739,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public Optional<?> valueOfAll(String query) throws SQLException {
-        return useConnection(conn -> valueOfAll(conn, query));
+        return useReadConnection(conn -> valueOfAll(conn, query));
     }
 
     /**
@@ -259,7 +753,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public Optional<?> valueOfAll(Connection connection, Query<? extends Tuple> query) throws SQLException {
-        return valueOfAll(connection, query.getQueryText());
+        return valueOfAll(connection, query.getQueryText(), query.getName());
     }
 
     /**
@@ -272,7 +766,34 @@ public class Database {
      * @throws SQLException Error.
      */
     public Optional<?> valueOfAll(Query<? extends Tuple> query) throws SQLException {
-        return useConnection(conn -> valueOfAll(conn, query));
+        return useReadConnection(conn -> valueOfAll(conn, query));
+    }
+
+    /**
+     * Issue a SELECT query and obtain a value for the first row in the first column.
+     * Intended to obtain a single value.
+     *
+     * @param connection Database connection.
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result.
+     * @throws SQLException Error.
+     */
+    public Optional<?> valueOfAll(Connection connection, ValueOf query) throws SQLException {
+        return valueOfAll(connection, query.getQueryText(), query.getName());
+    }
+
+    /**
+     * Issue a SELECT query and obtain a value for the first row in the first column.
+     * Intended to obtain a single value.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result.
+     * @throws SQLException Error.
+     */
+    public Optional<?> valueOfAll(ValueOf query) throws SQLException {
+        return useReadConnection(conn -> valueOfAll(conn, query));
     }
 
     /**
@@ -292,34 +813,42 @@ public class Database {
         }
     }
 
+    /**
+     * Get the registry of ParameterBinderS used to bind arguments to PreparedStatement parameters. Register a
+     * ParameterBinder to change how arguments of a given type are bound.
+     *
+     * @return ParameterBinders.
+     */
+    public ParameterBinders getParameterBinders() {
+        return parameterBinders;
+    }
+
     // Canonical setup of prepared statement parameters from Java types.
-    private static void setupParms(PreparedStatement statement, Object... parms) throws SQLException {
-        var parmNumber = 1;
-        for (var parm : parms) {
-            if (parm == null)
-                statement.setNull(parmNumber, Types.VARCHAR);
-            else if (parm instanceof Null)
-                statement.setNull(parmNumber, ((Null) parm).type);
-            else if (parm instanceof Integer)
-                statement.setInt(parmNumber, (Integer) parm);
-            else if (parm instanceof Double)
-                statement.setDouble(parmNumber, (Double) parm);
-            else if (parm instanceof Float)
-                statement.setFloat(parmNumber, (Float) parm);
-            else if (parm instanceof Date)
-                statement.setDate(parmNumber, (Date) parm);
-            else if (parm instanceof Long)
-                statement.setLong(parmNumber, (Long) parm);
-            else if (parm instanceof Blob)
-                statement.setBlob(parmNumber, (Blob) parm);
-            else if (parm instanceof Boolean)
-                statement.setBoolean(parmNumber, (Boolean) parm);
-            else
-                statement.setString(parmNumber, parm.toString());
-            parmNumber++;
+    void setupParms(PreparedStatement statement, Object... parms) throws SQLException {
+        parameterBinders.bindAll(statement, parms);
+    }
+
+    // Bind arguments to the parameters of a statement prepared from the given template.
+    void bindParameters(SQLTemplate template, PreparedStatement statement, Object... parms) throws SQLException {
+        template.bind(parameterBinders, statement, parms);
+    }
+
+    // SQL text and arguments passed directly to a Database method, rather than via a Query or Update.
+    private static class AdHocSQL extends SQL {
+        AdHocSQL(SQLTemplate template, Object... arguments) {
+            super(template, arguments);
+        }
+
+        @Override
+        public String getName() {
+            return null;
         }
     }
 
+    private SQL adHoc(String query, Object... parms) {
+        return new AdHocSQL(getSQLTemplate(query), parms);
+    }
+
     /**
      * Used to define lambda expressions that make use of a PreparedStatement and return a value of type T.
      *
@@ -349,19 +878,62 @@ public class Database {
      * @throws SQLException Error.
      */
     public <T> Response<T> processPreparedStatement(PreparedStatementUser<T> preparedStatementUser, Connection connection, String query, Object... parms) throws SQLException {
-        var sqlized = replaceTableNames(query);
+        return processPreparedStatement(preparedStatementUser, connection, adHoc(query, parms));
+    }
+
+    private <T> Response<T> processPreparedStatement(PreparedStatementUser<T> preparedStatementUser, Connection connection, SQL sql) throws SQLException {
+        var template = sql.getTemplate();
+        var sqlized = template.getSQL(dbTablenamePrefix);
         distributeSQLEvent("processPreparedStatement: ", sqlized);
-        var argCount = parms.length;
-        var parmCount = (int) sqlized.chars().filter(ch -> ch == '?').count();
-        if (argCount != parmCount)
-            throw new IllegalArgumentException(Str.ing(ErrPrepArgCountMismatch, parmCount, argCount, sqlized));
-        try (var statement = connection.prepareStatement(sqlized)) {
-            setupParms(statement, parms);
+        var arguments = sql.getArguments();
+        template.checkParameterCount(sqlized, arguments);
+        var probe = instrumentation.begin("processPreparedStatement: ", sql.getName(), sqlized, arguments.length);
+        instrumentation.enter(probe);
+        Response<T> response = null;
+        Throwable failure = null;
+        try {
+            response = processPreparedStatement(preparedStatementUser, connection, sql, sqlized, probe);
+            return response;
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            instrumentation.end(probe, (failure == null && response != null) ? response.error : failure);
+        }
+    }
+
+    private <T> Response<T> processPreparedStatement(PreparedStatementUser<T> preparedStatementUser, Connection connection, SQL sql, String sqlized, Instrumentation.Probe probe) throws SQLException {
+        var cache = getPreparedStatementCache(connection);
+        if (cache == null) {
+            try (var statement = connection.prepareStatement(sqlized)) {
+                sql.bindParameters(this, statement);
+                if (probe != null)
+                    probe.prepared();
+                try {
+                    return Response.set(preparedStatementUser.go(statement));
+                } catch (SQLException t) {
+                    return Response.set(t);
+                }
+            }
+        }
+        var statement = cache.checkOut(sqlized);
+        var reusable = false;
+        try {
+            sql.bindParameters(this, statement);
+            if (probe != null)
+                probe.prepared();
             try {
-                return Response.set(preparedStatementUser.go(statement));
+                var response = Response.set(preparedStatementUser.go(statement));
+                reusable = true;
+                return response;
             } catch (SQLException t) {
                 return Response.set(t);
             }
+        } finally {
+            if (reusable)
+                cache.checkIn(sqlized, statement);
+            else
+                statement.close();
         }
     }
 
@@ -377,12 +949,23 @@ public class Database {
      * @throws SQLException Error.
      */
     public <T> T usePreparedStatement(PreparedStatementUser<T> preparedStatementUser, Connection connection, String query, Object... parms) throws SQLException {
-        var result = processPreparedStatement(preparedStatementUser, connection, query, parms);
+        return usePreparedStatement(preparedStatementUser, connection, adHoc(query, parms));
+    }
+
+    private <T> T usePreparedStatement(PreparedStatementUser<T> preparedStatementUser, Connection connection, SQL sql) throws SQLException {
+        var result = processPreparedStatement(preparedStatementUser, connection, sql);
         if (result.error != null)
             throw (SQLException)result.error;
         return result.value;
     }
 
+    // Execute a PreparedStatement that isn't expected to return a ResultSet, recording its update count if instrumented.
+    private boolean execute(PreparedStatement statement) throws SQLException {
+        var result = statement.execute();
+        instrumentation.updated(statement);
+        return result;
+    }
+
     /**
      * Issue a parametric update query with '?' substitutions.
      *
@@ -393,7 +976,10 @@ public class Database {
      * @throws SQLException Error.
      */
     public boolean update(Connection connection, String query, Object... parms) throws SQLException {
-        return usePreparedStatement(PreparedStatement::execute, connection, query, parms);
+        var sql = adHoc(query, parms);
+        var result = usePreparedStatement(this::execute, connection, sql);
+        written(connection, sql.getTemplate().getSQL(dbTablenamePrefix));
+        return result;
     }
 
     /**
@@ -420,15 +1006,11 @@ public class Database {
      * @throws SQLException Error.
      */
     public Optional<?> valueOf(Connection connection, String query, Object... parms) throws SQLException {
-        return query(connection, query, resultSet -> {
-            try {
-                if (resultSet.next())
-                    return Response.set(Optional.ofNullable(resultSet.getObject(1)));
-                return Response.set(Optional.empty());
-            } catch (SQLException sqe) {
-                return Response.set(sqe);
-            }
-        }, parms);
+        return valueOf(connection, adHoc(query, parms));
+    }
+
+    private Optional<?> valueOf(Connection connection, SQL sql) throws SQLException {
+        return scalar(connection, sql, Database::readObject, Optional.empty());
     }
 
     /**
@@ -442,7 +1024,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public Optional<?> valueOf(Connection connection, Query<? extends Tuple> query) throws SQLException {
-        return valueOf(connection, query.getQueryText(), query.getArguments());
+        return valueOf(connection, (SQL)query);
     }
 
     /**
@@ -456,7 +1038,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public Optional<?> valueOf(String query, Object... parms) throws SQLException {
-        return useConnection(conn -> valueOf(conn, query, parms));
+        return useReadConnection(conn -> valueOf(conn, query, parms));
     }
 
     /**
@@ -469,16 +1051,211 @@ public class Database {
      * @throws SQLException Error.
      */
     public Optional<?> valueOf(Query<? extends Tuple> query) throws SQLException {
-        return useConnection(conn -> valueOf(conn, query.getQueryText(), query.getArguments()));
+        return useReadConnection(conn -> valueOf(conn, (SQL)query));
     }
 
     /**
-     * Obtain a lambda to generate a new Tuple-derived class from a ResultSet.
+     * Issue a parametric SELECT query with '?' substitutions and obtain a value for the first row in the first column.
+     * Intended to obtain a single value.
      *
-     * @param codeDirectory Directory into which generated class (both source and .class) will be placed.
-     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
-     * @param tupleClassName Name for new tuple class.
-     * @param customisations Customisations for specific DBMS types.
+     * @param connection Database connection.
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result.
+     * @throws SQLException Error.
+     */
+    public Optional<?> valueOf(Connection connection, ValueOf query) throws SQLException {
+        return valueOf(connection, (SQL)query);
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain a value for the first row in the first column.
+     * Intended to obtain a single value.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result.
+     * @throws SQLException Error.
+     */
+    public Optional<?> valueOf(ValueOf query) throws SQLException {
+        return useReadConnection(conn -> valueOf(conn, (SQL)query));
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as an int.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param connection Database connection.
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalInt intValueOf(Connection connection, String query, Object... parms) throws SQLException {
+        return scalar(connection, adHoc(query, parms), Database::readInt, OptionalInt.empty());
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as an int.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalInt intValueOf(String query, Object... parms) throws SQLException {
+        return useReadConnection(conn -> intValueOf(conn, query, parms));
+    }
+
+    /**
+     * Issue a query and obtain the first column of the first row as an int.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param connection Database connection.
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalInt intValueOf(Connection connection, ValueOf query) throws SQLException {
+        return scalar(connection, query, Database::readInt, OptionalInt.empty());
+    }
+
+    /**
+     * Issue a query and obtain the first column of the first row as an int.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalInt intValueOf(ValueOf query) throws SQLException {
+        return useReadConnection(conn -> intValueOf(conn, query));
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as a long.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param connection Database connection.
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalLong longValueOf(Connection connection, String query, Object... parms) throws SQLException {
+        return scalar(connection, adHoc(query, parms), Database::readLong, OptionalLong.empty());
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as a long.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalLong longValueOf(String query, Object... parms) throws SQLException {
+        return useReadConnection(conn -> longValueOf(conn, query, parms));
+    }
+
+    /**
+     * Issue a query and obtain the first column of the first row as a long.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param connection Database connection.
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalLong longValueOf(Connection connection, ValueOf query) throws SQLException {
+        return scalar(connection, query, Database::readLong, OptionalLong.empty());
+    }
+
+    /**
+     * Issue a query and obtain the first column of the first row as a long.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalLong longValueOf(ValueOf query) throws SQLException {
+        return useReadConnection(conn -> longValueOf(conn, query));
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as a double.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param connection Database connection.
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalDouble doubleValueOf(Connection connection, String query, Object... parms) throws SQLException {
+        return scalar(connection, adHoc(query, parms), Database::readDouble, OptionalDouble.empty());
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as a double.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalDouble doubleValueOf(String query, Object... parms) throws SQLException {
+        return useReadConnection(conn -> doubleValueOf(conn, query, parms));
+    }
+
+    /**
+     * Issue a query and obtain the first column of the first row as a double.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param connection Database connection.
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalDouble doubleValueOf(Connection connection, ValueOf query) throws SQLException {
+        return scalar(connection, query, Database::readDouble, OptionalDouble.empty());
+    }
+
+    /**
+     * Issue a query and obtain the first column of the first row as a double.
+     * The driver is asked for no more than one row. Intended for high-volume key lookups and counts.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalDouble doubleValueOf(ValueOf query) throws SQLException {
+        return useReadConnection(conn -> doubleValueOf(conn, query));
+    }
+
+    /**
+     * Obtain a lambda to generate a new Tuple-derived class from a ResultSet.
+     *
+     * @param codeDirectory Directory into which generated class (both source and .class) will be placed.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleClassName Name for new tuple class.
+     * @param customisations Customisations for specific DBMS types.
      * @return - lambda which will generate the class given a ResultSet.
      */
     public static ResultSetReceiver<TupleTypeGenerator.GenerateResult> newResultSetGeneratesTupleClass(String codeDirectory, String packageSpec, String tupleClassName, Customisations customisations) {
@@ -491,6 +1268,26 @@ public class Database {
         };
     }
 
+    /**
+     * Obtain a lambda to generate a new immutable Tuple-derived class from a ResultSet.
+     * See TupleTypeGenerator.setImmutable(boolean).
+     *
+     * @param codeDirectory Directory into which generated class (both source and .class) will be placed.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleClassName Name for new tuple class.
+     * @param customisations Customisations for specific DBMS types.
+     * @return - lambda which will generate the class given a ResultSet.
+     */
+    public static ResultSetReceiver<TupleTypeGenerator.GenerateResult> newResultSetGeneratesImmutableTupleClass(String codeDirectory, String packageSpec, String tupleClassName, Customisations customisations) {
+        return resultSet -> {
+            try {
+                return Response.set(ResultSetToTuple.createImmutableTuple(codeDirectory, packageSpec, tupleClassName, resultSet, customisations));
+            } catch (Throwable e) {
+                return Response.set(e);
+            }
+        };
+    }
+
     /**
      * Obtain a lambda to generate a new UpdatableTuple-derived class from a ResultSet.
      *
@@ -502,9 +1299,25 @@ public class Database {
      * @return - lambda which will generate the class given a ResultSet.
      */
     public static ResultSetReceiver<TupleTypeGenerator.GenerateResult> newResultSetGeneratesTupleClassForUpdate(String codeDirectory, String packageSpec, String tupleClassName, Customisations customisations, String tableName) {
+        return newResultSetGeneratesTupleClassForUpdate(codeDirectory, packageSpec, tupleClassName, customisations, tableName, false);
+    }
+
+    /**
+     * Obtain a lambda to generate a new UpdatableTuple-derived class from a ResultSet, optionally with change tracking.
+     * See TupleTypeGenerator.setChangeTracking(boolean).
+     *
+     * @param codeDirectory Directory into which generated class (both source and .class) will be placed.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleClassName Name for new tuple class.
+     * @param customisations Customisations for specific DBMS types.
+     * @param tableName Name of table this Tuple maps to. Null if not mapped to a table.
+     * @param changeTracking True to generate a change-tracking UpdatableTuple.
+     * @return - lambda which will generate the class given a ResultSet.
+     */
+    public static ResultSetReceiver<TupleTypeGenerator.GenerateResult> newResultSetGeneratesTupleClassForUpdate(String codeDirectory, String packageSpec, String tupleClassName, Customisations customisations, String tableName, boolean changeTracking) {
         return resultSet -> {
             try {
-                return Response.set(ResultSetToTuple.createTupleForUpdate(codeDirectory, packageSpec, tupleClassName, resultSet, customisations, tableName));
+                return Response.set(ResultSetToTuple.createTupleForUpdate(codeDirectory, packageSpec, tupleClassName, resultSet, customisations, tableName, changeTracking));
             } catch (Throwable e) {
                 return Response.set(e);
             }
@@ -623,6 +1436,72 @@ public class Database {
         return (new Transaction<>(connection -> Response.set(createTupleFromQuery(connection, codeDirectory, packageSpec, tupleClassName, query, parms)))).getResult();
     }
 
+    /**
+     * Use a SELECT query to generate a corresponding immutable Tuple-derived class to represent future evaluations
+     * of the same query or similar queries. See TupleTypeGenerator.setImmutable(boolean).
+     *
+     * @param connection Connection to database, usually obtained via a Transaction.
+     * @param codeDirectory Directory in which compiled Tuple-derived source and .class will be generated.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleClassName Desired name of Tuple-derived class.
+     * @param query Query to be evaluated.
+     * @return Result of code generation.
+     * @throws SQLException Error.
+     */
+    public TupleTypeGenerator.GenerateResult createImmutableTupleFromQueryAll(Connection connection, String codeDirectory, String packageSpec, String tupleClassName, String query) throws SQLException {
+        var resultSetReceiver = newResultSetGeneratesImmutableTupleClass(codeDirectory, packageSpec, tupleClassName, customisations);
+        return queryAll(connection, query, resultSetReceiver);
+    }
+
+    /**
+     * Use a SELECT query to generate a corresponding immutable Tuple-derived class to represent future evaluations
+     * of the same query or similar queries. See TupleTypeGenerator.setImmutable(boolean).
+     *
+     * @param codeDirectory Directory in which compiled Tuple-derived source and .class will be generated.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleClassName Desired name of Tuple-derived class.
+     * @param query Query to be evaluated.
+     * @return Result of code generation.
+     * @throws SQLException Error.
+     */
+    public Response<TupleTypeGenerator.GenerateResult> createImmutableTupleFromQueryAll(String codeDirectory, String packageSpec, String tupleClassName, String query) throws SQLException {
+        return (new Transaction<>(connection -> Response.set(createImmutableTupleFromQueryAll(connection, codeDirectory, packageSpec, tupleClassName, query)))).getResult();
+    }
+
+    /**
+     * Use a parametric SELECT query to generate a corresponding immutable Tuple-derived class to represent future
+     * evaluations of the same query or similar queries. See TupleTypeGenerator.setImmutable(boolean).
+     *
+     * @param connection Connection to database, usually obtained via a Transaction.
+     * @param codeDirectory Directory in which compiled Tuple-derived source and .class will be generated.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleClassName Desired name of Tuple-derived class.
+     * @param query Query to be evaluated.
+     * @param parms Parameter arguments which positionally match to '?' in the query.
+     * @return Result of code generation.
+     * @throws SQLException Error.
+     */
+    public TupleTypeGenerator.GenerateResult createImmutableTupleFromQuery(Connection connection, String codeDirectory, String packageSpec, String tupleClassName, String query, Object... parms) throws SQLException {
+        var resultSetReceiver = newResultSetGeneratesImmutableTupleClass(codeDirectory, packageSpec, tupleClassName, customisations);
+        return query(connection, query, resultSetReceiver, parms);
+    }
+
+    /**
+     * Use a parametric SELECT query to generate a corresponding immutable Tuple-derived class to represent future
+     * evaluations of the same query or similar queries. See TupleTypeGenerator.setImmutable(boolean).
+     *
+     * @param codeDirectory Directory in which compiled Tuple-derived source and .class will be generated.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleClassName Desired name of Tuple-derived class.
+     * @param query Query to be evaluated.
+     * @param parms Parameter arguments which positionally match to '?' in the query.
+     * @return Result of code generation.
+     * @throws SQLException Error.
+     */
+    public Response<TupleTypeGenerator.GenerateResult> createImmutableTupleFromQuery(String codeDirectory, String packageSpec, String tupleClassName, String query, Object... parms) throws SQLException {
+        return (new Transaction<>(connection -> Response.set(createImmutableTupleFromQuery(connection, codeDirectory, packageSpec, tupleClassName, query, parms)))).getResult();
+    }
+
     /**
      * Use a SELECT query to generate a corresponding UpdatableTuple-derived class to represent future evaluations of the same query or similar queries.
      *
@@ -639,6 +1518,76 @@ public class Database {
         return (new Transaction<>(connection -> Response.set(createTupleFromQueryForUpdate(connection, codeDirectory, packageSpec, tupleClassName, tableName, query, parms)))).getResult();
     }
 
+    /**
+     * Use a SELECT query to generate a corresponding change-tracking UpdatableTuple-derived class to represent
+     * future evaluations of the same query or similar queries. See TupleTypeGenerator.setChangeTracking(boolean).
+     *
+     * @param connection Connection to database, usually obtained via a Transaction.
+     * @param codeDirectory Directory in which compiled UpdatableTuple-derived source and .class will be generated.
+     * @param packageSpec The package, in dotted notation, to which the UpdatableTuple belongs.
+     * @param tupleClassName Desired name of UpdatableTuple-derived class.
+     * @param tableName Name of table this UpdatableTuple maps to.
+     * @param query Query to be evaluated.
+     * @return Result of code generation.
+     * @throws SQLException Error.
+     */
+    public TupleTypeGenerator.GenerateResult createChangeTrackingTupleFromQueryAll(Connection connection, String codeDirectory, String packageSpec, String tupleClassName, String tableName, String query) throws SQLException {
+        var resultSetReceiver = newResultSetGeneratesTupleClassForUpdate(codeDirectory, packageSpec, tupleClassName, customisations, tableName, true);
+        return queryAll(connection, query, resultSetReceiver);
+    }
+
+    /**
+     * Use a SELECT query to generate a corresponding change-tracking UpdatableTuple-derived class to represent
+     * future evaluations of the same query or similar queries. See TupleTypeGenerator.setChangeTracking(boolean).
+     *
+     * @param codeDirectory Directory in which compiled UpdatableTuple-derived source and .class will be generated.
+     * @param packageSpec The package, in dotted notation, to which the UpdatableTuple belongs.
+     * @param tupleClassName Desired name of UpdatableTuple-derived class.
+     * @param tableName Name of table this UpdatableTuple maps to.
+     * @param query Query to be evaluated.
+     * @return Result of code generation.
+     * @throws SQLException Error.
+     */
+    public Response<TupleTypeGenerator.GenerateResult> createChangeTrackingTupleFromQueryAll(String codeDirectory, String packageSpec, String tupleClassName, String tableName, String query) throws SQLException {
+        return (new Transaction<>(connection -> Response.set(createChangeTrackingTupleFromQueryAll(connection, codeDirectory, packageSpec, tupleClassName, tableName, query)))).getResult();
+    }
+
+    /**
+     * Use a parametric SELECT query to generate a corresponding change-tracking UpdatableTuple-derived class to
+     * represent future evaluations of the same query or similar queries. See TupleTypeGenerator.setChangeTracking(boolean).
+     *
+     * @param connection Connection to database, usually obtained via a Transaction.
+     * @param codeDirectory Directory in which compiled UpdatableTuple-derived source and .class will be generated.
+     * @param packageSpec The package, in dotted notation, to which the UpdatableTuple belongs.
+     * @param tupleClassName Desired name of UpdatableTuple-derived class.
+     * @param tableName Name of table this UpdatableTuple maps to.
+     * @param query Query to be evaluated.
+     * @param parms Parameter arguments which positionally match to '?' in the query.
+     * @return Result of code generation.
+     * @throws SQLException Error.
+     */
+    public TupleTypeGenerator.GenerateResult createChangeTrackingTupleFromQuery(Connection connection, String codeDirectory, String packageSpec, String tupleClassName, String tableName, String query, Object... parms) throws SQLException {
+        var resultSetReceiver = newResultSetGeneratesTupleClassForUpdate(codeDirectory, packageSpec, tupleClassName, customisations, tableName, true);
+        return query(connection, query, resultSetReceiver, parms);
+    }
+
+    /**
+     * Use a parametric SELECT query to generate a corresponding change-tracking UpdatableTuple-derived class to
+     * represent future evaluations of the same query or similar queries. See TupleTypeGenerator.setChangeTracking(boolean).
+     *
+     * @param codeDirectory Directory in which compiled UpdatableTuple-derived source and .class will be generated.
+     * @param packageSpec The package, in dotted notation, to which the UpdatableTuple belongs.
+     * @param tupleClassName Desired name of UpdatableTuple-derived class.
+     * @param tableName Name of table this UpdatableTuple maps to.
+     * @param query Query to be evaluated.
+     * @param parms Parameter arguments which positionally match to '?' in the query.
+     * @return Result of code generation.
+     * @throws SQLException Error.
+     */
+    public Response<TupleTypeGenerator.GenerateResult> createChangeTrackingTupleFromQuery(String codeDirectory, String packageSpec, String tupleClassName, String tableName, String query, Object... parms) throws SQLException {
+        return (new Transaction<>(connection -> Response.set(createChangeTrackingTupleFromQuery(connection, codeDirectory, packageSpec, tupleClassName, tableName, query, parms)))).getResult();
+    }
+
     /**
      * Obtain a lambda that converts a ResultSet to a Stream&lt;T&gt; where T extends Tuple.
      *
@@ -649,7 +1598,9 @@ public class Database {
     public <T extends Tuple> ResultSetReceiver<Stream<T>> newResultSetToStream(Class<T> tupleClass) {
         return result -> {
             try {
-                return Response.set(ResultSetToTuple.toStream(result, tupleClass));
+                var tuples = ResultSetToTuple.toList(result, tupleClass);
+                instrumentation.setRowCount(tuples.size());
+                return Response.set(tuples.stream());
             } catch (Throwable e) {
                 return Response.set(new FatalException(Str.ing(ErrResultSetToStreamFail1), e));
             }
@@ -668,7 +1619,9 @@ public class Database {
     public <T extends UpdatableTuple> ResultSetReceiver<Stream<T>> newResultSetToStreamForUpdate(Class<T> tupleClass) {
         return result -> {
             try {
-                return Response.set(ResultSetToTuple.toStreamForUpdate(this, result, tupleClass));
+                var tuples = ResultSetToTuple.toListForUpdate(this, result, tupleClass);
+                instrumentation.setRowCount(tuples.size());
+                return Response.set(tuples.stream());
             } catch (Throwable e) {
                 return Response.set(new FatalException(Str.ing(ErrResultSetToStreamFail2), e));
             }
@@ -686,14 +1639,32 @@ public class Database {
      * @throws SQLException Error.
      */
     public <T> T queryAll(Connection connection, String query, ResultSetReceiver<T> receiver) throws SQLException {
+        return queryAll(connection, query, receiver, null);
+    }
+
+    private <T> T queryAll(Connection connection, String query, ResultSetReceiver<T> receiver, String name) throws SQLException {
         try (var statement = connection.createStatement()) {
             var sqlized = replaceTableNames(query);
             distributeSQLEvent("queryAll: ", sqlized);
-            try (var resultSet = statement.executeQuery(sqlized)) {
-                var response = receiver.go(resultSet);
-                if (response.isError())
-                    throw new SQLException(Str.ing(ErrQueryAllFail), response.error);
-                return response.value;
+            var probe = instrumentation.begin("queryAll: ", name, sqlized, 0);
+            instrumentation.enter(probe);
+            Throwable failure = null;
+            try {
+                if (probe != null)
+                    probe.prepared();
+                try (var resultSet = statement.executeQuery(sqlized)) {
+                    if (probe != null)
+                        probe.executed();
+                    var response = receiver.go(resultSet);
+                    if (response.isError())
+                        throw new SQLException(Str.ing(ErrQueryAllFail), response.error);
+                    return response.value;
+                }
+            } catch (Throwable t) {
+                failure = t;
+                throw t;
+            } finally {
+                instrumentation.end(probe, failure);
             }
         }
     }
@@ -708,7 +1679,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public <T> T queryAll(String query, ResultSetReceiver<T> receiver) throws SQLException {
-        return useConnection(conn -> queryAll(conn, query, receiver));
+        return useReadConnection(conn -> queryAll(conn, query, receiver));
     }
 
     /**
@@ -735,7 +1706,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public <T extends Tuple> Stream<T> queryAll(Connection connection, Query<T> query) throws SQLException {
-        return queryAll(connection, query.getQueryText(), query.getTupleClass());
+        return queryAll(connection, query.getQueryText(), newResultSetToStream(query.getTupleClass()), query.getName());
     }
 
     /**
@@ -752,211 +1723,941 @@ public class Database {
     }
 
     /**
-     * Obtain a stream of Tuple derivatives from a query evaluation.
+     * Obtain a stream of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> queryAll(Query<T> query) throws SQLException {
+        if (query.isCacheable())
+            return cachedQuery(query, (conn, receiver) -> queryAll(conn, query.getQueryText(), receiver, query.getName())).stream();
+        return useReadConnection(conn -> queryAll(conn, query));
+    }
+
+    /**
+     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param connection Database connection, typically obtained via a Transaction
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(Connection connection, String query, Class<T> tupleClass) throws SQLException {
+        return queryAll(connection, query, newResultSetToStreamForUpdate(tupleClass));
+    }
+
+    /**
+     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param connection Connection to database, typically obtained via a Transaction
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(Connection connection, Query<T> query) throws SQLException {
+        return queryAll(connection, query.getQueryText(), newResultSetToStreamForUpdate(query.getTupleClass()), query.getName());
+    }
+
+    /**
+     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     *
+     * @param <T>  T extends UpdatableTuple.
+     * @param query Query string.
+     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(String query, Class<T> tupleClass) throws SQLException {
+        return useConnection(conn -> queryAll(conn, query, newResultSetToStreamForUpdate(tupleClass)));
+    }
+
+    /**
+     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(Query<T> query) throws SQLException {
+        return useConnection(conn -> queryAllForUpdate(conn, query));
+    }
+
+    /**
+     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryForUpdate(Connection connection, String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return query(connection, query, newResultSetToStreamForUpdate(tupleClass), parms);
+    }
+
+    /**
+     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryForUpdate(Connection connection, Query<T> query) throws SQLException {
+        return query(connection, query, newResultSetToStreamForUpdate(query.getTupleClass()));
+    }
+
+    /**
+     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     *
+     * @param <T>  T extends UpdatableTuple.
+     * @param query Query string.
+     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryForUpdate(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return useConnection(conn -> query(conn, query, newResultSetToStreamForUpdate(tupleClass), parms));
+    }
+
+    /**
+     * Obtain a stream of Tuple derivatives from a query evaluation for possible update.
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryForUpdate(Query<T> query) throws SQLException {
+        return useConnection(conn -> queryForUpdate(conn, query));
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions, process it, and return the result
+     *
+     * @param <T> Return type.
+     * @param connection Database connection.
+     * @param query SQL SELECT query text.
+     * @param receiver ResultSet receiver lambda.
+     * @param parms Parameter arguments.
+     * @return Return value.
+     * @throws SQLException Error.
+     */
+    public <T> T query(Connection connection, String query, ResultSetReceiver<T> receiver, Object... parms) throws SQLException {
+        return query(connection, adHoc(query, parms), receiver);
+    }
+
+    private <T> T query(Connection connection, SQL sql, ResultSetReceiver<T> receiver) throws SQLException {
+        return usePreparedStatement(statement -> {
+            try (var resultSet = statement.executeQuery()) {
+                instrumentation.executed();
+                var response = receiver.go(resultSet);
+                if (response.isError())
+                    throw new SQLException(Str.ing(ErrQueryFail), response.error);
+                return response.value;
+            }
+        }, connection, sql);
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions, process it, and return the result
+     *
+     * @param <T> Return type.
+     * @param query SELECT query text.
+     * @param receiver ResultSet receiver lambda.
+     * @param parms Parameter arguments.
+     * @return Return value.
+     * @throws SQLException Error.
+     */
+    public <T> T query(String query, ResultSetReceiver<T> receiver, Object... parms) throws SQLException {
+        return useReadConnection(conn -> query(conn, query, receiver, parms));
+    }
+
+    // Obtain the ResultSetMetaData of a prepared but unexecuted statement, or null if the driver can't provide it.
+    private static ResultSetMetaData getPreparedMetaData(PreparedStatement statement) throws SQLException {
+        ResultSetMetaData metadata;
+        try {
+            metadata = statement.getMetaData();
+        } catch (SQLFeatureNotSupportedException notSupported) {
+            return null;
+        }
+        if (metadata == null || metadata.getColumnCount() == 0)
+            return null;
+        // Some drivers can name the columns of an unexecuted statement, but not give their types.
+        for (var column = 1; column <= metadata.getColumnCount(); column++)
+            if (metadata.getColumnTypeName(column) == null)
+                return null;
+        return metadata;
+    }
+
+    /**
+     * Obtain the ResultSetMetaData of a SELECT query, and process it, without retrieving the query's rows. It
+     * comes from PreparedStatement.getMetaData() if the JDBC driver supports it. Otherwise, the query is wrapped
+     * in a query that returns no rows -- see Customisations.getMetaDataProbeQuery(String) -- which is executed.
+     * Either way, the time taken doesn't depend on the amount of data the query would return.
+     *
+     * @param <T> Return type.
+     * @param connection Database connection.
+     * @param query SQL SELECT query text.
+     * @param receiver ResultSetMetaData receiver lambda.
+     * @param parms Parameter arguments. Only bound if the query must be executed.
+     * @return Return value.
+     * @throws SQLException Error.
+     */
+    public <T> T queryMetaData(Connection connection, String query, MetaDataReceiver<T> receiver, Object... parms) throws SQLException {
+        var sqlized = replaceTableNames(query);
+        distributeSQLEvent("queryMetaData: ", sqlized);
+        Response<T> response = null;
+        try (var statement = connection.prepareStatement(sqlized)) {
+            var metadata = getPreparedMetaData(statement);
+            if (metadata != null)
+                response = receiver.go(metadata);
+        }
+        if (response == null) {
+            var probeQuery = (customisations != null)
+                ? customisations.getMetaDataProbeQuery(sqlized)
+                : Customisations.getDefaultMetaDataProbeQuery(sqlized);
+            try (var statement = connection.prepareStatement(probeQuery)) {
+                if (parms != null)
+                    setupParms(statement, parms);
+                try (var resultSet = statement.executeQuery()) {
+                    response = receiver.go(resultSet.getMetaData());
+                }
+            }
+        }
+        if (response.isError())
+            throw new SQLException(Str.ing(ErrQueryMetaDataFail), response.error);
+        return response.value;
+    }
+
+    /**
+     * Obtain the ResultSetMetaData of a SELECT query, and process it, without retrieving the query's rows.
+     * See queryMetaData(Connection, String, MetaDataReceiver, Object...).
+     *
+     * @param <T> Return type.
+     * @param query SQL SELECT query text.
+     * @param receiver ResultSetMetaData receiver lambda.
+     * @param parms Parameter arguments. Only bound if the query must be executed.
+     * @return Return value.
+     * @throws SQLException Error.
+     */
+    public <T> T queryMetaData(String query, MetaDataReceiver<T> receiver, Object... parms) throws SQLException {
+        return useConnection(conn -> queryMetaData(conn, query, receiver, parms));
+    }
+
+    /**
+     * Get the Customisations for this Database's DBMS.
+     *
+     * @return Customisations. May be null.
+     */
+    public Customisations getCustomisations() {
+        return customisations;
+    }
+
+    /**
+     * Obtain a stream of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> query(Connection connection, String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return query(connection, query, newResultSetToStream(tupleClass), parms);
+    }
+
+    /**
+     * Obtain a stream of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> query(Connection connection, Query<T> query) throws SQLException {
+        return query(connection, query, newResultSetToStream(query.getTupleClass()));
+    }
+
+    /**
+     * Obtain a stream of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> query(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return query(query, newResultSetToStream(tupleClass), parms);
+    }
+
+    /**
+     * Obtain a stream of Tuple derivatives from a query evaluation.
+     *
+     * @param <T>  T extends Tuple.
+     * @param query A Query
+     * @return Stream&lt;T&gt; Result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> query(Query<T> query) throws SQLException {
+        if (query.isCacheable())
+            return cachedQuery(query, (conn, receiver) -> query(conn, query, receiver)).stream();
+        return useReadConnection(conn -> query(conn, query));
+    }
+
+    // Used to define lambda expressions that evaluate a Query on a Connection with a given ResultSetReceiver.
+    @FunctionalInterface
+    private interface QueryEvaluator<T> {
+        List<T> evaluate(Connection connection, ResultSetReceiver<List<T>> receiver) throws SQLException;
+    }
+
+    // Obtain the result of a cacheable Query from the ResultCache, or evaluate it and cache the result.
+    private <T extends Tuple> List<T> cachedQuery(Query<T> query, QueryEvaluator<T> evaluator) throws SQLException {
+        var key = new ResultCache.Key(query.getClass(), query.getArguments());
+        List<T> rows = resultCache.get(key);
+        if (rows != null)
+            return rows;
+        var generation = resultCache.getGeneration();
+        var receiver = newResultSetToList(query.getTupleClass(), query.getTemplate());
+        rows = useConnection(conn -> evaluator.evaluate(conn, receiver));
+        var tableNames = ResultCache.getTableNames(query.getTemplate().getSQL(dbTablenamePrefix));
+        return resultCache.put(key, tableNames, rows, generation);
+    }
+
+    // Obtain a ResultSetReceiver that collects Tuples in an ArrayList sized from the number of rows the template's query last returned.
+    private <T extends Tuple> ResultSetReceiver<List<T>> newResultSetToList(Class<T> tupleClass, SQLTemplate template) {
+        return result -> {
+            try {
+                var tuples = ResultSetToTuple.toList(result, tupleClass, template.getRowCountHint());
+                template.setRowCountHint(tuples.size());
+                instrumentation.setRowCount(tuples.size());
+                return Response.set(tuples);
+            } catch (Throwable e) {
+                return Response.set(new FatalException(Str.ing(ErrResultSetToListFail), e));
+            }
+        };
+    }
+
+    /**
+     * Obtain a List of Tuple derivatives from a query evaluation. Unlike query(...), the result can be indexed
+     * and its size obtained without copying. The List is an ArrayList, initially sized from the number of rows
+     * the same query text last returned.
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAsList(Connection connection, String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        var sql = adHoc(query, parms);
+        return query(connection, sql, newResultSetToList(tupleClass, sql.getTemplate()));
+    }
+
+    /**
+     * Obtain a List of Tuple derivatives from a query evaluation. See queryAsList(Connection, String, Class, Object...).
+     *
+     * @param <T> T extends Tuple.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAsList(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return useReadConnection(conn -> queryAsList(conn, query, tupleClass, parms));
+    }
+
+    /**
+     * Obtain a List of Tuple derivatives from a query evaluation. The List is an ArrayList, initially sized from the
+     * number of rows the same kind of Query last returned.
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query A Query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAsList(Connection connection, Query<T> query) throws SQLException {
+        return query(connection, query, newResultSetToList(query.getTupleClass(), query.getTemplate()));
+    }
+
+    /**
+     * Obtain a List of Tuple derivatives from a query evaluation. See queryAsList(Connection, Query).
+     *
+     * If the Query is cacheable and the ResultCache is in use, the List may be shared with other callers, so it
+     * is unmodifiable.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAsList(Query<T> query) throws SQLException {
+        if (query.isCacheable())
+            return cachedQuery(query, (conn, receiver) -> query(conn, query, receiver));
+        return useReadConnection(conn -> queryAsList(conn, query));
+    }
+
+    /**
+     * Obtain a List of Tuple derivatives from a query evaluation. The List is an ArrayList, initially sized from
+     * the number of rows the same query text last returned.
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAllAsList(Connection connection, String query, Class<T> tupleClass) throws SQLException {
+        return queryAll(connection, query, newResultSetToList(tupleClass, getSQLTemplate(query)));
+    }
+
+    /**
+     * Obtain a List of Tuple derivatives from a query evaluation. See queryAllAsList(Connection, String, Class).
+     *
+     * @param <T> T extends Tuple.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAllAsList(String query, Class<T> tupleClass) throws SQLException {
+        return useReadConnection(conn -> queryAllAsList(conn, query, tupleClass));
+    }
+
+    /**
+     * Obtain a List of Tuple derivatives from a query evaluation. The List is an ArrayList, initially sized from
+     * the number of rows the same kind of Query last returned.
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query A Query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAllAsList(Connection connection, Query<T> query) throws SQLException {
+        return queryAll(connection, query.getQueryText(), newResultSetToList(query.getTupleClass(), query.getTemplate()), query.getName());
+    }
+
+    /**
+     * Obtain a List of Tuple derivatives from a query evaluation. See queryAllAsList(Connection, Query).
+     *
+     * If the Query is cacheable and the ResultCache is in use, the List may be shared with other callers, so it
+     * is unmodifiable.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAllAsList(Query<T> query) throws SQLException {
+        if (query.isCacheable())
+            return cachedQuery(query, (conn, receiver) -> queryAll(conn, query.getQueryText(), receiver, query.getName()));
+        return useReadConnection(conn -> queryAllAsList(conn, query));
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation. See queryAsList(Connection, String, Class, Object...).
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAsArray(Connection connection, String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return ResultSetToTuple.toArray(queryAsList(connection, query, tupleClass, parms), tupleClass);
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation. See queryAsList(String, Class, Object...).
+     *
+     * @param <T> T extends Tuple.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAsArray(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return ResultSetToTuple.toArray(queryAsList(query, tupleClass, parms), tupleClass);
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation. See queryAsList(Connection, Query).
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query A Query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAsArray(Connection connection, Query<T> query) throws SQLException {
+        return ResultSetToTuple.toArray(queryAsList(connection, query), query.getTupleClass());
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation. See queryAsList(Query).
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAsArray(Query<T> query) throws SQLException {
+        return ResultSetToTuple.toArray(queryAsList(query), query.getTupleClass());
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation. See queryAllAsList(Connection, String, Class).
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAllAsArray(Connection connection, String query, Class<T> tupleClass) throws SQLException {
+        return ResultSetToTuple.toArray(queryAllAsList(connection, query, tupleClass), tupleClass);
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation. See queryAllAsList(String, Class).
+     *
+     * @param <T> T extends Tuple.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAllAsArray(String query, Class<T> tupleClass) throws SQLException {
+        return ResultSetToTuple.toArray(queryAllAsList(query, tupleClass), tupleClass);
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation. See queryAllAsList(Connection, Query).
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query A Query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAllAsArray(Connection connection, Query<T> query) throws SQLException {
+        return ResultSetToTuple.toArray(queryAllAsList(connection, query), query.getTupleClass());
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation. See queryAllAsList(Query).
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAllAsArray(Query<T> query) throws SQLException {
+        return ResultSetToTuple.toArray(queryAllAsList(query), query.getTupleClass());
+    }
+
+    // Obtain a ResultSetReceiver that reads a ResultSet into a ColumnarResult sized from the number of rows the template's query last returned.
+    private ResultSetReceiver<ColumnarResult> newResultSetToColumnar(SQLTemplate template) {
+        return result -> {
+            try {
+                var columnar = ColumnarResult.from(result, customisations, metadataCache, template.getRowCountHint());
+                template.setRowCountHint(columnar.getRowCount());
+                instrumentation.setRowCount(columnar.getRowCount());
+                return Response.set(columnar);
+            } catch (Throwable e) {
+                return Response.set(new FatalException(Str.ing(ErrResultSetToColumnarFail), e));
+            }
+        };
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult, which holds each column in a primitive
+     * or dictionary-encoded array rather than creating a Tuple per row. Suited to large analytic results.
+     *
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param parms Parameter argument list.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryColumnar(Connection connection, String query, Object... parms) throws SQLException {
+        var sql = adHoc(query, parms);
+        return query(connection, sql, newResultSetToColumnar(sql.getTemplate()));
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult. See queryColumnar(Connection, String, Object...).
+     *
+     * @param query Query string.
+     * @param parms Parameter argument list.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryColumnar(String query, Object... parms) throws SQLException {
+        return useReadConnection(conn -> queryColumnar(conn, query, parms));
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult. The Query's tuple class is not used.
+     *
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query A Query.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryColumnar(Connection connection, Query<?> query) throws SQLException {
+        return query(connection, query, newResultSetToColumnar(query.getTemplate()));
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult. See queryColumnar(Connection, Query).
+     *
+     * @param query A Query.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryColumnar(Query<?> query) throws SQLException {
+        return useReadConnection(conn -> queryColumnar(conn, query));
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult. See queryColumnar(Connection, String, Object...).
+     *
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryAllColumnar(Connection connection, String query) throws SQLException {
+        return queryAll(connection, query, newResultSetToColumnar(getSQLTemplate(query)));
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult. See queryColumnar(Connection, String, Object...).
+     *
+     * @param query Query string.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryAllColumnar(String query) throws SQLException {
+        return useReadConnection(conn -> queryAllColumnar(conn, query));
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult. The Query's tuple class is not used.
+     *
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query A Query.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryAllColumnar(Connection connection, Query<?> query) throws SQLException {
+        return queryAll(connection, query.getQueryText(), newResultSetToColumnar(query.getTemplate()), query.getName());
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult. See queryAllColumnar(Connection, Query).
      *
-     * @param <T> T extends Tuple.
      * @param query A Query.
-     * @return Stream&lt;T&gt; Result stream.
+     * @return ColumnarResult.
      * @throws SQLException Error.
      */
-    public <T extends Tuple> Stream<T> queryAll(Query<T> query) throws SQLException {
-        return queryAll(query.getQueryText(), query.getTupleClass());
+    public ColumnarResult queryAllColumnar(Query<?> query) throws SQLException {
+        return useReadConnection(conn -> queryAllColumnar(conn, query));
     }
 
     /**
-     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * Used to define lambda expressions that turn a live ResultSet into a lazy Stream.
      *
-     * @param <T> T extends UpdatableTuple.
-     * @param connection Database connection, typically obtained via a Transaction
-     * @param query Query string.
-     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
-     * @return Stream&lt;T&gt; Result stream.
-     * @throws SQLException Error.
+     * @param <T> Stream element type.
      */
-    public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(Connection connection, String query, Class<T> tupleClass) throws SQLException {
-        return queryAll(connection, query, newResultSetToStreamForUpdate(tupleClass));
+    @FunctionalInterface
+    private interface LazyStreamer<T> {
+        Stream<T> go(ResultSet resultSet, AutoCloseable resources) throws SQLException, NoSuchMethodException;
+    }
+
+    // Issue a query and return a Stream that holds its Statement -- and Connection, if ownsConnection is true -- open until the Stream is closed.
+    // If isReadConnection is true, the owned Connection came from getReadConnection().
+    private <T> Stream<T> lazyQuery(String location, Connection connection, boolean ownsConnection, boolean isReadConnection, SQL sql, LazyStreamer<T> streamer) throws SQLException {
+        var template = sql.getTemplate();
+        var sqlized = template.getSQL(dbTablenamePrefix);
+        distributeSQLEvent(location, sqlized);
+        var arguments = sql.getArguments();
+        template.checkParameterCount(sqlized, arguments);
+        var probe = instrumentation.begin(location, sql.getName(), sqlized, arguments.length);
+        var rowsPerFetch = fetchSize;
+        var restoreAutoCommit = ownsConnection && rowsPerFetch > 0 && connection.getAutoCommit();
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            if (restoreAutoCommit)
+                connection.setAutoCommit(false);
+            statement = connection.prepareStatement(sqlized);
+            if (rowsPerFetch > 0)
+                statement.setFetchSize(rowsPerFetch);
+            sql.bindParameters(this, statement);
+            if (probe != null)
+                probe.prepared();
+            resultSet = statement.executeQuery();
+            if (probe != null)
+                probe.executed();
+            final var openStatement = statement;
+            AutoCloseable resources = ownsConnection
+                ? () -> {
+                    try (connection) {
+                        openStatement.close();
+                        if (restoreAutoCommit)
+                            connection.setAutoCommit(true);
+                    } finally {
+                        if (isReadConnection)
+                            readConnectionClosed(connection);
+                    }
+                }
+                : openStatement;
+            var stream = streamer.go(resultSet, resources);
+            instrumentation.end(probe, null);
+            return stream;
+        } catch (Throwable t) {
+            instrumentation.end(probe, t);
+            try {
+                if (resultSet != null)
+                    resultSet.close();
+                if (statement != null)
+                    statement.close();
+                if (ownsConnection)
+                    connection.close();
+            } catch (SQLException closeFailure) {
+                t.addSuppressed(closeFailure);
+            } finally {
+                if (isReadConnection)
+                    readConnectionClosed(connection);
+            }
+            if (t instanceof SQLException)
+                throw (SQLException)t;
+            throw new SQLException(Str.ing(ErrLazyQueryFail, location), t);
+        }
+    }
+
+    // Issue a query on a new Connection that remains open until the returned Stream is closed.
+    private <T> Stream<T> lazyQuery(String location, SQL sql, LazyStreamer<T> streamer) throws SQLException {
+        return lazyQuery(location, dataSource.getConnection(), true, false, sql, streamer);
+    }
+
+    // Issue a read-only query on a new Connection from getReadConnection() that remains open until the returned Stream is closed.
+    private <T> Stream<T> lazyReadQuery(String location, SQL sql, LazyStreamer<T> streamer) throws SQLException {
+        return lazyQuery(location, getReadConnection(), true, true, sql, streamer);
     }
 
     /**
-     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * Obtain a lazy stream of Tuple derivatives from a parametric query evaluation. Rows are retrieved
+     * from the database as the Stream is consumed, so memory use does not grow with the number of rows.
      *
-     * @param <T> T extends UpdatableTuple.
-     * @param connection Connection to database, typically obtained via a Transaction
-     * @param query A Query.
-     * @return Stream&lt;T&gt; Result stream.
+     * The query's Statement remains open until the Stream is closed or fully consumed. Use try-with-resources
+     * to close the Stream if it might not be fully consumed. See setFetchSize(...) to tune retrieval.
+     *
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(Connection connection, Query<T> query) throws SQLException {
-        return queryAllForUpdate(connection, query.getQueryText(), query.getTupleClass());
+    public <T extends Tuple> Stream<T> queryLazy(Connection connection, String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return lazyQuery("queryLazy: ", connection, false, false, adHoc(query, parms), (resultSet, resources) -> ResultSetToTuple.toLazyStream(resultSet, tupleClass, resources));
     }
 
     /**
-     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * Obtain a lazy stream of Tuple derivatives from a parametric query evaluation. Rows are retrieved
+     * from the database as the Stream is consumed, so memory use does not grow with the number of rows.
      *
-     * @param <T>  T extends UpdatableTuple.
+     * The query's Connection and Statement remain open until the Stream is closed or fully consumed. Use
+     * try-with-resources to close the Stream if it might not be fully consumed. See setFetchSize(...) to tune retrieval.
+     *
+     * @param <T> T extends Tuple.
      * @param query Query string.
-     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
-     * @return Stream&lt;T&gt; Result stream.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(String query, Class<T> tupleClass) throws SQLException {
-        return queryAll(query, newResultSetToStreamForUpdate(tupleClass));
+    public <T extends Tuple> Stream<T> queryLazy(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return lazyReadQuery("queryLazy: ", adHoc(query, parms), (resultSet, resources) -> ResultSetToTuple.toLazyStream(resultSet, tupleClass, resources));
     }
 
     /**
-     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * Obtain a lazy stream of Tuple derivatives from a query evaluation. See queryLazy(String, Class, Object...).
      *
-     * @param <T> T extends UpdatableTuple.
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
      * @param query A Query.
-     * @return Stream&lt;T&gt; Result stream.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(Query<T> query) throws SQLException {
-        return queryAllForUpdate(query.getQueryText(), query.getTupleClass());
+    public <T extends Tuple> Stream<T> queryLazy(Connection connection, Query<T> query) throws SQLException {
+        return lazyQuery("queryLazy: ", connection, false, false, query, (resultSet, resources) -> ResultSetToTuple.toLazyStream(resultSet, query.getTupleClass(), resources));
     }
 
     /**
-     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * Obtain a lazy stream of Tuple derivatives from a query evaluation. See queryLazy(String, Class, Object...).
      *
-     * @param <T> T extends UpdatableTuple.
-     * @param connection Database connection, typically obtained via a Transaction.
-     * @param query Query string.
-     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
-     * @param parms Parameter argument list.
-     * @return Stream&lt;T&gt; Result stream.
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends UpdatableTuple> Stream<T> queryForUpdate(Connection connection, String query, Class<T> tupleClass, Object... parms) throws SQLException {
-        return query(connection, query, newResultSetToStreamForUpdate(tupleClass), parms);
+    public <T extends Tuple> Stream<T> queryLazy(Query<T> query) throws SQLException {
+        return lazyReadQuery("queryLazy: ", query, (resultSet, resources) -> ResultSetToTuple.toLazyStream(resultSet, query.getTupleClass(), resources));
     }
 
     /**
-     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * Obtain a lazy stream of Tuple derivatives from a query evaluation. See queryLazy(Connection, String, Class, Object...).
      *
-     * @param <T> T extends UpdatableTuple.
+     * @param <T> T extends Tuple.
      * @param connection Database connection, typically obtained via a Transaction.
-     * @param query A Query.
-     * @return Stream&lt;T&gt; Result stream.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends UpdatableTuple> Stream<T> queryForUpdate(Connection connection, Query<T> query) throws SQLException {
-        return queryForUpdate(connection, query.getQueryText(), query.getTupleClass(), query.getArguments());
+    public <T extends Tuple> Stream<T> queryAllLazy(Connection connection, String query, Class<T> tupleClass) throws SQLException {
+        return lazyQuery("queryAllLazy: ", connection, false, false, adHoc(query), (resultSet, resources) -> ResultSetToTuple.toLazyStream(resultSet, tupleClass, resources));
     }
 
     /**
-     * Obtain a stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * Obtain a lazy stream of Tuple derivatives from a query evaluation. See queryLazy(String, Class, Object...).
      *
-     * @param <T>  T extends UpdatableTuple.
+     * @param <T> T extends Tuple.
      * @param query Query string.
-     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
-     * @param parms Parameter argument list.
-     * @return Stream&lt;T&gt; Result stream.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends UpdatableTuple> Stream<T> queryForUpdate(String query, Class<T> tupleClass, Object... parms) throws SQLException {
-        return query(query, newResultSetToStreamForUpdate(tupleClass), parms);
+    public <T extends Tuple> Stream<T> queryAllLazy(String query, Class<T> tupleClass) throws SQLException {
+        return lazyReadQuery("queryAllLazy: ", adHoc(query), (resultSet, resources) -> ResultSetToTuple.toLazyStream(resultSet, tupleClass, resources));
     }
 
     /**
-     * Obtain a stream of Tuple derivatives from a query evaluation for possible update.
+     * Obtain a lazy stream of Tuple derivatives from a query evaluation. See queryLazy(Connection, String, Class, Object...).
      *
-     * @param <T> T extends UpdatableTuple.
+     * @param <T> T extends Tuple.
+     * @param connection Database connection, typically obtained via a Transaction.
      * @param query A Query.
-     * @return Stream&lt;T&gt; Result stream.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends UpdatableTuple> Stream<T> queryForUpdate(Query<T> query) throws SQLException {
-        return queryForUpdate(query.getQueryText(), query.getTupleClass(), query.getArguments());
+    public <T extends Tuple> Stream<T> queryAllLazy(Connection connection, Query<T> query) throws SQLException {
+        return lazyQuery("queryAllLazy: ", connection, false, false, query, (resultSet, resources) -> ResultSetToTuple.toLazyStream(resultSet, query.getTupleClass(), resources));
     }
 
     /**
-     * Issue a parametric SELECT query with '?' substitutions, process it, and return the result
+     * Obtain a lazy stream of Tuple derivatives from a query evaluation. See queryLazy(String, Class, Object...).
      *
-     * @param <T> Return type.
-     * @param connection Database connection.
-     * @param query SQL SELECT query text.
-     * @param receiver ResultSet receiver lambda.
-     * @param parms Parameter arguments.
-     * @return Return value.
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T> T query(Connection connection, String query, ResultSetReceiver<T> receiver, Object... parms) throws SQLException {
-        return usePreparedStatement(statement -> {
-            try (var resultSet = statement.executeQuery()) {
-                var response = receiver.go(resultSet);
-                if (response.isError())
-                    throw new SQLException(Str.ing(ErrQueryFail), response.error);
-                return response.value;
-            }
-        }, connection, query, parms);
+    public <T extends Tuple> Stream<T> queryAllLazy(Query<T> query) throws SQLException {
+        return lazyReadQuery("queryAllLazy: ", query, (resultSet, resources) -> ResultSetToTuple.toLazyStream(resultSet, query.getTupleClass(), resources));
     }
 
     /**
-     * Issue a parametric SELECT query with '?' substitutions, process it, and return the result
+     * Obtain a lazy stream of UpdatableTuple derivatives from a parametric query evaluation for possible update.
+     * See queryLazy(Connection, String, Class, Object...).
      *
-     * @param <T> Return type.
-     * @param query SELECT query text.
-     * @param receiver ResultSet receiver lambda.
-     * @param parms Parameter arguments.
-     * @return Return value.
+     * @param <T> T extends UpdatableTuple.
+     * @param connection Database connection, typically obtained via a Transaction.
+     * @param query Query string.
+     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter argument list.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T> T query(String query, ResultSetReceiver<T> receiver, Object... parms) throws SQLException {
-        return useConnection(conn -> query(conn, query, receiver, parms));
+    public <T extends UpdatableTuple> Stream<T> queryForUpdateLazy(Connection connection, String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return lazyQuery("queryForUpdateLazy: ", connection, false, false, adHoc(query, parms), (resultSet, resources) -> ResultSetToTuple.toLazyStreamForUpdate(this, resultSet, tupleClass, resources));
     }
 
     /**
-     * Obtain a stream of Tuple derivatives from a query evaluation.
+     * Obtain a lazy stream of UpdatableTuple derivatives from a parametric query evaluation for possible update.
+     * See queryLazy(String, Class, Object...).
      *
-     * @param <T> T extends Tuple.
-     * @param connection Database connection, typically obtained via a Transaction.
+     * @param <T> T extends UpdatableTuple.
      * @param query Query string.
-     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
      * @param parms Parameter argument list.
-     * @return Stream&lt;T&gt; Result stream.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends Tuple> Stream<T> query(Connection connection, String query, Class<T> tupleClass, Object... parms) throws SQLException {
-        return query(connection, query, newResultSetToStream(tupleClass), parms);
+    public <T extends UpdatableTuple> Stream<T> queryForUpdateLazy(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return lazyQuery("queryForUpdateLazy: ", adHoc(query, parms), (resultSet, resources) -> ResultSetToTuple.toLazyStreamForUpdate(this, resultSet, tupleClass, resources));
     }
 
     /**
-     * Obtain a stream of Tuple derivatives from a query evaluation.
+     * Obtain a lazy stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * See queryLazy(String, Class, Object...).
      *
-     * @param <T> T extends Tuple.
-     * @param connection Database connection, typically obtained via a Transaction
+     * @param <T> T extends UpdatableTuple.
      * @param query A Query.
-     * @return Stream&lt;T&gt; Result stream.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends Tuple> Stream<T> query(Connection connection, Query<T> query) throws SQLException {
-        return query(connection, query.getQueryText(), query.getTupleClass(), query.getArguments());
+    public <T extends UpdatableTuple> Stream<T> queryForUpdateLazy(Query<T> query) throws SQLException {
+        return lazyQuery("queryForUpdateLazy: ", query, (resultSet, resources) -> ResultSetToTuple.toLazyStreamForUpdate(this, resultSet, query.getTupleClass(), resources));
     }
 
     /**
-     * Obtain a stream of Tuple derivatives from a query evaluation.
+     * Obtain a lazy stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * See queryLazy(Connection, String, Class, Object...).
      *
-     * @param <T> T extends Tuple.
+     * @param <T> T extends UpdatableTuple.
+     * @param connection Database connection, typically obtained via a Transaction.
      * @param query Query string.
-     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
-     * @param parms Parameter argument list.
-     * @return Stream&lt;T&gt; Result stream.
+     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends Tuple> Stream<T> query(String query, Class<T> tupleClass, Object... parms) throws SQLException {
-        return query(query, newResultSetToStream(tupleClass), parms);
+    public <T extends UpdatableTuple> Stream<T> queryAllForUpdateLazy(Connection connection, String query, Class<T> tupleClass) throws SQLException {
+        return lazyQuery("queryAllForUpdateLazy: ", connection, false, false, adHoc(query), (resultSet, resources) -> ResultSetToTuple.toLazyStreamForUpdate(this, resultSet, tupleClass, resources));
     }
 
     /**
-     * Obtain a stream of Tuple derivatives from a query evaluation.
+     * Obtain a lazy stream of UpdatableTuple derivatives from a query evaluation for possible update.
+     * See queryLazy(String, Class, Object...).
      *
-     * @param <T>  T extends Tuple.
-     * @param query A Query
-     * @return Stream&lt;T&gt; Result stream.
+     * @param <T> T extends UpdatableTuple.
+     * @param query Query string.
+     * @param tupleClass UpdatableTuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return Stream&lt;T&gt; Lazy result stream.
      * @throws SQLException Error.
      */
-    public <T extends Tuple> Stream<T> query(Query<T> query) throws SQLException {
-        return query(query.getQueryText(), query.getTupleClass(), query.getArguments());
+    public <T extends UpdatableTuple> Stream<T> queryAllForUpdateLazy(String query, Class<T> tupleClass) throws SQLException {
+        return lazyQuery("queryAllForUpdateLazy: ", adHoc(query), (resultSet, resources) -> ResultSetToTuple.toLazyStreamForUpdate(this, resultSet, tupleClass, resources));
     }
 
     /**
@@ -967,7 +2668,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public boolean updateAll(Update update) throws SQLException {
-        return updateAll(update.getQueryText());
+        return useConnection(conn -> updateAll(conn, update));
     }
 
     /**
@@ -979,7 +2680,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public boolean updateAll(Connection connection, Update update) throws SQLException {
-        return updateAll(connection, update.getQueryText());
+        return updateAll(connection, update.getQueryText(), update.getName());
     }
 
     /**
@@ -990,7 +2691,7 @@ public class Database {
      * @throws SQLException Error.
      */
     public boolean update(Update update) throws SQLException {
-        return update(update.getQueryText(), update.getArguments());
+        return useConnection(conn -> update(conn, update));
     }
 
     /**
@@ -1002,7 +2703,9 @@ public class Database {
      * @throws SQLException Error.
      */
     public boolean update(Connection connection, Update update) throws SQLException {
-        return update(connection, update.getQueryText(), update.getArguments());
+        var result = usePreparedStatement(this::execute, connection, update);
+        written(connection, update.getTemplate().getSQL(dbTablenamePrefix));
+        return result;
     }
 
     /**
@@ -1053,18 +2756,23 @@ public class Database {
          */
         public Transaction(TransactionRunner<T> transactionRunner) throws SQLException {
             try (var connection = dataSource.getConnection()) {
-                connection.setAutoCommit(false);
                 try {
-                    result = transactionRunner.run(connection);
-                } catch (Throwable t) {
-                    connection.rollback();
-                    result = Response.set(t);
-                    return;
+                    connection.setAutoCommit(false);
+                    resultCache.transactionStarted(connection);
+                    try {
+                        result = transactionRunner.run(connection);
+                    } catch (Throwable t) {
+                        connection.rollback();
+                        result = Response.set(t);
+                        return;
+                    }
+                    if (result.isValid())
+                        connection.commit();
+                    else
+                        connection.rollback();
+                } finally {
+                    resultCache.transactionEnded(connection);
                 }
-                if (result.isValid())
-                    connection.commit();
-                else
-                    connection.rollback();
             }
         }
 
@@ -1130,8 +2838,350 @@ public class Database {
         return useTransaction(conn -> transactionRunner.go(new Xact(Database.this, conn)));
     }
 
-    // Primary key cache.
-    private final Map<String, String[]> keyCache = new HashMap<>();
+    // Execute a batch of rows, recording it in the statement's Probe if it's being instrumented.
+    private static void executeBatch(PreparedStatement statement, Instrumentation.Probe probe, int rows) throws SQLException {
+        if (probe != null)
+            probe.prepared();
+        statement.executeBatch();
+        if (probe != null) {
+            probe.executed();
+            probe.addRowCount(rows);
+        }
+    }
+
+    /**
+     * Insert multiple Tuples into a table using JDBC batching. The INSERT statement is built and prepared once per
+     * Tuple class, and executed once per batchSize Tuples, rather than once per Tuple.
+     *
+     * A Tuple whose fields can't be retrieved is not inserted, and is reported in the returned List. Failure to
+     * execute a batch throws SQLException, so this is best used in a transaction.
+     *
+     * @param connection Connection to database, typically obtained via a Transaction.
+     * @param tableName Table name.
+     * @param tuples Tuples to insert.
+     * @param batchSize Maximum number of Tuples to insert per batch.
+     * @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public List<UpdatableTuple.InsertFailure> insertAll(Connection connection, String tableName, Iterable<? extends UpdatableTuple> tuples, int batchSize) throws SQLException {
+        if (batchSize < 1)
+            throw new IllegalArgumentException(Str.ing(ErrInvalidBatchSize, batchSize));
+        var realTableName = replaceTableNames(tableName);
+        var insertFailures = new LinkedList<UpdatableTuple.InsertFailure>();
+        Class<?> tupleClass = null;
+        Field[] dataFields = null;
+        SQLTemplate template = null;
+        PreparedStatement statement = null;
+        Instrumentation.Probe probe = null;
+        var batchCount = 0;
+        var index = 0L;
+        try {
+            for (var tuple: tuples) {
+                if (tuple.getClass() != tupleClass) {
+                    if (statement != null) {
+                        if (batchCount > 0)
+                            executeBatch(statement, probe, batchCount);
+                        statement.close();
+                        statement = null;
+                        instrumentation.end(probe, null);
+                        probe = null;
+                    }
+                    batchCount = 0;
+                    tupleClass = tuple.getClass();
+                    var dml = getDMLPlan(connection, tupleClass, tableName);
+                    dataFields = dml.dataFields;
+                    var sqlized = dml.insertSQL;
+                    distributeSQLEvent("insertAll: ", sqlized);
+                    template = new SQLTemplate(sqlized);
+                    probe = instrumentation.begin("insertAll: ", null, sqlized, dataFields.length);
+                    statement = connection.prepareStatement(sqlized);
+                }
+                var fieldGetFailures = new LinkedList<UpdatableTuple.FieldGetFailure>();
+                var columnValues = tuple.getFieldValues(fieldGetFailures, dataFields);
+                if (fieldGetFailures.isEmpty()) {
+                    bindParameters(template, statement, columnValues);
+                    statement.addBatch();
+                    if (++batchCount == batchSize) {
+                        executeBatch(statement, probe, batchCount);
+                        batchCount = 0;
+                    }
+                } else
+                    insertFailures.add(new UpdatableTuple.InsertFailure(index, tuple, fieldGetFailures));
+                index++;
+            }
+            if (statement != null && batchCount > 0)
+                executeBatch(statement, probe, batchCount);
+            instrumentation.end(probe, null);
+        } catch (Throwable t) {
+            instrumentation.end(probe, t);
+            throw t;
+        } finally {
+            if (statement != null)
+                statement.close();
+            writtenTable(connection, realTableName);
+        }
+        return insertFailures;
+    }
+
+    /**
+     * Insert multiple Tuples into a table using JDBC batching. The INSERT statement is built and prepared once per
+     * Tuple class, and executed once per batchSize Tuples, rather than once per Tuple.
+     *
+     * A Tuple whose fields can't be retrieved is not inserted, and is reported in the returned List. Failure to
+     * execute a batch throws SQLException, so this is best used in a transaction.
+     *
+     * @param <T> UpdatableTuple type.
+     * @param connection Connection to database, typically obtained via a Transaction.
+     * @param tableName Table name.
+     * @param tuples Tuples to insert.
+     * @param batchSize Maximum number of Tuples to insert per batch.
+     * @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public <T extends UpdatableTuple> List<UpdatableTuple.InsertFailure> insertAll(Connection connection, String tableName, Stream<T> tuples, int batchSize) throws SQLException {
+        Iterable<T> iterable = tuples::iterator;
+        return insertAll(connection, tableName, iterable, batchSize);
+    }
+
+    /**
+     * Insert multiple Tuples into a table using JDBC batching. The INSERT statement is built and prepared once per
+     * Tuple class, and executed once per batchSize Tuples, rather than once per Tuple.
+     *
+     * A Tuple whose fields can't be retrieved is not inserted, and is reported in the returned List.
+     *
+     * @param tableName Table name.
+     * @param tuples Tuples to insert.
+     * @param batchSize Maximum number of Tuples to insert per batch.
+     * @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public List<UpdatableTuple.InsertFailure> insertAll(String tableName, Iterable<? extends UpdatableTuple> tuples, int batchSize) throws SQLException {
+        return useConnection(conn -> insertAll(conn, tableName, tuples, batchSize));
+    }
+
+    /**
+     * Insert multiple Tuples into a table using JDBC batching. The INSERT statement is built and prepared once per
+     * Tuple class, and executed once per batchSize Tuples, rather than once per Tuple.
+     *
+     * A Tuple whose fields can't be retrieved is not inserted, and is reported in the returned List.
+     *
+     * @param <T> UpdatableTuple type.
+     * @param tableName Table name.
+     * @param tuples Tuples to insert.
+     * @param batchSize Maximum number of Tuples to insert per batch.
+     * @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public <T extends UpdatableTuple> List<UpdatableTuple.InsertFailure> insertAll(String tableName, Stream<T> tuples, int batchSize) throws SQLException {
+        return useConnection(conn -> insertAll(conn, tableName, tuples, batchSize));
+    }
+
+    /**
+     * Update multiple changed Tuples, typically obtained via queryForUpdate(...) or queryAllForUpdate(...), using JDBC
+     * batching. Tuples are grouped by the columns they change, and each group shares one prepared UPDATE statement
+     * executed once per batchSize Tuples. Tuples with no changes are skipped.
+     *
+     * Because each group is executed as its own batch, updates are not necessarily applied in the order given.
+     *
+     * A Tuple whose fields can't be retrieved is not updated, and is reported in the returned List. Failure to
+     * execute a batch throws SQLException, so this is best used in a transaction.
+     *
+     * @param connection Connection to database, typically obtained via a Transaction.
+     * @param tableName Table name.
+     * @param tuples Tuples to update.
+     * @param batchSize Maximum number of Tuples to update per batch.
+     * @return List of Tuples that couldn't be updated because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public List<UpdatableTuple.UpdateFailure> updateTuples(Connection connection, String tableName, Iterable<? extends UpdatableTuple> tuples, int batchSize) throws SQLException {
+        if (batchSize < 1)
+            throw new IllegalArgumentException(Str.ing(ErrInvalidBatchSize, batchSize));
+        var realTableName = replaceTableNames(tableName);
+        DMLPlan dml = null;
+        var updateFailures = new LinkedList<UpdatableTuple.UpdateFailure>();
+        var statements = new LinkedHashMap<String, PreparedStatement>();
+        var batchCounts = new HashMap<String, Integer>();
+        var probes = new HashMap<String, Instrumentation.Probe>();
+        var index = 0L;
+        try {
+            for (var tuple: tuples) {
+                if (dml == null || tuple.getClass() != dml.tupleClass)
+                    dml = getDMLPlan(connection, tuple.getClass(), tableName);
+                var plan = tuple.planUpdate(dml);
+                if (!plan.isOk())
+                    updateFailures.add(new UpdatableTuple.UpdateFailure(index, tuple, plan.newFieldGetFailures, plan.oldFieldGetFailures));
+                else if (plan.hasChanges()) {
+                    var sqlized = plan.getSQL();
+                    var statement = statements.get(sqlized);
+                    if (statement == null) {
+                        distributeSQLEvent("updateTuples: ", sqlized);
+                        var probe = instrumentation.begin("updateTuples: ", null, sqlized, plan.arguments.length);
+                        if (probe != null)
+                            probes.put(sqlized, probe);
+                        statement = connection.prepareStatement(sqlized);
+                        statements.put(sqlized, statement);
+                    }
+                    setupParms(statement, plan.arguments);
+                    statement.addBatch();
+                    var batchCount = batchCounts.merge(sqlized, 1, Integer::sum);
+                    if (batchCount == batchSize) {
+                        executeBatch(statement, probes.get(sqlized), batchCount);
+                        batchCounts.put(sqlized, 0);
+                    }
+                }
+                index++;
+            }
+            for (var entry: statements.entrySet()) {
+                var batchCount = batchCounts.get(entry.getKey());
+                if (batchCount > 0)
+                    executeBatch(entry.getValue(), probes.get(entry.getKey()), batchCount);
+            }
+            for (var probe: probes.values())
+                instrumentation.end(probe, null);
+        } catch (Throwable t) {
+            for (var probe: probes.values())
+                instrumentation.end(probe, t);
+            throw t;
+        } finally {
+            for (var statement: statements.values())
+                statement.close();
+            writtenTable(connection, realTableName);
+        }
+        return updateFailures;
+    }
+
+    /**
+     * Update multiple changed Tuples, typically obtained via queryForUpdate(...) or queryAllForUpdate(...), using JDBC
+     * batching. Tuples are grouped by the columns they change, and each group shares one prepared UPDATE statement
+     * executed once per batchSize Tuples. Tuples with no changes are skipped.
+     *
+     * Because each group is executed as its own batch, updates are not necessarily applied in the order given.
+     *
+     * A Tuple whose fields can't be retrieved is not updated, and is reported in the returned List. Failure to
+     * execute a batch throws SQLException, so this is best used in a transaction.
+     *
+     * @param <T> UpdatableTuple type.
+     * @param connection Connection to database, typically obtained via a Transaction.
+     * @param tableName Table name.
+     * @param tuples Tuples to update.
+     * @param batchSize Maximum number of Tuples to update per batch.
+     * @return List of Tuples that couldn't be updated because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public <T extends UpdatableTuple> List<UpdatableTuple.UpdateFailure> updateTuples(Connection connection, String tableName, Stream<T> tuples, int batchSize) throws SQLException {
+        Iterable<T> iterable = tuples::iterator;
+        return updateTuples(connection, tableName, iterable, batchSize);
+    }
+
+    /**
+     * Update multiple changed Tuples, typically obtained via queryForUpdate(...) or queryAllForUpdate(...), using JDBC
+     * batching. Tuples are grouped by the columns they change, and each group shares one prepared UPDATE statement
+     * executed once per batchSize Tuples. Tuples with no changes are skipped.
+     *
+     * A Tuple whose fields can't be retrieved is not updated, and is reported in the returned List.
+     *
+     * @param tableName Table name.
+     * @param tuples Tuples to update.
+     * @param batchSize Maximum number of Tuples to update per batch.
+     * @return List of Tuples that couldn't be updated because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public List<UpdatableTuple.UpdateFailure> updateTuples(String tableName, Iterable<? extends UpdatableTuple> tuples, int batchSize) throws SQLException {
+        return useConnection(conn -> updateTuples(conn, tableName, tuples, batchSize));
+    }
+
+    /**
+     * Update multiple changed Tuples, typically obtained via queryForUpdate(...) or queryAllForUpdate(...), using JDBC
+     * batching. Tuples are grouped by the columns they change, and each group shares one prepared UPDATE statement
+     * executed once per batchSize Tuples. Tuples with no changes are skipped.
+     *
+     * A Tuple whose fields can't be retrieved is not updated, and is reported in the returned List.
+     *
+     * @param <T> UpdatableTuple type.
+     * @param tableName Table name.
+     * @param tuples Tuples to update.
+     * @param batchSize Maximum number of Tuples to update per batch.
+     * @return List of Tuples that couldn't be updated because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public <T extends UpdatableTuple> List<UpdatableTuple.UpdateFailure> updateTuples(String tableName, Stream<T> tuples, int batchSize) throws SQLException {
+        return useConnection(conn -> updateTuples(conn, tableName, tuples, batchSize));
+    }
+
+    /**
+     * Get this Database's cache of table and query metadata.
+     *
+     * @return MetadataCache.
+     */
+    public MetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    /**
+     * Discard cached metadata that may be affected by a change to a table, such as by a schema migration.
+     *
+     * @param tableName Table name.
+     */
+    public void invalidateMetadata(String tableName) {
+        metadataCache.invalidate(tableName);
+        for (var plans: dmlPlans.values())
+            plans.remove(tableName);
+    }
+
+    /**
+     * Discard all cached table and query metadata and PreparedStatementS, such as after a schema migration.
+     */
+    public void invalidateMetadata() {
+        metadataCache.invalidateAll();
+        dmlPlans.clear();
+        clearPreparedStatementCaches();
+    }
+
+    /**
+     * Load the metadata for the given tables into the metadata cache, so it isn't loaded on first use.
+     *
+     * @param connection Connection to database.
+     * @param tableNames Table names.
+     * @throws SQLException Error.
+     */
+    public void warmMetadataCache(Connection connection, String... tableNames) throws SQLException {
+        for (var tableName: tableNames)
+            getKeyColumnNamesFor(connection, tableName);
+    }
+
+    /**
+     * Load the metadata for the given tables into the metadata cache, so it isn't loaded on first use.
+     *
+     * @param tableNames Table names.
+     * @throws SQLException Error.
+     */
+    public void warmMetadataCache(String... tableNames) throws SQLException {
+        useConnection(connection -> {
+            warmMetadataCache(connection, tableNames);
+            return null;
+        });
+    }
+
+    /**
+     * Get the INSERT and UPDATE statements for an UpdatableTuple class and a table, building and caching them on
+     * first use. The table's primary key is obtained via the given connection, so a caller in a transaction
+     * doesn't need a second connection.
+     *
+     * @param connection Connection to database; typically obtained via a Transaction.
+     * @param tupleClass UpdatableTuple class.
+     * @param tableName Table name.
+     * @return DMLPlan.
+     * @throws SQLException Error.
+     */
+    DMLPlan getDMLPlan(Connection connection, Class<?> tupleClass, String tableName) throws SQLException {
+        var plans = dmlPlans.computeIfAbsent(tupleClass, type -> new ConcurrentHashMap<>());
+        var plan = plans.get(tableName);
+        if (plan == null) {
+            plan = new DMLPlan(tupleClass, replaceTableNames(tableName), getKeyColumnNamesFor(connection, tableName));
+            plans.put(tableName, plan);
+        }
+        return plan;
+    }
 
     /**
      * Get primary key for a given table.
@@ -1142,18 +3192,16 @@ public class Database {
      * @throws SQLException Error.
      */
     public String[] getKeyColumnNamesFor(Connection connection, String tableName) throws SQLException {
-        var keyColumnNamesArray = keyCache.get(tableName);
-        if (keyColumnNamesArray == null) {
+        return metadataCache.getPrimaryKey(tableName, () -> {
             var metadata = connection.getMetaData();
             var realTableName = replaceTableNames(tableName);
-            var keys = metadata.getPrimaryKeys(null, null, realTableName);
             var keyColumnNames = new LinkedList<String>();
-            while (keys.next())
-                keyColumnNames.add(keys.getString("COLUMN_NAME"));
-            keyColumnNamesArray = keyColumnNames.toArray(new String[0]);
-            keyCache.put(tableName, keyColumnNamesArray);
-        }
-        return keyColumnNamesArray;
+            try (var keys = metadata.getPrimaryKeys(null, null, realTableName)) {
+                while (keys.next())
+                    keyColumnNames.add(keys.getString("COLUMN_NAME"));
+            }
+            return keyColumnNames.toArray(new String[0]);
+        });
     }
 
     /**
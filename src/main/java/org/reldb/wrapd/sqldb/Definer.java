@@ -4,11 +4,18 @@ import org.reldb.toolbox.il8n.Msg;
 import org.reldb.toolbox.il8n.Str;
 import org.reldb.toolbox.utilities.Directory;
 import org.reldb.wrapd.generator.JavaGenerator;
+import org.reldb.wrapd.response.Response;
 
 import org.yaml.snakeyaml.Yaml;
 
 import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * <p>Mechanism for defining Query, Update and valueOf classes.</p>
@@ -69,11 +76,16 @@ public class Definer {
     private static final Msg ErrCodeDirectoryPurgeFailed = new Msg("Unable to purge target {0}.");
     private static final Msg MsgQueryDefinitionMethodName = new Msg("Query definition method name = {0}");
     private static final Msg MsgFoundMethodAndInvokingIt = new Msg("Found method: {0} and invoking it.");
+    private static final Msg MsgDefinitionUnchanged = new Msg("{0} is unchanged.");
+    private static final Msg MsgOrphansRemoved = new Msg("Removed {0} generated files of definitions no longer defined.");
 
     private final Database database;
     private final String codeDirectory;
     private final String packageSpec;
-    private final Map<String, Collection<SQLTypeGenerator.Method>> methods = new HashMap<>();
+    private final Map<String, Collection<SQLTypeGenerator.Method>> methods = new ConcurrentHashMap<>();
+    private boolean metaDataOnly = false;
+    private int parallelism = 1;
+    private GenerationManifest manifest = null;
 
     private void addMethods(String queryName, Collection<SQLTypeGenerator.Method> queryMethods) {
         methods.put(queryName, queryMethods);
@@ -101,6 +113,114 @@ public class Definer {
         return methods;
     }
 
+    /**
+     * Specify whether Tuple and valueOf types are generated from query metadata only.
+     *
+     * If false (the default), each query is evaluated with its sample arguments and its ResultSet's metadata
+     * is used to generate types, which takes as long as the query takes to run.
+     *
+     * If true, the metadata is obtained via Database.queryMetaData(...) without retrieving any rows, so generating
+     * types for queries over large tables is fast. The sample arguments are still needed to specify parameter
+     * types, but needn't select any data.
+     *
+     * @param metaDataOnly True to generate types from query metadata only.
+     */
+    public void setMetaDataOnly(boolean metaDataOnly) {
+        this.metaDataOnly = metaDataOnly;
+    }
+
+    /**
+     * Return true if Tuple and valueOf types are generated from query metadata only.
+     *
+     * @return True if types are generated from query metadata only.
+     */
+    public boolean isMetaDataOnly() {
+        return metaDataOnly;
+    }
+
+    /**
+     * Specify the maximum number of definitions in a YAML query definition file that define(...) makes
+     * concurrently. Each concurrent definition obtains its own connection from the Database, so the Database's
+     * DataSource should provide at least this many connections.
+     *
+     * Definitions made with defineUpdate are run one at a time, in file order, after the definitions before them
+     * have completed and before any after them are started, because they change the database.
+     *
+     * @param parallelism Maximum number of concurrent definitions. 1 (the default) makes them one at a time.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Get the maximum number of definitions in a YAML query definition file that define(...) makes concurrently.
+     *
+     * @return Maximum number of concurrent definitions.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Specify whether generation is incremental.
+     *
+     * If true, the generation manifest in the package-specified subdirectory of the code directory is loaded. Each
+     * subsequent definition whose SQL text, sample arguments, table name prefix and kind are unchanged since the
+     * manifest was saved, and whose generated files still exist, doesn't query the database and doesn't rewrite
+     * its files. The exception is defineUpdate(...), which always executes its update, because later definitions
+     * may depend on its effect. Call saveGenerationManifest() after all definitions have been made.
+     *
+     * Regardless of this setting, generated files whose content hasn't changed aren't rewritten.
+     *
+     * @param incremental True for incremental generation.
+     */
+    public void setIncremental(boolean incremental) {
+        manifest = incremental
+            ? new GenerationManifest(JavaGenerator.obtainDirectoryFromSourcePathAndPackage(codeDirectory, packageSpec))
+            : null;
+    }
+
+    /**
+     * Return true if generation is incremental.
+     *
+     * @return True if generation is incremental.
+     */
+    public boolean isIncremental() {
+        return manifest != null;
+    }
+
+    /**
+     * If generation is incremental, delete the generated files of definitions that were in the generation manifest
+     * but haven't been defined since setIncremental(true), then save the generation manifest.
+     *
+     * @return Number of generated files deleted.
+     */
+    public int saveGenerationManifest() {
+        if (manifest == null)
+            return 0;
+        var deleted = manifest.removeOrphans();
+        if (deleted > 0)
+            System.out.println(Str.ing(MsgOrphansRemoved, deleted));
+        manifest.save();
+        return deleted;
+    }
+
+    // Return the hash of a definition if generation is incremental, or null if not.
+    private String getDefinitionHash(String kind, String sqlText, Object... args) {
+        if (manifest == null)
+            return null;
+        return GenerationManifest.hash(kind, sqlText, args, database.replaceTableNames("$$"), database.getCustomisations());
+    }
+
+    // Return true if generation is incremental and the named definition is unchanged, in which case it's kept in the manifest.
+    private boolean isUnchanged(String queryName, String hash) {
+        if (manifest == null || !manifest.isUnchanged(queryName, hash))
+            return false;
+        manifest.keep(queryName);
+        System.out.println(Str.ing(MsgDefinitionUnchanged, queryName));
+        return true;
+    }
+
     private static String lowerFirstCharacter(String s) {
         return s.substring(0, 1).toLowerCase() + s.substring(1);
     }
@@ -109,6 +229,20 @@ public class Definer {
         return s.substring(0, 1).toUpperCase() + s.substring(1);
     }
 
+    private static String boxedTypeName(String typeName) {
+        switch (typeName) {
+            case "boolean": return "Boolean";
+            case "byte": return "Byte";
+            case "char": return "Character";
+            case "short": return "Short";
+            case "int": return "Integer";
+            case "long": return "Long";
+            case "float": return "Float";
+            case "double": return "Double";
+            default: return typeName;
+        }
+    }
+
     /**
      * Create a new class that provides to invoke all the methods defined using this Definer.
      *
@@ -116,40 +250,74 @@ public class Definer {
      * keeping with Java convention. That means query names with an upper-case first character,
      * e.g., ClearABC, will emit a method called clearABC.
      *
+     * Each method that doesn't take a Connection also has an asynchronous counterpart with an Async suffix,
+     * e.g., clearABCAsync, which runs it via an AsyncDatabase and returns a CompletableFuture.
+     *
+     * Methods are emitted in order of class name, then method signature, so the output doesn't depend on the
+     * order in which definitions were made.
+     *
      * @param newClassName Name of the generated database abstraction layer class definition.
      */
     public void emitDatabaseAbstractionLayer(String newClassName) {
         var source = new StringBuilder("package " + packageSpec + ";\n\n");
         source.append("import java.util.stream.*;\n");
         source.append("import java.sql.SQLException;\n");
+        source.append("import java.util.List;\n");
         source.append("import java.util.Optional;\n");
+        source.append("import java.util.concurrent.CompletableFuture;\n");
+        source.append("import java.util.concurrent.Executor;\n");
+        source.append("import org.reldb.wrapd.sqldb.AsyncDatabase;\n");
         source.append("import org.reldb.wrapd.sqldb.Database;\n\n");
         source.append("public class ").append(newClassName).append(" {\n\n");
-        source.append("\tprivate final Database database;\n\n");
-        source.append("\tpublic ").append(newClassName).append("(Database database) {\n");
+        source.append("\tprivate final Database database;\n");
+        source.append("\tprivate final AsyncDatabase asyncDatabase;\n\n");
+        source.append("\tpublic ").append(newClassName).append("(Database database, Executor executor) {\n");
         source.append("\t\tthis.database = database;\n");
+        source.append("\t\tthis.asyncDatabase = new AsyncDatabase(database, executor);\n");
+        source.append("\t}\n\n");
+        source.append("\tpublic ").append(newClassName).append("(Database database) {\n");
+        source.append("\t\tthis(database, AsyncDatabase.getDefaultExecutor());\n");
         source.append("\t}\n\n");
         source.append("\tpublic Database getDatabase() {\n");
         source.append("\t\treturn database;\n");
         source.append("\t}\n\n");
-        getMethods().forEach((className, classMethods) -> classMethods.forEach(method -> {
-            var returns = (method.returns == null) ? "void" : method.returns;
-            var parmDefs = new StringBuilder();
-            var parmNames = new StringBuilder("database");
-            var parameters = method.parameters;
-            for (int index = 1; index < parameters.size(); index++) {
-                if (parmDefs.length() > 0)
-                    parmDefs.append(", ");
-                var parm = parameters.get(index);
-                parmDefs.append(parm.type.getName()).append(" ").append(parm.name);
-                parmNames.append(", ").append(parm.name);
-            }
-            var newMethodName = lowerFirstCharacter(className);
-            source.append("\tpublic ").append(returns).append(" ").append(newMethodName).append(method.qualifier).append("(").append(parmDefs).append(") throws SQLException {\n");
-            var returner = (method.returns == null) ? "" : "return ";
-            source.append("\t\t").append(returner).append(className).append(".").append(method.name).append(method.qualifier).append("(").append(parmNames).append(");\n");
-            source.append("\t}\n\n");
-        }));
+        source.append("\tpublic AsyncDatabase getAsyncDatabase() {\n");
+        source.append("\t\treturn asyncDatabase;\n");
+        source.append("\t}\n\n");
+        new TreeMap<>(getMethods()).forEach((className, classMethods) -> classMethods.stream()
+            .sorted(Comparator.comparing(SQLTypeGenerator.Method::toString))
+            .forEach(method -> {
+                var returns = (method.returns == null) ? "void" : method.returns;
+                var parmDefs = new StringBuilder();
+                var parmNames = new StringBuilder();
+                var parameters = method.parameters;
+                var usesConnection = false;
+                for (int index = 1; index < parameters.size(); index++) {
+                    if (parmDefs.length() > 0)
+                        parmDefs.append(", ");
+                    var parm = parameters.get(index);
+                    parmDefs.append(parm.type.getName()).append(" ").append(parm.name);
+                    parmNames.append(", ").append(parm.name);
+                    if (parm.type == Connection.class)
+                        usesConnection = true;
+                }
+                var newMethodName = lowerFirstCharacter(className);
+                var invocation = className + "." + method.name + method.qualifier;
+                source.append("\tpublic ").append(returns).append(" ").append(newMethodName).append(method.qualifier).append("(").append(parmDefs).append(") throws SQLException {\n");
+                var returner = (method.returns == null) ? "" : "return ";
+                source.append("\t\t").append(returner).append(invocation).append("(database").append(parmNames).append(");\n");
+                source.append("\t}\n\n");
+                // A Connection belongs to its caller's thread and transaction, so methods that take one aren't made asynchronous.
+                if (!usesConnection) {
+                    var asyncReturns = "CompletableFuture<" + ((method.returns == null) ? "Void" : boxedTypeName(method.returns)) + ">";
+                    var asyncBody = (method.returns == null)
+                        ? "{\n\t\t\t" + invocation + "(db" + parmNames + ");\n\t\t\treturn null;\n\t\t}"
+                        : invocation + "(db" + parmNames + ")";
+                    source.append("\tpublic ").append(asyncReturns).append(" ").append(newMethodName).append(method.qualifier).append("Async(").append(parmDefs).append(") {\n");
+                    source.append("\t\treturn asyncDatabase.supplyAsync(db -> ").append(asyncBody).append(");\n");
+                    source.append("\t}\n\n");
+                }
+            }));
         source.append("}\n");
         var generator = new JavaGenerator(codeDirectory);
         generator.generateJavaCode(newClassName, packageSpec, source.toString());
@@ -209,21 +377,61 @@ public class Definer {
      * @throws Throwable Error.
      */
     public DefineQueryResult defineQueryForTable(String queryName, String tableName, String sqlText, Object... args) throws Throwable {
+        return defineQuery(queryName, tableName, false, TupleStyle.Updatable, sqlText, args);
+    }
+
+    // Kinds of Tuple that can be generated for a query.
+    private enum TupleStyle {Updatable, Immutable, ChangeTracking}
+
+    private DefineQueryResult defineQuery(String queryName, String tableName, boolean cacheable, TupleStyle tupleStyle, String sqlText, Object... args) throws Throwable {
         var tupleClassName = queryName + "Tuple";
         var queryGenerator = new QueryTypeGenerator(codeDirectory, packageSpec, tupleClassName, queryName, sqlText, args);
         queryGenerator.setTableName(tableName);
-        queryGenerator.generate();
+        queryGenerator.setCacheable(cacheable);
+        var queryFile = queryGenerator.generate();
         var regeneratedSqlText = queryGenerator.getSQLText();
-        var tupleClassCreated = (args == null || args.length == 0)
-                ? database.createTupleFromQueryAllForUpdate(codeDirectory, packageSpec, tupleClassName, tableName, regeneratedSqlText)
-                : database.createTupleFromQueryForUpdate(codeDirectory, packageSpec, tupleClassName, tableName, regeneratedSqlText, args);
+        var hash = getDefinitionHash("query:" + tableName + ":" + cacheable + ":" + tupleStyle, sqlText, args);
+        if (isUnchanged(queryName, hash)) {
+            addMethods(queryName, queryGenerator.getMethods());
+            return new DefineQueryResult(manifest.getGenerateResult(queryName), queryGenerator.getMethods());
+        }
+        var hasArgs = args != null && args.length > 0;
+        Response<TupleTypeGenerator.GenerateResult> tupleClassCreated;
+        if (metaDataOnly)
+            tupleClassCreated = Response.set(createTupleFromMetaData(tupleClassName, tableName, tupleStyle, regeneratedSqlText, args));
+        else if (tupleStyle == TupleStyle.Immutable)
+            tupleClassCreated = hasArgs
+                ? database.createImmutableTupleFromQuery(codeDirectory, packageSpec, tupleClassName, regeneratedSqlText, args)
+                : database.createImmutableTupleFromQueryAll(codeDirectory, packageSpec, tupleClassName, regeneratedSqlText);
+        else if (tupleStyle == TupleStyle.ChangeTracking)
+            tupleClassCreated = hasArgs
+                ? database.createChangeTrackingTupleFromQuery(codeDirectory, packageSpec, tupleClassName, tableName, regeneratedSqlText, args)
+                : database.createChangeTrackingTupleFromQueryAll(codeDirectory, packageSpec, tupleClassName, tableName, regeneratedSqlText);
+        else
+            tupleClassCreated = hasArgs
+                ? database.createTupleFromQueryForUpdate(codeDirectory, packageSpec, tupleClassName, tableName, regeneratedSqlText, args)
+                : database.createTupleFromQueryAllForUpdate(codeDirectory, packageSpec, tupleClassName, tableName, regeneratedSqlText);
         if (tupleClassCreated.isError())
             //noinspection ConstantConditions
             throw tupleClassCreated.error;
+        if (manifest != null)
+            manifest.recordQuery(queryName, hash, queryFile, tupleClassCreated.value);
         addMethods(queryName, queryGenerator.getMethods());
         return new DefineQueryResult(tupleClassCreated.value, queryGenerator.getMethods());
     }
 
+    private TupleTypeGenerator.GenerateResult createTupleFromMetaData(String tupleClassName, String tableName, TupleStyle tupleStyle, String sqlText, Object... args) throws SQLException {
+        return database.queryMetaData(sqlText, metadata -> {
+            try {
+                return Response.set((tupleStyle == TupleStyle.Immutable)
+                    ? ResultSetToTuple.createImmutableTuple(codeDirectory, packageSpec, tupleClassName, metadata, database.getCustomisations())
+                    : ResultSetToTuple.createTupleForUpdate(codeDirectory, packageSpec, tupleClassName, metadata, database.getCustomisations(), tableName, tupleStyle == TupleStyle.ChangeTracking));
+            } catch (Throwable e) {
+                return Response.set(e);
+            }
+        }, args);
+    }
+
     /**
      * Define a Tuple type, and a Query class with query methods.
      *
@@ -240,6 +448,43 @@ public class Definer {
         return defineQueryForTable(queryName, null, sqlText, args);
     }
 
+    /**
+     * Define a Tuple type, and a Query class with query methods whose results are retained in the Database's
+     * ResultCache until a table the query reads is written or they expire. Intended for queries of reference
+     * tables that rarely change. Cached Tuples are shared, so they must not be modified. See ResultCache for
+     * the writes that are detected; queries that read views or common table expressions aren't recommended.
+     *
+     * @param queryName Name of query. Should be unique.
+     * @param sqlText SQL query text. Parameters may be specified as ? or {name}. If {name} is used, it will
+     *                appear as a corresponding Java method name. If ? is used, it will be named pn, where n
+     *                is a unique number in the given definition. Use getSQLText() after generate() to obtain final
+     *                SQL query text with all {name} converted to ? for subsequent evaluation.
+     * @param args Arguments that specify parameter type(s) and allow query to succeed.
+     * @return Result of generation.
+     * @throws Throwable Error.
+     */
+    public DefineQueryResult defineCachedQuery(String queryName, String sqlText, Object... args) throws Throwable {
+        return defineQuery(queryName, null, true, TupleStyle.Updatable, sqlText, args);
+    }
+
+    /**
+     * Define an immutable Tuple type, and a Query class with query methods. The Tuple's attributes are final,
+     * it is populated via its constructor, and it defines equals(...) and hashCode() by attribute values, so it
+     * can be used as a HashMap key or deduplicated with distinct(). See TupleTypeGenerator.setImmutable(boolean).
+     *
+     * @param queryName Name of query. Should be unique.
+     * @param sqlText SQL query text. Parameters may be specified as ? or {name}. If {name} is used, it will
+     *                appear as a corresponding Java method name. If ? is used, it will be named pn, where n
+     *                is a unique number in the given definition. Use getSQLText() after generate() to obtain final
+     *                SQL query text with all {name} converted to ? for subsequent evaluation.
+     * @param args Arguments that specify parameter type(s) and allow query to succeed.
+     * @return Result of generation.
+     * @throws Throwable Error.
+     */
+    public DefineQueryResult defineImmutableQuery(String queryName, String sqlText, Object... args) throws Throwable {
+        return defineQuery(queryName, null, false, TupleStyle.Immutable, sqlText, args);
+    }
+
     /**
      * Define an Update class with update(...) methods.
      *
@@ -256,11 +501,15 @@ public class Definer {
      */
     public Collection<SQLTypeGenerator.Method> defineUpdate(String queryName, String sqlText, Object... args) throws Throwable {
         var updateGenerator = new UpdateTypeGenerator(codeDirectory, packageSpec, queryName, sqlText, args);
-        updateGenerator.generate();
+        var updateFile = updateGenerator.generate();
+        var hash = getDefinitionHash("update", sqlText, args);
+        // Always run the update, even if unchanged, as later definitions may depend on its effect.
         if (args == null || args.length == 0)
             database.updateAll(updateGenerator.getSQLText());
         else
             database.update(updateGenerator.getSQLText(), args);
+        if (manifest != null && !isUnchanged(queryName, hash))
+            manifest.record(queryName, hash, updateFile);
         addMethods(queryName, updateGenerator.getMethods());
         return updateGenerator.getMethods();
     }
@@ -283,13 +532,17 @@ public class Definer {
      * @throws Throwable Error.
      */
     public DefineQueryResult defineTable(String tableName, String whereClause, Object... args) throws Throwable {
+        return defineTable(tableName, TupleStyle.Updatable, whereClause, args);
+    }
+
+    private DefineQueryResult defineTable(String tableName, TupleStyle tupleStyle, String whereClause, Object... args) throws Throwable {
         var queryName = upperFirstCharacter(tableName.replaceAll("\\$\\$", ""));
         var realTableName = database.replaceTableNames(tableName);
         var query = "SELECT * FROM " + realTableName +
                 (whereClause != null && !whereClause.isEmpty()
                         ? " WHERE " + whereClause
                         : "");
-        return defineQueryForTable(queryName, realTableName, query, args);
+        return defineQuery(queryName, realTableName, false, tupleStyle, query, args);
     }
 
     /**
@@ -304,6 +557,33 @@ public class Definer {
         return defineTable(tableName, null, (Object[])null);
     }
 
+    /**
+     * Like defineTable(String, String, Object...), but the generated Tuple type tracks changes made via its setters
+     * instead of keeping a backup copy of every tuple obtained for update. Attributes must be changed via their
+     * setters to be updated. See TupleTypeGenerator.setChangeTracking(boolean).
+     *
+     * @param tableName Name of the table, optionally including $$.
+     * @param whereClause The WHERE clause without the 'WHERE' keyword. See defineTable(String, String, Object...).
+     * @param args Arguments that specify parameter type(s) and allow query to succeed.
+     * @return Result of generation.
+     * @throws Throwable Error.
+     */
+    public DefineQueryResult defineChangeTrackingTable(String tableName, String whereClause, Object... args) throws Throwable {
+        return defineTable(tableName, TupleStyle.ChangeTracking, whereClause, args);
+    }
+
+    /**
+     * Like defineTable(String), but the generated Tuple type tracks changes made via its setters
+     * instead of keeping a backup copy of every tuple obtained for update. See defineChangeTrackingTable(String, String, Object...).
+     *
+     * @param tableName Name of the table, optionally including $$.
+     * @return Result of generation.
+     * @throws Throwable Error.
+     */
+    public DefineQueryResult defineChangeTrackingTable(String tableName) throws Throwable {
+        return defineChangeTrackingTable(tableName, null, (Object[])null);
+    }
+
     /**
      * The result of ValueOf generation.
      */
@@ -339,11 +619,22 @@ public class Definer {
      * @throws Throwable Error.
      */
     public DefineValueOfResult defineValueOf(String queryName, String sqlText, Object... args) throws Throwable {
-        var parameterConverter = new SQLParameterConverter(sqlText);
-        parameterConverter.process();
-        var type = database.getTypeOfFirstColumn(parameterConverter.getSQLText(), args);
+        var hash = getDefinitionHash("valueOf", sqlText, args);
+        var unchanged = isUnchanged(queryName, hash);
+        Class<?> type;
+        if (unchanged)
+            type = manifest.getValueOfType(queryName);
+        else {
+            var parameterConverter = new SQLParameterConverter(sqlText);
+            parameterConverter.process();
+            type = metaDataOnly
+                ? database.queryMetaData(parameterConverter.getSQLText(), metadata -> ResultSetToTuple.obtainTypeOfFirstColumn(metadata, database.getCustomisations(), database.getMetadataCache()), args)
+                : database.getTypeOfFirstColumn(parameterConverter.getSQLText(), args);
+        }
         var valueOfGenerator = new ValueOfTypeGenerator(codeDirectory, packageSpec, queryName, type, sqlText, args);
-        valueOfGenerator.generate();
+        var valueOfFile = valueOfGenerator.generate();
+        if (manifest != null && !unchanged)
+            manifest.recordValueOf(queryName, hash, valueOfFile, type);
         addMethods(queryName, valueOfGenerator.getMethods());
         return new DefineValueOfResult(type, valueOfGenerator.getMethods());
     }
@@ -383,6 +674,15 @@ public class Definer {
                  AND x &lt; {higher}
              - [2, 5]
 
+     defineCachedQuery:
+         ReferenceXYZ2:
+             - SELECT * FROM $$xyz WHERE x = {xValue}
+             - [33]
+
+     defineImmutableQuery:
+         DistinctABCb2:
+             - SELECT b FROM $$abc
+
      defineUpdate:
          ClearABC2:
              - DELETE FROM $$abc
@@ -405,7 +705,7 @@ public class Definer {
 
      <p>
      The file is defined as a set of keys, where each key is the name of a Definer method. E.g.,
-     <i>defineQueryForTable</i>, <i>defineQuery</i>, <i>defineUpdate</i>, <i>defineValueOf</i>, etc.
+     <i>defineQueryForTable</i>, <i>defineQuery</i>, <i>defineCachedQuery</i>, <i>defineImmutableQuery</i>, <i>defineChangeTrackingTable</i>, <i>defineUpdate</i>, <i>defineValueOf</i>, etc.
      The <i>define</i> method may be specified here to include
      other YAML query definition files within a YAML query definition file.
      </p>
@@ -427,6 +727,37 @@ public class Definer {
      @throws Throwable Error.
      */
     public void define(String yamlFileName) throws Throwable {
+        var definitions = new ArrayList<Definition>();
+        collectDefinitions(yamlFileName, definitions);
+        if (parallelism <= 1)
+            for (var definition: definitions)
+                definition.invoke(this);
+        else
+            defineInParallel(definitions);
+    }
+
+    // A Definer method invocation specified in a YAML query definition file.
+    private static class Definition {
+        final Method method;
+        final Object[] args;
+
+        Definition(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+
+        // Return true if this definition changes the database, so it mustn't run concurrently with others.
+        boolean isSequential() {
+            return method.getName().equals("defineUpdate");
+        }
+
+        void invoke(Definer definer) throws ReflectiveOperationException {
+            method.invoke(definer, args);
+        }
+    }
+
+    // Add the definitions in a YAML query definition file, and any files it includes via define, to a list.
+    private void collectDefinitions(String yamlFileName, List<Definition> definitions) throws Throwable {
         var inputStream = getClass()
                 .getClassLoader()
                 .getResourceAsStream(yamlFileName);
@@ -466,8 +797,45 @@ public class Definer {
                     method = Definer.class.getMethod(methodName, argTypes.toArray(new Class<?>[0]));
                 }
                 System.out.println("\t" + Str.ing(MsgFoundMethodAndInvokingIt, method));
-                method.invoke(this, args.toArray());
+                if (method.getName().equals("define") && args.size() == 1)
+                    collectDefinitions(queryName, definitions);
+                else
+                    definitions.add(new Definition(method, args.toArray()));
             }
         }
     }
+
+    // Make definitions concurrently, on at most parallelism threads, except those that must run one at a time.
+    private void defineInParallel(List<Definition> definitions) throws Throwable {
+        // Create the code directory before generators on multiple threads try to.
+        Directory.chkmkdir(codeDirectory);
+        var executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            var pending = new ArrayList<Future<?>>();
+            for (var definition: definitions)
+                if (definition.isSequential()) {
+                    awaitAll(pending);
+                    definition.invoke(this);
+                } else
+                    pending.add(executor.submit(() -> {
+                        definition.invoke(this);
+                        return null;
+                    }));
+            awaitAll(pending);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Wait for pending definitions to complete, and throw the first failure, if any.
+    private static void awaitAll(List<Future<?>> pending) throws Throwable {
+        try {
+            for (var future: pending)
+                future.get();
+        } catch (ExecutionException executionException) {
+            throw executionException.getCause();
+        } finally {
+            pending.clear();
+        }
+    }
 }
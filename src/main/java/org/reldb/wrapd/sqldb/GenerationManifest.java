@@ -0,0 +1,260 @@
+package org.reldb.wrapd.sqldb;
+
+import org.reldb.toolbox.il8n.Msg;
+import org.reldb.toolbox.il8n.Str;
+import org.reldb.wrapd.exceptions.FatalException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A record of the definitions generated by a Definer, kept in the generated code's package directory so that a
+ * subsequent run can skip definitions that haven't changed.
+ *
+ * Each definition is identified by its name and stored with a hash of everything that determines its generated
+ * code -- the kind of definition, SQL text, sample arguments, table name prefix, DBMS customisations and
+ * GeneratorVersion -- along with the names of the files it generated and, for queries and valueOfs, the types
+ * obtained from the database.
+ *
+ * Definitions that were in the manifest when it was loaded but haven't been defined since are orphans. Their
+ * generated files are deleted by removeOrphans().
+ *
+ * A GenerationManifest is thread-safe, so definitions may be recorded concurrently.
+ */
+class GenerationManifest {
+    private final static Msg ErrUnableToLoadManifest = new Msg("Unable to load generation manifest {0}: {1}.", GenerationManifest.class);
+    private final static Msg ErrUnableToSaveManifest = new Msg("Unable to save generation manifest {0}: {1}.", GenerationManifest.class);
+
+    /** Version of generated code. Increment it whenever a change to Wrapd changes the code it generates. */
+    static final int GeneratorVersion = 1;
+
+    /** Name of the manifest file in the generated code's package directory. */
+    static final String FileName = "wrapd-manifest.properties";
+
+    private static final String HashSuffix = ".hash";
+    private static final String FilesSuffix = ".files";
+    private static final String AttributesSuffix = ".attributes";
+    private static final String TupleFileSuffix = ".tupleFile";
+    private static final String TypeSuffix = ".type";
+
+    private final File directory;
+    private final File file;
+    private final Properties previous = new Properties();
+    private final Map<String, String> current = new TreeMap<>();
+
+    /**
+     * Load the manifest in a generated code package directory, if there is one.
+     *
+     * @param directory Package directory of generated code.
+     */
+    GenerationManifest(String directory) {
+        this.directory = new File(directory);
+        this.file = new File(this.directory, FileName);
+        if (file.isFile())
+            try (var input = new FileInputStream(file)) {
+                previous.load(input);
+            } catch (IOException ioe) {
+                throw new FatalException(Str.ing(ErrUnableToLoadManifest, file, ioe.toString()));
+            }
+    }
+
+    /**
+     * Obtain a hash of the given components of a definition, and GeneratorVersion.
+     *
+     * @param kind Kind of definition, including anything that affects its generated code but isn't otherwise given.
+     * @param sqlText SQL text.
+     * @param args Sample arguments.
+     * @param tablenamePrefix Table name prefix.
+     * @param customisations DBMS customisations. May be null.
+     * @return Hexadecimal hash.
+     */
+    static String hash(String kind, String sqlText, Object[] args, String tablenamePrefix, Customisations customisations) {
+        var description = new StringBuilder()
+            .append(GeneratorVersion).append('\0')
+            .append(kind).append('\0')
+            .append(sqlText).append('\0')
+            .append(tablenamePrefix).append('\0')
+            .append((customisations == null) ? "" : customisations.getClass().getName()).append('\0');
+        if (args != null) {
+            for (var arg: args)
+                description.append((arg == null) ? "null" : arg.getClass().getName()).append(',');
+            description.append('\0').append(Arrays.deepToString(args));
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new FatalException(e.toString());
+        }
+        var hash = new StringBuilder();
+        for (var b: digest.digest(description.toString().getBytes(StandardCharsets.UTF_8)))
+            hash.append(String.format("%02x", b));
+        return hash.toString();
+    }
+
+    private static String[] split(String value) {
+        return (value == null || value.isEmpty()) ? new String[0] : value.split(",");
+    }
+
+    /**
+     * Return true if a definition was in the manifest when it was loaded, with the same hash, and all its
+     * generated files still exist.
+     *
+     * @param name Definition name.
+     * @param hash Hash of the definition, from hash(...).
+     * @return True if the definition needn't be regenerated.
+     */
+    synchronized boolean isUnchanged(String name, String hash) {
+        if (!hash.equals(previous.getProperty(name + HashSuffix)))
+            return false;
+        for (var fileName: split(previous.getProperty(name + FilesSuffix)))
+            if (!new File(directory, fileName).isFile())
+                return false;
+        return true;
+    }
+
+    /**
+     * Retain a definition's entries from when the manifest was loaded.
+     *
+     * @param name Definition name.
+     */
+    synchronized void keep(String name) {
+        for (var suffix: new String[] {HashSuffix, FilesSuffix, AttributesSuffix, TupleFileSuffix, TypeSuffix}) {
+            var value = previous.getProperty(name + suffix);
+            if (value != null)
+                current.put(name + suffix, value);
+        }
+    }
+
+    /**
+     * Record a generated definition.
+     *
+     * @param name Definition name.
+     * @param hash Hash of the definition, from hash(...).
+     * @param files Files generated by the definition.
+     */
+    synchronized void record(String name, String hash, File... files) {
+        current.put(name + HashSuffix, hash);
+        var fileNames = new StringJoiner(",");
+        for (var generated: files)
+            fileNames.add(generated.getName());
+        current.put(name + FilesSuffix, fileNames.toString());
+    }
+
+    /**
+     * Record a generated query definition, including its Tuple type.
+     *
+     * @param name Definition name.
+     * @param hash Hash of the definition, from hash(...).
+     * @param queryFile File generated for the Query class.
+     * @param tuple Result of Tuple type generation.
+     */
+    synchronized void recordQuery(String name, String hash, File queryFile, TupleTypeGenerator.GenerateResult tuple) {
+        record(name, hash, queryFile, tuple.generatedFile);
+        var attributes = new StringJoiner(",");
+        for (var attribute: tuple.attributes)
+            attributes.add(attribute.name + ":" + attribute.type.getName());
+        current.put(name + AttributesSuffix, attributes.toString());
+        current.put(name + TupleFileSuffix, tuple.generatedFile.getName());
+    }
+
+    /**
+     * Record a generated valueOf definition, including its type.
+     *
+     * @param name Definition name.
+     * @param hash Hash of the definition, from hash(...).
+     * @param file File generated for the ValueOf class.
+     * @param type Type of the value.
+     */
+    synchronized void recordValueOf(String name, String hash, File file, Class<?> type) {
+        record(name, hash, file);
+        current.put(name + TypeSuffix, type.getName());
+    }
+
+    private static Class<?> getType(String typeName) throws ClassNotFoundException {
+        switch (typeName) {
+            case "boolean": return boolean.class;
+            case "byte": return byte.class;
+            case "char": return char.class;
+            case "short": return short.class;
+            case "int": return int.class;
+            case "long": return long.class;
+            case "float": return float.class;
+            case "double": return double.class;
+            default: return Class.forName(typeName);
+        }
+    }
+
+    /**
+     * Obtain the recorded result of Tuple type generation for a query definition.
+     *
+     * @param name Definition name.
+     * @return Result of Tuple type generation.
+     * @throws ClassNotFoundException An attribute type can't be loaded.
+     */
+    synchronized TupleTypeGenerator.GenerateResult getGenerateResult(String name) throws ClassNotFoundException {
+        var attributes = new ArrayList<Attribute>();
+        for (var attribute: split(current.get(name + AttributesSuffix))) {
+            var separator = attribute.lastIndexOf(':');
+            attributes.add(new Attribute(attribute.substring(0, separator), getType(attribute.substring(separator + 1))));
+        }
+        return new TupleTypeGenerator.GenerateResult(attributes, new File(directory, current.get(name + TupleFileSuffix)));
+    }
+
+    /**
+     * Obtain the recorded type of a valueOf definition.
+     *
+     * @param name Definition name.
+     * @return Type of the value.
+     * @throws ClassNotFoundException The type can't be loaded.
+     */
+    synchronized Class<?> getValueOfType(String name) throws ClassNotFoundException {
+        return getType(current.get(name + TypeSuffix));
+    }
+
+    /**
+     * Delete the generated files of definitions that were in the manifest when it was loaded, but haven't been
+     * recorded or kept since. Files also generated by a current definition are retained.
+     *
+     * @return Number of files deleted.
+     */
+    synchronized int removeOrphans() {
+        var currentFiles = new HashSet<String>();
+        for (var entry: current.entrySet())
+            if (entry.getKey().endsWith(FilesSuffix))
+                currentFiles.addAll(Arrays.asList(split(entry.getValue())));
+        var deleted = 0;
+        for (var key: previous.stringPropertyNames())
+            if (key.endsWith(FilesSuffix) && !current.containsKey(key))
+                for (var fileName: split(previous.getProperty(key)))
+                    if (!currentFiles.contains(fileName) && new File(directory, fileName).delete())
+                        deleted++;
+        return deleted;
+    }
+
+    /**
+     * Save the definitions that have been recorded or kept. The entries are written in sorted order, without a
+     * timestamp, and the file is only rewritten if its content has changed.
+     */
+    synchronized void save() {
+        var content = new StringBuilder("# Wrapd generation manifest. Auto-generated. DO NOT EDIT!!!\n");
+        for (var entry: current.entrySet())
+            content.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        var bytes = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        try {
+            if (file.isFile() && Arrays.equals(Files.readAllBytes(file.toPath()), bytes))
+                return;
+            if (!directory.isDirectory())
+                Files.createDirectories(directory.toPath());
+            Files.write(file.toPath(), bytes);
+        } catch (IOException ioe) {
+            throw new FatalException(Str.ing(ErrUnableToSaveManifest, file, ioe.toString()));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.reldb.wrapd.sqldb;
+
+/**
+ * The base class for all immutable tuples. Derived classes are usually auto-generated by TupleTypeGenerator
+ * with setImmutable(true). They have final attributes, and are constructed with the value of every attribute
+ * in the order they're declared, rather than by a no-argument constructor followed by assignment.
+ */
+public abstract class ImmutableTuple extends Tuple {
+
+    private static final long serialVersionUID = 1L;
+}
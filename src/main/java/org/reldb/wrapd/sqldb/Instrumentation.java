@@ -0,0 +1,221 @@
+package org.reldb.wrapd.sqldb;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Reports each SQL statement issued by a Database to StatementListenerS, as a StatementEvent carrying the
+ * statement's timings, parameter count and row count.
+ *
+ * When there are no listeners, statements are not timed and no StatementEvent is created, so instrumentation
+ * costs nothing unless it's used. Listeners are invoked on the thread that issued the statement; wrap a slow
+ * listener in an AsyncStatementListener so that it doesn't delay queries.
+ */
+public class Instrumentation {
+
+    /**
+     * Used to define lambda expressions that receive StatementEventS.
+     */
+    @FunctionalInterface
+    public interface StatementListener {
+        /**
+         * Receive notification of a completed statement.
+         *
+         * @param event The completed statement.
+         */
+        void statementCompleted(StatementEvent event);
+    }
+
+    // Timings of one statement, in progress. Used only by the thread that issues the statement.
+    static class Probe {
+        private static final int Preparing = 0;
+        private static final int Executing = 1;
+        private static final int Fetching = 2;
+
+        private final String location;
+        private final String name;
+        private final String sqlText;
+        private final int parameterCount;
+
+        private int phase = Preparing;
+        private long mark = System.nanoTime();
+        private long prepareNanos = 0;
+        private long executeNanos = 0;
+        private long fetchNanos = 0;
+        private long rowCount = -1;
+        private Probe outer = null;
+
+        private Probe(String location, String name, String sqlText, int parameterCount) {
+            this.location = location;
+            this.name = name;
+            this.sqlText = sqlText;
+            this.parameterCount = parameterCount;
+        }
+
+        private long elapsed() {
+            var now = System.nanoTime();
+            var elapsed = now - mark;
+            mark = now;
+            return elapsed;
+        }
+
+        /** Add the time since the last mark to the prepare phase, e.g., after preparing and binding. */
+        void prepared() {
+            prepareNanos += elapsed();
+            phase = Executing;
+        }
+
+        /** Add the time since the last mark to the execute phase, and begin the fetch phase. */
+        void executed() {
+            executeNanos += elapsed();
+            phase = Fetching;
+        }
+
+        /** Set the number of rows retrieved or affected. */
+        void setRowCount(long rows) {
+            rowCount = rows;
+        }
+
+        /** Add to the number of rows retrieved or affected. */
+        void addRowCount(long rows) {
+            rowCount = Math.max(rowCount, 0) + rows;
+        }
+
+        private StatementEvent finish(Throwable error) {
+            var elapsed = elapsed();
+            switch (phase) {
+                case Preparing: prepareNanos += elapsed; break;
+                case Executing: executeNanos += elapsed; break;
+                default: fetchNanos += elapsed;
+            }
+            return new StatementEvent(location, name, sqlText, parameterCount, prepareNanos, executeNanos, fetchNanos, rowCount, error);
+        }
+    }
+
+    private final List<StatementListener> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Probe> currentProbe = new ThreadLocal<>();
+    private volatile boolean active = false;
+
+    /**
+     * Add a listener.
+     *
+     * @param listener Listener to be notified of every completed statement.
+     */
+    public synchronized void addListener(StatementListener listener) {
+        listeners.add(listener);
+        active = true;
+    }
+
+    /**
+     * Remove a listener.
+     *
+     * @param listener Listener to remove.
+     */
+    public synchronized void removeListener(StatementListener listener) {
+        listeners.remove(listener);
+        active = !listeners.isEmpty();
+    }
+
+    /**
+     * Return true if there are listeners, i.e., if statements are being instrumented.
+     *
+     * @return True if there are listeners.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Start timing a statement.
+     *
+     * @param location Where the statement was issued.
+     * @param name Name of the Query, Update or ValueOf that issued the statement, or null.
+     * @param sqlText SQL text of the statement.
+     * @param parameterCount Number of parameter arguments.
+     * @return A Probe, or null if there are no listeners.
+     */
+    Probe begin(String location, String name, String sqlText, int parameterCount) {
+        if (!active)
+            return null;
+        return new Probe(location, name, sqlText, parameterCount);
+    }
+
+    /**
+     * Make a Probe the current Probe of this thread, so that code which doesn't have direct access to it, such as a
+     * ResultSetReceiver, can report via executed() and setRowCount(...). Ended by end(...).
+     *
+     * @param probe Probe. May be null.
+     */
+    void enter(Probe probe) {
+        if (probe == null)
+            return;
+        probe.outer = currentProbe.get();
+        currentProbe.set(probe);
+    }
+
+    /**
+     * Finish timing a statement and notify the listeners.
+     *
+     * @param probe Probe obtained from begin(...). May be null, in which case this does nothing.
+     * @param error Exception that caused the statement to fail, or null if it succeeded.
+     */
+    void end(Probe probe, Throwable error) {
+        if (probe == null)
+            return;
+        if (currentProbe.get() == probe) {
+            if (probe.outer == null)
+                currentProbe.remove();
+            else
+                currentProbe.set(probe.outer);
+        }
+        var event = probe.finish(error);
+        for (var listener: listeners) {
+            try {
+                listener.statementCompleted(event);
+            } catch (RuntimeException listenerFailure) {
+                // A failing listener must not cause the statement to fail, or prevent other listeners being notified.
+            }
+        }
+    }
+
+    /** Mark the end of execution of the current thread's statement, if it's being instrumented. */
+    void executed() {
+        if (!active)
+            return;
+        var probe = currentProbe.get();
+        if (probe != null)
+            probe.executed();
+    }
+
+    /**
+     * Set the row count of the current thread's statement, if it's being instrumented.
+     *
+     * @param rows Number of rows retrieved or affected.
+     */
+    void setRowCount(long rows) {
+        if (!active)
+            return;
+        var probe = currentProbe.get();
+        if (probe != null)
+            probe.setRowCount(rows);
+    }
+
+    /**
+     * Mark the end of execution of the current thread's statement and record its update count, if it's being
+     * instrumented.
+     *
+     * @param statement The executed Statement.
+     * @throws SQLException Error obtaining the update count.
+     */
+    void updated(Statement statement) throws SQLException {
+        if (!active)
+            return;
+        var probe = currentProbe.get();
+        if (probe != null) {
+            probe.executed();
+            probe.setRowCount(statement.getUpdateCount());
+        }
+    }
+}
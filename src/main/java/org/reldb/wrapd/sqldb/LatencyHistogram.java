@@ -0,0 +1,148 @@
+package org.reldb.wrapd.sqldb;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds, with fixed memory and bounded relative error, in the manner of an
+ * HDR histogram.
+ *
+ * Each power of two is divided into SubBucketCount equal buckets, so a recorded value is retained to within
+ * 1/SubBucketCount (about 3%) of its actual value. Values below SubBucketCount are retained exactly. Values of
+ * 2^MaxExponent nanoseconds (about 18 minutes) or more are counted in the highest bucket.
+ *
+ * Recording is thread-safe and doesn't lock. Reading while values are being recorded may produce a result
+ * that includes some, but not all, of the concurrently recorded values.
+ */
+public class LatencyHistogram {
+    private static final int SubBucketBits = 5;
+
+    /** Number of buckets per power of two. */
+    public static final int SubBucketCount = 1 << SubBucketBits;
+
+    /** Exponent of the highest power of two that is divided into buckets. */
+    public static final int MaxExponent = 40;
+
+    private static final int BucketCount = (MaxExponent - SubBucketBits + 2) * SubBucketCount;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BucketCount);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    private static int indexOf(long value) {
+        if (value < SubBucketCount)
+            return (int)value;
+        var exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MaxExponent)
+            return BucketCount - 1;
+        var subBucket = (int)(value >>> (exponent - SubBucketBits)) & (SubBucketCount - 1);
+        return (exponent - SubBucketBits + 1) * SubBucketCount + subBucket;
+    }
+
+    // Highest value counted in a given bucket.
+    private static long highestValueOf(int index) {
+        if (index < SubBucketCount)
+            return index;
+        var exponent = index / SubBucketCount + SubBucketBits - 1;
+        var subBucket = index % SubBucketCount;
+        var width = 1L << (exponent - SubBucketBits);
+        return (1L << exponent) + subBucket * width + width - 1;
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param nanos Latency in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        var value = Math.max(nanos, 0);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return Number of values.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the sum of recorded values.
+     *
+     * @return Sum of values, in nanoseconds.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Get the lowest recorded value.
+     *
+     * @return Lowest value in nanoseconds, or 0 if there are none.
+     */
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * Get the highest recorded value.
+     *
+     * @return Highest value in nanoseconds, or 0 if there are none.
+     */
+    public long getMax() {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    /**
+     * Get the mean of recorded values.
+     *
+     * @return Mean value in nanoseconds, or 0 if there are none.
+     */
+    public double getMean() {
+        var count = getCount();
+        return count == 0 ? 0 : (double)getSum() / count;
+    }
+
+    /**
+     * Get the value below which a given percentage of recorded values fall.
+     *
+     * @param percentile Percentile, from 0 to 100, e.g., 99.9.
+     * @return Value in nanoseconds, within the histogram's precision, or 0 if there are none.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (var index = 0; index < BucketCount; index++)
+            total += buckets.get(index);
+        if (total == 0)
+            return 0;
+        var target = Math.max(1, (long)Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * total));
+        long cumulative = 0;
+        for (var index = 0; index < BucketCount; index++) {
+            cumulative += buckets.get(index);
+            if (cumulative >= target)
+                return Math.min(highestValueOf(index), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Discard all recorded values.
+     */
+    public void reset() {
+        for (var index = 0; index < BucketCount; index++)
+            buckets.set(index, 0);
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+}
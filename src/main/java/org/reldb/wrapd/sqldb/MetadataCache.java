@@ -0,0 +1,138 @@
+package org.reldb.wrapd.sqldb;
+
+import org.reldb.toolbox.il8n.Msg;
+import org.reldb.toolbox.il8n.Str;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A thread-safe cache of database metadata: table primary keys, query column types, and the Java classes
+ * named by column metadata.
+ *
+ * Each entry is loaded at most once, even if many threads request it at the same time; the first requester
+ * loads it and the others wait for the result. A load that fails is not cached, so it will be retried on the
+ * next request.
+ */
+public class MetadataCache {
+    private final static Msg ErrMetadataLoadFailed = new Msg("Unable to load metadata for {0}.", MetadataCache.class);
+    private final static Msg ErrMetadataLoadInterrupted = new Msg("Interrupted while waiting for metadata for {0}.", MetadataCache.class);
+
+    /**
+     * Used to define lambda expressions that load a metadata item.
+     *
+     * @param <V> Type of metadata item.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        /**
+         * Load a metadata item.
+         *
+         * @return The metadata item.
+         * @throws Exception Failure.
+         */
+        V load() throws Exception;
+    }
+
+    private final Map<String, FutureTask<String[]>> primaryKeys = new ConcurrentHashMap<>();
+    private final Map<String, FutureTask<Class<?>>> columnTypes = new ConcurrentHashMap<>();
+    private final Map<String, FutureTask<Class<?>>> columnClasses = new ConcurrentHashMap<>();
+
+    // Obtain a cached item, loading it if necessary. Concurrent requests for the same key share one load.
+    private static <V> V get(Map<String, FutureTask<V>> map, String key, Loader<V> loader) throws SQLException {
+        var task = map.get(key);
+        if (task == null) {
+            var newTask = new FutureTask<V>(loader::load);
+            task = map.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                task.run();
+            }
+        }
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            map.remove(key, task);
+            var cause = e.getCause();
+            if (cause instanceof SQLException)
+                throw (SQLException)cause;
+            throw new SQLException(Str.ing(ErrMetadataLoadFailed, key), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(Str.ing(ErrMetadataLoadInterrupted, key), e);
+        }
+    }
+
+    /**
+     * Get the primary key column names of a table.
+     *
+     * @param tableName Table name, as passed to Database methods.
+     * @param loader Loads the primary key if it isn't cached.
+     * @return Array of column names comprising the primary key.
+     * @throws SQLException Failure to load.
+     */
+    public String[] getPrimaryKey(String tableName, Loader<String[]> loader) throws SQLException {
+        return get(primaryKeys, tableName, loader);
+    }
+
+    /**
+     * Get the type of the first column of a query.
+     *
+     * @param query Query text, as passed to Database methods.
+     * @param loader Loads the column type if it isn't cached.
+     * @return Type of first column.
+     * @throws SQLException Failure to load.
+     */
+    public Class<?> getColumnType(String query, Loader<Class<?>> loader) throws SQLException {
+        return get(columnTypes, query, loader);
+    }
+
+    /**
+     * Get the Java class with a given name, as specified by column metadata.
+     *
+     * @param className Fully-qualified class name.
+     * @return Class.
+     * @throws ClassNotFoundException Class can't be loaded.
+     */
+    public Class<?> getColumnClass(String className) throws ClassNotFoundException {
+        try {
+            return get(columnClasses, className, () -> Class.forName(className));
+        } catch (SQLException sqe) {
+            if (sqe.getCause() instanceof ClassNotFoundException)
+                throw (ClassNotFoundException)sqe.getCause();
+            throw new ClassNotFoundException(className, sqe);
+        }
+    }
+
+    /**
+     * Discard cached metadata that may be affected by a change to the given table: its primary key, and all query
+     * column types, because any query may refer to the table.
+     *
+     * @param tableName Table name, as passed to Database methods.
+     */
+    public void invalidate(String tableName) {
+        primaryKeys.remove(tableName);
+        columnTypes.clear();
+    }
+
+    /**
+     * Discard all cached table and query metadata. Class mappings are retained, because they don't depend on the
+     * database schema.
+     */
+    public void invalidateAll() {
+        primaryKeys.clear();
+        columnTypes.clear();
+    }
+
+    /**
+     * Get the number of tables whose primary keys are cached.
+     *
+     * @return Number of cached primary keys.
+     */
+    public int getPrimaryKeyCount() {
+        return primaryKeys.size();
+    }
+}
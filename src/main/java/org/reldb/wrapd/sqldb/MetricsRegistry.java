@@ -0,0 +1,144 @@
+package org.reldb.wrapd.sqldb;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A StatementListener that maintains QueryMetrics for each statement name: the name of the generated Query,
+ * Update or ValueOf class that issued it, or its SQL text if it was issued without one.
+ *
+ * The number of distinct SQL texts given their own metrics is limited by setUnnamedCapacity(...), so an application
+ * that issues many different SQL texts without a generated class doesn't retain a latency histogram for each.
+ * Beyond the limit, statements without a name are recorded under OverflowName.
+ *
+ * Metrics can be obtained by name, as a snapshot of all of them, or as text in the Prometheus exposition format.
+ * See Database.getMetricsRegistry().
+ */
+public class MetricsRegistry implements Instrumentation.StatementListener {
+    private static final double[] Quantiles = {0.5, 0.9, 0.99, 0.999};
+
+    /** Default maximum number of SQL texts of statements without a name that are given their own metrics. */
+    public static final int DefaultUnnamedCapacity = 256;
+
+    /** Name under which statements without a name are recorded once the unnamed capacity has been reached. */
+    public static final String OverflowName = "(other)";
+
+    private final Map<String, QueryMetrics> metrics = new ConcurrentHashMap<>();
+    private final AtomicInteger unnamedCount = new AtomicInteger();
+    private volatile int unnamedCapacity = DefaultUnnamedCapacity;
+
+    @Override
+    public void statementCompleted(StatementEvent event) {
+        var key = event.getKey();
+        var queryMetrics = metrics.get(key);
+        if (queryMetrics == null) {
+            queryMetrics = (event.name != null)
+                    ? metrics.computeIfAbsent(key, QueryMetrics::new)
+                    : metrics.computeIfAbsent(key, this::newUnnamedMetrics);
+            if (queryMetrics == null)
+                queryMetrics = metrics.computeIfAbsent(OverflowName, QueryMetrics::new);
+        }
+        queryMetrics.record(event);
+    }
+
+    // Return new QueryMetrics for a statement without a name, or null if the unnamed capacity has been reached.
+    private QueryMetrics newUnnamedMetrics(String sqlText) {
+        if (unnamedCount.incrementAndGet() > unnamedCapacity) {
+            unnamedCount.decrementAndGet();
+            return null;
+        }
+        return new QueryMetrics(sqlText);
+    }
+
+    /**
+     * Set the maximum number of SQL texts of statements without a name that are given their own metrics.
+     * Lowering it doesn't discard metrics already being maintained.
+     *
+     * @param capacity Maximum number of SQL texts. 0 records all statements without a name under OverflowName.
+     */
+    public void setUnnamedCapacity(int capacity) {
+        unnamedCapacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Get the maximum number of SQL texts of statements without a name that are given their own metrics.
+     *
+     * @return Maximum number of SQL texts.
+     */
+    public int getUnnamedCapacity() {
+        return unnamedCapacity;
+    }
+
+    /**
+     * Get the metrics for a name.
+     *
+     * @param name Name of Query, Update or ValueOf class, SQL text, or OverflowName.
+     * @return QueryMetrics, or null if no statement with the given name has completed.
+     */
+    public QueryMetrics get(String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Get the metrics for all names.
+     *
+     * @return An unmodifiable snapshot of metrics, sorted by name.
+     */
+    public SortedMap<String, QueryMetrics> getAll() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(metrics));
+    }
+
+    /**
+     * Discard all metrics.
+     */
+    public void reset() {
+        metrics.clear();
+        unnamedCount.set(0);
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue
+                .replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n");
+    }
+
+    private static void appendFamily(StringBuilder text, Map<String, QueryMetrics> snapshot, String metric, String type, String help, Function<QueryMetrics, Number> value) {
+        text.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+        snapshot.forEach((name, queryMetrics) ->
+                text.append(metric).append("{query=\"").append(escape(name)).append("\"} ").append(value.apply(queryMetrics)).append('\n'));
+    }
+
+    /**
+     * Obtain all metrics as text in the Prometheus exposition format. Latencies are in seconds.
+     *
+     * @return Metrics text.
+     */
+    public String toText() {
+        var snapshot = getAll();
+        var text = new StringBuilder();
+        appendFamily(text, snapshot, "wrapd_statement_errors_total", "counter", "Failed statements.", QueryMetrics::getErrorCount);
+        appendFamily(text, snapshot, "wrapd_statement_rows_total", "counter", "Rows retrieved or affected.", QueryMetrics::getRowCount);
+        appendFamily(text, snapshot, "wrapd_statement_throughput", "gauge", "Statements per second.", QueryMetrics::getThroughput);
+        appendFamily(text, snapshot, "wrapd_statement_rows_mapped_per_second", "gauge", "Rows mapped per second of fetch time.", QueryMetrics::getRowsMappedPerSecond);
+        var metric = "wrapd_statement_latency_seconds";
+        text.append("# HELP ").append(metric).append(" Statement latency.\n");
+        text.append("# TYPE ").append(metric).append(" summary\n");
+        snapshot.forEach((name, queryMetrics) -> {
+            var label = "query=\"" + escape(name) + "\"";
+            var latency = queryMetrics.getLatency();
+            for (var quantile: Quantiles)
+                text.append(metric).append('{').append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(latency.getValueAtPercentile(quantile * 100) / 1e9).append('\n');
+            text.append(metric).append("_sum{").append(label).append("} ").append(latency.getSum() / 1e9).append('\n');
+            text.append(metric).append("_count{").append(label).append("} ").append(latency.getCount()).append('\n');
+        });
+        return text.toString();
+    }
+}
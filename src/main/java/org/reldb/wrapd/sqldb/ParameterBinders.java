@@ -0,0 +1,391 @@
+package org.reldb.wrapd.sqldb;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of ParameterBinderS, indexed by the Java type of the argument they bind to a PreparedStatement parameter.
+ *
+ * A binder is found by the argument's exact class, then by its superclasses, then by its interfaces. The result of
+ * each lookup is retained, so a given argument class is resolved once. Arguments of a class with no binder are bound
+ * with setString(argument.toString()), as Wrapd has always done.
+ *
+ * The static bindXxx(...) methods bind a specific type directly, and are used by generated Query and Update classes.
+ */
+public class ParameterBinders {
+
+    /**
+     * Used to define lambda expressions that bind an argument to a PreparedStatement parameter.
+     *
+     * @param <T> Type of argument.
+     */
+    @FunctionalInterface
+    public interface ParameterBinder<T> {
+        /**
+         * Bind an argument to a parameter.
+         *
+         * @param statement PreparedStatement.
+         * @param position Parameter position, starting at 1.
+         * @param value Argument. Never null.
+         * @throws SQLException Error.
+         */
+        void bind(PreparedStatement statement, int position, T value) throws SQLException;
+    }
+
+    private static final ParameterBinder<Object> fallbackBinder = (statement, position, value) -> statement.setString(position, value.toString());
+
+    private final Map<Class<?>, ParameterBinder<Object>> registered = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ParameterBinder<Object>> resolved = new ConcurrentHashMap<>();
+    private volatile int version = 0;
+
+    /**
+     * Create a registry with binders for common JDBC types, java.time types, UUID and byte[].
+     */
+    public ParameterBinders() {
+        register(String.class, PreparedStatement::setString);
+        register(Integer.class, PreparedStatement::setInt);
+        register(Long.class, PreparedStatement::setLong);
+        register(Short.class, PreparedStatement::setShort);
+        register(Byte.class, PreparedStatement::setByte);
+        register(Double.class, PreparedStatement::setDouble);
+        register(Float.class, PreparedStatement::setFloat);
+        register(Boolean.class, PreparedStatement::setBoolean);
+        register(Character.class, (statement, position, value) -> statement.setString(position, String.valueOf(value)));
+        register(BigDecimal.class, PreparedStatement::setBigDecimal);
+        register(BigInteger.class, (statement, position, value) -> statement.setBigDecimal(position, new BigDecimal(value)));
+        register(byte[].class, PreparedStatement::setBytes);
+        register(Date.class, PreparedStatement::setDate);
+        register(Time.class, PreparedStatement::setTime);
+        register(Timestamp.class, PreparedStatement::setTimestamp);
+        register(java.util.Date.class, (statement, position, value) -> statement.setTimestamp(position, new Timestamp(value.getTime())));
+        register(Blob.class, PreparedStatement::setBlob);
+        register(Clob.class, PreparedStatement::setClob);
+        register(LocalDate.class, PreparedStatement::setObject);
+        register(LocalTime.class, PreparedStatement::setObject);
+        register(LocalDateTime.class, PreparedStatement::setObject);
+        register(OffsetDateTime.class, PreparedStatement::setObject);
+        register(UUID.class, PreparedStatement::setObject);
+    }
+
+    /**
+     * Register a binder for a type, replacing any existing binder for that type. It will also be used for subclasses
+     * and implementations of the type that don't have a more specific binder.
+     *
+     * @param <T> Type of argument.
+     * @param type Class of argument.
+     * @param binder Binder.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> void register(Class<T> type, ParameterBinder<? super T> binder) {
+        registered.put(type, (ParameterBinder<Object>)binder);
+        resolved.clear();
+        version++;
+    }
+
+    /**
+     * Get a number that changes whenever a binder is registered, so that resolved binders held elsewhere can be
+     * recognised as stale.
+     *
+     * @return Registry version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the binder for arguments of a given class.
+     *
+     * @param type Class of argument.
+     * @return Binder. If no binder is registered for the class, its superclasses or its interfaces, a binder that
+     *         uses setString(argument.toString()).
+     */
+    public ParameterBinder<Object> getBinder(Class<?> type) {
+        var binder = resolved.get(type);
+        if (binder == null) {
+            binder = resolve(type);
+            resolved.put(type, binder);
+        }
+        return binder;
+    }
+
+    private ParameterBinder<Object> resolve(Class<?> type) {
+        for (var superclass = type; superclass != null; superclass = superclass.getSuperclass()) {
+            var binder = registered.get(superclass);
+            if (binder != null)
+                return binder;
+        }
+        for (var superclass = type; superclass != null; superclass = superclass.getSuperclass())
+            for (var anInterface: superclass.getInterfaces()) {
+                var binder = registered.get(anInterface);
+                if (binder != null)
+                    return binder;
+            }
+        return fallbackBinder;
+    }
+
+    /**
+     * Bind an argument to a parameter. A null argument is bound as a VARCHAR NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public void bind(PreparedStatement statement, int position, Object value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.VARCHAR);
+        else
+            getBinder(value.getClass()).bind(statement, position, value);
+    }
+
+    /**
+     * Bind arguments to parameters 1 through arguments.length.
+     *
+     * @param statement PreparedStatement.
+     * @param arguments Arguments.
+     * @throws SQLException Error.
+     */
+    public void bindAll(PreparedStatement statement, Object... arguments) throws SQLException {
+        for (var position = 1; position <= arguments.length; position++)
+            bind(statement, position, arguments[position - 1]);
+    }
+
+    /**
+     * Bind a String, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindString(PreparedStatement statement, int position, String value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.VARCHAR);
+        else
+            statement.setString(position, value);
+    }
+
+    /**
+     * Bind an Integer, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindInteger(PreparedStatement statement, int position, Integer value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.INTEGER);
+        else
+            statement.setInt(position, value);
+    }
+
+    /**
+     * Bind a Long, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindLong(PreparedStatement statement, int position, Long value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.BIGINT);
+        else
+            statement.setLong(position, value);
+    }
+
+    /**
+     * Bind a Short, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindShort(PreparedStatement statement, int position, Short value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.SMALLINT);
+        else
+            statement.setShort(position, value);
+    }
+
+    /**
+     * Bind a Byte, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindByte(PreparedStatement statement, int position, Byte value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.TINYINT);
+        else
+            statement.setByte(position, value);
+    }
+
+    /**
+     * Bind a Double, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindDouble(PreparedStatement statement, int position, Double value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.DOUBLE);
+        else
+            statement.setDouble(position, value);
+    }
+
+    /**
+     * Bind a Float, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindFloat(PreparedStatement statement, int position, Float value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.REAL);
+        else
+            statement.setFloat(position, value);
+    }
+
+    /**
+     * Bind a Boolean, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindBoolean(PreparedStatement statement, int position, Boolean value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.BOOLEAN);
+        else
+            statement.setBoolean(position, value);
+    }
+
+    /**
+     * Bind a BigDecimal, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindBigDecimal(PreparedStatement statement, int position, BigDecimal value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.NUMERIC);
+        else
+            statement.setBigDecimal(position, value);
+    }
+
+    /**
+     * Bind a byte[], or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindBytes(PreparedStatement statement, int position, byte[] value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.VARBINARY);
+        else
+            statement.setBytes(position, value);
+    }
+
+    /**
+     * Bind a java.sql.Date, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindDate(PreparedStatement statement, int position, Date value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.DATE);
+        else
+            statement.setDate(position, value);
+    }
+
+    /**
+     * Bind a java.sql.Time, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindTime(PreparedStatement statement, int position, Time value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.TIME);
+        else
+            statement.setTime(position, value);
+    }
+
+    /**
+     * Bind a java.sql.Timestamp, or NULL.
+     *
+     * @param statement PreparedStatement.
+     * @param position Parameter position, starting at 1.
+     * @param value Argument.
+     * @throws SQLException Error.
+     */
+    public static void bindTimestamp(PreparedStatement statement, int position, Timestamp value) throws SQLException {
+        if (value == null)
+            statement.setNull(position, Types.TIMESTAMP);
+        else
+            statement.setTimestamp(position, value);
+    }
+
+    /**
+     * Get the name of the static ParameterBinders method that binds a given type directly.
+     *
+     * @param type Parameter type.
+     * @return Method name, or null if there is no such method for the type.
+     */
+    public static String getTypedBinderName(Class<?> type) {
+        if (type == String.class)
+            return "bindString";
+        if (type == Integer.class || type == int.class)
+            return "bindInteger";
+        if (type == Long.class || type == long.class)
+            return "bindLong";
+        if (type == Short.class || type == short.class)
+            return "bindShort";
+        if (type == Byte.class || type == byte.class)
+            return "bindByte";
+        if (type == Double.class || type == double.class)
+            return "bindDouble";
+        if (type == Float.class || type == float.class)
+            return "bindFloat";
+        if (type == Boolean.class || type == boolean.class)
+            return "bindBoolean";
+        if (type == BigDecimal.class)
+            return "bindBigDecimal";
+        if (type == byte[].class)
+            return "bindBytes";
+        if (type == Date.class)
+            return "bindDate";
+        if (type == Time.class)
+            return "bindTime";
+        if (type == Timestamp.class)
+            return "bindTimestamp";
+        return null;
+    }
+}
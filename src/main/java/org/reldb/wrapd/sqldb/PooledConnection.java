@@ -0,0 +1,379 @@
+package org.reldb.wrapd.sqldb;
+
+import org.reldb.toolbox.il8n.Msg;
+import org.reldb.toolbox.il8n.Str;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A Connection borrowed from a ConnectionPool. Closing it returns the underlying connection to the pool, after
+ * which this PooledConnection can no longer be used. Each borrow gets a new PooledConnection, so a Connection
+ * kept after it's closed can't affect the connection's next borrower. StatementS created through it, and so their
+ * ResultSetS, are closed when it's closed.
+ */
+class PooledConnection implements Connection {
+    private final static Msg ErrConnectionClosed = new Msg("Connection has been returned to its pool.", PooledConnection.class);
+
+    private final ConnectionPool pool;
+    private final ConnectionPool.PoolEntry entry;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final List<Statement> statements = new ArrayList<>();
+    private int statementPruneSize = MinimumStatementPruneSize;
+
+    private final static int MinimumStatementPruneSize = 16;
+
+    /**
+     * Constructor.
+     *
+     * @param pool ConnectionPool to which the connection is returned.
+     * @param entry Borrowed connection.
+     */
+    PooledConnection(ConnectionPool pool, ConnectionPool.PoolEntry entry) {
+        this.pool = pool;
+        this.entry = entry;
+    }
+
+    // Obtain the underlying connection, or throw SQLException if this PooledConnection has been closed.
+    private Connection connection() throws SQLException {
+        if (closed.get())
+            throw new SQLException(Str.ing(ErrConnectionClosed));
+        return entry.connection;
+    }
+
+    // Remember a Statement so it can be closed when this PooledConnection is closed.
+    private <T extends Statement> T track(T statement) {
+        synchronized (statements) {
+            if (statements.size() >= statementPruneSize) {
+                statements.removeIf(PooledConnection::isStatementClosed);
+                statementPruneSize = Math.max(MinimumStatementPruneSize, statements.size() * 2);
+            }
+            statements.add(statement);
+        }
+        return statement;
+    }
+
+    private static boolean isStatementClosed(Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    // Close the StatementS, and so the ResultSetS, left open by the borrower.
+    private void closeStatements() {
+        synchronized (statements) {
+            for (var statement: statements)
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // the connection is being released anyway
+                }
+            statements.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true))
+            return;
+        closeStatements();
+        pool.release(entry);
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed.get() || entry.connection.isClosed();
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        if (!closed.compareAndSet(false, true))
+            return;
+        entry.broken = true;
+        synchronized (statements) {
+            statements.clear();
+        }
+        try {
+            entry.connection.abort(executor);
+        } finally {
+            pool.release(entry);
+        }
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return track(connection().createStatement());
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return track(connection().prepareStatement(sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return track(connection().prepareCall(sql));
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return connection().nativeSQL(sql);
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        connection().setAutoCommit(autoCommit);
+        entry.autoCommitChanged = true;
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return connection().getAutoCommit();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        connection().commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        connection().rollback();
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return connection().getMetaData();
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        connection().setReadOnly(readOnly);
+        entry.readOnlyChanged = true;
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return connection().isReadOnly();
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        connection().setCatalog(catalog);
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return connection().getCatalog();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        connection().setTransactionIsolation(level);
+        entry.transactionIsolationChanged = true;
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return connection().getTransactionIsolation();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return connection().getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        connection().clearWarnings();
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return track(connection().createStatement(resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return track(connection().prepareStatement(sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return track(connection().prepareCall(sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return connection().getTypeMap();
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        connection().setTypeMap(map);
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        connection().setHoldability(holdability);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return connection().getHoldability();
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return connection().setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return connection().setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        connection().rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        connection().releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return track(connection().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return track(connection().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return track(connection().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return track(connection().prepareStatement(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return track(connection().prepareStatement(sql, columnIndexes));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return track(connection().prepareStatement(sql, columnNames));
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return connection().createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return connection().createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return connection().createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return connection().createSQLXML();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return !closed.get() && entry.connection.isValid(timeout);
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        if (closed.get())
+            throw new SQLClientInfoException(Str.ing(ErrConnectionClosed), null);
+        entry.connection.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        if (closed.get())
+            throw new SQLClientInfoException(Str.ing(ErrConnectionClosed), null);
+        entry.connection.setClientInfo(properties);
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return connection().getClientInfo(name);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return connection().getClientInfo();
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return connection().createArrayOf(typeName, elements);
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return connection().createStruct(typeName, attributes);
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        connection().setSchema(schema);
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return connection().getSchema();
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        connection().setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return connection().getNetworkTimeout();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        var connection = connection();
+        if (iface.isInstance(connection))
+            return iface.cast(connection);
+        return connection.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        var connection = connection();
+        return iface.isInstance(connection) || connection.isWrapperFor(iface);
+    }
+
+    public String toString() {
+        return "PooledConnection: " + entry.connection.toString();
+    }
+}
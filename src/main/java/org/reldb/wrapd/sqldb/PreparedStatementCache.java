@@ -0,0 +1,171 @@
+package org.reldb.wrapd.sqldb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, least-recently-used cache of PreparedStatementS belonging to a single Connection.
+ *
+ * Statements are keyed by their SQL text after table name prefix substitution. A statement is removed
+ * from the cache while it is in use, so nested or re-entrant use of the same SQL text on the same
+ * Connection obtains a separate PreparedStatement rather than disturbing one that is already executing.
+ */
+public class PreparedStatementCache {
+
+    /**
+     * Usage counters, shared by all the PreparedStatementCacheS of a Database.
+     */
+    public static class Statistics {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+
+        /**
+         * Get the number of times a requested PreparedStatement was found in a cache.
+         *
+         * @return Number of cache hits.
+         */
+        public long getHits() {
+            return hits.get();
+        }
+
+        /**
+         * Get the number of times a requested PreparedStatement was not found in a cache and had to be prepared.
+         *
+         * @return Number of cache misses.
+         */
+        public long getMisses() {
+            return misses.get();
+        }
+
+        /**
+         * Get the number of PreparedStatementS closed to make room for more recently used ones.
+         *
+         * @return Number of cache evictions.
+         */
+        public long getEvictions() {
+            return evictions.get();
+        }
+
+        /**
+         * Reset all counters to zero.
+         */
+        public void reset() {
+            hits.set(0);
+            misses.set(0);
+            evictions.set(0);
+        }
+
+        public String toString() {
+            return "hits = " + getHits() + ", misses = " + getMisses() + ", evictions = " + getEvictions();
+        }
+    }
+
+    private final Connection connection;
+    private final long generation;
+    private final Statistics statistics;
+    private final Map<String, PreparedStatement> statements;
+
+    /**
+     * Create a PreparedStatement cache for a Connection.
+     *
+     * @param connection The Connection whose PreparedStatementS will be cached.
+     * @param capacity Maximum number of PreparedStatementS to retain.
+     * @param generation The owning Database's cache generation when this cache was created.
+     * @param statistics Counters to be updated by this cache.
+     */
+    PreparedStatementCache(Connection connection, int capacity, long generation, Statistics statistics) {
+        this.connection = connection;
+        this.generation = generation;
+        this.statistics = statistics;
+        statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= capacity)
+                    return false;
+                statistics.evictions.incrementAndGet();
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException sqe) {
+            // Nothing useful can be done about failing to close a statement we no longer want.
+        }
+    }
+
+    /**
+     * Get the Connection whose PreparedStatementS are cached here.
+     *
+     * @return Connection.
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Get the owning Database's cache generation when this cache was created.
+     *
+     * @return Generation.
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Obtain a PreparedStatement for the given SQL text, either from the cache or by preparing it.
+     * The statement is not available to other users until it is returned via checkIn(...).
+     *
+     * @param sqlText SQL text, after table name prefix substitution.
+     * @return A PreparedStatement with its parameters cleared.
+     * @throws SQLException Error preparing the statement.
+     */
+    synchronized PreparedStatement checkOut(String sqlText) throws SQLException {
+        var statement = statements.remove(sqlText);
+        if (statement != null && !statement.isClosed()) {
+            statistics.hits.incrementAndGet();
+            statement.clearParameters();
+            return statement;
+        }
+        statistics.misses.incrementAndGet();
+        return connection.prepareStatement(sqlText);
+    }
+
+    /**
+     * Return a PreparedStatement obtained via checkOut(...) to the cache, evicting the least recently
+     * used statement if the cache is full.
+     *
+     * @param sqlText SQL text used to obtain the statement.
+     * @param statement The PreparedStatement.
+     */
+    synchronized void checkIn(String sqlText, PreparedStatement statement) {
+        var displaced = statements.put(sqlText, statement);
+        if (displaced != null && displaced != statement)
+            closeQuietly(displaced);
+    }
+
+    /**
+     * Close all cached PreparedStatementS.
+     */
+    synchronized void close() {
+        statements.values().forEach(PreparedStatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    /**
+     * Get the number of PreparedStatementS currently cached.
+     *
+     * @return Number of cached statements.
+     */
+    public synchronized int size() {
+        return statements.size();
+    }
+}
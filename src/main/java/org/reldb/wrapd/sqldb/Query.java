@@ -20,6 +20,18 @@ public class Query<T extends Tuple> extends SQL {
         this.tupleClass = tupleClass;
     }
 
+    /**
+     * Define a Query.
+     *
+     * @param template SQL template, typically held in a static field of a generated subclass.
+     * @param tupleClass Tuple class.
+     * @param arguments Arguments to query.
+     */
+    protected Query(SQLTemplate template, Class<T> tupleClass, Object... arguments) {
+        super(template, arguments);
+        this.tupleClass = tupleClass;
+    }
+
     /**
      * Define a Query.
      *
@@ -38,4 +50,14 @@ public class Query<T extends Tuple> extends SQL {
     public Class<T> getTupleClass() {
         return tupleClass;
     }
+
+    /**
+     * Return true if the results of this Query may be retained in its Database's ResultCache. Generated Query
+     * classes defined with Definer.defineCachedQuery(...) override this to return true.
+     *
+     * @return True if results may be cached.
+     */
+    public boolean isCacheable() {
+        return false;
+    }
 }
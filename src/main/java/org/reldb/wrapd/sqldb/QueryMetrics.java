@@ -0,0 +1,114 @@
+package org.reldb.wrapd.sqldb;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulated metrics for statements that share a name: usually a generated Query, Update or ValueOf class, or
+ * SQL text for statements issued without one. Maintained by a MetricsRegistry.
+ */
+public class QueryMetrics {
+    private final String name;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Create metrics for a name.
+     *
+     * @param name Name of Query, Update or ValueOf class, or SQL text.
+     */
+    public QueryMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Add a completed statement to these metrics.
+     *
+     * @param event The completed statement.
+     */
+    public void record(StatementEvent event) {
+        latency.record(event.getTotalNanos());
+        if (event.isError())
+            errors.increment();
+        if (event.rowCount > 0)
+            rows.add(event.rowCount);
+        fetchNanos.add(event.fetchNanos);
+    }
+
+    /**
+     * Get the name these metrics are for.
+     *
+     * @return Name of Query, Update or ValueOf class, or SQL text.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the number of statements, including failed ones.
+     *
+     * @return Number of statements.
+     */
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * Get the number of statements that failed.
+     *
+     * @return Number of failures.
+     */
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Get the total number of rows retrieved or affected.
+     *
+     * @return Number of rows.
+     */
+    public long getRowCount() {
+        return rows.sum();
+    }
+
+    /**
+     * Get the histogram of total statement times, in nanoseconds.
+     *
+     * @return LatencyHistogram.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Get the average number of statements per second since these metrics were created.
+     *
+     * @return Statements per second.
+     */
+    public double getThroughput() {
+        var elapsedNanos = System.nanoTime() - startNanos;
+        return elapsedNanos <= 0 ? 0 : getCount() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get the number of rows retrieved and mapped to Java objects per second of time spent fetching.
+     *
+     * @return Rows mapped per second, or 0 if no time has been spent fetching.
+     */
+    public double getRowsMappedPerSecond() {
+        var nanos = fetchNanos.sum();
+        return nanos <= 0 ? 0 : getRowCount() * 1e9 / nanos;
+    }
+
+    public String toString() {
+        return name +
+                " [count = " + getCount() +
+                ", errors = " + getErrorCount() +
+                ", rows = " + getRowCount() +
+                ", p50 = " + latency.getValueAtPercentile(50) + "ns" +
+                ", p99 = " + latency.getValueAtPercentile(99) + "ns" +
+                ", max = " + latency.getMax() + "ns]";
+    }
+}
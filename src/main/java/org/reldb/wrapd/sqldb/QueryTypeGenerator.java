@@ -7,6 +7,7 @@ public class QueryTypeGenerator extends SQLTypeGenerator {
 
     private final String tupleClassName;
     private String tableName;
+    private boolean cacheable = false;
 
     /**
      * Create a generator of compiled query invokers.
@@ -35,46 +36,66 @@ public class QueryTypeGenerator extends SQLTypeGenerator {
         this.tableName = tableName;
     }
 
+    /**
+     * Set whether the generated Query's results may be cached. See ResultCache.
+     *
+     * @param cacheable If true, the generated Query's isCacheable() will return true.
+     */
+    public void setCacheable(boolean cacheable) {
+        this.cacheable = cacheable;
+    }
+
+    private String getCacheableMethod() {
+        return
+            "\t@Override\n" +
+            "\tpublic boolean isCacheable() {\n" +
+            "\t\treturn true;\n" +
+            "\t}\n";
+    }
+
     private String getConstructor() {
         return
             "\t@SuppressWarnings(\"unchecked\")\n" +
-            "\tprotected " + getQueryName() + "(String queryText, Class<" + tupleClassName + "> tupleClass, Object... arguments) {\n" +
-            "\t\tsuper(queryText, (Class<T>)tupleClass, arguments);\n" +
+            "\tprotected " + getQueryName() + "(SQLTemplate queryTemplate, Class<" + tupleClassName + "> tupleClass, Object... arguments) {\n" +
+            "\t\tsuper(queryTemplate, (Class<T>)tupleClass, arguments);\n" +
             "\t}\n";
     }
 
-    private String buildQueryMethod(String methodName, String newQuery, boolean withConnection, String methodNameSuffix) {
+    private String buildQueryMethod(String methodName, String newQuery, boolean withConnection, String methodNameSuffix, String returnType) {
         var argConnection = withConnection
             ? "connection, "
             : "";
         var baseName = "query";
         var newMethodName = baseName + methodNameSuffix;
-        var returnType = "Stream<" + tupleClassName + ">";
         addMethod(new Method(baseName, methodNameSuffix, getParameterList(true, withConnection), returnType));
         return "\tpublic static " + returnType + " " + newMethodName + "(" + getParameterDefinitionListString(withConnection) + ") throws SQLException {\n" +
                 "\t\treturn db." + methodName + "(" + argConnection + newQuery + ");\n" +
                 "\t}\n";
     }
 
-    private String getQueryMethodsSpecific(String methodNameSuffix) {
+    private String getQueryMethodsSpecific(String methodNameSuffix, String returnType) {
         var methodName = hasArgs()
             ? ("query" + methodNameSuffix)
             : ("queryAll" + methodNameSuffix);
         var args = hasArgs()
             ? ", " + getDeclaredQueryParameterNameListString()
             : "";
-        var newQuery = "new " + getQueryName() + "<>(sqlText, " + tupleClassName + ".class" + args + ")";
+        var newQuery = "new " + getQueryName() + "<>(sqlTemplate, " + tupleClassName + ".class" + args + ")";
         return
-            buildQueryMethod(methodName, newQuery, false, methodNameSuffix) +
+            buildQueryMethod(methodName, newQuery, false, methodNameSuffix, returnType) +
             "\n" +
-            buildQueryMethod(methodName, newQuery, true, methodNameSuffix);
+            buildQueryMethod(methodName, newQuery, true, methodNameSuffix, returnType);
     }
 
     private String getQueryMethods() {
         return
-            getQueryMethodsSpecific("") +
+            getQueryMethodsSpecific("", "Stream<" + tupleClassName + ">") +
+            "\n" +
+            getQueryMethodsSpecific("AsList", "List<" + tupleClassName + ">") +
+            "\n" +
+            getQueryMethodsSpecific("AsArray", tupleClassName + "[]") +
             (tableName != null
-                ? "\n" + getQueryMethodsSpecific("ForUpdate")
+                ? "\n" + getQueryMethodsSpecific("ForUpdate", "Stream<" + tupleClassName + ">")
                 : "");
     }
 
@@ -85,15 +106,25 @@ public class QueryTypeGenerator extends SQLTypeGenerator {
             "/* WARNING: Auto-generated code. DO NOT EDIT!!! */\n\n" +
             "import java.sql.SQLException;\n" +
             "import java.sql.Connection;\n" +
+            "import java.sql.PreparedStatement;\n" +
+            "import java.util.List;\n" +
             "import java.util.stream.Stream;\n\n" +
             "import org.reldb.wrapd.sqldb.Tuple;\n" +
             "import org.reldb.wrapd.sqldb.Database;\n" +
-            "import org.reldb.wrapd.sqldb.Query;\n\n" +
+            "import org.reldb.wrapd.sqldb.ParameterBinders;\n" +
+            "import org.reldb.wrapd.sqldb.Query;\n" +
+            "import org.reldb.wrapd.sqldb.SQLTemplate;\n\n" +
             "public class " + getQueryName() + "<T extends Tuple> extends Query<T> {\n" +
-            "\tprivate final static String sqlText = \"" + getSQLText() + "\";\n\n" +
+            "\tprivate final static SQLTemplate sqlTemplate = new SQLTemplate(\"" + getSQLText() + "\");\n\n" +
             getConstructor() +
             "\n" +
             getQueryMethods() +
+            (hasArgs()
+                ? "\n" + getBindParametersMethod()
+                : "") +
+            (cacheable
+                ? "\n" + getCacheableMethod()
+                : "") +
             "}";
     }
 
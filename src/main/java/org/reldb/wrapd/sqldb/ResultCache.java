@@ -0,0 +1,424 @@
+package org.reldb.wrapd.sqldb;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache of the results of cacheable QueryS, i.e., those defined with Definer.defineCachedQuery(...), keyed by
+ * Query class and arguments. Each result is the List of Tuples returned by the query, so cached Tuples are
+ * shared by every caller that obtains them and must not be modified.
+ *
+ * Entries are evicted when the cache exceeds its maximum size (least recently used first) or when they're older
+ * than the cache's time to live. They are invalidated when a statement issued by the Database writes to a table
+ * the query reads: Database.update(...), updateAll(...), generated Update classes, insertAll(...),
+ * updateTuples(...), and UpdatableTuple insert(...) and update(...). Writes in a transaction run by the Database,
+ * i.e., via transact(...), processTransaction(...) or useTransaction(...), invalidate the affected entries again
+ * when the transaction ends, so results read by other Connections before it commits aren't retained.
+ *
+ * Tables are identified by scanning SQL text for the names that follow FROM, JOIN, INTO, UPDATE and TABLE. If a
+ * write's tables can't be identified, the whole cache is invalidated. If a query's tables can't be identified,
+ * its result isn't cached. Writes made by other means, such as via processPreparedStatement(...), stored
+ * procedures, triggers, or other applications, are not detected; use invalidate(...) or invalidateAll() for
+ * those, or rely on the time to live.
+ *
+ * The scan doesn't look inside views or common table expressions, so a query that reads a view or a CTE is
+ * only invalidated by writes to tables it names directly. Don't cache such queries unless their results may
+ * be stale until the time to live expires, or writes to the underlying tables are followed by invalidate(...).
+ *
+ * Writes in a transaction on a Connection the caller manages, by setting its auto-commit mode off and
+ * committing it, are only invalidated when they're made. A result read by another Connection before the commit
+ * may then be cached and remain stale; call invalidate(...) after committing.
+ *
+ * Results obtained via a caller-supplied Connection are neither cached nor obtained from the cache, because the
+ * Connection's transaction may see data that other Connections can't.
+ */
+public class ResultCache {
+
+    /** Default maximum number of cached results. */
+    public static final int DefaultMaximumSize = 1000;
+
+    /** Default time to live of a cached result, in milliseconds. */
+    public static final long DefaultTimeToLiveMillis = 60000;
+
+    // Marks a pending invalidation of every table.
+    private static final String AllTables = "*";
+
+    /**
+     * Identifies a cached result by Query class and arguments.
+     */
+    public static class Key {
+        private final Class<?> queryClass;
+        private final Object[] arguments;
+        private final int hashCode;
+
+        /**
+         * Constructor.
+         *
+         * @param queryClass Class of the Query.
+         * @param arguments Arguments of the Query.
+         */
+        public Key(Class<?> queryClass, Object[] arguments) {
+            this.queryClass = queryClass;
+            this.arguments = arguments.clone();
+            hashCode = 31 * queryClass.hashCode() + Arrays.deepHashCode(this.arguments);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other)
+                return true;
+            if (!(other instanceof Key))
+                return false;
+            var key = (Key)other;
+            return queryClass == key.queryClass && Arrays.deepEquals(arguments, key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        public String toString() {
+            return queryClass.getName() + Arrays.deepToString(arguments);
+        }
+    }
+
+    private static class Entry {
+        final List<?> rows;
+        final Set<String> tableNames;
+        final long expiresAt;
+
+        Entry(List<?> rows, Set<String> tableNames, long expiresAt) {
+            this.rows = rows;
+            this.tableNames = tableNames;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Least recently used first.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Connection, Set<String>> pendingInvalidations = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private int maximumSize = DefaultMaximumSize;
+    private long timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(DefaultTimeToLiveMillis);
+    private long generation = 0;
+    private volatile boolean inUse = false;
+
+    /**
+     * Set the maximum number of cached results. If there are more, the least recently used are evicted.
+     *
+     * @param maximumSize Maximum number of cached results. 0 disables caching.
+     */
+    public synchronized void setMaximumSize(int maximumSize) {
+        this.maximumSize = Math.max(maximumSize, 0);
+        evict();
+    }
+
+    /**
+     * Get the maximum number of cached results.
+     *
+     * @return Maximum number of cached results.
+     */
+    public synchronized int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Set the time to live of cached results. Results cached before the change keep their original expiry.
+     *
+     * @param timeToLiveMillis Time to live, in milliseconds.
+     */
+    public synchronized void setTimeToLive(long timeToLiveMillis) {
+        timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+    }
+
+    /**
+     * Get the time to live of cached results.
+     *
+     * @return Time to live, in milliseconds.
+     */
+    public synchronized long getTimeToLive() {
+        return TimeUnit.NANOSECONDS.toMillis(timeToLiveNanos);
+    }
+
+    /**
+     * Get the number of cached results.
+     *
+     * @return Number of cached results, including any that have expired but haven't been evicted.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of requests satisfied from the cache.
+     *
+     * @return Number of hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of requests not satisfied from the cache.
+     *
+     * @return Number of misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Obtain a cached result.
+     *
+     * @param <T> Type of Tuple.
+     * @param key Query class and arguments.
+     * @return Cached List of Tuples, or null if there is none or it has expired.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> List<T> get(Key key) {
+        inUse = true;
+        var entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return (List<T>)entry.rows;
+    }
+
+    /**
+     * Get a number that changes whenever results are invalidated. Obtain it before evaluating a query whose
+     * result will be passed to put(...).
+     *
+     * @return Invalidation generation.
+     */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Cache a result, unless results have been invalidated since the query was evaluated or the tables read by
+     * the query couldn't be identified.
+     *
+     * @param <T> Type of Tuple.
+     * @param key Query class and arguments.
+     * @param tableNames Names of the tables read by the query. See getTableNames(...). If empty, the result isn't cached.
+     * @param rows Result.
+     * @param generation Value of getGeneration() before the query was evaluated.
+     * @return The cached, unmodifiable, result.
+     */
+    synchronized <T> List<T> put(Key key, Set<String> tableNames, List<T> rows, long generation) {
+        var cachedRows = Collections.unmodifiableList(rows);
+        if (generation != this.generation || maximumSize == 0 || tableNames.isEmpty())
+            return cachedRows;
+        entries.put(key, new Entry(cachedRows, tableNames, System.nanoTime() + timeToLiveNanos));
+        evict();
+        return cachedRows;
+    }
+
+    private void evict() {
+        var iterator = entries.values().iterator();
+        while (entries.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Discard cached results of queries that read a given table.
+     *
+     * @param tableName Table name, after table name prefix substitution.
+     */
+    public void invalidate(String tableName) {
+        invalidate(Set.of(normalise(tableName)));
+    }
+
+    /**
+     * Discard all cached results.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    private synchronized void invalidate(Collection<String> tableNames) {
+        if (tableNames.isEmpty() || tableNames.contains(AllTables)) {
+            invalidateAll();
+            return;
+        }
+        generation++;
+        entries.values().removeIf(entry -> !Collections.disjoint(entry.tableNames, tableNames));
+    }
+
+    /**
+     * Note that a transaction run by the Database has started on a Connection, so writes made via the Connection
+     * are invalidated again by transactionEnded(...).
+     *
+     * @param connection Connection the transaction runs in.
+     */
+    void transactionStarted(Connection connection) {
+        pendingInvalidations.put(connection, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Invalidate results affected by a statement that wrote to the given tables via the given Connection. If the
+     * Connection is in a transaction started by transactionStarted(...), they'll be invalidated again by
+     * transactionEnded(...).
+     *
+     * @param connection Connection.
+     * @param tableNames Names of tables written. If empty, every table is assumed to have been written.
+     */
+    void written(Connection connection, Set<String> tableNames) {
+        invalidate(tableNames);
+        var pending = pendingInvalidations.get(connection);
+        if (pending != null) {
+            if (tableNames.isEmpty())
+                pending.add(AllTables);
+            else
+                pending.addAll(tableNames);
+        }
+    }
+
+    /**
+     * Invalidate results affected by writes made in a transaction, started by transactionStarted(...), that has
+     * been committed or rolled back.
+     *
+     * @param connection Connection the transaction ran in.
+     */
+    void transactionEnded(Connection connection) {
+        var pending = pendingInvalidations.remove(connection);
+        if (pending != null)
+            invalidate(pending);
+    }
+
+    /**
+     * Get the number of transactions whose writes will be invalidated again when they end.
+     *
+     * @return Number of transactions between transactionStarted(...) and transactionEnded(...).
+     */
+    int getPendingTransactionCount() {
+        return pendingInvalidations.size();
+    }
+
+    /**
+     * Return true if a cacheable query has been issued, so that writes need to invalidate cached results.
+     *
+     * @return True if the cache has been used.
+     */
+    boolean isInUse() {
+        return inUse;
+    }
+
+    private static final Set<String> TableKeywords = Set.of("FROM", "JOIN", "INTO", "UPDATE", "TABLE");
+    private static final Set<String> SkippedKeywords = Set.of("IF", "NOT", "EXISTS", "ONLY");
+    private static final Set<String> NonAliasKeywords = Set.of(
+            "WHERE", "JOIN", "INNER", "LEFT", "RIGHT", "FULL", "OUTER", "CROSS", "NATURAL", "ON", "USING",
+            "GROUP", "ORDER", "HAVING", "LIMIT", "OFFSET", "FETCH", "UNION", "EXCEPT", "INTERSECT", "WINDOW",
+            "SET", "VALUES", "SELECT", "DEFAULT", "RETURNING", "FOR");
+
+    /**
+     * Convert a table name to the form returned by getTableNames(...).
+     *
+     * @param name Table name, possibly quoted and schema-qualified.
+     * @return Unquoted, unqualified, lower case table name.
+     */
+    static String normalise(String name) {
+        var unquoted = name.replaceAll("[\"`\\[\\]]", "");
+        var dot = unquoted.lastIndexOf('.');
+        return unquoted.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isIdentifier(String token) {
+        var first = token.charAt(0);
+        return Character.isLetter(first) || first == '_' || first == '"' || first == '`' || first == '[';
+    }
+
+    private static List<String> tokenise(String sqlText) {
+        var tokens = new ArrayList<String>();
+        var length = sqlText.length();
+        var i = 0;
+        while (i < length) {
+            var ch = sqlText.charAt(i);
+            if (Character.isWhitespace(ch))
+                i++;
+            else if (ch == '\'') {
+                // Skip string literal, including '' escapes.
+                i++;
+                while (i < length && !(sqlText.charAt(i) == '\'' && (i + 1 >= length || sqlText.charAt(i + 1) != '\'')))
+                    i += sqlText.charAt(i) == '\'' ? 2 : 1;
+                i++;
+            } else if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '$' || ch == '"' || ch == '`' || ch == '[') {
+                var start = i;
+                while (i < length) {
+                    var c = sqlText.charAt(i);
+                    if (c == '"' || c == '`' || c == '[') {
+                        var close = sqlText.indexOf(c == '[' ? ']' : c, i + 1);
+                        i = close < 0 ? length : close + 1;
+                    } else if (Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.')
+                        i++;
+                    else
+                        break;
+                }
+                tokens.add(sqlText.substring(start, i));
+            } else {
+                tokens.add(String.valueOf(ch));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Obtain the names of the tables read or written by an SQL statement, found by scanning for names that follow
+     * FROM, JOIN, INTO, UPDATE and TABLE, including comma-separated lists of tables after FROM. Names are
+     * unquoted, stripped of any schema qualifier, and converted to lower case.
+     *
+     * @param sqlText SQL text, after table name prefix substitution.
+     * @return Table names. Empty if none were found.
+     */
+    public static Set<String> getTableNames(String sqlText) {
+        var tokens = tokenise(sqlText);
+        var tableNames = new HashSet<String>();
+        for (var i = 0; i < tokens.size(); i++) {
+            var keyword = tokens.get(i).toUpperCase(Locale.ROOT);
+            if (!TableKeywords.contains(keyword))
+                continue;
+            var isList = keyword.equals("FROM");
+            var j = i + 1;
+            while (j < tokens.size() && SkippedKeywords.contains(tokens.get(j).toUpperCase(Locale.ROOT)))
+                j++;
+            while (j < tokens.size() && isIdentifier(tokens.get(j)) && !NonAliasKeywords.contains(tokens.get(j).toUpperCase(Locale.ROOT))) {
+                tableNames.add(normalise(tokens.get(j++)));
+                if (!isList)
+                    break;
+                if (j < tokens.size() && tokens.get(j).equalsIgnoreCase("AS"))
+                    j++;
+                if (j < tokens.size() && isIdentifier(tokens.get(j)) && !NonAliasKeywords.contains(tokens.get(j).toUpperCase(Locale.ROOT)))
+                    j++;
+                if (j < tokens.size() && tokens.get(j).equals(","))
+                    j++;
+                else
+                    break;
+            }
+        }
+        return tableNames;
+    }
+}
@@ -2,16 +2,29 @@ package org.reldb.wrapd.sqldb;
 
 import org.reldb.toolbox.il8n.Msg;
 import org.reldb.toolbox.il8n.Str;
+import org.reldb.wrapd.exceptions.FatalException;
 import org.reldb.wrapd.response.Response;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Tools for creating Tuple-derived classes from ResultSetS and for turning ResultSetS into Tuple-derived instances for processing directly or as a List or Stream.
@@ -21,12 +34,19 @@ public class ResultSetToTuple {
     private final static Msg ErrNullPackageSpec = new Msg("packageSpec may not be null.", ResultSetToTuple.class);
     private final static Msg ErrNullTupleName = new Msg("tupleName may not be null.", ResultSetToTuple.class);
     private final static Msg ErrNullResults = new Msg("results may not be null.", ResultSetToTuple.class);
+    private final static Msg ErrNullMetadata = new Msg("metadata may not be null.", ResultSetToTuple.class);
     private final static Msg ErrNullResultSet = new Msg("resultSet may not be null", ResultSetToTuple.class);
     private final static Msg ErrNullTupleType = new Msg("tupleType may not be null", ResultSetToTuple.class);
     private final static Msg ErrNullTupleProcessor = new Msg("tupleProcessor may not be null", ResultSetToTuple.class);
     private final static Msg ErrNullDatabase = new Msg("database may not be null", ResultSetToTuple.class);
     private final static Msg ErrFailedToLoadClass = new Msg("Unable to load column class", ResultSetToTuple.class);
     private final static Msg ErrNoColumnsInResultSet = new Msg("ResultSet contains no columns.", ResultSetToTuple.class);
+    private final static Msg ErrLazyStreamFail = new Msg("Unable to obtain next tuple from ResultSet in lazy Stream.", ResultSetToTuple.class);
+    private final static Msg ErrLazyStreamCloseFail = new Msg("Unable to close ResultSet resources in lazy Stream.", ResultSetToTuple.class);
+    private final static Msg ErrNullInPrimitiveAttribute = new Msg("NULL can't be assigned to primitive attribute {0}.", ResultSetToTuple.class);
+
+    /** Largest initial capacity given to a List for an expected number of rows, so an unusually large expectation doesn't cause a huge allocation. */
+    public static final int MaximumRowCountHint = 65536;
 
     /**
      * A functional interface for defining lambda expressions that do something with an
@@ -53,18 +73,77 @@ public class ResultSetToTuple {
      * @throws ClassNotFoundException thrown if a column class specified in the ResultSet metadata can't be loaded.
      */
     public static void processResultSetAttributes(ResultSet results, Customisations customisations, AttributeReceiver receiver) throws SQLException, ClassNotFoundException {
-        var metadata = results.getMetaData();
+        processResultSetAttributes(results, customisations, null, receiver);
+    }
+
+    /**
+     * Do something with each attribute (i.e., name/class pair) of a ResultSet.
+     *
+     * @param results A ResultSet.
+     * @param customisations Customisations for specific DBMS types.
+     * @param metadataCache Cache used to resolve column class names. If null, classes are loaded directly.
+     * @param receiver The lambda that will receive each attribute.
+     * @throws SQLException thrown if there is a problem retrieving ResultSet metadata.
+     * @throws ClassNotFoundException thrown if a column class specified in the ResultSet metadata can't be loaded.
+     */
+    public static void processResultSetAttributes(ResultSet results, Customisations customisations, MetadataCache metadataCache, AttributeReceiver receiver) throws SQLException, ClassNotFoundException {
+        processResultSetAttributes(results.getMetaData(), customisations, metadataCache, false, receiver);
+    }
+
+    /**
+     * Do something with each attribute (i.e., name/class pair) described by ResultSetMetaData, such as that
+     * obtained via Database.queryMetaData(...) without retrieving any rows.
+     *
+     * @param metadata ResultSetMetaData.
+     * @param customisations Customisations for specific DBMS types.
+     * @param metadataCache Cache used to resolve column class names. If null, classes are loaded directly.
+     * @param receiver The lambda that will receive each attribute.
+     * @throws SQLException thrown if there is a problem retrieving metadata.
+     * @throws ClassNotFoundException thrown if a column class specified in the metadata can't be loaded.
+     */
+    public static void processResultSetAttributes(ResultSetMetaData metadata, Customisations customisations, MetadataCache metadataCache, AttributeReceiver receiver) throws SQLException, ClassNotFoundException {
+        processResultSetAttributes(metadata, customisations, metadataCache, false, receiver);
+    }
+
+    // If primitivesForNotNull is true, NOT NULL columns that aren't auto-incremented are given the primitive type
+    // corresponding to their boxed column class, if there is one. Only used for tuples that map to a table, because
+    // drivers report the nullability of a query column's base column, which is NOT NULL even if the query can
+    // return NULL in it, e.g., via an outer join or an aggregate of no rows.
+    private static void processResultSetAttributes(ResultSetMetaData metadata, Customisations customisations, MetadataCache metadataCache, boolean primitivesForNotNull, AttributeReceiver receiver) throws SQLException, ClassNotFoundException {
         for (var column = 1; column <= metadata.getColumnCount(); column++) {
             var name = metadata.getColumnName(column);
             var sqlTypeName = metadata.getColumnTypeName(column);
             var columnClassName = metadata.getColumnClassName(column);
             if (customisations != null)
                 columnClassName = customisations.getSpecificColumnClass(sqlTypeName);
-            var type = Class.forName(columnClassName);
+            var type = (metadataCache == null)
+                ? Class.forName(columnClassName)
+                : metadataCache.getColumnClass(columnClassName);
+            if (primitivesForNotNull && metadata.isNullable(column) == ResultSetMetaData.columnNoNulls && !metadata.isAutoIncrement(column))
+                type = getPrimitiveType(type);
             receiver.process(name, type);
         }
     }
 
+    // Obtain the primitive type corresponding to a boxed primitive type, or the given type if it isn't one.
+    private static Class<?> getPrimitiveType(Class<?> type) {
+        if (type == Integer.class)
+            return int.class;
+        if (type == Long.class)
+            return long.class;
+        if (type == Double.class)
+            return double.class;
+        if (type == Boolean.class)
+            return boolean.class;
+        if (type == Short.class)
+            return short.class;
+        if (type == Byte.class)
+            return byte.class;
+        if (type == Float.class)
+            return float.class;
+        return type;
+    }
+
     /**
      * Obtain the type of the first column of a ResultSet. Used in ValueOf.
      *
@@ -73,9 +152,37 @@ public class ResultSetToTuple {
      * @return The type of the first column of the ResultSet, or an error, wrapped in a Response.
      */
     public static Response<Class<?>> obtainTypeOfFirstColumnOfResultSet(ResultSet results, Customisations customisations) {
+        return obtainTypeOfFirstColumnOfResultSet(results, customisations, null);
+    }
+
+    /**
+     * Obtain the type of the first column of a ResultSet. Used in ValueOf.
+     *
+     * @param results A ResultSet.
+     * @param customisations Customisations for specific DBMS types.
+     * @param metadataCache Cache used to resolve column class names. If null, classes are loaded directly.
+     * @return The type of the first column of the ResultSet, or an error, wrapped in a Response.
+     */
+    public static Response<Class<?>> obtainTypeOfFirstColumnOfResultSet(ResultSet results, Customisations customisations, MetadataCache metadataCache) {
+        try {
+            return obtainTypeOfFirstColumn(results.getMetaData(), customisations, metadataCache);
+        } catch (SQLException e) {
+            return Response.set(e);
+        }
+    }
+
+    /**
+     * Obtain the type of the first column described by ResultSetMetaData. Used in ValueOf.
+     *
+     * @param metadata ResultSetMetaData.
+     * @param customisations Customisations for specific DBMS types.
+     * @param metadataCache Cache used to resolve column class names. If null, classes are loaded directly.
+     * @return The type of the first column, or an error, wrapped in a Response.
+     */
+    public static Response<Class<?>> obtainTypeOfFirstColumn(ResultSetMetaData metadata, Customisations customisations, MetadataCache metadataCache) {
         var types = new LinkedList<Class<?>>();
         try {
-            processResultSetAttributes(results, customisations, (name, type) -> types.add(type));
+            processResultSetAttributes(metadata, customisations, metadataCache, (name, type) -> types.add(type));
         } catch (Throwable e) {
             return Response.set(new SQLException(Str.ing(ErrFailedToLoadClass), e));
         }
@@ -100,17 +207,64 @@ public class ResultSetToTuple {
      * @throws IllegalArgumentException thrown if an argument is null
      */
     public static TupleTypeGenerator.GenerateResult createTupleForUpdate(String codeDir, String packageSpec, String tupleName, ResultSet results, Customisations customisations, String tableName) throws SQLException, ClassNotFoundException {
+        return createTupleForUpdate(codeDir, packageSpec, tupleName, results, customisations, tableName, false);
+    }
+
+    /**
+     * Given a target code directory and a desired UpdatableTuple class name, and a ResultSet,
+     * generate an UpdatableTuple class to host the ResultSet, optionally with change tracking.
+     * See TupleTypeGenerator.setChangeTracking(boolean). This will normally be invoked in a setup/build phase run.
+     *
+     * @param codeDir Directory where source code will be stored.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleName Name of new UpdatableTuple class.
+     * @param results ResultSet to be used to create the new UpdatableTuple class.
+     * @param customisations Customisations for specific DBMS types.
+     * @param tableName Name of table this Tuple maps to. Null if not mapped to a table.
+     * @param changeTracking True to generate a change-tracking UpdatableTuple.
+     * @return Result of Tuple generation.
+     * @throws SQLException thrown if there is a problem retrieving ResultSet metadata.
+     * @throws ClassNotFoundException thrown if a column class specified in the ResultSet metadata can't be loaded.
+     * @throws IllegalArgumentException thrown if an argument is null
+     */
+    public static TupleTypeGenerator.GenerateResult createTupleForUpdate(String codeDir, String packageSpec, String tupleName, ResultSet results, Customisations customisations, String tableName, boolean changeTracking) throws SQLException, ClassNotFoundException {
+        if (results == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullResults));
+        return createTupleForUpdate(codeDir, packageSpec, tupleName, results.getMetaData(), customisations, tableName, changeTracking);
+    }
+
+    /**
+     * Given a target code directory and a desired UpdatableTuple class name, and ResultSetMetaData such as that
+     * obtained via Database.queryMetaData(...) without retrieving any rows, generate an UpdatableTuple class to host
+     * the described columns, optionally with change tracking. See TupleTypeGenerator.setChangeTracking(boolean).
+     * If tableName isn't null, attributes for NOT NULL columns that aren't auto-incremented are primitives (int,
+     * long, boolean, etc.) where the column class is a boxed primitive.
+     *
+     * @param codeDir Directory where source code will be stored.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleName Name of new UpdatableTuple class.
+     * @param metadata ResultSetMetaData to be used to create the new UpdatableTuple class.
+     * @param customisations Customisations for specific DBMS types.
+     * @param tableName Name of table this Tuple maps to. Null if not mapped to a table.
+     * @param changeTracking True to generate a change-tracking UpdatableTuple.
+     * @return Result of Tuple generation.
+     * @throws SQLException thrown if there is a problem retrieving metadata.
+     * @throws ClassNotFoundException thrown if a column class specified in the metadata can't be loaded.
+     * @throws IllegalArgumentException thrown if an argument is null
+     */
+    public static TupleTypeGenerator.GenerateResult createTupleForUpdate(String codeDir, String packageSpec, String tupleName, ResultSetMetaData metadata, Customisations customisations, String tableName, boolean changeTracking) throws SQLException, ClassNotFoundException {
         if (codeDir == null)
             throw new IllegalArgumentException(Str.ing(ErrNullCodeDir));
         if (packageSpec == null)
             throw new IllegalArgumentException(Str.ing(ErrNullPackageSpec));
         if (tupleName == null)
             throw new IllegalArgumentException(Str.ing(ErrNullTupleName));
-        if (results == null)
-            throw new IllegalArgumentException(Str.ing(ErrNullResults));
+        if (metadata == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullMetadata));
         var generator = new TupleTypeGenerator(codeDir, packageSpec, tupleName);
         generator.setTableName(tableName);
-        processResultSetAttributes(results, customisations, generator::addAttribute);
+        generator.setChangeTracking(changeTracking);
+        processResultSetAttributes(metadata, customisations, null, tableName != null, generator::addAttribute);
         return generator.generate();
     }
 
@@ -132,6 +286,55 @@ public class ResultSetToTuple {
         return createTupleForUpdate(codeDir, packageSpec, tupleName, results, customisations, null);
     }
 
+    /**
+     * Given a target code directory and a desired Tuple class name, and a ResultSet, generate an immutable Tuple
+     * class to host the ResultSet. See TupleTypeGenerator.setImmutable(boolean). This will normally be invoked in
+     * a setup/build phase run.
+     *
+     * @param codeDir Directory where source code will be stored.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleName Name of new Tuple class.
+     * @param results ResultSet to be used to create the new Tuple class.
+     * @param customisations Customisations for specific DBMS types.
+     * @return Result of Tuple generation.
+     * @throws SQLException thrown if there is a problem retrieving ResultSet metadata.
+     * @throws ClassNotFoundException thrown if a column class specified in the ResultSet metadata can't be loaded.
+     */
+    public static TupleTypeGenerator.GenerateResult createImmutableTuple(String codeDir, String packageSpec, String tupleName, ResultSet results, Customisations customisations) throws SQLException, ClassNotFoundException {
+        if (results == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullResults));
+        return createImmutableTuple(codeDir, packageSpec, tupleName, results.getMetaData(), customisations);
+    }
+
+    /**
+     * Given a target code directory and a desired Tuple class name, and ResultSetMetaData such as that obtained via
+     * Database.queryMetaData(...) without retrieving any rows, generate an immutable Tuple class to host the
+     * described columns. See TupleTypeGenerator.setImmutable(boolean).
+     *
+     * @param codeDir Directory where source code will be stored.
+     * @param packageSpec The package, in dotted notation, to which the Tuple belongs.
+     * @param tupleName Name of new Tuple class.
+     * @param metadata ResultSetMetaData to be used to create the new Tuple class.
+     * @param customisations Customisations for specific DBMS types.
+     * @return Result of Tuple generation.
+     * @throws SQLException thrown if there is a problem retrieving metadata.
+     * @throws ClassNotFoundException thrown if a column class specified in the metadata can't be loaded.
+     */
+    public static TupleTypeGenerator.GenerateResult createImmutableTuple(String codeDir, String packageSpec, String tupleName, ResultSetMetaData metadata, Customisations customisations) throws SQLException, ClassNotFoundException {
+        if (codeDir == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullCodeDir));
+        if (packageSpec == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullPackageSpec));
+        if (tupleName == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullTupleName));
+        if (metadata == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullMetadata));
+        var generator = new TupleTypeGenerator(codeDir, packageSpec, tupleName);
+        generator.setImmutable(true);
+        processResultSetAttributes(metadata, customisations, null, false, generator::addAttribute);
+        return generator.generate();
+    }
+
     /**
      * FunctionalInterface to define lambdas for processing each Tuple in a ResultSet.
      */
@@ -146,26 +349,206 @@ public class ResultSetToTuple {
         void process(T tupleType) throws Throwable;
     }
 
+    /**
+     * Obtain the SQLException thrown when a NULL column value would be assigned to a primitive attribute of a Tuple.
+     * Used by generated fromResultSet(...) mappers.
+     *
+     * @param attributeName Name of the primitive attribute.
+     * @return SQLException.
+     */
+    public static SQLException newNullInPrimitiveException(String attributeName) {
+        return new SQLException(Str.ing(ErrNullInPrimitiveAttribute, attributeName));
+    }
+
+    // Assign the value of a column to a field. Primitive fields are assigned via typed getters, so values aren't boxed.
+    // Throws SQLException if the column is NULL and the field is primitive.
+    private static void setField(Field field, Object tuple, ResultSet resultSet, int column) throws SQLException, IllegalAccessException {
+        var type = field.getType();
+        if (!type.isPrimitive()) {
+            field.set(tuple, resultSet.getObject(column));
+            return;
+        }
+        if (type == int.class)
+            field.setInt(tuple, resultSet.getInt(column));
+        else if (type == long.class)
+            field.setLong(tuple, resultSet.getLong(column));
+        else if (type == double.class)
+            field.setDouble(tuple, resultSet.getDouble(column));
+        else if (type == boolean.class)
+            field.setBoolean(tuple, resultSet.getBoolean(column));
+        else if (type == short.class)
+            field.setShort(tuple, resultSet.getShort(column));
+        else if (type == byte.class)
+            field.setByte(tuple, resultSet.getByte(column));
+        else if (type == float.class)
+            field.setFloat(tuple, resultSet.getFloat(column));
+        else {
+            var value = resultSet.getObject(column);
+            if (value != null)
+                field.set(tuple, value);
+        }
+        if (resultSet.wasNull())
+            throw newNullInPrimitiveException(field.getName());
+    }
+
     private static <T extends Tuple> Field[] populateTuple(ResultSetMetaData metadata, ResultSet resultSet, Field[] fields, T tuple) throws SQLException, NoSuchFieldException, IllegalAccessException {
         if (fields != null) {
-            for (var column = 1; column <= metadata.getColumnCount(); column++) {
-                var value = resultSet.getObject(column);
-                fields[column].set(tuple, value);
-            }
+            for (var column = 1; column <= metadata.getColumnCount(); column++)
+                setField(fields[column], tuple, resultSet, column);
         } else {
             var columnCount = metadata.getColumnCount();
             fields = new Field[columnCount + 1];
             for (var column = 1; column <= columnCount; column++) {
                 var name = metadata.getColumnName(column);
-                var value = resultSet.getObject(column);
                 var field = tuple.getClass().getField(name);
-                field.set(tuple, value);
+                setField(field, tuple, resultSet, column);
                 fields[column] = field;
             }
         }
         return fields;
     }
 
+    /** Name of the static mapper method generated in Tuple classes by TupleTypeGenerator. */
+    static final String MapperMethodName = "fromResultSet";
+
+    // Cache of generated fromResultSet(ResultSet) mappers, per Tuple class. Empty if the class doesn't have one.
+    private static final ClassValue<Optional<MethodHandle>> mappers = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> tupleType) {
+            return findMapper(tupleType, MethodType.methodType(tupleType, ResultSet.class), MethodType.methodType(Tuple.class, ResultSet.class));
+        }
+    };
+
+    // Cache of generated fromResultSet(Database, ResultSet) mappers, per UpdatableTuple class. Empty if the class doesn't have one.
+    private static final ClassValue<Optional<MethodHandle>> updatableMappers = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> tupleType) {
+            return findMapper(tupleType, MethodType.methodType(tupleType, Database.class, ResultSet.class), MethodType.methodType(Tuple.class, Database.class, ResultSet.class));
+        }
+    };
+
+    private static Optional<MethodHandle> findMapper(Class<?> tupleType, MethodType declaredType, MethodType invokedType) {
+        try {
+            return Optional.of(MethodHandles.publicLookup()
+                    .findStatic(tupleType, MapperMethodName, declaredType)
+                    .asType(invokedType));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    // A generated mapper reads columns by position, so only use it if the ResultSet has exactly the tuple's attributes in order.
+    private static boolean isMapperApplicable(ResultSetMetaData metadata, Class<?> tupleType) throws SQLException {
+        var fieldNames = TupleTypeGenerator.getDataFields(tupleType)
+                .map(Field::getName)
+                .collect(Collectors.toList());
+        var columnCount = metadata.getColumnCount();
+        if (columnCount != fieldNames.size())
+            return false;
+        for (var column = 1; column <= columnCount; column++)
+            if (!fieldNames.get(column - 1).equals(metadata.getColumnName(column)))
+                return false;
+        return true;
+    }
+
+    /**
+     * Unmarshalls the current row of a ResultSet into a new Tuple instance, using the Tuple class's generated
+     * fromResultSet(...) mapper if it has one, or reflection if it doesn't.
+     */
+    private static class TupleReader<T extends Tuple> {
+        private final ResultSet resultSet;
+        private final ResultSetMetaData metadata;
+        private final Constructor<T> tupleConstructor;
+        private final MethodHandle mapper;
+        private final Database database;
+        private Field[] fields = null;
+        // Used instead of tupleConstructor by ImmutableTupleS, which are created with every attribute value.
+        private final Constructor<T> attributesConstructor;
+        private final int[] parameterOfColumn;
+
+        private TupleReader(ResultSet resultSet, Class<T> tupleType, Database database, Optional<MethodHandle> generatedMapper) throws SQLException, NoSuchMethodException {
+            this.resultSet = resultSet;
+            this.metadata = resultSet.getMetaData();
+            this.database = database;
+            Constructor<T> attributesConstructor = null;
+            int[] parameterOfColumn = null;
+            if (generatedMapper.isPresent() && isMapperApplicable(metadata, tupleType)) {
+                this.mapper = generatedMapper.get();
+                this.tupleConstructor = null;
+            } else {
+                this.mapper = null;
+                if (database == null && ImmutableTuple.class.isAssignableFrom(tupleType)) {
+                    var dataFields = TupleTypeGenerator.getDataFields(tupleType).collect(Collectors.toList());
+                    attributesConstructor = tupleType.getConstructor(dataFields.stream().map(Field::getType).toArray(Class<?>[]::new));
+                    parameterOfColumn = getParameterOfColumn(metadata, dataFields);
+                    this.tupleConstructor = null;
+                } else
+                    this.tupleConstructor = (database == null)
+                        ? tupleType.getConstructor()
+                        : tupleType.getConstructor(Database.class);
+            }
+            this.attributesConstructor = attributesConstructor;
+            this.parameterOfColumn = parameterOfColumn;
+        }
+
+        // Map each ResultSet column to the attributesConstructor parameter for the attribute of the same name, or -1 if there is no such attribute.
+        private static int[] getParameterOfColumn(ResultSetMetaData metadata, List<Field> dataFields) throws SQLException {
+            var columnCount = metadata.getColumnCount();
+            var parameterOfColumn = new int[columnCount + 1];
+            for (var column = 1; column <= columnCount; column++) {
+                var name = metadata.getColumnName(column);
+                var parameter = 0;
+                while (parameter < dataFields.size() && !dataFields.get(parameter).getName().equals(name))
+                    parameter++;
+                parameterOfColumn[column] = (parameter == dataFields.size()) ? -1 : parameter;
+            }
+            return parameterOfColumn;
+        }
+
+        static <T extends Tuple> TupleReader<T> of(ResultSet resultSet, Class<T> tupleType) throws SQLException, NoSuchMethodException {
+            return new TupleReader<>(resultSet, tupleType, null, mappers.get(tupleType));
+        }
+
+        static <T extends UpdatableTuple> TupleReader<T> ofUpdatable(Database database, ResultSet resultSet, Class<T> tupleType) throws SQLException, NoSuchMethodException {
+            return new TupleReader<>(resultSet, tupleType, database, updatableMappers.get(tupleType));
+        }
+
+        @SuppressWarnings("unchecked")
+        T read() throws Throwable {
+            T tuple;
+            if (database == null) {
+                if (mapper != null)
+                    tuple = (T)(Tuple)mapper.invokeExact(resultSet);
+                else if (attributesConstructor != null) {
+                    var parameterTypes = attributesConstructor.getParameterTypes();
+                    var values = new Object[parameterTypes.length];
+                    for (var column = 1; column < parameterOfColumn.length; column++) {
+                        var parameter = parameterOfColumn[column];
+                        if (parameter < 0)
+                            throw new NoSuchFieldException(metadata.getColumnName(column));
+                        var value = resultSet.getObject(column);
+                        if (value == null && parameterTypes[parameter].isPrimitive())
+                            throw newNullInPrimitiveException(metadata.getColumnName(column));
+                        values[parameter] = value;
+                    }
+                    tuple = attributesConstructor.newInstance(values);
+                } else {
+                    tuple = tupleConstructor.newInstance();
+                    fields = populateTuple(metadata, resultSet, fields, tuple);
+                }
+            } else {
+                if (mapper != null)
+                    tuple = (T)(Tuple)mapper.invokeExact(database, resultSet);
+                else {
+                    tuple = tupleConstructor.newInstance(database);
+                    fields = populateTuple(metadata, resultSet, fields, tuple);
+                }
+                ((UpdatableTuple)tuple).backup();
+            }
+            return tuple;
+        }
+    }
+
     /**
      * Iterate a ResultSet, unmarshall each row into a Tuple, and pass it to a TupleProcessor for processing.
      *
@@ -190,14 +573,9 @@ public class ResultSetToTuple {
             throw new IllegalArgumentException(Str.ing(ErrNullTupleType));
         if (tupleProcessor == null)
             throw new IllegalArgumentException(Str.ing(ErrNullTupleProcessor));
-        var tupleConstructor = tupleType.getConstructor();
-        var metadata = resultSet.getMetaData();
-        Field[] fields = null;
-        while (resultSet.next()) {
-            var tuple = tupleConstructor.newInstance();
-            fields = populateTuple(metadata, resultSet, fields, tuple);
-            tupleProcessor.process(tuple);
-        }
+        var reader = TupleReader.of(resultSet, tupleType);
+        while (resultSet.next())
+            tupleProcessor.process(reader.read());
     }
 
     /**
@@ -227,15 +605,9 @@ public class ResultSetToTuple {
             throw new IllegalArgumentException(Str.ing(ErrNullTupleType));
         if (tupleProcessor == null)
             throw new IllegalArgumentException(Str.ing(ErrNullTupleProcessor));
-        var tupleConstructor = tupleType.getConstructor(Database.class);
-        var metadata = resultSet.getMetaData();
-        Field[] fields = null;
-        while (resultSet.next()) {
-            var tuple = tupleConstructor.newInstance(database);
-            fields = populateTuple(metadata, resultSet, fields, tuple);
-            tuple.backup();
-            tupleProcessor.process(tuple);
-        }
+        var reader = TupleReader.ofUpdatable(database, resultSet, tupleType);
+        while (resultSet.next())
+            tupleProcessor.process(reader.read());
     }
 
     /**
@@ -256,11 +628,75 @@ public class ResultSetToTuple {
      * @throws CloneNotSupportedException thrown af a Tuple cannot be cloned to create a backup
      */
     public static <T extends Tuple> List<T> toList(ResultSet resultSet, Class<T> tupleType) throws Throwable {
-        var rows = new LinkedList<T>();
+        return toList(resultSet, tupleType, 0);
+    }
+
+    // An ArrayList with room for the expected number of rows, up to MaximumRowCountHint.
+    private static <T> ArrayList<T> newRowList(int expectedRows) {
+        return (expectedRows > 0)
+            ? new ArrayList<>(Math.min(expectedRows, MaximumRowCountHint))
+            : new ArrayList<>();
+    }
+
+    /**
+     * Convert a ResultSet to a List of TupleS, pre-sized for an expected number of rows.
+     *
+     * @param <T> Tuple type.
+     * @param resultSet ResultSet to iterate
+     * @param tupleType tuple type
+     * @param expectedRows Expected number of rows. The List grows if there are more. 0 if unknown.
+     * @return List&lt;? extends Tuple&gt; List of tuples returned, which is an ArrayList.
+     * @throws SecurityException thrown if tuple constructor is not accessible
+     * @throws NoSuchMethodException thrown if tuple constructor doesn't exist
+     * @throws InvocationTargetException thrown if unable to instantiate tuple class
+     * @throws IllegalArgumentException thrown if unable to instantiate tuple class, or if there is a type mismatch assigning tuple field values, or null arguments
+     * @throws IllegalAccessException thrown if unable to instantiate tuple class
+     * @throws InstantiationException thrown if unable to instantiate tuple class
+     * @throws SQLException thrown if accessing ResultSet fails
+     * @throws NoSuchFieldException thrown if a given ResultSet field name cannot be found in the Tuple
+     * @throws CloneNotSupportedException thrown af a Tuple cannot be cloned to create a backup
+     */
+    public static <T extends Tuple> List<T> toList(ResultSet resultSet, Class<T> tupleType, int expectedRows) throws Throwable {
+        var rows = ResultSetToTuple.<T>newRowList(expectedRows);
         process(resultSet, tupleType, rows::add);
         return rows;
     }
 
+    /**
+     * Convert a List of TupleS, such as the result of toList(...), to an array.
+     *
+     * @param <T> Tuple type.
+     * @param rows List of tuples.
+     * @param tupleType tuple type
+     * @return Array of tuples.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Tuple> T[] toArray(List<T> rows, Class<T> tupleType) {
+        return rows.toArray((T[])Array.newInstance(tupleType, rows.size()));
+    }
+
+    /**
+     * Convert a ResultSet to an array of TupleS.
+     *
+     * @param <T> Tuple type.
+     * @param resultSet ResultSet to iterate
+     * @param tupleType tuple type
+     * @param expectedRows Expected number of rows, used to size the buffer rows are collected in. 0 if unknown.
+     * @return Array of tuples returned.
+     * @throws SecurityException thrown if tuple constructor is not accessible
+     * @throws NoSuchMethodException thrown if tuple constructor doesn't exist
+     * @throws InvocationTargetException thrown if unable to instantiate tuple class
+     * @throws IllegalArgumentException thrown if unable to instantiate tuple class, or if there is a type mismatch assigning tuple field values, or null arguments
+     * @throws IllegalAccessException thrown if unable to instantiate tuple class
+     * @throws InstantiationException thrown if unable to instantiate tuple class
+     * @throws SQLException thrown if accessing ResultSet fails
+     * @throws NoSuchFieldException thrown if a given ResultSet field name cannot be found in the Tuple
+     * @throws CloneNotSupportedException thrown af a Tuple cannot be cloned to create a backup
+     */
+    public static <T extends Tuple> T[] toArray(ResultSet resultSet, Class<T> tupleType, int expectedRows) throws Throwable {
+        return toArray(toList(resultSet, tupleType, expectedRows), tupleType);
+    }
+
     /**
      * Convert a ResultSet to a List of UpdatableTupleS, each configured for a possible future update.
      *
@@ -280,13 +716,42 @@ public class ResultSetToTuple {
      * @throws CloneNotSupportedException thrown af a Tuple cannot be cloned to create a backup
      */
     public static <T extends UpdatableTuple> List<T> toListForUpdate(Database database, ResultSet resultSet, Class<T> tupleType) throws Throwable {
-        var rows = new LinkedList<T>();
+        return toListForUpdate(database, resultSet, tupleType, 0);
+    }
+
+    /**
+     * Convert a ResultSet to a List of UpdatableTupleS, each configured for a possible future update, pre-sized
+     * for an expected number of rows.
+     *
+     * @param <T> UpdatableTuple type.
+     * @param database The Database that issued the query that produced the ResultSet.
+     * @param resultSet ResultSet to iterate
+     * @param tupleType tuple type
+     * @param expectedRows Expected number of rows. The List grows if there are more. 0 if unknown.
+     * @return List&lt;? extends UpdatableTuple&gt; List of tuples returned, which is an ArrayList.
+     * @throws SecurityException thrown if tuple constructor is not accessible
+     * @throws NoSuchMethodException thrown if tuple constructor doesn't exist
+     * @throws InvocationTargetException thrown if unable to instantiate tuple class
+     * @throws IllegalArgumentException thrown if unable to instantiate tuple class, or if there is a type mismatch assigning tuple field values, or null arguments
+     * @throws IllegalAccessException thrown if unable to instantiate tuple class
+     * @throws InstantiationException thrown if unable to instantiate tuple class
+     * @throws SQLException thrown if accessing ResultSet fails
+     * @throws NoSuchFieldException thrown if a given ResultSet field name cannot be found in the Tuple
+     * @throws CloneNotSupportedException thrown af a Tuple cannot be cloned to create a backup
+     */
+    public static <T extends UpdatableTuple> List<T> toListForUpdate(Database database, ResultSet resultSet, Class<T> tupleType, int expectedRows) throws Throwable {
+        var rows = ResultSetToTuple.<T>newRowList(expectedRows);
         processForUpdate(database, resultSet, tupleType, rows::add);
         return rows;
     }
 
     /**
-     * Convert a ResultSet to a Stream of TupleS.
+     * Convert a ResultSet to a Stream of TupleS, where each row is retrieved from the ResultSet and converted
+     * to a Tuple only as the Stream is consumed.
+     *
+     * The ResultSet belongs to the caller. It isn't closed by this Stream, and must stay open until the Stream
+     * has been consumed. See toLazyStream(ResultSet, Class, AutoCloseable) for a Stream that closes it.
+     * A failure to obtain a row is thrown from the Stream's terminal operation as a FatalException.
      *
      * @param <T> Tuple type.
      * @param resultSet source ResultSet
@@ -303,11 +768,21 @@ public class ResultSetToTuple {
      * @throws CloneNotSupportedException thrown af a Tuple cannot be cloned to create a backup
      */
     public static <T extends Tuple> Stream<T> toStream(ResultSet resultSet, Class<T> tupleType) throws Throwable {
-        return toList(resultSet, tupleType).stream();
+        if (resultSet == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullResultSet));
+        if (tupleType == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullTupleType));
+        return toLazyStream(resultSet, false, TupleReader.of(resultSet, tupleType), null);
     }
 
     /**
-     * Convert a ResultSet to a Stream of UpdatableTupleS, each configured for a possible future update.
+     * Convert a ResultSet to a Stream of UpdatableTupleS, each configured for a possible future update,
+     * where each row is retrieved from the ResultSet and converted to an UpdatableTuple only as the Stream
+     * is consumed.
+     *
+     * The ResultSet belongs to the caller. It isn't closed by this Stream, and must stay open until the Stream
+     * has been consumed. See toLazyStreamForUpdate(Database, ResultSet, Class, AutoCloseable) for a Stream that
+     * closes it. A failure to obtain a row is thrown from the Stream's terminal operation as a FatalException.
      *
      * @param <T> UpdatableTuple type.
      * @param database The Database that issued the query that produced the ResultSet.
@@ -325,7 +800,123 @@ public class ResultSetToTuple {
      * @throws CloneNotSupportedException thrown af a Tuple cannot be cloned to create a backup
      */
     public static <T extends UpdatableTuple> Stream<T> toStreamForUpdate(Database database, ResultSet resultSet, Class<T> tupleType) throws Throwable {
-        return toListForUpdate(database, resultSet, tupleType).stream();
+        if (database == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullDatabase));
+        if (resultSet == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullResultSet));
+        if (tupleType == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullTupleType));
+        return toLazyStream(resultSet, false, TupleReader.ofUpdatable(database, resultSet, tupleType), null);
+    }
+
+    /**
+     * A Spliterator that unmarshalls each row of a live ResultSet into a Tuple only when it is requested.
+     */
+    private static class LazyTupleSpliterator<T extends Tuple> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet resultSet;
+        private final boolean ownsResultSet;
+        private final TupleReader<T> reader;
+        private final AutoCloseable resources;
+        private boolean closed = false;
+
+        private LazyTupleSpliterator(ResultSet resultSet, boolean ownsResultSet, TupleReader<T> reader, AutoCloseable resources) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.resultSet = resultSet;
+            this.ownsResultSet = ownsResultSet;
+            this.reader = reader;
+            this.resources = resources;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed)
+                return false;
+            T tuple;
+            try {
+                if (!resultSet.next()) {
+                    close();
+                    return false;
+                }
+                tuple = reader.read();
+            } catch (Throwable t) {
+                close();
+                throw new FatalException(Str.ing(ErrLazyStreamFail), t);
+            }
+            action.accept(tuple);
+            return true;
+        }
+
+        void close() {
+            if (closed)
+                return;
+            closed = true;
+            try (resources) {
+                if (ownsResultSet)
+                    resultSet.close();
+            } catch (Exception e) {
+                throw new FatalException(Str.ing(ErrLazyStreamCloseFail), e);
+            }
+        }
+    }
+
+    private static <T extends Tuple> Stream<T> toLazyStream(ResultSet resultSet, boolean ownsResultSet, TupleReader<T> reader, AutoCloseable resources) {
+        var spliterator = new LazyTupleSpliterator<>(resultSet, ownsResultSet, reader, resources);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Convert a ResultSet to a Stream of TupleS, where each row is retrieved from the ResultSet
+     * and converted to a Tuple only as the Stream is consumed. Memory use does not grow with the
+     * number of rows.
+     *
+     * The ResultSet, and the specified resources, are closed when the Stream is closed or when the
+     * last row has been consumed, whichever comes first. Use try-with-resources to guarantee the Stream
+     * is closed if it might not be fully consumed.
+     *
+     * @param <T> Tuple type.
+     * @param resultSet source ResultSet
+     * @param tupleType subclass of Tuple. Each row will be converted to a new instance of this class.
+     * @param resources Resources -- typically the Statement and possibly the Connection that produced the ResultSet -- to close along with the ResultSet. May be null.
+     * @return Stream&lt;? extends Tuple&gt;.
+     * @throws NoSuchMethodException thrown if tuple constructor doesn't exist
+     * @throws SQLException thrown if accessing ResultSet fails
+     * @throws IllegalArgumentException thrown if an argument is null
+     */
+    public static <T extends Tuple> Stream<T> toLazyStream(ResultSet resultSet, Class<T> tupleType, AutoCloseable resources) throws SQLException, NoSuchMethodException {
+        if (resultSet == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullResultSet));
+        if (tupleType == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullTupleType));
+        return toLazyStream(resultSet, true, TupleReader.of(resultSet, tupleType), resources);
+    }
+
+    /**
+     * Convert a ResultSet to a Stream of UpdatableTupleS, each configured for a possible future update,
+     * where each row is retrieved from the ResultSet and converted to an UpdatableTuple only as the
+     * Stream is consumed. Memory use does not grow with the number of rows.
+     *
+     * The ResultSet, and the specified resources, are closed when the Stream is closed or when the
+     * last row has been consumed, whichever comes first. Use try-with-resources to guarantee the Stream
+     * is closed if it might not be fully consumed.
+     *
+     * @param <T> UpdatableTuple type.
+     * @param database The Database that issued the query that produced the ResultSet.
+     * @param resultSet source ResultSet
+     * @param tupleType subclass of UpdatableTuple. Each row will be converted to a new instance of this class.
+     * @param resources Resources -- typically the Statement and possibly the Connection that produced the ResultSet -- to close along with the ResultSet. May be null.
+     * @return Stream&lt;? extends UpdatableTuple&gt;.
+     * @throws NoSuchMethodException thrown if tuple constructor doesn't exist
+     * @throws SQLException thrown if accessing ResultSet fails
+     * @throws IllegalArgumentException thrown if an argument is null
+     */
+    public static <T extends UpdatableTuple> Stream<T> toLazyStreamForUpdate(Database database, ResultSet resultSet, Class<T> tupleType, AutoCloseable resources) throws SQLException, NoSuchMethodException {
+        if (database == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullDatabase));
+        if (resultSet == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullResultSet));
+        if (tupleType == null)
+            throw new IllegalArgumentException(Str.ing(ErrNullTupleType));
+        return toLazyStream(resultSet, true, TupleReader.ofUpdatable(database, resultSet, tupleType), resources);
     }
 
     /**
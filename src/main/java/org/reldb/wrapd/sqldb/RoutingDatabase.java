@@ -0,0 +1,226 @@
+package org.reldb.wrapd.sqldb;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A Database that sends reads to replicas of a primary database, to scale read traffic horizontally.
+ *
+ * Operations that only read and don't take a Connection -- queryAll(...), query(...), valueOf(...) and the like,
+ * including those issued by generated Query and ValueOf classes -- use a Connection to a replica chosen by a
+ * BalancingPolicy. Everything else uses the primary: updates, UpdatableTuple inserts and updates, queries for
+ * update, transactions via transact(...) or processTransaction(...), queries of cacheable Query classes (so the
+ * ResultCache never retains results older than the writes that invalidated them), and any operation that is
+ * given a Connection.
+ *
+ * Replicas may lag behind the primary. Use onPrimary(...) to read your own writes.
+ */
+public class RoutingDatabase extends Database {
+
+    /**
+     * A replica DataSource, and the number of its Connections currently in use by a RoutingDatabase.
+     */
+    public static class Replica {
+        private final DataSource dataSource;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Get the replica's DataSource.
+         *
+         * @return DataSource.
+         */
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Get the number of this replica's Connections currently in use, including those held by lazy Streams.
+         *
+         * @return Number of outstanding Connections.
+         */
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        public String toString() {
+            return "Replica: " + dataSource.toString();
+        }
+    }
+
+    /**
+     * Used to define lambda expressions that choose the replica for a read.
+     */
+    @FunctionalInterface
+    public interface BalancingPolicy {
+        /**
+         * Choose a replica. Called concurrently, so it must be thread-safe.
+         *
+         * @param replicas Replicas. There is at least one.
+         * @return Chosen replica.
+         */
+        Replica choose(List<Replica> replicas);
+    }
+
+    /**
+     * A BalancingPolicy that uses each replica in turn.
+     */
+    public static class RoundRobin implements BalancingPolicy {
+        private final AtomicInteger next = new AtomicInteger();
+
+        @Override
+        public Replica choose(List<Replica> replicas) {
+            return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+        }
+    }
+
+    /**
+     * A BalancingPolicy that uses the replica with the fewest Connections in use. Ties are broken in turn, so
+     * idle replicas share the load.
+     */
+    public static class LeastOutstanding implements BalancingPolicy {
+        private final AtomicInteger next = new AtomicInteger();
+
+        @Override
+        public Replica choose(List<Replica> replicas) {
+            var size = replicas.size();
+            var start = Math.floorMod(next.getAndIncrement(), size);
+            var chosen = replicas.get(start);
+            var fewest = chosen.getOutstanding();
+            for (var offset = 1; offset < size && fewest > 0; offset++) {
+                var replica = replicas.get((start + offset) % size);
+                var outstanding = replica.getOutstanding();
+                if (outstanding < fewest) {
+                    chosen = replica;
+                    fewest = outstanding;
+                }
+            }
+            return chosen;
+        }
+    }
+
+    private final List<Replica> replicas;
+    private final BalancingPolicy balancingPolicy;
+
+    // Replica of each read Connection in use.
+    private final Map<Connection, Replica> readConnections = new ConcurrentHashMap<>();
+
+    // True while the current thread is running onPrimary(...).
+    private final ThreadLocal<Boolean> pinnedToPrimary = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Construct a RoutingDatabase.
+     *
+     * @param primary Data source of the primary database, used for writes and transactions.
+     * @param replicas Data sources of replicas, used for reads. If empty, reads use the primary.
+     * @param balancingPolicy Chooses the replica for each read, e.g., new RoundRobin() or new LeastOutstanding().
+     * @param dbTablenamePrefix Table name prefix
+     * @param customisations DBMS-specific customisations
+     */
+    public RoutingDatabase(DataSource primary, List<DataSource> replicas, BalancingPolicy balancingPolicy, String dbTablenamePrefix, Customisations customisations) {
+        super(primary, dbTablenamePrefix, customisations);
+        var replicaList = new ArrayList<Replica>(replicas.size());
+        for (var replica: replicas)
+            replicaList.add(new Replica(replica));
+        this.replicas = Collections.unmodifiableList(replicaList);
+        this.balancingPolicy = balancingPolicy;
+    }
+
+    /**
+     * Construct a RoutingDatabase that uses its replicas in turn.
+     *
+     * @param primary Data source of the primary database, used for writes and transactions.
+     * @param replicas Data sources of replicas, used for reads. If empty, reads use the primary.
+     * @param dbTablenamePrefix Table name prefix
+     * @param customisations DBMS-specific customisations
+     */
+    public RoutingDatabase(DataSource primary, List<DataSource> replicas, String dbTablenamePrefix, Customisations customisations) {
+        this(primary, replicas, new RoundRobin(), dbTablenamePrefix, customisations);
+    }
+
+    /**
+     * Get the replicas.
+     *
+     * @return Unmodifiable List of replicas.
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Get the BalancingPolicy.
+     *
+     * @return BalancingPolicy.
+     */
+    public BalancingPolicy getBalancingPolicy() {
+        return balancingPolicy;
+    }
+
+    /**
+     * Run an operation with all its reads sent to the primary, so it sees writes that replicas may not have
+     * received yet. Applies to operations on the current thread only; operations it starts on other threads,
+     * such as via AsyncDatabase, aren't affected.
+     *
+     * @param <T> Type of result.
+     * @param operation Operation, usually a lambda expression that is passed this RoutingDatabase.
+     * @return Result of the operation.
+     * @throws SQLException Error.
+     */
+    public <T> T onPrimary(AsyncDatabase.DatabaseOperation<T> operation) throws SQLException {
+        if (pinnedToPrimary.get())
+            return operation.go(this);
+        pinnedToPrimary.set(true);
+        try {
+            return operation.go(this);
+        } finally {
+            pinnedToPrimary.remove();
+        }
+    }
+
+    /**
+     * Return true if reads on the current thread are being sent to the primary by onPrimary(...).
+     *
+     * @return True if reads are pinned to the primary.
+     */
+    public boolean isOnPrimary() {
+        return pinnedToPrimary.get();
+    }
+
+    @Override
+    protected Connection getReadConnection() throws SQLException {
+        if (replicas.isEmpty() || pinnedToPrimary.get())
+            return super.getReadConnection();
+        var replica = balancingPolicy.choose(replicas);
+        replica.outstanding.incrementAndGet();
+        Connection connection;
+        try {
+            connection = replica.dataSource.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            replica.outstanding.decrementAndGet();
+            throw e;
+        }
+        readConnections.put(connection, replica);
+        return connection;
+    }
+
+    @Override
+    protected void readConnectionClosed(Connection connection) {
+        var replica = readConnections.remove(connection);
+        if (replica != null)
+            replica.outstanding.decrementAndGet();
+    }
+
+    public String toString() {
+        return "RoutingDatabase: " + super.toString() + " with " + replicas.size() + " replicas";
+    }
+}
@@ -1,12 +1,15 @@
 package org.reldb.wrapd.sqldb;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
 /**
  * Abstract base class for (possibly parametric) SQL definitions.
  *
  * Not used directly; must be inherited.
  */
 public abstract class SQL {
-    private final String text;
+    private final SQLTemplate template;
     private final Object[] arguments;
 
     /**
@@ -16,7 +19,17 @@ public abstract class SQL {
      * @param arguments Arguments to query.
      */
     protected SQL(String queryText, Object... arguments) {
-        this.text = queryText;
+        this(new SQLTemplate(queryText), arguments);
+    }
+
+    /**
+     * Define a SQL construct.
+     *
+     * @param template SQL template, typically held in a static field of a generated subclass.
+     * @param arguments Arguments to query.
+     */
+    protected SQL(SQLTemplate template, Object... arguments) {
+        this.template = template;
         this.arguments = arguments;
     }
 
@@ -35,7 +48,27 @@ public abstract class SQL {
      * @return SQL text.
      */
     public String getQueryText() {
-        return text;
+        return template.getText();
+    }
+
+    /**
+     * Get query SQL template.
+     *
+     * @return SQL template.
+     */
+    public SQLTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Get the name of this SQL construct, which identifies it in StatementEventS and metrics. By default, it's the
+     * fully qualified name of its class, i.e., of a generated Query, Update or ValueOf, so same-named classes in
+     * different packages are distinguished.
+     *
+     * @return Name.
+     */
+    public String getName() {
+        return getClass().getName();
     }
 
     /**
@@ -46,4 +79,18 @@ public abstract class SQL {
     protected Object[] getArguments() {
         return arguments;
     }
+
+    /**
+     * Bind this construct's arguments to the parameters of a PreparedStatement created from its SQL text.
+     *
+     * By default, arguments are bound using the Database's ParameterBinders. Generated subclasses, which know
+     * their parameter types, override this to bind each argument directly with a typed setter.
+     *
+     * @param database Database the statement belongs to.
+     * @param statement PreparedStatement.
+     * @throws SQLException Error.
+     */
+    protected void bindParameters(Database database, PreparedStatement statement) throws SQLException {
+        database.bindParameters(template, statement, arguments);
+    }
 }
@@ -0,0 +1,223 @@
+package org.reldb.wrapd.sqldb;
+
+import org.reldb.toolbox.il8n.Msg;
+import org.reldb.toolbox.il8n.Str;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * SQL text analysed once for repeated use: the positions of $$ table name prefix placeholders and of ? parameters
+ * are found when the template is created, so substituting a table name prefix and checking the number of
+ * arguments don't need to re-scan the text every time a statement is issued.
+ *
+ * Like the rest of Wrapd, every ? is counted as a parameter, including any that appear inside string literals.
+ */
+public class SQLTemplate {
+    private final static Msg ErrPrepArgCountMismatch = new Msg("Number of parameters ({0}) not matching number of arguments ({1}) in {2}.", SQLTemplate.class);
+
+    private final String text;
+    private final String[] segments;
+    private final int[] parameterPositions;
+
+    // Most recent table name prefix substitution. Immutable, so it can be safely shared between threads.
+    private static class Substitution {
+        final String prefix;
+        final String sql;
+
+        Substitution(String prefix, String sql) {
+            this.prefix = prefix;
+            this.sql = sql;
+        }
+    }
+
+    private volatile Substitution lastSubstitution = null;
+
+    // Most recently resolved binders, one per parameter, for a given registry and argument classes. Immutable.
+    private static class Shape {
+        final ParameterBinders binders;
+        final int version;
+        final Class<?>[] types;
+        final ParameterBinders.ParameterBinder<Object>[] resolved;
+
+        Shape(ParameterBinders binders, int version, Class<?>[] types, ParameterBinders.ParameterBinder<Object>[] resolved) {
+            this.binders = binders;
+            this.version = version;
+            this.types = types;
+            this.resolved = resolved;
+        }
+
+        boolean matches(ParameterBinders binders, Object[] arguments) {
+            if (this.binders != binders || version != binders.getVersion() || types.length != arguments.length)
+                return false;
+            for (var i = 0; i < arguments.length; i++) {
+                var argument = arguments[i];
+                if (argument != null && argument.getClass() != types[i])
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    private volatile Shape lastShape = null;
+
+    // Number of rows most recently returned by a query issued from this template, used to size result Lists.
+    private volatile int rowCountHint = 0;
+
+    /**
+     * Create a template from SQL text.
+     *
+     * @param text SQL text, possibly containing $$ table name prefix placeholders and ? parameters.
+     */
+    public SQLTemplate(String text) {
+        this.text = text;
+        var segmentList = new ArrayList<String>();
+        var positionList = new ArrayList<Integer>();
+        var segmentStart = 0;
+        var length = text.length();
+        for (var i = 0; i < length; i++) {
+            var ch = text.charAt(i);
+            if (ch == '?')
+                positionList.add(i);
+            else if (ch == '$' && i + 1 < length && text.charAt(i + 1) == '$') {
+                segmentList.add(text.substring(segmentStart, i));
+                segmentStart = i + 2;
+                i++;
+            }
+        }
+        segmentList.add(text.substring(segmentStart));
+        segments = segmentList.toArray(new String[0]);
+        parameterPositions = positionList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Get the SQL text this template was created from.
+     *
+     * @return SQL text.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Get the number of ? parameters.
+     *
+     * @return Number of parameters.
+     */
+    public int getParameterCount() {
+        return parameterPositions.length;
+    }
+
+    /**
+     * Get the position of each ? parameter in the SQL text returned by getText().
+     *
+     * @return Zero-based character positions, in order of appearance.
+     */
+    public int[] getParameterPositions() {
+        return parameterPositions.clone();
+    }
+
+    /**
+     * Return true if the SQL text contains $$ table name prefix placeholders.
+     *
+     * @return True if there are $$ placeholders.
+     */
+    public boolean hasTableNamePlaceholders() {
+        return segments.length > 1;
+    }
+
+    /**
+     * Obtain the SQL text with every $$ replaced with the given table name prefix. The result for the most recently
+     * used prefix is retained, so repeated use with the same prefix doesn't build a new String.
+     *
+     * @param tablenamePrefix Table name prefix.
+     * @return SQL text with $$ placeholders replaced.
+     */
+    public String getSQL(String tablenamePrefix) {
+        if (!hasTableNamePlaceholders())
+            return text;
+        var substitution = lastSubstitution;
+        if (substitution != null && substitution.prefix.equals(tablenamePrefix))
+            return substitution.sql;
+        var sql = String.join(tablenamePrefix, segments);
+        lastSubstitution = new Substitution(tablenamePrefix, sql);
+        return sql;
+    }
+
+    /**
+     * Throw IllegalArgumentException if the number of arguments doesn't match the number of parameters.
+     *
+     * @param sqlized SQL text to report in the exception message, typically getSQL(...) output.
+     * @param arguments Arguments.
+     */
+    public void checkParameterCount(String sqlized, Object... arguments) {
+        var parameterCount = getParameterCount();
+        if (arguments.length != parameterCount)
+            throw new IllegalArgumentException(Str.ing(ErrPrepArgCountMismatch, parameterCount, arguments.length, sqlized));
+    }
+
+    /**
+     * Bind arguments to the parameters of a PreparedStatement created from this template. The binder for each
+     * parameter is resolved from the registry once, and reused for as long as arguments of the same classes are
+     * passed. A null argument is bound as a VARCHAR NULL.
+     *
+     * @param binders Registry of ParameterBinderS.
+     * @param statement PreparedStatement.
+     * @param arguments Arguments.
+     * @throws SQLException Error.
+     */
+    public void bind(ParameterBinders binders, PreparedStatement statement, Object... arguments) throws SQLException {
+        var shape = lastShape;
+        if (shape == null || !shape.matches(binders, arguments)) {
+            shape = resolveShape(binders, arguments);
+            lastShape = shape;
+        }
+        var resolved = shape.resolved;
+        for (var i = 0; i < arguments.length; i++) {
+            var argument = arguments[i];
+            if (argument == null)
+                binders.bind(statement, i + 1, null);
+            else
+                resolved[i].bind(statement, i + 1, argument);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Shape resolveShape(ParameterBinders binders, Object[] arguments) {
+        var version = binders.getVersion();
+        var types = new Class<?>[arguments.length];
+        var resolved = (ParameterBinders.ParameterBinder<Object>[])new ParameterBinders.ParameterBinder<?>[arguments.length];
+        for (var i = 0; i < arguments.length; i++) {
+            var argument = arguments[i];
+            if (argument != null) {
+                types[i] = argument.getClass();
+                resolved[i] = binders.getBinder(types[i]);
+            }
+        }
+        return new Shape(binders, version, types, resolved);
+    }
+
+    /**
+     * Get the number of rows most recently returned by a query issued from this template.
+     *
+     * @return Number of rows, or 0 if unknown.
+     */
+    public int getRowCountHint() {
+        return rowCountHint;
+    }
+
+    /**
+     * Record the number of rows returned by a query issued from this template, so the next result can be collected
+     * in a List of about the right size.
+     *
+     * @param rowCount Number of rows.
+     */
+    public void setRowCountHint(int rowCount) {
+        rowCountHint = rowCount;
+    }
+
+    public String toString() {
+        return text;
+    }
+}
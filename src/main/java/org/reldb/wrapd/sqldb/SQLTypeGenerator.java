@@ -159,6 +159,35 @@ public abstract class SQLTypeGenerator {
         return out.toString();
     }
 
+    /**
+     * Obtain the Java text of a bindParameters(...) override that binds each declared parameter with a typed setter,
+     * or the Database's ParameterBinders for types that have no typed setter. Empty if there are no parameters.
+     *
+     * @return bindParameters(...) method definition string.
+     */
+    protected String getBindParametersMethod() {
+        if (!hasArgs())
+            return "";
+        var out = new StringBuilder();
+        out.append("\t@Override\n")
+            .append("\tprotected void bindParameters(Database database, PreparedStatement statement) throws SQLException {\n")
+            .append("\t\tvar arguments = getArguments();\n");
+        int position = 1;
+        for (Attribute attribute: getParameterList(false, false)) {
+            var index = position - 1;
+            var binderName = ParameterBinders.getTypedBinderName(attribute.type);
+            if (binderName != null)
+                out.append("\t\tParameterBinders.").append(binderName).append("(statement, ").append(position)
+                    .append(", (").append(attribute.type.getCanonicalName()).append(")arguments[").append(index).append("]);\n");
+            else
+                out.append("\t\tdatabase.getParameterBinders().bind(statement, ").append(position)
+                    .append(", arguments[").append(index).append("]);\n");
+            position++;
+        }
+        out.append("\t}\n");
+        return out.toString();
+    }
+
     /**
      * Obtain the Java text for this definition.
      *
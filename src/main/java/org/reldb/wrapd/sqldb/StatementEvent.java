@@ -0,0 +1,99 @@
+package org.reldb.wrapd.sqldb;
+
+/**
+ * A completed SQL statement, with timings and counts, as reported to an Instrumentation.StatementListener.
+ *
+ * Times are in nanoseconds. The prepare phase includes obtaining the PreparedStatement and binding its parameters;
+ * the execute phase is executeQuery(), execute() or executeBatch(); the fetch phase is retrieving rows from the
+ * ResultSet and mapping them to Java objects, which happen together row by row.
+ */
+public class StatementEvent {
+    /** Where the statement was issued, e.g., "queryAll: ". */
+    public final String location;
+
+    /** Fully qualified name of the generated Query, Update or ValueOf class that issued the statement, or null if it was issued from SQL text. */
+    public final String name;
+
+    /** The SQL text of the statement, after table name prefix substitution. */
+    public final String sqlText;
+
+    /** Number of parameter arguments bound to the statement. For a batch, the number per row. */
+    public final int parameterCount;
+
+    /** Time spent preparing the statement and binding its parameters. */
+    public final long prepareNanos;
+
+    /** Time spent executing the statement. */
+    public final long executeNanos;
+
+    /** Time spent retrieving and mapping rows. */
+    public final long fetchNanos;
+
+    /** Number of rows retrieved or affected, or -1 if unknown, e.g., for a lazy query whose rows are retrieved later. */
+    public final long rowCount;
+
+    /** The exception that caused the statement to fail, or null if it succeeded. */
+    public final Throwable error;
+
+    /**
+     * Constructor.
+     *
+     * @param location Where the statement was issued.
+     * @param name Name of the Query, Update or ValueOf that issued the statement, or null.
+     * @param sqlText The SQL text of the statement.
+     * @param parameterCount Number of parameter arguments.
+     * @param prepareNanos Time spent preparing.
+     * @param executeNanos Time spent executing.
+     * @param fetchNanos Time spent retrieving and mapping rows.
+     * @param rowCount Number of rows retrieved or affected, or -1 if unknown.
+     * @param error Failure, or null if successful.
+     */
+    public StatementEvent(String location, String name, String sqlText, int parameterCount, long prepareNanos, long executeNanos, long fetchNanos, long rowCount, Throwable error) {
+        this.location = location;
+        this.name = name;
+        this.sqlText = sqlText;
+        this.parameterCount = parameterCount;
+        this.prepareNanos = prepareNanos;
+        this.executeNanos = executeNanos;
+        this.fetchNanos = fetchNanos;
+        this.rowCount = rowCount;
+        this.error = error;
+    }
+
+    /**
+     * Get the name by which the statement is identified in metrics: its name if it has one, otherwise its SQL text.
+     *
+     * @return Name or SQL text.
+     */
+    public String getKey() {
+        return name != null ? name : sqlText;
+    }
+
+    /**
+     * Get the total time spent on the statement.
+     *
+     * @return Sum of prepare, execute and fetch times, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return prepareNanos + executeNanos + fetchNanos;
+    }
+
+    /**
+     * Return true if the statement failed.
+     *
+     * @return True if error is not null.
+     */
+    public boolean isError() {
+        return error != null;
+    }
+
+    public String toString() {
+        return location + (name != null ? name + ": " : "") + sqlText +
+                " [parameters = " + parameterCount +
+                ", rows = " + rowCount +
+                ", prepare = " + prepareNanos + "ns" +
+                ", execute = " + executeNanos + "ns" +
+                ", fetch = " + fetchNanos + "ns" +
+                (error != null ? ", error = " + error : "") + "]";
+    }
+}
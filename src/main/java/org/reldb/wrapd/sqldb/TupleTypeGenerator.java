@@ -28,6 +28,8 @@ public class TupleTypeGenerator {
     private final List<Attribute> attributes = new LinkedList<>();
 
     private String tableName = null;
+    private boolean immutable = false;
+    private boolean changeTracking = false;
 
     /**
      * Result of generate().
@@ -128,6 +130,72 @@ public class TupleTypeGenerator {
         this.tableName = tableName;
     }
 
+    /**
+     * Specify whether generate() creates an immutable tuple: a final ImmutableTuple with final attributes, populated by a
+     * constructor that takes every attribute, and with equals(...) and hashCode() defined by attribute values.
+     * Immutable tuples can be used as HashMap keys, compared with distinct(), and safely shared.
+     *
+     * Tuples that map to a table (see setTableName(...)) are updatable, so they are always generated mutable.
+     *
+     * @param immutable True to generate an immutable tuple.
+     */
+    public void setImmutable(boolean immutable) {
+        this.immutable = immutable;
+    }
+
+    private boolean isImmutable() {
+        return immutable && tableName == null;
+    }
+
+    /**
+     * Specify whether generate() creates a change-tracking UpdatableTuple. It has a setter for each attribute, which
+     * records the attribute's original value the first time it's changed, so a tuple obtained for update doesn't need
+     * a full backup copy, and update() only compares the attributes that were set. Attributes of a change-tracking
+     * tuple must be changed via their setters; assigning an attribute directly won't be detected by update().
+     *
+     * Only tuples that map to a table (see setTableName(...)) are updatable, so it has no effect on other tuples.
+     *
+     * @param changeTracking True to generate a change-tracking tuple.
+     */
+    public void setChangeTracking(boolean changeTracking) {
+        this.changeTracking = changeTracking;
+    }
+
+    private boolean isChangeTracking() {
+        return changeTracking && tableName != null;
+    }
+
+    private static String getSetterName(String attributeName) {
+        return "set" + attributeName.substring(0, 1).toUpperCase() + attributeName.substring(1);
+    }
+
+    private String getChangeTrackingCode() {
+        if (!isChangeTracking())
+            return "";
+        var setters = attributes.stream()
+                .map(entry ->
+                    "\n\t/** " +
+                    "\n\t* Set " + entry.name + ", recording its original value the first time it's changed." +
+                    "\n\t*" +
+                    "\n\t* @param " + entry.name + " New value of " + entry.name + "." +
+                    "\n\t*/" +
+                    "\n\tpublic void " + getSetterName(entry.name) + "(" + entry.type.getCanonicalName() + " " + entry.name + ") {" +
+                    "\n\t\tif (!isChangeRecorded(\"" + entry.name + "\"))" +
+                    "\n\t\t\trecordChange(\"" + entry.name + "\", this." + entry.name + ");" +
+                    "\n\t\tthis." + entry.name + " = " + entry.name + ";" +
+                    "\n\t}" +
+                    "\n")
+                .collect(Collectors.joining());
+        return
+            "\n\t/** This tuple records changes via its setters, so it doesn't need a backup. */" +
+            "\n\t@Override" +
+            "\n\tprotected boolean isChangeTracking() {" +
+            "\n\t\treturn true;" +
+            "\n\t}" +
+            "\n" +
+            setters;
+    }
+
     private String getFormatString() {
         return
                 tupleName
@@ -190,6 +258,33 @@ public class TupleTypeGenerator {
             "\n\t}" +
             "\n" +
             "\n\t/** " +
+            "\n\t* Insert multiple Tuples into table '" + tableName + "' using JDBC batching." +
+            "\n\t*" +
+            "\n\t* @param db Database." +
+            "\n\t* @param connection Connection to database, typically obtained via a Transaction." +
+            "\n\t* @param tuples Tuples to insert." +
+            "\n\t* @param batchSize Maximum number of Tuples to insert per batch." +
+            "\n\t* @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved." +
+            "\n\t* @throws SQLException Failure." +
+            "\n\t*/" +
+            "\n\tpublic static List<InsertFailure> insertAll(Database db, Connection connection, Iterable<? extends " + tupleName + "> tuples, int batchSize) throws SQLException {" +
+            "\n\t\treturn db.insertAll(connection, \"" + tableName + "\", tuples, batchSize);" +
+            "\n\t}" +
+            "\n" +
+            "\n\t/** " +
+            "\n\t* Insert multiple Tuples into table '" + tableName + "' using JDBC batching." +
+            "\n\t*" +
+            "\n\t* @param db Database." +
+            "\n\t* @param tuples Tuples to insert." +
+            "\n\t* @param batchSize Maximum number of Tuples to insert per batch." +
+            "\n\t* @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved." +
+            "\n\t* @throws SQLException Failure." +
+            "\n\t*/" +
+            "\n\tpublic static List<InsertFailure> insertAll(Database db, Iterable<? extends " + tupleName + "> tuples, int batchSize) throws SQLException {" +
+            "\n\t\treturn db.insertAll(\"" + tableName + "\", tuples, batchSize);" +
+            "\n\t}" +
+            "\n" +
+            "\n\t/** " +
             "\n\t* Update this Tuple in table '" + tableName + "'." +
             "\n\t*" +
             "\n\t* @param connection Connection to database, typically obtained via a Transaction." +
@@ -236,21 +331,284 @@ public class TupleTypeGenerator {
             "\n";
     }
 
+    // Obtain the ResultSet getter method suited to a given attribute type, or null if there isn't one.
+    private static String getResultSetGetterFor(Class<?> type) {
+        if (type == Integer.class || type == int.class)
+            return "getInt";
+        if (type == Long.class || type == long.class)
+            return "getLong";
+        if (type == Short.class || type == short.class)
+            return "getShort";
+        if (type == Byte.class || type == byte.class)
+            return "getByte";
+        if (type == Double.class || type == double.class)
+            return "getDouble";
+        if (type == Float.class || type == float.class)
+            return "getFloat";
+        if (type == Boolean.class || type == boolean.class)
+            return "getBoolean";
+        if (type == String.class)
+            return "getString";
+        if (type == java.math.BigDecimal.class)
+            return "getBigDecimal";
+        if (type == java.sql.Date.class)
+            return "getDate";
+        if (type == java.sql.Time.class)
+            return "getTime";
+        if (type == java.sql.Timestamp.class)
+            return "getTimestamp";
+        if (type == byte[].class)
+            return "getBytes";
+        return null;
+    }
+
+    // Obtain the statement(s) that assign the value of a given column to the given attribute of 'tuple'.
+    private static String getColumnAssignment(Attribute attribute, int column) {
+        var getter = getResultSetGetterFor(attribute.type);
+        if (getter == null) {
+            var cast = (attribute.type == Object.class) ? "" : "(" + attribute.type.getCanonicalName() + ")";
+            return "\n\t\ttuple." + attribute.name + " = " + cast + "resultSet.getObject(" + column + ");";
+        }
+        if (attribute.type.isPrimitive())
+            return "\n\t\ttuple." + attribute.name + " = resultSet." + getter + "(" + column + ");" +
+                   getNullCheck(attribute);
+        if (!isBoxedPrimitive(attribute.type))
+            return "\n\t\ttuple." + attribute.name + " = resultSet." + getter + "(" + column + ");";
+        return "\n\t\tvar value" + column + " = resultSet." + getter + "(" + column + ");" +
+               "\n\t\ttuple." + attribute.name + " = resultSet.wasNull() ? null : value" + column + ";";
+    }
+
+    // Obtain the statement(s) that assign the value of a given column to a local variable named column<n>.
+    private static String getColumnLocal(Attribute attribute, int column) {
+        var getter = getResultSetGetterFor(attribute.type);
+        if (getter == null) {
+            var cast = (attribute.type == Object.class) ? "" : "(" + attribute.type.getCanonicalName() + ")";
+            return "\n\t\tvar column" + column + " = " + cast + "resultSet.getObject(" + column + ");";
+        }
+        if (attribute.type.isPrimitive())
+            return "\n\t\tvar column" + column + " = resultSet." + getter + "(" + column + ");" +
+                   getNullCheck(attribute);
+        if (!isBoxedPrimitive(attribute.type))
+            return "\n\t\tvar column" + column + " = resultSet." + getter + "(" + column + ");";
+        return "\n\t\tvar value" + column + " = resultSet." + getter + "(" + column + ");" +
+               "\n\t\tvar column" + column + " = resultSet.wasNull() ? null : value" + column + ";";
+    }
+
+    // Obtain the statement that throws SQLException if the column just read for a primitive attribute was NULL.
+    private static String getNullCheck(Attribute attribute) {
+        return "\n\t\tif (resultSet.wasNull())" +
+               "\n\t\t\tthrow " + ResultSetToTuple.class.getName() + ".newNullInPrimitiveException(\"" + attribute.name + "\");";
+    }
+
+    // True if a type is a boxed primitive, which must be set to null when the column is NULL.
+    private static boolean isBoxedPrimitive(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == Double.class || type == Float.class || type == Boolean.class;
+    }
+
+    private String getImmutableMapperCode() {
+        var reads = new StringBuilder();
+        var arguments = new StringBuilder();
+        var column = 1;
+        for (var attribute: attributes) {
+            reads.append(getColumnLocal(attribute, column));
+            if (arguments.length() > 0)
+                arguments.append(", ");
+            arguments.append("column").append(column++);
+        }
+        return
+            "\n\t/** " +
+            "\n\t* Create a tuple from the current row of a ResultSet, without reflection." +
+            "\n\t* The ResultSet columns must be this tuple's attributes in the order they were generated." +
+            "\n\t*" +
+            "\n\t* @param resultSet ResultSet positioned on a row." +
+            "\n\t* @return New tuple." +
+            "\n\t* @throws SQLException Failure." +
+            "\n\t*/" +
+            "\n\tpublic static " + tupleName + " " + ResultSetToTuple.MapperMethodName + "(ResultSet resultSet) throws SQLException {" +
+            reads +
+            "\n\t\treturn new " + tupleName + "(" + arguments + ");" +
+            "\n\t}" +
+            "\n";
+    }
+
+    private String getImmutableConstructor() {
+        var parameterDocs = attributes.stream()
+                .map(entry -> "\n\t* @param " + entry.name + " Value of " + entry.name + ".")
+                .collect(Collectors.joining());
+        var parameters = attributes.stream()
+                .map(entry -> entry.type.getCanonicalName() + " " + entry.name)
+                .collect(Collectors.joining(", "));
+        var assignments = attributes.stream()
+                .map(entry -> "\n\t\tthis." + entry.name + " = " + entry.name + ";")
+                .collect(Collectors.joining());
+        return
+            "\n\t/** " +
+            "\n\t* Constructor." +
+            (parameterDocs.isEmpty() ? "" : "\n\t*" + parameterDocs) +
+            "\n\t*/" +
+            "\n\tpublic " + tupleName + "(" + parameters + ") {" +
+            assignments +
+            "\n\t}" +
+            "\n";
+    }
+
+    // Obtain the name of the boxed type corresponding to a primitive type, whose static compare and hashCode methods are used for primitive attributes.
+    private static String getBoxedTypeName(Class<?> type) {
+        if (type == int.class)
+            return "Integer";
+        if (type == char.class)
+            return "Character";
+        var name = type.getName();
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String getEqualsTerm(Attribute attribute) {
+        var type = attribute.type;
+        if (type == double.class || type == float.class)
+            return getBoxedTypeName(type) + ".compare(this." + attribute.name + ", other." + attribute.name + ") == 0";
+        if (type.isPrimitive())
+            return "this." + attribute.name + " == other." + attribute.name;
+        var function = type.isArray()
+            ? "java.util.Objects.deepEquals"
+            : "java.util.Objects.equals";
+        return function + "(this." + attribute.name + ", other." + attribute.name + ")";
+    }
+
+    private static String getHashCodeTerm(Attribute attribute) {
+        String function;
+        if (attribute.type.isPrimitive())
+            function = getBoxedTypeName(attribute.type) + ".hashCode";
+        else if (!attribute.type.isArray())
+            function = "java.util.Objects.hashCode";
+        else if (attribute.type.getComponentType().isPrimitive())
+            function = "java.util.Arrays.hashCode";
+        else
+            function = "java.util.Arrays.deepHashCode";
+        return function + "(this." + attribute.name + ")";
+    }
+
+    private String getEqualsAndHashCode() {
+        var comparison = attributes.isEmpty()
+            ? "true"
+            : attributes.stream().map(TupleTypeGenerator::getEqualsTerm).collect(Collectors.joining("\n\t\t\t&& "));
+        var hashes = attributes.stream()
+                .map(entry -> "\n\t\t\thash = 31 * hash + " + getHashCodeTerm(entry) + ";")
+                .collect(Collectors.joining());
+        return
+            "\n\t/** Return true if the given object is a " + tupleName + " whose attribute values are equal to this one's. */" +
+            "\n\tpublic boolean equals(Object object) {" +
+            "\n\t\tif (this == object)" +
+            "\n\t\t\treturn true;" +
+            "\n\t\tif (!(object instanceof " + tupleName + "))" +
+            "\n\t\t\treturn false;" +
+            "\n\t\tvar other = (" + tupleName + ")object;" +
+            "\n\t\treturn " + comparison + ";" +
+            "\n\t}" +
+            "\n" +
+            "\n\t/** Obtain a hash code from this tuple's attribute values. It is computed on first use and retained. */" +
+            "\n\tpublic int hashCode() {" +
+            "\n\t\tvar hash = hashCodeCache;" +
+            "\n\t\tif (hash == 0) {" +
+            "\n\t\t\thash = 1;" +
+            hashes +
+            "\n\t\t\thashCodeCache = hash;" +
+            "\n\t\t}" +
+            "\n\t\treturn hash;" +
+            "\n\t}" +
+            "\n";
+    }
+
+    private String generateImmutable(String version) {
+        var attributeDefs =
+                attributes
+                        .stream()
+                        .map(entry -> "\n\t/** Field */\n\tpublic final " + entry.type.getCanonicalName() + " " + entry.name + ";\n")
+                        .collect(Collectors.joining());
+        return
+                "package " + tupleTypePackage + ";\n\n" +
+                "/* WARNING: Auto-generated code. DO NOT EDIT!!! */\n\n" +
+                "import java.sql.ResultSet;\n" +
+                "import java.sql.SQLException;\n" +
+                "import org.reldb.wrapd.sqldb.ImmutableTuple;\n" +
+                "\n" +
+                "public final class " + tupleName + " extends ImmutableTuple {\n" +
+                    version +
+                    attributeDefs +
+                    "\n\tprivate transient int hashCodeCache;\n" +
+                    getImmutableConstructor() +
+                    getImmutableMapperCode() +
+                    getEqualsAndHashCode() +
+                    getToStringCode() +
+                "}";
+    }
+
+    private String getMapperCode() {
+        var assignments = new StringBuilder();
+        var column = 1;
+        for (var attribute: attributes)
+            assignments.append(getColumnAssignment(attribute, column++));
+        var mapper =
+            "\n\t/** " +
+            "\n\t* Populate a tuple from the current row of a ResultSet, without reflection." +
+            "\n\t* The ResultSet columns must be this tuple's attributes in the order they were generated." +
+            "\n\t*/" +
+            "\n\tprivate static " + tupleName + " populate(" + tupleName + " tuple, ResultSet resultSet) throws SQLException {" +
+            assignments +
+            "\n\t\treturn tuple;" +
+            "\n\t}" +
+            "\n" +
+            "\n\t/** " +
+            "\n\t* Create a tuple from the current row of a ResultSet, without reflection." +
+            "\n\t* The ResultSet columns must be this tuple's attributes in the order they were generated." +
+            "\n\t*" +
+            "\n\t* @param resultSet ResultSet positioned on a row." +
+            "\n\t* @return New tuple." +
+            "\n\t* @throws SQLException Failure." +
+            "\n\t*/" +
+            "\n\tpublic static " + tupleName + " " + ResultSetToTuple.MapperMethodName + "(ResultSet resultSet) throws SQLException {" +
+            "\n\t\treturn populate(new " + tupleName + "(), resultSet);" +
+            "\n\t}" +
+            "\n";
+        if (tableName == null)
+            return mapper;
+        return mapper +
+            "\n\t/** " +
+            "\n\t* Create an updatable & insertable tuple from the current row of a ResultSet, without reflection." +
+            "\n\t* The ResultSet columns must be this tuple's attributes in the order they were generated." +
+            "\n\t*" +
+            "\n\t* @param db Database." +
+            "\n\t* @param resultSet ResultSet positioned on a row." +
+            "\n\t* @return New tuple." +
+            "\n\t* @throws SQLException Failure." +
+            "\n\t*/" +
+            "\n\tpublic static " + tupleName + " " + ResultSetToTuple.MapperMethodName + "(Database db, ResultSet resultSet) throws SQLException {" +
+            "\n\t\treturn populate(new " + tupleName + "(db), resultSet);" +
+            "\n\t}" +
+            "\n";
+    }
+
     /**
      * Generate this tuple type as a Java class definition.
      *
      * @return The result of the generate() process.
      */
     public GenerateResult generate() {
+        var version = "\tpublic static final long serialVersionUID = 0L;\n";
+        if (isImmutable()) {
+            var file = new JavaGenerator(dir).generateJavaCode(tupleName, tupleTypePackage, generateImmutable(version));
+            return new GenerateResult(attributes, file);
+        }
         var attributeDefs =
                 attributes
                         .stream()
                         .map(entry -> "\n\t/** Field */\n\tpublic " + entry.type.getCanonicalName() + " " + entry.name + ";\n")
                         .collect(Collectors.joining());
-        var version = "\tpublic static final long serialVersionUID = 0L;\n";
         var tupleDef =
                 "package " + tupleTypePackage + ";\n\n" +
                 "/* WARNING: Auto-generated code. DO NOT EDIT!!! */\n\n" +
+                "import java.sql.ResultSet;\n" +
+                "import java.sql.SQLException;\n" +
                 "import org.reldb.wrapd.sqldb.Tuple;\n" +
                 getTableImports() +
                 "\n" +
@@ -259,6 +617,8 @@ public class TupleTypeGenerator {
                     attributeDefs +
                     getConstructor() +
                     getTableDefs() +
+                    getChangeTrackingCode() +
+                    getMapperCode() +
                     getToStringCode() +
                 "}";
         var generator = new JavaGenerator(dir);
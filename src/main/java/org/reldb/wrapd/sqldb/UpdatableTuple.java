@@ -8,12 +8,13 @@ import org.reldb.wrapd.exceptions.InvalidValueException;
 import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * The base class for all updatable tuples. Derived classes are usually auto-generated by TupleTypeGenerator.
@@ -26,9 +27,15 @@ public abstract class UpdatableTuple extends Tuple implements Cloneable {
     /** Database used to create this Tuple. */
     protected final Database database;
 
-    /** Backup made at time tuple is retrieved, prior to changing any fields. */
+    /** Backup made at time tuple is retrieved, prior to changing any fields. Not used if isChangeTracking() is true. */
     private UpdatableTuple __backup = null;
 
+    /** True once a change-tracking tuple has been retrieved for update. */
+    private boolean __tracking = false;
+
+    /** Original values of fields changed via setters of a change-tracking tuple. Null until a field is changed. */
+    private Map<String, Object> __originals = null;
+
     /**
      * Constructor.
      *
@@ -46,12 +53,50 @@ public abstract class UpdatableTuple extends Tuple implements Cloneable {
     }
 
     /**
-     * Create backup, to facilitate identifying changed fields as part of update.
+     * Return true if this Tuple records changes to its fields via setters, which call isChangeRecorded(...) and
+     * recordChange(...), so it doesn't need a backup. Overridden by change-tracking tuples generated by
+     * TupleTypeGenerator. See TupleTypeGenerator.setChangeTracking(boolean).
+     *
+     * @return True if this Tuple tracks changes.
+     */
+    protected boolean isChangeTracking() {
+        return false;
+    }
+
+    /**
+     * Return true if there's no need to record a change to a field, because its original value has already been
+     * recorded or this Tuple isn't tracking changes.
+     *
+     * @param fieldName Name of field.
+     * @return True if a change to the field needn't be recorded.
+     */
+    protected boolean isChangeRecorded(String fieldName) {
+        return !__tracking || (__originals != null && __originals.containsKey(fieldName));
+    }
+
+    /**
+     * Record the original value of a field that is about to be changed.
+     *
+     * @param fieldName Name of field.
+     * @param originalValue Value of the field before it's changed.
+     */
+    protected void recordChange(String fieldName, Object originalValue) {
+        if (__originals == null)
+            __originals = new HashMap<>();
+        __originals.put(fieldName, originalValue);
+    }
+
+    /**
+     * Create backup, to facilitate identifying changed fields as part of update. A change-tracking tuple
+     * starts tracking changes instead, which doesn't copy anything.
      *
      * @throws CloneNotSupportedException Thrown if creating clone() of Tuple fails.
      */
     void backup() throws CloneNotSupportedException {
-        __backup = (UpdatableTuple) super.clone();
+        if (isChangeTracking())
+            __tracking = true;
+        else
+            __backup = (UpdatableTuple) super.clone();
     }
 
     /**
@@ -78,7 +123,25 @@ public abstract class UpdatableTuple extends Tuple implements Cloneable {
         }
     }
 
-    private Object fieldGetWrapper(List<FieldGetFailure> failures, Field field, UpdatableTuple tuple) {
+    /**
+     * Failure to insert one of the Tuples passed to a bulk insert.
+     */
+    public static class InsertFailure {
+        /** Zero-based position of the Tuple in the sequence of Tuples to be inserted. */
+        public final long index;
+        /** The Tuple that wasn't inserted. */
+        public final UpdatableTuple tuple;
+        /** Failures to retrieve one or more of the Tuple's fields. */
+        public final List<FieldGetFailure> fieldGetFailures;
+        /** Constructor. */
+        InsertFailure(long index, UpdatableTuple tuple, List<FieldGetFailure> fieldGetFailures) {
+            this.index = index;
+            this.tuple = tuple;
+            this.fieldGetFailures = fieldGetFailures;
+        }
+    }
+
+    private static Object fieldGetWrapper(List<FieldGetFailure> failures, Field field, UpdatableTuple tuple) {
         try {
             return field.get(tuple);
         } catch (Throwable t) {
@@ -87,6 +150,20 @@ public abstract class UpdatableTuple extends Tuple implements Cloneable {
         }
     }
 
+    /**
+     * Obtain the values of the given fields of this Tuple.
+     *
+     * @param failures Failures to retrieve fields are appended to this List.
+     * @param dataFields Fields to retrieve.
+     * @return Field values. Values of fields that couldn't be retrieved are null.
+     */
+    Object[] getFieldValues(List<FieldGetFailure> failures, Field[] dataFields) {
+        var values = new Object[dataFields.length];
+        for (var i = 0; i < dataFields.length; i++)
+            values[i] = fieldGetWrapper(failures, dataFields[i], this);
+        return values;
+    }
+
     /**
      * Insert this Tuple.
      *
@@ -98,21 +175,12 @@ public abstract class UpdatableTuple extends Tuple implements Cloneable {
     public List<FieldGetFailure> insert(Connection connection, String tableName) throws SQLException {
         if (database == null)
             throw new InvalidValueException(Str.ing(ErrTupleNotInsertableBecauseNullDatabase));
-        Supplier<Stream<Field>> dataFields = () -> TupleTypeGenerator.getDataFields(getClass());
-        Supplier<Stream<String>> columns = () -> dataFields.get().map(Field::getName);
-        var columnNames = columns.get().collect(Collectors.joining(", "));
-        var parms = "?"
-                .repeat((int) columns.get().count())
-                .replaceAll(".(?!$)", "$0, ");
-        var sql = "INSERT INTO " + database.replaceTableNames(tableName) + "(" + columnNames + ") VALUES (" + parms + ")";
+        var dml = database.getDMLPlan(connection, getClass(), tableName);
         var fieldGetFailures = new LinkedList<FieldGetFailure>();
-        var columnValues = dataFields
-                .get()
-                .map(field -> fieldGetWrapper(fieldGetFailures, field, this))
-                .toArray(Object[]::new);
+        var columnValues = getFieldValues(fieldGetFailures, dml.dataFields);
         if (fieldGetFailures.size() > 0)
             return fieldGetFailures;
-        database.update(connection, sql, columnValues);
+        database.update(connection, dml.insertSQL, columnValues);
         return fieldGetFailures;
     }
 
@@ -139,6 +207,168 @@ public abstract class UpdatableTuple extends Tuple implements Cloneable {
         return insertResult.isEmpty();
     }
 
+    /**
+     * Failure to update one of the Tuples passed to a bulk update.
+     */
+    public static class UpdateFailure {
+        /** Zero-based position of the Tuple in the sequence of Tuples to be updated. */
+        public final long index;
+        /** The Tuple that wasn't updated. */
+        public final UpdatableTuple tuple;
+        /** Failures to retrieve one or more of the Tuple's new field values. */
+        public final List<FieldGetFailure> newFieldGetFailures;
+        /** Failures to retrieve one or more of the Tuple's original (backup) field values. */
+        public final List<FieldGetFailure> oldFieldGetFailures;
+        /** Constructor. */
+        UpdateFailure(long index, UpdatableTuple tuple, List<FieldGetFailure> newFieldGetFailures, List<FieldGetFailure> oldFieldGetFailures) {
+            this.index = index;
+            this.tuple = tuple;
+            this.newFieldGetFailures = newFieldGetFailures;
+            this.oldFieldGetFailures = oldFieldGetFailures;
+        }
+    }
+
+    /**
+     * The UPDATE needed to apply a Tuple's changes, as determined by comparing it with its backup or, for a
+     * change-tracking tuple, with the original values of the fields changed via its setters.
+     */
+    static class UpdatePlan {
+        /** INSERT and UPDATE statements for the Tuple's class and table. */
+        final DMLPlan dml;
+        /** Positions in dml.dataFields of fields whose values have changed. */
+        final BitSet changedFields = new BitSet();
+        /** Positions in dml.dataFields of fields that identify the row and whose original value is null. */
+        final BitSet nullOriginals = new BitSet();
+        /** Changed field values followed by non-null original values of the fields that identify the row. Empty if there are no changes. */
+        final Object[] arguments;
+        /** Failures to retrieve new field values. */
+        final List<FieldGetFailure> newFieldGetFailures = new LinkedList<>();
+        /** Failures to retrieve original (backup) field values. */
+        final List<FieldGetFailure> oldFieldGetFailures = new LinkedList<>();
+
+        // Exactly one of backup and originals is non-null. Fields not in originals are unchanged.
+        private UpdatePlan(UpdatableTuple tuple, UpdatableTuple backup, Map<String, Object> originals, DMLPlan dml) {
+            this.dml = dml;
+            var dataFields = dml.dataFields;
+            var newValues = new ArrayList<>(dataFields.length);
+            var oldValues = new Object[dataFields.length];
+            for (var i = 0; i < dataFields.length; i++) {
+                var field = dataFields[i];
+                var isUnchanged = (originals != null)
+                    ? !originals.containsKey(field.getName())
+                    : field.getType().isPrimitive() && isPrimitiveFieldUnchanged(field, tuple, backup);
+                if (isUnchanged)
+                    continue;
+                var newValue = fieldGetWrapper(newFieldGetFailures, field, tuple);
+                oldValues[i] = (originals != null)
+                    ? originals.get(field.getName())
+                    : fieldGetWrapper(oldFieldGetFailures, field, backup);
+                if (!Objects.equals(newValue, oldValues[i])) {
+                    changedFields.set(i);
+                    newValues.add(newValue);
+                }
+            }
+            if (!changedFields.isEmpty()) {
+                // The original value of an unchanged field is its current value.
+                var original = (backup != null) ? backup : tuple;
+                if (dml.hasKey())
+                    for (var index: dml.keyFieldIndexes)
+                        addOriginal(newValues, index, changedFields.get(index) ? oldValues[index] : fieldGetWrapper(oldFieldGetFailures, dataFields[index], original));
+                else
+                    for (var index = 0; index < dataFields.length; index++)
+                        addOriginal(newValues, index, changedFields.get(index) ? oldValues[index] : fieldGetWrapper(oldFieldGetFailures, dataFields[index], original));
+            }
+            arguments = newValues.toArray();
+        }
+
+        // Add the original value of a field that identifies the row, unless it's null and so matched with IS NULL.
+        private void addOriginal(List<Object> arguments, int index, Object value) {
+            if (value == null)
+                nullOriginals.set(index);
+            else
+                arguments.add(value);
+        }
+
+        // Return true if a primitive field has the same value in tuple and backup, comparing without boxing.
+        // Return false if it has changed or can't be read, in which case it's compared and reported in the usual way.
+        private static boolean isPrimitiveFieldUnchanged(Field field, UpdatableTuple tuple, UpdatableTuple backup) {
+            var type = field.getType();
+            try {
+                if (type == int.class)
+                    return field.getInt(tuple) == field.getInt(backup);
+                if (type == long.class)
+                    return field.getLong(tuple) == field.getLong(backup);
+                if (type == double.class)
+                    return Double.compare(field.getDouble(tuple), field.getDouble(backup)) == 0;
+                if (type == boolean.class)
+                    return field.getBoolean(tuple) == field.getBoolean(backup);
+                if (type == short.class)
+                    return field.getShort(tuple) == field.getShort(backup);
+                if (type == byte.class)
+                    return field.getByte(tuple) == field.getByte(backup);
+                if (type == float.class)
+                    return Float.compare(field.getFloat(tuple), field.getFloat(backup)) == 0;
+                if (type == char.class)
+                    return field.getChar(tuple) == field.getChar(backup);
+            } catch (IllegalAccessException e) {
+                return false;
+            }
+            return false;
+        }
+
+        /**
+         * Return true if all field values were retrieved.
+         *
+         * @return true if there are no field get failures.
+         */
+        boolean isOk() {
+            return newFieldGetFailures.isEmpty() && oldFieldGetFailures.isEmpty();
+        }
+
+        /**
+         * Return true if there are changed fields to update.
+         *
+         * @return true if one or more fields have changed.
+         */
+        boolean hasChanges() {
+            return !changedFields.isEmpty();
+        }
+
+        /**
+         * Obtain field get failures in the form returned by update(...).
+         *
+         * @return Pair of new field get failures and original (backup) field get failures.
+         */
+        Pair<List<FieldGetFailure>, List<FieldGetFailure>> getFieldGetFailures() {
+            return new Pair<>(newFieldGetFailures, oldFieldGetFailures);
+        }
+
+        /**
+         * Obtain the UPDATE statement. Tuples of the same class with the same changed fields and the same null
+         * identifying fields share the same statement.
+         *
+         * @return SQL text of UPDATE statement.
+         */
+        String getSQL() {
+            return dml.getUpdateSQL(changedFields, nullOriginals);
+        }
+    }
+
+    /**
+     * Determine the UPDATE needed to apply this Tuple's changes.
+     *
+     * @param dml INSERT and UPDATE statements for this Tuple's class and the target table.
+     * @return UpdatePlan.
+     */
+    UpdatePlan planUpdate(DMLPlan dml) {
+        if (__tracking)
+            return new UpdatePlan(this, null, (__originals == null) ? Map.of() : __originals, dml);
+        var backup = getBackup();
+        if (backup == null)
+            throw new InvalidValueException(Str.ing(ErrTupleNotUpdatable));
+        return new UpdatePlan(this, backup, null, dml);
+    }
+
     /**
      * Update this tuple.
      *
@@ -152,42 +382,10 @@ public abstract class UpdatableTuple extends Tuple implements Cloneable {
     public Pair<List<FieldGetFailure>, List<FieldGetFailure>> update(Connection connection, String tableName) throws SQLException {
         if (database == null)
             throw new InvalidValueException(Str.ing(ErrTupleNotUpdatableBecauseNullDatabase));
-        var backup = getBackup();
-        if (backup == null)
-            throw new InvalidValueException(Str.ing(ErrTupleNotUpdatable));
-        var fieldGetFailuresNew = new LinkedList<FieldGetFailure>();
-        var fieldGetFailuresOld = new LinkedList<FieldGetFailure>();
-        Supplier<Stream<Field>> dataFields = () -> TupleTypeGenerator.getDataFields(getClass());
-        Supplier<Stream<Field>> changedFields = () -> dataFields.get().filter(field -> {
-            var fieldNewValue = fieldGetWrapper(fieldGetFailuresNew, field, this);
-            var fieldOldValue = fieldGetWrapper(fieldGetFailuresOld, field, backup);
-            return !Objects.equals(fieldNewValue, fieldOldValue);
-        });
-        if (fieldGetFailuresNew.size() > 0 || fieldGetFailuresOld.size() > 0)
-            return new Pair<>(fieldGetFailuresNew, fieldGetFailuresOld);
-        var columnAssignments = changedFields
-                .get()
-                .map(field -> field.getName() + " = ?")
-                .collect(Collectors.joining(", "));
-        var key = database.getKeyColumnNamesFor(tableName);
-        Supplier<Stream<Field>> rowPredicateSource = () -> (key == null) ? dataFields.get() : changedFields.get();
-        var rowPredicate = rowPredicateSource
-                .get()
-                .map(field -> field.getName() + " = ?")
-                .collect(Collectors.joining(" AND "));
-        var sql = "UPDATE " + database.replaceTableNames(tableName) + " SET " + columnAssignments + " WHERE " + rowPredicate;
-        var columnAssignmentNewValues = changedFields
-                .get()
-                .map(field -> fieldGetWrapper(fieldGetFailuresNew, field, this))
-                .toArray();
-        var rowPredicateValues = rowPredicateSource
-                .get()
-                .map(field -> fieldGetWrapper(fieldGetFailuresOld, field, backup))
-                .toArray();
-        if (fieldGetFailuresNew.size() > 0 || fieldGetFailuresOld.size() > 0)
-            return new Pair<>(fieldGetFailuresNew, fieldGetFailuresOld);
-        database.update(connection, sql, Database.allArguments(columnAssignmentNewValues, rowPredicateValues));
-        return new Pair<>(fieldGetFailuresNew, fieldGetFailuresOld);
+        var plan = planUpdate(database.getDMLPlan(connection, getClass(), tableName));
+        if (plan.isOk() && plan.hasChanges())
+            database.update(connection, plan.getSQL(), plan.arguments);
+        return plan.getFieldGetFailures();
     }
 
     /**
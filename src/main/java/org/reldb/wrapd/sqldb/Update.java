@@ -17,6 +17,16 @@ public class Update extends SQL {
         super(queryText, arguments);
     }
 
+    /**
+     * Define an update query.
+     *
+     * @param template SQL template, typically held in a static field of a generated subclass.
+     * @param arguments Arguments to query.
+     */
+    protected Update(SQLTemplate template, Object... arguments) {
+        super(template, arguments);
+    }
+
     /**
      * Define an update query.
      *
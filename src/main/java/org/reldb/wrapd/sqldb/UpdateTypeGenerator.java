@@ -24,10 +24,10 @@ public class UpdateTypeGenerator extends SQLTypeGenerator {
     private String getConstructor() {
         return
             "\t@SuppressWarnings(\"unchecked\")\n" +
-            "\tprotected " + getQueryName() + "(String queryText" +
+            "\tprotected " + getQueryName() + "(SQLTemplate queryTemplate" +
                 (hasArgs() ? ", Object... arguments" : "") +
             ") {\n" +
-            "\t\tsuper(queryText, " +
+            "\t\tsuper(queryTemplate, " +
                 (hasArgs() ? "arguments" : "(Object)null") +
             ");\n" +
             "\t}\n";
@@ -52,7 +52,7 @@ public class UpdateTypeGenerator extends SQLTypeGenerator {
         var args = hasArgs()
                 ? ", " + getDeclaredQueryParameterNameListString()
                 : "";
-        var newQuery = "new " + getQueryName() + "(sqlText" + args + ")";
+        var newQuery = "new " + getQueryName() + "(sqlTemplate" + args + ")";
         return
                 buildQueryMethod(methodName, newQuery, false) +
                 "\n" +
@@ -66,13 +66,19 @@ public class UpdateTypeGenerator extends SQLTypeGenerator {
             "/* WARNING: Auto-generated code. DO NOT EDIT!!! */\n\n" +
             "import java.sql.SQLException;\n" +
             "import java.sql.Connection;\n" +
+            "import java.sql.PreparedStatement;\n" +
             "import org.reldb.wrapd.sqldb.Database;\n" +
+            "import org.reldb.wrapd.sqldb.ParameterBinders;\n" +
+            "import org.reldb.wrapd.sqldb.SQLTemplate;\n" +
             "import org.reldb.wrapd.sqldb.Update;\n\n" +
             "public class " + getQueryName() + " extends Update {\n" +
-            "\tprivate final static String sqlText = \"" + getSQLText() + "\";\n\n" +
+            "\tprivate final static SQLTemplate sqlTemplate = new SQLTemplate(\"" + getSQLText() + "\");\n\n" +
             getConstructor() +
             "\n" +
             getQueryMethods() +
+            (hasArgs()
+                ? "\n" + getBindParametersMethod()
+                : "") +
             "}";
     }
 
@@ -0,0 +1,39 @@
+package org.reldb.wrapd.sqldb;
+
+/**
+ * An SQL query that obtains a single value: the first column of the first row.
+ *
+ * Normally not used directly, but inherited.
+ */
+public class ValueOf extends SQL {
+
+    /**
+     * Define a query for a single value.
+     *
+     * @param queryText SQL text.
+     * @param arguments Arguments to query.
+     */
+    protected ValueOf(String queryText, Object... arguments) {
+        super(queryText, arguments);
+    }
+
+    /**
+     * Define a query for a single value.
+     *
+     * @param template SQL template, typically held in a static field of a generated subclass.
+     * @param arguments Arguments to query.
+     */
+    protected ValueOf(SQLTemplate template, Object... arguments) {
+        super(template, arguments);
+    }
+
+    /**
+     * Define a query for a single value.
+     *
+     * @param queryText SQL text.
+     */
+    protected ValueOf(String queryText) {
+        this(queryText, new Object[] {});
+    }
+
+}
@@ -1,9 +1,10 @@
 package org.reldb.wrapd.sqldb;
 
 /**
- * Generates Java code to ergonomically represent valueOf(...) queries.
+ * Generates Java code to ergonomically represent valueOf(...) queries, which is a class that extends {@link ValueOf}.
  */
 public class ValueOfTypeGenerator extends SQLTypeGenerator {
+    private final Class<?> type;
     private final String typeName;
 
     /**
@@ -21,9 +22,17 @@ public class ValueOfTypeGenerator extends SQLTypeGenerator {
      */
     public ValueOfTypeGenerator(String codeDirectory, String packageSpec, String valueOfClassName, Class<?> type, String sqlText, Object... args) {
         super(codeDirectory, packageSpec, valueOfClassName, sqlText, args);
+        this.type = type;
         this.typeName = type.getName();
     }
 
+    private String getConstructor() {
+        return
+            "\tprotected " + getQueryName() + "(SQLTemplate queryTemplate, Object... arguments) {\n" +
+            "\t\tsuper(queryTemplate, arguments);\n" +
+            "\t}\n";
+    }
+
     private String buildQueryMethod(String methodName, String newQuery, boolean withConnection) {
         var argConnection = withConnection
             ? "connection, "
@@ -38,6 +47,31 @@ public class ValueOfTypeGenerator extends SQLTypeGenerator {
             "\t}\n";
     }
 
+    // The Database method, the generated method name suffix and the return type of a primitive valueOf for the type, or null if there is none.
+    private String[] getPrimitiveValueOf() {
+        if (type == Integer.class || type == int.class || type == Short.class || type == short.class || type == Byte.class || type == byte.class)
+            return new String[] {"intValueOf", "AsInt", "java.util.OptionalInt"};
+        if (type == Long.class || type == long.class)
+            return new String[] {"longValueOf", "AsLong", "java.util.OptionalLong"};
+        if (type == Double.class || type == double.class || type == Float.class || type == float.class)
+            return new String[] {"doubleValueOf", "AsDouble", "java.util.OptionalDouble"};
+        return null;
+    }
+
+    private String buildPrimitiveQueryMethod(String[] primitiveValueOf, String newQuery, boolean withConnection) {
+        var argConnection = withConnection
+            ? "connection, "
+            : "";
+        var baseName = "valueOf";
+        var methodNameSuffix = primitiveValueOf[1];
+        var returnType = primitiveValueOf[2];
+        addMethod(new Method(baseName, methodNameSuffix, getParameterList(true, withConnection), returnType));
+        return
+            "\tpublic static " + returnType + " " + baseName + methodNameSuffix + "(" + getParameterDefinitionListString(withConnection) + ") throws SQLException {\n" +
+            "\t\treturn db." + primitiveValueOf[0] + "(" + argConnection + newQuery + ");\n" +
+            "\t}\n";
+    }
+
     private String getQueryMethods() {
         var methodName = hasArgs()
             ? "valueOf"
@@ -45,11 +79,18 @@ public class ValueOfTypeGenerator extends SQLTypeGenerator {
         var args = hasArgs()
             ? ", " + getDeclaredQueryParameterNameListString()
             : "";
-        var arguments = "sqlText" + args;
+        var newQuery = "new " + getQueryName() + "(sqlTemplate" + args + ")";
+        var primitiveValueOf = getPrimitiveValueOf();
         return
-            buildQueryMethod(methodName, arguments, false) +
+            buildQueryMethod(methodName, newQuery, false) +
             "\n" +
-            buildQueryMethod(methodName, arguments, true);
+            buildQueryMethod(methodName, newQuery, true) +
+            (primitiveValueOf != null
+                ? "\n" +
+                  buildPrimitiveQueryMethod(primitiveValueOf, newQuery, false) +
+                  "\n" +
+                  buildPrimitiveQueryMethod(primitiveValueOf, newQuery, true)
+                : "");
     }
 
     @Override
@@ -59,11 +100,20 @@ public class ValueOfTypeGenerator extends SQLTypeGenerator {
             "/* WARNING: Auto-generated code. DO NOT EDIT!!! */\n\n" +
             "import java.sql.SQLException;\n" +
             "import java.sql.Connection;\n" +
+            "import java.sql.PreparedStatement;\n" +
             "import java.util.Optional;\n" +
-            "import org.reldb.wrapd.sqldb.Database;\n\n" +
-            "public class " + getQueryName() + " {\n" +
-            "\tprivate final static String sqlText = \"" + getSQLText() + "\";\n\n" +
+            "import org.reldb.wrapd.sqldb.Database;\n" +
+            "import org.reldb.wrapd.sqldb.ParameterBinders;\n" +
+            "import org.reldb.wrapd.sqldb.SQLTemplate;\n" +
+            "import org.reldb.wrapd.sqldb.ValueOf;\n\n" +
+            "public class " + getQueryName() + " extends ValueOf {\n" +
+            "\tprivate final static SQLTemplate sqlTemplate = new SQLTemplate(\"" + getSQLText() + "\");\n\n" +
+            getConstructor() +
+            "\n" +
             getQueryMethods() +
+            (hasArgs()
+                ? "\n" + getBindParametersMethod()
+                : "") +
             "}";
     }
 }
@@ -9,6 +9,9 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.stream.Stream;
 
 /**
@@ -97,6 +100,94 @@ public class Xact {
         return database.valueOf(connection, query);
     }
 
+    /**
+     * Issue a ValueOf and obtain a value for the first row in the first column.
+     * Intended to obtain a single value.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result.
+     * @throws SQLException Error.
+     */
+    public Optional<?> valueOf(ValueOf query) throws SQLException {
+        return database.valueOf(connection, query);
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as an int.
+     *
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalInt intValueOf(String query, Object... parms) throws SQLException {
+        return database.intValueOf(connection, query, parms);
+    }
+
+    /**
+     * Issue a ValueOf and obtain the first column of the first row as an int.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalInt intValueOf(ValueOf query) throws SQLException {
+        return database.intValueOf(connection, query);
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as a long.
+     *
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalLong longValueOf(String query, Object... parms) throws SQLException {
+        return database.longValueOf(connection, query, parms);
+    }
+
+    /**
+     * Issue a ValueOf and obtain the first column of the first row as a long.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalLong longValueOf(ValueOf query) throws SQLException {
+        return database.longValueOf(connection, query);
+    }
+
+    /**
+     * Issue a parametric SELECT query with '?' substitutions and obtain the first column of the first row as a double.
+     *
+     * @param query SELECT query that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @param parms Parameter arguments.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalDouble doubleValueOf(String query, Object... parms) throws SQLException {
+        return database.doubleValueOf(connection, query, parms);
+    }
+
+    /**
+     * Issue a ValueOf and obtain the first column of the first row as a double.
+     *
+     * @param query ValueOf that returns a single column,
+     *              or multiple columns but only the first is used to obtain the value.
+     * @return Value of first column of first row in result. Empty if there are no rows or the value is NULL.
+     * @throws SQLException Error.
+     */
+    public OptionalDouble doubleValueOf(ValueOf query) throws SQLException {
+        return database.doubleValueOf(connection, query);
+    }
+
     /**
      * Issue a SELECT query, process it, and return the result
      *
@@ -132,7 +223,7 @@ public class Xact {
      * @throws SQLException Error.
      */
     public <T extends Tuple> Stream<T> queryAll(Query<T> query) throws SQLException {
-        return database.queryAll(connection, query.getQueryText(), query.getTupleClass());
+        return database.queryAll(connection, query);
     }
 
     /**
@@ -157,7 +248,7 @@ public class Xact {
      * @throws SQLException Error.
      */
     public <T extends UpdatableTuple> Stream<T> queryAllForUpdate(Query<T> query) throws SQLException {
-        return database.queryAllForUpdate(connection, query.getQueryText(), query.getTupleClass());
+        return database.queryAllForUpdate(connection, query);
     }
 
     /**
@@ -197,7 +288,7 @@ public class Xact {
      * @throws SQLException Error.
      */
     public <T extends Tuple> Stream<T> query(Query<T> query) throws SQLException {
-        return database.query(connection, query.getQueryText(), query.getTupleClass(), query.getArguments());
+        return database.query(connection, query);
     }
 
     /**
@@ -223,7 +314,224 @@ public class Xact {
      * @throws SQLException Error.
      */
     public <T extends UpdatableTuple> Stream<T> queryForUpdate(Query<T> query) throws SQLException {
-        return database.queryForUpdate(connection, query.getQueryText(), query.getTupleClass(), query.getArguments());
+        return database.queryForUpdate(connection, query);
+    }
+
+    /**
+     * Obtain a list of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query SQL query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter arguments to parametric query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAsList(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return database.queryAsList(connection, query, tupleClass, parms);
+    }
+
+    /**
+     * Obtain a list of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAsList(Query<T> query) throws SQLException {
+        return database.queryAsList(connection, query);
+    }
+
+    /**
+     * Obtain a list of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query SQL query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAllAsList(String query, Class<T> tupleClass) throws SQLException {
+        return database.queryAllAsList(connection, query, tupleClass);
+    }
+
+    /**
+     * Obtain a list of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return List&lt;T&gt; Result list.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> List<T> queryAllAsList(Query<T> query) throws SQLException {
+        return database.queryAllAsList(connection, query);
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query SQL query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter arguments to parametric query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAsArray(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return database.queryAsArray(connection, query, tupleClass, parms);
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAsArray(Query<T> query) throws SQLException {
+        return database.queryAsArray(connection, query);
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query SQL query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAllAsArray(String query, Class<T> tupleClass) throws SQLException {
+        return database.queryAllAsArray(connection, query, tupleClass);
+    }
+
+    /**
+     * Obtain an array of Tuple derivatives from a query evaluation.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return T[] Result array.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> T[] queryAllAsArray(Query<T> query) throws SQLException {
+        return database.queryAllAsArray(connection, query);
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult.
+     *
+     * @param query SQL query string.
+     * @param parms Parameter arguments to parametric query.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryColumnar(String query, Object... parms) throws SQLException {
+        return database.queryColumnar(connection, query, parms);
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult.
+     *
+     * @param query A Query.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryColumnar(Query<?> query) throws SQLException {
+        return database.queryColumnar(connection, query);
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult.
+     *
+     * @param query SQL query string.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryAllColumnar(String query) throws SQLException {
+        return database.queryAllColumnar(connection, query);
+    }
+
+    /**
+     * Obtain the result of a query evaluation as a ColumnarResult.
+     *
+     * @param query A Query.
+     * @return ColumnarResult.
+     * @throws SQLException Error.
+     */
+    public ColumnarResult queryAllColumnar(Query<?> query) throws SQLException {
+        return database.queryAllColumnar(connection, query);
+    }
+
+    /**
+     * Obtain a lazy stream of Tuple derivatives from a query evaluation. Rows are retrieved from the database
+     * as the Stream is consumed. The Stream must be closed or fully consumed before the transaction ends.
+     *
+     * @param <T> T extends Tuple.
+     * @param query Query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @return Stream&lt;T&gt; Lazy result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> queryAllLazy(String query, Class<T> tupleClass) throws SQLException {
+        return database.queryAllLazy(connection, query, tupleClass);
+    }
+
+    /**
+     * Obtain a lazy stream of Tuple derivatives from a query evaluation. Rows are retrieved from the database
+     * as the Stream is consumed. The Stream must be closed or fully consumed before the transaction ends.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Lazy result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> queryAllLazy(Query<T> query) throws SQLException {
+        return database.queryAllLazy(connection, query);
+    }
+
+    /**
+     * Obtain a lazy stream of Tuple derivatives from a parametric query evaluation. Rows are retrieved from the database
+     * as the Stream is consumed. The Stream must be closed or fully consumed before the transaction ends.
+     *
+     * @param <T> T extends Tuple.
+     * @param query SQL query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter arguments to parametric query.
+     * @return Stream&lt;T&gt; Lazy result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> queryLazy(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return database.queryLazy(connection, query, tupleClass, parms);
+    }
+
+    /**
+     * Obtain a lazy stream of Tuple derivatives from a parametric query evaluation. Rows are retrieved from the database
+     * as the Stream is consumed. The Stream must be closed or fully consumed before the transaction ends.
+     *
+     * @param <T> T extends Tuple.
+     * @param query A Query.
+     * @return Stream&lt;T&gt; Lazy result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends Tuple> Stream<T> queryLazy(Query<T> query) throws SQLException {
+        return database.queryLazy(connection, query);
+    }
+
+    /**
+     * Obtain a lazy stream of UpdatableTuple derivatives from a parametric query evaluation for possible update.
+     * The Stream must be closed or fully consumed before the transaction ends.
+     *
+     * @param <T> T extends UpdatableTuple.
+     * @param query SQL query string.
+     * @param tupleClass Tuple derivative that represents rows in the ResultSet returned from evaluating the query.
+     * @param parms Parameter arguments to parametric query.
+     * @return Stream&lt;T&gt; Lazy result stream.
+     * @throws SQLException Error.
+     */
+    public <T extends UpdatableTuple> Stream<T> queryForUpdateLazy(String query, Class<T> tupleClass, Object... parms) throws SQLException {
+        return database.queryForUpdateLazy(connection, query, tupleClass, parms);
     }
 
     /**
@@ -238,6 +546,60 @@ public class Xact {
         return tuple.insert(connection, tableName);
     }
 
+    /**
+     * Insert multiple Tuples using JDBC batching.
+     *
+     * @param tableName Table name.
+     * @param tuples Tuples to insert.
+     * @param batchSize Maximum number of Tuples to insert per batch.
+     * @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public List<UpdatableTuple.InsertFailure> insertAll(String tableName, Iterable<? extends UpdatableTuple> tuples, int batchSize) throws SQLException {
+        return database.insertAll(connection, tableName, tuples, batchSize);
+    }
+
+    /**
+     * Insert multiple Tuples using JDBC batching.
+     *
+     * @param <T> UpdatableTuple type.
+     * @param tableName Table name.
+     * @param tuples Tuples to insert.
+     * @param batchSize Maximum number of Tuples to insert per batch.
+     * @return List of Tuples that couldn't be inserted because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public <T extends UpdatableTuple> List<UpdatableTuple.InsertFailure> insertAll(String tableName, Stream<T> tuples, int batchSize) throws SQLException {
+        return database.insertAll(connection, tableName, tuples, batchSize);
+    }
+
+    /**
+     * Update multiple changed Tuples using JDBC batching, grouped by the columns they change.
+     *
+     * @param tableName Table name.
+     * @param tuples Tuples to update.
+     * @param batchSize Maximum number of Tuples to update per batch.
+     * @return List of Tuples that couldn't be updated because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public List<UpdatableTuple.UpdateFailure> updateTuples(String tableName, Iterable<? extends UpdatableTuple> tuples, int batchSize) throws SQLException {
+        return database.updateTuples(connection, tableName, tuples, batchSize);
+    }
+
+    /**
+     * Update multiple changed Tuples using JDBC batching, grouped by the columns they change.
+     *
+     * @param <T> UpdatableTuple type.
+     * @param tableName Table name.
+     * @param tuples Tuples to update.
+     * @param batchSize Maximum number of Tuples to update per batch.
+     * @return List of Tuples that couldn't be updated because one or more fields couldn't be retrieved. Empty if all fields retrieved.
+     * @throws SQLException Failure.
+     */
+    public <T extends UpdatableTuple> List<UpdatableTuple.UpdateFailure> updateTuples(String tableName, Stream<T> tuples, int batchSize) throws SQLException {
+        return database.updateTuples(connection, tableName, tuples, batchSize);
+    }
+
     /**
      * Issue a parametric update query with '?' substitutions.
      *
@@ -258,7 +620,7 @@ public class Xact {
      * @throws SQLException Error.
      */
     public boolean updateAll(Update update) throws SQLException {
-        return database.updateAll(update.getQueryText());
+        return database.updateAll(connection, update);
     }
 
     /**
@@ -269,7 +631,7 @@ public class Xact {
      * @throws SQLException Error.
      */
     public boolean update(Update update) throws SQLException {
-        return database.update(update.getQueryText(), update.getArguments());
+        return database.update(connection, update);
     }
 
     /**
@@ -0,0 +1,49 @@
+package org.reldb.wrapd.sqldb;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Wraps JDBC objects so tests can observe or alter what Database does with them.
+ */
+public class Interceptor {
+
+	/**
+	 * Wrap an object so that every call to it is passed to the object, then the call's method and result
+	 * are passed to a function whose result is returned in place of the object's.
+	 *
+	 * @param type Interface to wrap.
+	 * @param target Object to wrap.
+	 * @param after Function of the called method and its result, returning the result to be returned.
+	 * @return Wrapped object.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T intercept(Class<T> type, T target, BiFunction<Method, Object, Object> after) {
+		return (T)Proxy.newProxyInstance(Interceptor.class.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+			Object result;
+			try {
+				result = method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+			return after.apply(method, result);
+		});
+	}
+
+	/**
+	 * Wrap an object so that the result of every call to the named method is replaced by the replacement's result.
+	 *
+	 * @param type Interface to wrap.
+	 * @param target Object to wrap.
+	 * @param methodName Name of method whose results are to be replaced.
+	 * @param replacement Function of the method's result, returning the result to be returned.
+	 * @return Wrapped object.
+	 */
+	public static <T> T intercept(Class<T> type, T target, String methodName, UnaryOperator<Object> replacement) {
+		return intercept(type, target, (method, result) -> method.getName().equals(methodName) ? replacement.apply(result) : result);
+	}
+
+}
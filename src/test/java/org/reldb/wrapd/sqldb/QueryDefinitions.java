@@ -15,6 +15,7 @@ public class QueryDefinitions extends Definer {
         defineQueryForTable("SelectABCWhere", "$$abc", "SELECT * FROM $$abc WHERE a = {aVal}", 22);
         defineQuery("JoinABCXYZ", "SELECT * FROM $$abc, $$xyz WHERE x = a");
         defineQuery("JoinABCXYZWhere", "SELECT * FROM $$abc, $$xyz WHERE x = a AND x > {lower} AND x < {higher}", 2, 5);
+        defineImmutableQuery("ImmutableABC", "SELECT a, c FROM $$abc, $$xyz WHERE x < {xLimit}", 1007);
         defineUpdate("ClearABC", "DELETE FROM $$abc");
         defineUpdate("ClearXYZ", "DELETE FROM $$xyz");
         defineUpdate("ClearABCWhere", "DELETE FROM $$abc WHERE a = {aValue}", 3);
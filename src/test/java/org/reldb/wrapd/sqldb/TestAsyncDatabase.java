@@ -0,0 +1,76 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestAsyncDatabase {
+
+	public static class AsyncTuple extends Tuple {
+		public Integer x;
+		public Integer y;
+	}
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$async"});
+		database.updateAll("CREATE TABLE $$async (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+		for (var x = 0; x < 10; x++)
+			database.update("INSERT INTO $$async VALUES (?, ?)", x, x * 10);
+		return database;
+	}
+
+	@Test
+	public void testParallelQueries() throws Exception {
+		var database = new AsyncDatabase(getDatabase());
+		var all = database.queryAll("SELECT * FROM $$async", AsyncTuple.class);
+		var some = database.query("SELECT * FROM $$async WHERE x < ?", AsyncTuple.class, 5);
+		var value = database.valueOf("SELECT y FROM $$async WHERE x = ?", 3);
+		CompletableFuture.allOf(all, some, value).get();
+		assertEquals(10, all.get().count());
+		assertEquals(5, some.get().count());
+		assertEquals(Optional.of(30), value.get());
+	}
+
+	@Test
+	public void testUpdate() throws Exception {
+		var database = new AsyncDatabase(getDatabase());
+		database.update("DELETE FROM $$async WHERE x >= ?", 5).get();
+		assertEquals(Optional.of(5), database.valueOfAll("SELECT COUNT(*) FROM $$async").get());
+	}
+
+	@Test
+	public void testFailureCompletesExceptionally() throws Exception {
+		var database = new AsyncDatabase(getDatabase());
+		var failure = database.queryAll("SELECT * FROM $$nonexistent", AsyncTuple.class);
+		var exception = assertThrows(ExecutionException.class, failure::get);
+		assertTrue(exception.getCause() instanceof SQLException);
+	}
+
+	@Test
+	public void testExecutorIsUsed() throws Exception {
+		var executor = Executors.newSingleThreadExecutor();
+		try {
+			var runs = new AtomicInteger();
+			var database = new AsyncDatabase(getDatabase(), runnable -> {
+				runs.incrementAndGet();
+				executor.execute(runnable);
+			});
+			assertEquals(Optional.of(10), database.valueOfAll("SELECT COUNT(*) FROM $$async").get());
+			assertEquals(1, runs.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
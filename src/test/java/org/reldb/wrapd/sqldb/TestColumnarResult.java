@@ -0,0 +1,84 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.response.Response;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestColumnarResult {
+
+	private static final String[] regions = {"north", "south", "east"};
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$columnar"});
+		database.updateAll("CREATE TABLE $$columnar (id INTEGER, total BIGINT, amount REAL, region TEXT, flag BOOLEAN, PRIMARY KEY (id))");
+		for (var id = 0; id < 100; id++)
+			database.update("INSERT INTO $$columnar VALUES (?, ?, ?, ?, ?)",
+					id, id * 10000000000L, id == 5 ? null : id * 1.5, id == 7 ? null : regions[id % 3], id % 2 == 0);
+		return database;
+	}
+
+	@Test
+	public void testColumns() throws SQLException {
+		var database = getDatabase();
+		var result = database.queryAllColumnar("SELECT id, total, amount, region, flag FROM $$columnar ORDER BY id");
+		assertEquals(100, result.getRowCount());
+		assertEquals(5, result.getColumnCount());
+		assertEquals(ColumnarResult.Storage.INT, result.getStorage(0));
+		assertEquals(ColumnarResult.Storage.LONG, result.getStorage(1));
+		assertEquals(ColumnarResult.Storage.DOUBLE, result.getStorage(2));
+		assertEquals(ColumnarResult.Storage.STRING, result.getStorage(3));
+		assertEquals(ColumnarResult.Storage.BOOLEAN, result.getStorage(4));
+		var ids = result.getInts(0);
+		assertEquals(100, ids.length);
+		assertEquals(99, ids[99]);
+		assertEquals(990000000000L, result.getLongs(1)[99]);
+		assertEquals(15.0, result.getDoubles(2)[10]);
+		assertTrue(result.isNull(5, 2));
+		assertEquals(1, result.getNulls(2).cardinality());
+		assertEquals(50, result.getBooleans(4).cardinality());
+		assertThrows(IllegalArgumentException.class, () -> result.getLongs(0));
+	}
+
+	@Test
+	public void testDictionary() throws SQLException {
+		var database = getDatabase();
+		var result = database.queryColumnar("SELECT region FROM $$columnar WHERE id < ? ORDER BY id", 10);
+		var region = result.getColumnIndex("REGION");
+		assertEquals(List.of("north", "south", "east"), result.getDictionary(region));
+		var codes = result.getStringCodes(region);
+		assertEquals(1, codes[4]);
+		assertEquals(-1, codes[7]);
+		assertNull(result.getString(7, region));
+		assertEquals("east", result.getString(8, region));
+	}
+
+	@Test
+	public void testRows() throws SQLException {
+		var database = getDatabase();
+		var result = database.queryColumnar("SELECT id, region FROM $$columnar WHERE id >= ? ORDER BY id", 95);
+		var ids = result.rows().map(row -> row.getInt(0)).collect(Collectors.toList());
+		assertEquals(List.of(95, 96, 97, 98, 99), ids);
+		var row = result.getRow(2);
+		assertEquals(97, row.getObject("id"));
+		assertEquals("south", row.getString(1));
+		assertEquals(97.0, row.getDouble(0));
+	}
+
+	@Test
+	public void testEmptyInTransaction() throws SQLException {
+		var database = getDatabase();
+		var result = database.transact(xact -> Response.set(xact.queryColumnar("SELECT * FROM $$columnar WHERE id < ?", 0)));
+		assertEquals(0, result.value.getRowCount());
+		assertEquals(0, result.value.getInts(0).length);
+	}
+
+}
@@ -0,0 +1,139 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.response.Response;
+import org.reldb.wrapd.sqldb.sqlite.Configuration;
+import org.reldb.wrapd.sqldb.sqlite.SQLiteCustomisations;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestConnectionPool {
+
+	private static ConnectionPool getPool(int maximumSize) {
+		new DbHelper(Configuration.dbName);
+		return new ConnectionPool(Configuration.dbURL, null, maximumSize);
+	}
+
+	@Test
+	public void testConnectionsAreReused() throws SQLException {
+		try (var pool = getPool(2)) {
+			try (var connection = pool.getConnection()) {
+				assertFalse(connection.isClosed());
+				assertEquals(1, pool.getActiveCount());
+			}
+			assertEquals(0, pool.getActiveCount());
+			assertEquals(1, pool.getIdleCount());
+			try (var connection = pool.getConnection()) {
+				assertTrue(connection.isValid(1));
+			}
+			assertEquals(1, pool.getCreatedCount());
+			assertEquals(2, pool.getBorrowWaitHistogram().getCount());
+		}
+	}
+
+	@Test
+	public void testBorrowTimesOut() throws SQLException {
+		try (var pool = getPool(1)) {
+			pool.setBorrowTimeout(50);
+			try (var connection = pool.getConnection()) {
+				assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+				assertFalse(connection.isClosed());
+			}
+			assertEquals(1, pool.getTimeoutCount());
+			assertTrue(pool.getBorrowWaitHistogram().getMax() >= TimeUnit.MILLISECONDS.toNanos(50));
+		}
+	}
+
+	@Test
+	public void testReturnedConnectionIsHandedToWaitingBorrower() throws Exception {
+		try (var pool = getPool(1)) {
+			var connection = pool.getConnection();
+			var waiter = CompletableFuture.supplyAsync(() -> {
+				try {
+					return pool.getConnection();
+				} catch (SQLException e) {
+					throw new CompletionException(e);
+				}
+			});
+			while (pool.getWaitingCount() == 0 && !waiter.isDone())
+				Thread.sleep(1);
+			connection.close();
+			try (var handedOver = waiter.get(10, TimeUnit.SECONDS)) {
+				assertFalse(handedOver.isClosed());
+			}
+			assertEquals(1, pool.getCreatedCount());
+			assertThrows(SQLException.class, connection::createStatement);
+		}
+	}
+
+	@Test
+	public void testSettingsAreRestoredOnReturn() throws SQLException {
+		try (var pool = getPool(1)) {
+			try (var connection = pool.getConnection()) {
+				connection.setAutoCommit(false);
+			}
+			try (var connection = pool.getConnection()) {
+				assertTrue(connection.getAutoCommit());
+			}
+		}
+	}
+
+	@Test
+	public void testLeakedStatementsAreClosedOnReturn() throws SQLException {
+		try (var pool = getPool(1)) {
+			Statement statement;
+			PreparedStatement preparedStatement;
+			ResultSet resultSet;
+			try (var connection = pool.getConnection()) {
+				statement = connection.createStatement();
+				resultSet = statement.executeQuery("SELECT 1");
+				preparedStatement = connection.prepareStatement("SELECT ?");
+			}
+			assertTrue(statement.isClosed());
+			assertTrue(resultSet.isClosed());
+			assertTrue(preparedStatement.isClosed());
+		}
+	}
+
+	@Test
+	public void testInvalidIdleConnectionIsReplaced() throws SQLException {
+		try (var pool = getPool(1)) {
+			pool.setValidationIdleTime(0);
+			try (var connection = pool.getConnection()) {
+				connection.unwrap(Connection.class).close();
+			}
+			try (var connection = pool.getConnection()) {
+				assertTrue(connection.isValid(1));
+			}
+			assertEquals(1, pool.getValidationFailureCount());
+			assertEquals(2, pool.getCreatedCount());
+		}
+	}
+
+	@Test
+	public void testDatabaseUsesPool() throws SQLException {
+		try (var pool = getPool(4)) {
+			var database = new Database(pool, Configuration.dbTablenamePrefix, new SQLiteCustomisations());
+			clearDb(database, new String[] {"$$pool"});
+			database.updateAll("CREATE TABLE $$pool (x INTEGER)");
+			database.update("INSERT INTO $$pool (x) VALUES (?)", 3);
+			var result = database.transact(xact -> Response.set(xact.update("INSERT INTO $$pool (x) VALUES (?)", 4)));
+			assertTrue(result.isValid());
+			assertEquals(Optional.of(7), database.valueOfAll("SELECT SUM(x) FROM $$pool").map(sum -> ((Number)sum).intValue()));
+			assertEquals(0, pool.getActiveCount());
+		}
+	}
+
+}
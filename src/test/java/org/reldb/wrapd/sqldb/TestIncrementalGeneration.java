@@ -0,0 +1,89 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.TestConfiguration;
+import org.reldb.wrapd.generator.JavaGenerator;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.io.File;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestIncrementalGeneration {
+
+	private static final String packageSpec = "org.reldb.wrapd.test.tuples.sqltest.incremental";
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$incremental"});
+		database.updateAll("CREATE TABLE $$incremental (x INTEGER, y VARCHAR(20))");
+		database.update("INSERT INTO $$incremental (x, y) VALUES (?, ?)", 1, "one");
+		return database;
+	}
+
+	private static File getGeneratedFile(String className) {
+		return new File(JavaGenerator.obtainDirectoryFromSourcePathAndPackage(TestConfiguration.Directory, packageSpec), className + ".java");
+	}
+
+	@Test
+	public void testUnchangedDefinitionsAreNotRegenerated() throws Throwable {
+		var database = getDatabase();
+		var definer = new Definer(database, TestConfiguration.Directory, packageSpec);
+		definer.purgeTarget();
+		definer.setIncremental(true);
+		assertTrue(definer.isIncremental());
+		definer.defineQuery("IncrementalQuery", "SELECT * FROM $$incremental WHERE x = {x}", 1);
+		definer.defineValueOf("IncrementalValueOf", "SELECT y FROM $$incremental WHERE x = {x}", 1);
+		definer.defineQuery("IncrementalOrphan", "SELECT y FROM $$incremental");
+		assertEquals(0, definer.saveGenerationManifest());
+		var tupleFile = getGeneratedFile("IncrementalQueryTuple");
+		assertTrue(tupleFile.setLastModified(1000000000L));
+
+		// With the table gone, only definitions that don't query the database can succeed.
+		database.updateAll("DROP TABLE $$incremental");
+		var rerun = new Definer(database, TestConfiguration.Directory, packageSpec);
+		rerun.setIncremental(true);
+		var queryResult = rerun.defineQuery("IncrementalQuery", "SELECT * FROM $$incremental WHERE x = {x}", 1);
+		assertEquals(2, queryResult.generateResult.attributes.size());
+		assertEquals(tupleFile.getName(), queryResult.generateResult.generatedFile.getName());
+		var valueOfResult = rerun.defineValueOf("IncrementalValueOf", "SELECT y FROM $$incremental WHERE x = {x}", 1);
+		assertEquals(String.class, valueOfResult.type);
+		assertEquals(2, rerun.saveGenerationManifest());
+		assertEquals(1000000000L, tupleFile.lastModified());
+		assertFalse(getGeneratedFile("IncrementalOrphan").exists());
+		assertFalse(getGeneratedFile("IncrementalOrphanTuple").exists());
+		assertTrue(getGeneratedFile("IncrementalQuery").exists());
+	}
+
+	@Test
+	public void testUnchangedUpdateIsStillExecuted() throws Throwable {
+		var database = getDatabase();
+		var definer = new Definer(database, TestConfiguration.Directory, packageSpec);
+		definer.purgeTarget();
+		definer.setIncremental(true);
+		definer.defineUpdate("IncrementalUpdate", "INSERT INTO $$incremental (x, y) VALUES ({x}, {y})", 2, "two");
+		assertEquals(0, definer.saveGenerationManifest());
+		assertEquals(2L, database.longValueOf("SELECT COUNT(*) FROM $$incremental").orElseThrow());
+		var updateFile = getGeneratedFile("IncrementalUpdate");
+		assertTrue(updateFile.setLastModified(1000000000L));
+
+		var rerun = new Definer(database, TestConfiguration.Directory, packageSpec);
+		rerun.setIncremental(true);
+		rerun.defineUpdate("IncrementalUpdate", "INSERT INTO $$incremental (x, y) VALUES ({x}, {y})", 2, "two");
+		assertEquals(0, rerun.saveGenerationManifest());
+		assertEquals(3L, database.longValueOf("SELECT COUNT(*) FROM $$incremental").orElseThrow());
+		assertEquals(1000000000L, updateFile.lastModified());
+	}
+
+	@Test
+	public void testChangedArgumentsChangeHash() {
+		var hash = GenerationManifest.hash("query", "SELECT * FROM $$t WHERE x = ?", new Object[] {1}, "", null);
+		assertEquals(hash, GenerationManifest.hash("query", "SELECT * FROM $$t WHERE x = ?", new Object[] {1}, "", null));
+		assertNotEquals(hash, GenerationManifest.hash("query", "SELECT * FROM $$t WHERE x = ?", new Object[] {1L}, "", null));
+		assertNotEquals(hash, GenerationManifest.hash("query", "SELECT * FROM $$t WHERE x = ?", new Object[] {1}, "test_", null));
+	}
+
+}
@@ -0,0 +1,70 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.response.Result;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestInsertAll {
+
+	private static Database database;
+
+	public static class InsertTuple extends UpdatableTuple {
+		public Integer x;
+		public Integer y;
+
+		public InsertTuple(Database database) {
+			super(database);
+		}
+
+		public InsertTuple(Database database, int x, int y) {
+			super(database);
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	@BeforeEach
+	public void setup() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$insertall"});
+		database.updateAll("CREATE TABLE $$insertall (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+	}
+
+	@Test
+	public void testInsertAllInPartialBatches() throws SQLException {
+		var tuples = new ArrayList<InsertTuple>();
+		for (var i = 0; i < 250; i++)
+			tuples.add(new InsertTuple(database, i, i * 2));
+		var result = database.transact(xact -> {
+			assertTrue(xact.insertAll("$$insertall", tuples, 100).isEmpty());
+			return Result.OK;
+		});
+		assertTrue(result.isValid());
+		assertEquals(250, database.valueOfAll("SELECT COUNT(*) FROM $$insertall").orElseThrow());
+		assertEquals(498, database.valueOf("SELECT y FROM $$insertall WHERE x = ?", 249).orElseThrow());
+	}
+
+	@Test
+	public void testInsertAllFromStream() throws SQLException {
+		var failures = database.insertAll("$$insertall", IntStream.range(0, 10).mapToObj(i -> new InsertTuple(database, i, i)), 3);
+		assertTrue(failures.isEmpty());
+		assertEquals(10, database.valueOfAll("SELECT COUNT(*) FROM $$insertall").orElseThrow());
+	}
+
+	@Test
+	public void testInsertAllRejectsInvalidBatchSize() {
+		assertThrows(IllegalArgumentException.class, () -> database.insertAll("$$insertall", new ArrayList<InsertTuple>(), 0));
+	}
+
+}
@@ -0,0 +1,113 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestInstrumentation {
+
+	public static class InstrumentedTuple extends Tuple {
+		public Integer x;
+		public Integer y;
+	}
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$instrumented"});
+		database.updateAll("CREATE TABLE $$instrumented (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+		for (var x = 0; x < 10; x++)
+			database.update("INSERT INTO $$instrumented VALUES (?, ?)", x, x * 10);
+		return database;
+	}
+
+	@Test
+	public void testInactiveWithoutListeners() throws SQLException {
+		var database = getDatabase();
+		assertFalse(database.getInstrumentation().isActive());
+		assertNull(database.getInstrumentation().begin("test: ", null, "SELECT 1", 0));
+	}
+
+	@Test
+	public void testStatementEvents() throws SQLException {
+		var database = getDatabase();
+		List<StatementEvent> events = new CopyOnWriteArrayList<>();
+		Instrumentation.StatementListener listener = events::add;
+		database.getInstrumentation().addListener(listener);
+		try {
+			assertEquals(4, database.query("SELECT * FROM $$instrumented WHERE x > ?", InstrumentedTuple.class, 5).count());
+			assertEquals(10, database.queryAll("SELECT * FROM $$instrumented", InstrumentedTuple.class).count());
+			database.update("UPDATE $$instrumented SET y = ? WHERE x < ?", 0, 3);
+		} finally {
+			database.getInstrumentation().removeListener(listener);
+		}
+		assertEquals(3, events.size());
+		var query = events.get(0);
+		assertEquals(1, query.parameterCount);
+		assertEquals(4, query.rowCount);
+		assertFalse(query.isError());
+		assertTrue(query.prepareNanos >= 0 && query.executeNanos >= 0 && query.fetchNanos >= 0);
+		assertEquals("queryAll: ", events.get(1).location);
+		assertEquals(10, events.get(1).rowCount);
+		assertEquals(2, events.get(2).parameterCount);
+		assertEquals(3, events.get(2).rowCount);
+		database.query("SELECT * FROM $$instrumented", InstrumentedTuple.class);
+		assertEquals(3, events.size());
+	}
+
+	@Test
+	public void testSQLEventsDistributedToListeners() throws SQLException {
+		var database = getDatabase();
+		List<Database.SQLEvent> events = new CopyOnWriteArrayList<>();
+		Consumer<Database.SQLEvent> listener = events::add;
+		database.sqlEvents.addListener(listener);
+		database.queryAll("SELECT * FROM $$instrumented", InstrumentedTuple.class);
+		assertEquals(1, events.size());
+		assertEquals("queryAll: ", events.get(0).location);
+		database.sqlEvents.removeListener(listener);
+		database.queryAll("SELECT * FROM $$instrumented", InstrumentedTuple.class);
+		assertEquals(1, events.size());
+	}
+
+	@Test
+	public void testFailureIsReported() throws SQLException {
+		var database = getDatabase();
+		List<StatementEvent> events = new CopyOnWriteArrayList<>();
+		database.getInstrumentation().addListener(events::add);
+		assertThrows(SQLException.class, () -> database.update("INSERT INTO $$instrumented VALUES (?, ?)", 1, 1));
+		assertEquals(1, events.size());
+		assertTrue(events.get(0).isError());
+	}
+
+	@Test
+	public void testAsyncListener() throws Exception {
+		var database = getDatabase();
+		List<StatementEvent> events = new CopyOnWriteArrayList<>();
+		var release = new CountDownLatch(1);
+		var listener = new AsyncStatementListener(event -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			events.add(event);
+		}, 1);
+		database.getInstrumentation().addListener(listener);
+		for (var i = 0; i < 5; i++)
+			database.queryAll("SELECT * FROM $$instrumented", InstrumentedTuple.class);
+		database.getInstrumentation().removeListener(listener);
+		assertTrue(listener.getDroppedCount() > 0);
+		release.countDown();
+		listener.close();
+		assertEquals(5, events.size() + listener.getDroppedCount());
+	}
+
+}
@@ -0,0 +1,88 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.response.Response;
+import org.reldb.wrapd.response.Result;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestLazyStream {
+
+	private static final int rowCount = 1000;
+
+	private static Database database;
+
+	public static class LazyTuple extends Tuple {
+		public Integer x;
+		public Integer y;
+	}
+
+	@BeforeAll
+	public static void setup() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$lazy"});
+		database.updateAll("CREATE TABLE $$lazy (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+		database.transact(xact -> {
+			for (var i = 0; i < rowCount; i++)
+				xact.update("INSERT INTO $$lazy (x, y) VALUES (?, ?)", i, i * 3);
+			return Result.OK;
+		});
+	}
+
+	@Test
+	public void testLazyStreamReturnsAllRows() throws SQLException {
+		database.setFetchSize(100);
+		try (var rows = database.queryAllLazy("SELECT * FROM $$lazy", LazyTuple.class)) {
+			assertEquals(rowCount, rows.count());
+		}
+	}
+
+	@Test
+	public void testLazyStreamCanBeAbandonedEarly() throws SQLException {
+		try (var rows = database.queryLazy("SELECT * FROM $$lazy WHERE x >= ? ORDER BY x", LazyTuple.class, 10)) {
+			var firstFew = rows.limit(3).map(row -> row.x).collect(Collectors.toList());
+			assertEquals(List.of(10, 11, 12), firstFew);
+		}
+		assertEquals(rowCount, database.queryAll("SELECT * FROM $$lazy", LazyTuple.class).count());
+	}
+
+	@Test
+	public void testToStreamReadsRowsOnDemandAndLeavesResultSetOpen() throws SQLException {
+		var result = database.query("SELECT * FROM $$lazy ORDER BY x", resultSet -> {
+			try {
+				List<Integer> firstFew;
+				try (var rows = ResultSetToTuple.toStream(resultSet, LazyTuple.class)) {
+					firstFew = rows.limit(2).map(row -> row.x).collect(Collectors.toList());
+				}
+				assertFalse(resultSet.isClosed());
+				assertEquals(1, resultSet.getInt("x"));
+				return Response.set(firstFew);
+			} catch (Throwable t) {
+				return Response.set(t);
+			}
+		});
+		assertEquals(List.of(0, 1), result);
+	}
+
+	@Test
+	public void testLazyStreamInTransaction() throws SQLException {
+		var result = database.transact(xact -> {
+			try (var rows = xact.queryLazy("SELECT * FROM $$lazy WHERE x < ?", LazyTuple.class, 50)) {
+				assertTrue(rows.allMatch(row -> row.y == row.x * 3));
+			}
+			return Result.OK;
+		});
+		assertTrue(result.isValid());
+	}
+
+}
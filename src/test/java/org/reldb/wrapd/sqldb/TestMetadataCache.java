@@ -0,0 +1,70 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestMetadataCache {
+
+	@Test
+	public void testConcurrentRequestsLoadOnce() throws Exception {
+		var cache = new MetadataCache();
+		var loads = new AtomicInteger();
+		var threadCount = 16;
+		var start = new CountDownLatch(1);
+		var executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			var futures = new ArrayList<Future<String[]>>();
+			for (var i = 0; i < threadCount; i++)
+				futures.add(executor.submit(() -> {
+					start.await();
+					return cache.getPrimaryKey("t", () -> {
+						loads.incrementAndGet();
+						Thread.sleep(50);
+						return new String[] {"id"};
+					});
+				}));
+			start.countDown();
+			for (var future: futures)
+				assertArrayEquals(new String[] {"id"}, future.get(10, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testFailedLoadIsRetried() throws SQLException {
+		var cache = new MetadataCache();
+		assertThrows(SQLException.class, () -> cache.getPrimaryKey("t", () -> {
+			throw new SQLException("unavailable");
+		}));
+		assertArrayEquals(new String[] {"id"}, cache.getPrimaryKey("t", () -> new String[] {"id"}));
+	}
+
+	@Test
+	public void testInvalidatedPrimaryKeyIsReloaded() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$metadata"});
+		database.updateAll("CREATE TABLE $$metadata (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+		database.warmMetadataCache("$$metadata");
+		assertEquals(1, database.getMetadataCache().getPrimaryKeyCount());
+		assertArrayEquals(new String[] {"x"}, database.getKeyColumnNamesFor("$$metadata"));
+		database.updateAll("DROP TABLE $$metadata");
+		database.updateAll("CREATE TABLE $$metadata (x INTEGER, y INTEGER, PRIMARY KEY (y))");
+		database.invalidateMetadata("$$metadata");
+		assertArrayEquals(new String[] {"y"}, database.getKeyColumnNamesFor("$$metadata"));
+	}
+
+}
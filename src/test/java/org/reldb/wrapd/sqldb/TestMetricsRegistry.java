@@ -0,0 +1,114 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestMetricsRegistry {
+
+	public static class MeasuredTuple extends Tuple {
+		public Integer x;
+		public Integer y;
+	}
+
+	public static class MeasuredQuery extends Query<MeasuredTuple> {
+		MeasuredQuery(int minimum) {
+			super("SELECT * FROM $$measured WHERE x >= ?", MeasuredTuple.class, minimum);
+		}
+	}
+
+	public static class Other {
+		public static class MeasuredQuery extends Query<MeasuredTuple> {
+			MeasuredQuery(int minimum) {
+				super("SELECT * FROM $$measured WHERE x < ?", MeasuredTuple.class, minimum);
+			}
+		}
+	}
+
+	private static final String MeasuredQueryName = MeasuredQuery.class.getName();
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$measured"});
+		database.updateAll("CREATE TABLE $$measured (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+		for (var x = 0; x < 10; x++)
+			database.update("INSERT INTO $$measured VALUES (?, ?)", x, x * 10);
+		return database;
+	}
+
+	@Test
+	public void testHistogramPrecision() {
+		var histogram = new LatencyHistogram();
+		for (var value = 1; value <= 100000; value++)
+			histogram.record(value * 1000L);
+		assertEquals(100000, histogram.getCount());
+		assertEquals(1000, histogram.getMin());
+		assertEquals(100000000, histogram.getMax());
+		var p50 = histogram.getValueAtPercentile(50);
+		assertTrue(Math.abs(p50 - 50000000) <= 50000000 / LatencyHistogram.SubBucketCount, "p50 = " + p50);
+		var p99 = histogram.getValueAtPercentile(99);
+		assertTrue(Math.abs(p99 - 99000000) <= 99000000 / LatencyHistogram.SubBucketCount, "p99 = " + p99);
+		assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+
+	@Test
+	public void testMetricsByName() throws SQLException {
+		var database = getDatabase();
+		var registry = database.getMetricsRegistry();
+		assertSame(registry, database.getMetricsRegistry());
+		for (var i = 0; i < 3; i++)
+			assertEquals(5, database.query(new MeasuredQuery(5)).count());
+		assertThrows(SQLException.class, () -> database.update("INSERT INTO $$measured VALUES (?, ?)", 1, 1));
+		var metrics = registry.get(MeasuredQueryName);
+		assertNotNull(metrics);
+		assertEquals(3, metrics.getCount());
+		assertEquals(0, metrics.getErrorCount());
+		assertEquals(15, metrics.getRowCount());
+		assertTrue(metrics.getLatency().getValueAtPercentile(99) > 0);
+		var failed = registry.get("INSERT INTO " + database.replaceTableNames("$$measured") + " VALUES (?, ?)");
+		assertNotNull(failed);
+		assertEquals(1, failed.getErrorCount());
+		var text = registry.toText();
+		assertTrue(text.contains("wrapd_statement_latency_seconds_count{query=\"" + MeasuredQueryName + "\"} 3"));
+		assertTrue(text.contains("wrapd_statement_rows_total{query=\"" + MeasuredQueryName + "\"} 15"));
+		registry.reset();
+		assertNull(registry.get(MeasuredQueryName));
+	}
+
+	@Test
+	public void testSameNamedQueriesHaveSeparateMetrics() throws SQLException {
+		var database = getDatabase();
+		var registry = database.getMetricsRegistry();
+		registry.reset();
+		assertEquals(5, database.query(new MeasuredQuery(5)).count());
+		assertEquals(3, database.query(new Other.MeasuredQuery(3)).count());
+		assertEquals(5, registry.get(MeasuredQueryName).getRowCount());
+		assertEquals(3, registry.get(Other.MeasuredQuery.class.getName()).getRowCount());
+	}
+
+	@Test
+	public void testUnnamedStatementsBeyondCapacityShareMetrics() throws SQLException {
+		var database = getDatabase();
+		var registry = database.getMetricsRegistry();
+		registry.reset();
+		registry.setUnnamedCapacity(2);
+		for (var x = 0; x < 5; x++)
+			database.valueOfAll("SELECT y FROM $$measured WHERE x = " + x);
+		for (var i = 0; i < 2; i++)
+			assertEquals(5, database.query(new MeasuredQuery(5)).count());
+		assertEquals(4, registry.getAll().size());
+		assertNotNull(registry.get("SELECT y FROM " + database.replaceTableNames("$$measured") + " WHERE x = 1"));
+		assertNull(registry.get("SELECT y FROM " + database.replaceTableNames("$$measured") + " WHERE x = 2"));
+		assertEquals(3, registry.get(MetricsRegistry.OverflowName).getCount());
+		assertEquals(2, registry.get(MeasuredQueryName).getCount());
+	}
+
+}
@@ -0,0 +1,50 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.TestConfiguration;
+import org.reldb.wrapd.generator.JavaGenerator;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestParallelDefinition {
+
+	private static final String sequentialPackage = "org.reldb.wrapd.test.tuples.sqltest.sequential";
+	private static final String parallelPackage = "org.reldb.wrapd.test.tuples.sqltest.parallel";
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$parallel"});
+		database.updateAll("CREATE TABLE $$parallel (x INTEGER, y VARCHAR(20))");
+		for (var x = 0; x < 100; x++)
+			database.update("INSERT INTO $$parallel (x, y) VALUES (?, ?)", x, "row" + x);
+		return database;
+	}
+
+	private static String define(Database database, String packageSpec, int parallelism) throws Throwable {
+		var definer = new Definer(database, TestConfiguration.Directory, packageSpec);
+		definer.purgeTarget();
+		definer.setParallelism(parallelism);
+		assertEquals(parallelism, definer.getParallelism());
+		definer.define("testparallelqueries.yaml");
+		assertEquals(6, definer.getMethods().size());
+		definer.emitDatabaseAbstractionLayer("ParallelAbstractionLayer");
+		var layer = new File(JavaGenerator.obtainDirectoryFromSourcePathAndPackage(TestConfiguration.Directory, packageSpec), "ParallelAbstractionLayer.java");
+		return Files.readString(layer.toPath()).replace(packageSpec, "");
+	}
+
+	@Test
+	public void testParallelDefinitionMatchesSequential() throws Throwable {
+		var database = getDatabase();
+		var sequential = define(database, sequentialPackage, 1);
+		var parallel = define(database, parallelPackage, 4);
+		assertEquals(sequential, parallel);
+	}
+
+}
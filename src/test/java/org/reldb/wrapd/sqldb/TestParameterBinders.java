@@ -0,0 +1,85 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.TestConfiguration;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestParameterBinders {
+
+	private static class Celsius {
+		final double degrees;
+
+		Celsius(double degrees) {
+			this.degrees = degrees;
+		}
+
+		public String toString() {
+			return degrees + "C";
+		}
+	}
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$binders"});
+		database.updateAll("CREATE TABLE $$binders (x INTEGER, b BLOB, t REAL)");
+		return database;
+	}
+
+	@Test
+	public void testResolution() {
+		var binders = new ParameterBinders();
+		ParameterBinders.ParameterBinder<CharSequence> charSequenceBinder = (statement, position, value) -> statement.setString(position, value.toString());
+		binders.register(CharSequence.class, charSequenceBinder);
+		assertSame(charSequenceBinder, binders.getBinder(StringBuilder.class));
+		assertNotSame(charSequenceBinder, binders.getBinder(String.class));
+		assertSame(binders.getBinder(Celsius.class), binders.getBinder(Celsius.class));
+	}
+
+	@Test
+	public void testRegistrationChangesVersion() {
+		var binders = new ParameterBinders();
+		var version = binders.getVersion();
+		binders.register(Celsius.class, (statement, position, value) -> statement.setDouble(position, value.degrees));
+		assertNotEquals(version, binders.getVersion());
+	}
+
+	@Test
+	public void testBytesAreNotConvertedToString() throws SQLException {
+		var database = getDatabase();
+		var bytes = new byte[] {1, 2, 3, 4};
+		database.update("INSERT INTO $$binders (x, b) VALUES (?, ?)", 1, bytes);
+		Optional<?> value = database.valueOf("SELECT b FROM $$binders WHERE x = ?", 1);
+		assertTrue(value.isPresent());
+		assertArrayEquals(bytes, (byte[])value.get());
+	}
+
+	@Test
+	public void testCustomBinder() throws SQLException {
+		var database = getDatabase();
+		database.update("INSERT INTO $$binders (x, t) VALUES (?, ?)", 1, new Celsius(21.5));
+		assertEquals(Optional.of("21.5C"), database.valueOf("SELECT t FROM $$binders WHERE x = ?", 1));
+		database.getParameterBinders().register(Celsius.class, (statement, position, value) -> statement.setDouble(position, value.degrees));
+		database.update("INSERT INTO $$binders (x, t) VALUES (?, ?)", 2, new Celsius(21.5));
+		assertEquals(Optional.of(21.5), database.valueOf("SELECT t FROM $$binders WHERE x = ?", 2));
+	}
+
+	@Test
+	public void testGeneratedQueryUsesTypedSetters() {
+		var generator = new QueryTypeGenerator(TestConfiguration.Directory + "SQL/code", "org.reldb.wrapd.test.tuples.sqltest.generated",
+				"TestTupleBinders", "TestQueryBinders", "select * from sometable where x = {x} and y = {y} and z = {z}", 3, "y", UUID.randomUUID());
+		generator.generate();
+		var source = generator.getDefinitionSourceCode();
+		assertTrue(source.contains("ParameterBinders.bindInteger(statement, 1, (java.lang.Integer)arguments[0]);"));
+		assertTrue(source.contains("ParameterBinders.bindString(statement, 2, (java.lang.String)arguments[1]);"));
+		assertTrue(source.contains("database.getParameterBinders().bind(statement, 3, arguments[2]);"));
+	}
+
+}
@@ -0,0 +1,119 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.response.Result;
+import org.reldb.wrapd.sqldb.sqlite.Configuration;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+import org.reldb.wrapd.sqldb.sqlite.SQLiteCustomisations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestPreparedStatementCache {
+
+	private static Database database;
+
+	@BeforeAll
+	public static void setup() throws SQLException {
+		new DbHelper(Configuration.dbName);
+		database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$pscache"});
+		database.updateAll("CREATE TABLE $$pscache (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+	}
+
+	@Test
+	public void testRepeatedStatementIsReused() throws SQLException {
+		database.setPreparedStatementCacheSize(2);
+		var statistics = database.getPreparedStatementCacheStatistics();
+		statistics.reset();
+		var result = database.transact(xact -> {
+			for (var i = 0; i < 10; i++)
+				xact.update("INSERT INTO $$pscache (x, y) VALUES (?, ?)", i, i * 2);
+			for (var i = 0; i < 10; i++)
+				assertEquals(i * 2, xact.valueOf("SELECT y FROM $$pscache WHERE x = ?", i).orElseThrow());
+			return Result.OK;
+		});
+		assertTrue(result.isValid());
+		assertEquals(2, statistics.getMisses());
+		assertEquals(18, statistics.getHits());
+		assertEquals(0, statistics.getEvictions());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+		database.setPreparedStatementCacheSize(1);
+		var statistics = database.getPreparedStatementCacheStatistics();
+		statistics.reset();
+		var result = database.transact(xact -> {
+			xact.valueOf("SELECT y FROM $$pscache WHERE x = ?", 1);
+			xact.valueOf("SELECT x FROM $$pscache WHERE y = ?", 2);
+			xact.valueOf("SELECT y FROM $$pscache WHERE x = ?", 1);
+			return Result.OK;
+		});
+		assertTrue(result.isValid());
+		assertEquals(3, statistics.getMisses());
+		assertEquals(0, statistics.getHits());
+		assertEquals(2, statistics.getEvictions());
+	}
+
+	@Test
+	public void testStatementIsReusedByLaterBorrowersOfPooledConnection() throws SQLException {
+		database.setPreparedStatementCacheSize(2);
+		var statistics = database.getPreparedStatementCacheStatistics();
+		statistics.reset();
+		for (var i = 0; i < 10; i++)
+			database.valueOf("SELECT y FROM $$pscache WHERE x = ?", i);
+		assertTrue(statistics.getHits() > 0);
+		assertEquals(10, statistics.getHits() + statistics.getMisses());
+	}
+
+	@Test
+	public void testClearedCacheIsDiscarded() throws SQLException {
+		database.setPreparedStatementCacheSize(2);
+		var statistics = database.getPreparedStatementCacheStatistics();
+		var result = database.transact(xact -> {
+			xact.valueOf("SELECT y FROM $$pscache WHERE x = ?", 1);
+			statistics.reset();
+			database.clearPreparedStatementCaches();
+			xact.valueOf("SELECT y FROM $$pscache WHERE x = ?", 1);
+			xact.valueOf("SELECT y FROM $$pscache WHERE x = ?", 1);
+			return Result.OK;
+		});
+		assertTrue(result.isValid());
+		assertEquals(1, statistics.getMisses());
+		assertEquals(1, statistics.getHits());
+	}
+
+	@Test
+	public void testCacheOfClosedConnectionIsDiscarded() throws SQLException {
+		try (var pool = new ConnectionPool(Configuration.dbURL, null, 1)) {
+			pool.setValidationIdleTime(0);
+			var pooled = new Database(pool, Configuration.dbTablenamePrefix, new SQLiteCustomisations());
+			pooled.setPreparedStatementCacheSize(2);
+			pooled.setPreparedStatementCacheSweepInterval(0, TimeUnit.MILLISECONDS);
+			pooled.valueOf("SELECT y FROM $$pscache WHERE x = ?", 1);
+			assertEquals(1, pooled.getPreparedStatementCacheCount());
+			try (var connection = pool.getConnection()) {
+				connection.unwrap(Connection.class).close();
+			}
+			pooled.valueOf("SELECT y FROM $$pscache WHERE x = ?", 1);
+			assertEquals(1, pooled.getPreparedStatementCacheCount());
+			assertEquals(2, pool.getCreatedCount());
+		}
+	}
+
+	@Test
+	public void testCacheDisabledByDefault() throws SQLException {
+		var uncached = GetDatabase.getDatabase();
+		assertEquals(0, uncached.getPreparedStatementCacheSize());
+		uncached.valueOf("SELECT y FROM $$pscache WHERE x = ?", 1);
+		assertEquals(0, uncached.getPreparedStatementCacheStatistics().getMisses());
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.TestConfiguration;
+import org.reldb.wrapd.response.Response;
+import org.reldb.wrapd.sqldb.sqlite.Configuration;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+import org.reldb.wrapd.sqldb.sqlite.SQLiteCustomisations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+import static org.reldb.wrapd.sqldb.Interceptor.intercept;
+
+public class TestQueryMetaData {
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$probe"});
+		database.updateAll("CREATE TABLE $$probe (x INTEGER NOT NULL, y VARCHAR(20), PRIMARY KEY (x))");
+		for (var x = 0; x < 100; x++)
+			database.update("INSERT INTO $$probe (x, y) VALUES (?, ?)", x, "row" + x);
+		return database;
+	}
+
+	// A DataSource whose PreparedStatementS can't describe their results until they're executed.
+	private static DataSource withoutPreparedMetaData(DataSource dataSource) {
+		return intercept(DataSource.class, dataSource, "getConnection", connection ->
+			intercept(Connection.class, (Connection)connection, "prepareStatement", statement ->
+				intercept(PreparedStatement.class, (PreparedStatement)statement, "getMetaData", metadata -> null)));
+	}
+
+	private static Response<List<String>> getColumnNames(ResultSetMetaData metadata) {
+		try {
+			var names = new ArrayList<String>();
+			for (var column = 1; column <= metadata.getColumnCount(); column++)
+				names.add(metadata.getColumnName(column).toLowerCase());
+			return Response.set(names);
+		} catch (SQLException e) {
+			return Response.set(e);
+		}
+	}
+
+	@Test
+	public void testQueryMetaDataReturnsColumns() throws SQLException {
+		var database = getDatabase();
+		List<String> columns = database.queryMetaData("SELECT x, y FROM $$probe WHERE x > ?", TestQueryMetaData::getColumnNames, 1000);
+		assertEquals(List.of("x", "y"), columns);
+	}
+
+	@Test
+	public void testQueryMetaDataFallsBackToProbeQuery() throws SQLException {
+		getDatabase();
+		var probeQueries = new ArrayList<String>();
+		var customisations = new SQLiteCustomisations() {
+			@Override
+			public String getMetaDataProbeQuery(String query) {
+				var probeQuery = super.getMetaDataProbeQuery(query);
+				probeQueries.add(probeQuery);
+				return probeQuery;
+			}
+		};
+		var dataSource = withoutPreparedMetaData(new Pool(Configuration.dbURL, null, null).getDataSource());
+		var database = new Database(dataSource, Configuration.dbTablenamePrefix, customisations);
+		List<String> columns = database.queryMetaData("SELECT x, y FROM $$probe WHERE x > ?", TestQueryMetaData::getColumnNames, 1000);
+		assertEquals(List.of("x", "y"), columns);
+		var sqlized = database.replaceTableNames("SELECT x, y FROM $$probe WHERE x > ?");
+		assertEquals(List.of("SELECT * FROM (" + sqlized + ") wrapd_probe WHERE 1 = 0"), probeQueries);
+	}
+
+	@Test
+	public void testDefinerGeneratesTupleFromMetaDataOnly() throws Throwable {
+		var database = getDatabase();
+		var definer = new Definer(database, TestConfiguration.Directory, "org.reldb.wrapd.test.tuples.sqltest.generated");
+		definer.setMetaDataOnly(true);
+		assertTrue(definer.isMetaDataOnly());
+		var result = definer.defineQuery("MetaDataOnlyProbe", "SELECT x, y FROM $$probe WHERE x > {lower}", 1000);
+		assertEquals(2, result.generateResult.attributes.size());
+		assertEquals("x", result.generateResult.attributes.get(0).name.toLowerCase());
+		var valueOf = definer.defineValueOf("MetaDataOnlyProbeValueOf", "SELECT y FROM $$probe WHERE x > {lower}", 1000);
+		assertEquals(String.class, valueOf.type);
+	}
+
+}
@@ -0,0 +1,145 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.TestConfiguration;
+import org.reldb.wrapd.response.Response;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestResultCache {
+
+	public static class ReferenceTuple extends Tuple {
+		public Integer x;
+		public Integer y;
+	}
+
+	public static class ReferenceQuery extends Query<ReferenceTuple> {
+		ReferenceQuery(int minimum) {
+			super("SELECT * FROM $$reference WHERE x >= ?", ReferenceTuple.class, minimum);
+		}
+
+		@Override
+		public boolean isCacheable() {
+			return true;
+		}
+	}
+
+	public static class NoTableQuery extends Query<ReferenceTuple> {
+		NoTableQuery(int x) {
+			super("SELECT ? AS x, 0 AS y", ReferenceTuple.class, x);
+		}
+
+		@Override
+		public boolean isCacheable() {
+			return true;
+		}
+	}
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$reference", "$$unrelated"});
+		database.updateAll("CREATE TABLE $$reference (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+		database.updateAll("CREATE TABLE $$unrelated (x INTEGER)");
+		for (var x = 0; x < 10; x++)
+			database.update("INSERT INTO $$reference VALUES (?, ?)", x, x * 10);
+		return database;
+	}
+
+	@Test
+	public void testTableNames() {
+		assertEquals(Set.of("abc", "xyz"), ResultCache.getTableNames("SELECT * FROM abc a, \"XYZ\" WHERE a.x = 'FROM q'"));
+		assertEquals(Set.of("abc", "xyz"), ResultCache.getTableNames("SELECT * FROM abc JOIN main.xyz ON abc.x = xyz.x"));
+		assertEquals(Set.of("abc"), ResultCache.getTableNames("INSERT INTO abc (x) VALUES (?)"));
+		assertEquals(Set.of("abc", "xyz"), ResultCache.getTableNames("UPDATE abc SET x = 1 WHERE x IN (SELECT x FROM xyz)"));
+		assertEquals(Set.of("abc"), ResultCache.getTableNames("DROP TABLE IF EXISTS abc"));
+		assertTrue(ResultCache.getTableNames("SELECT 1").isEmpty());
+	}
+
+	@Test
+	public void testCachedUntilTableWritten() throws SQLException {
+		var database = getDatabase();
+		var cache = database.getResultCache();
+		assertEquals(5, database.query(new ReferenceQuery(5)).count());
+		database.updateAll("INSERT INTO $$reference VALUES (10, 100)");
+		assertEquals(6, database.query(new ReferenceQuery(5)).count());
+		assertEquals(6, database.query(new ReferenceQuery(5)).count());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, database.query(new ReferenceQuery(9)).count());
+		database.update("INSERT INTO $$unrelated VALUES (?)", 1);
+		assertEquals(2, cache.size());
+		database.update("DELETE FROM $$reference WHERE x = ?", 10);
+		assertEquals(0, cache.size());
+		assertEquals(5, database.query(new ReferenceQuery(5)).count());
+	}
+
+	@Test
+	public void testTransactionWriteInvalidatesOnEnd() throws SQLException {
+		var database = getDatabase();
+		var cache = database.getResultCache();
+		assertEquals(5, database.query(new ReferenceQuery(5)).count());
+		database.transact(xact -> {
+			xact.update("INSERT INTO $$reference VALUES (?, ?)", 10, 100);
+			return Response.set(true);
+		});
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getPendingTransactionCount());
+		assertEquals(6, database.query(new ReferenceQuery(5)).count());
+	}
+
+	@Test
+	public void testWriteOnCallerManagedTransactionInvalidates() throws SQLException {
+		var database = getDatabase();
+		var cache = database.getResultCache();
+		assertEquals(5, database.query(new ReferenceQuery(5)).count());
+		database.useConnection(connection -> {
+			connection.setAutoCommit(false);
+			database.update(connection, "INSERT INTO $$reference VALUES (?, ?)", 10, 100);
+			assertEquals(0, cache.size());
+			connection.commit();
+			connection.setAutoCommit(true);
+			return null;
+		});
+		assertEquals(0, cache.getPendingTransactionCount());
+		assertEquals(6, database.query(new ReferenceQuery(5)).count());
+	}
+
+	@Test
+	public void testQueryWithoutTablesIsNotCached() throws SQLException {
+		var database = getDatabase();
+		var cache = database.getResultCache();
+		assertEquals(1, database.query(new NoTableQuery(3)).count());
+		assertEquals(1, database.query(new NoTableQuery(3)).count());
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+	}
+
+	@Test
+	public void testExpiryAndEviction() throws SQLException {
+		var database = getDatabase();
+		var cache = database.getResultCache();
+		cache.setMaximumSize(1);
+		database.query(new ReferenceQuery(1));
+		database.query(new ReferenceQuery(2));
+		assertEquals(1, cache.size());
+		cache.setTimeToLive(0);
+		database.query(new ReferenceQuery(3));
+		database.query(new ReferenceQuery(3));
+		assertEquals(0, cache.getHitCount());
+	}
+
+	@Test
+	public void testGeneratedQueryIsCacheable() {
+		var generator = new QueryTypeGenerator(TestConfiguration.Directory + "SQL/code", "org.reldb.wrapd.test.tuples.sqltest.generated",
+				"TestTupleCached", "TestQueryCached", "select * from sometable");
+		generator.setCacheable(true);
+		generator.generate();
+		assertTrue(generator.getDefinitionSourceCode().contains("public boolean isCacheable() {\n\t\treturn true;"));
+	}
+
+}
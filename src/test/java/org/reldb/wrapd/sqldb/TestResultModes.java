@@ -0,0 +1,70 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.response.Response;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestResultModes {
+
+	public static class ModeTuple extends Tuple {
+		public Integer x;
+		public Integer y;
+	}
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$modes"});
+		database.updateAll("CREATE TABLE $$modes (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+		for (var x = 0; x < 10; x++)
+			database.update("INSERT INTO $$modes VALUES (?, ?)", x, x * 10);
+		return database;
+	}
+
+	@Test
+	public void testList() throws SQLException {
+		var database = getDatabase();
+		var rows = database.queryAsList("SELECT * FROM $$modes WHERE x >= ? ORDER BY x", ModeTuple.class, 4);
+		assertTrue(rows instanceof ArrayList);
+		assertEquals(6, rows.size());
+		assertEquals(40, rows.get(0).y);
+		assertEquals(9, rows.get(5).x);
+		assertEquals(10, database.queryAllAsList("SELECT * FROM $$modes", ModeTuple.class).size());
+	}
+
+	@Test
+	public void testArray() throws SQLException {
+		var database = getDatabase();
+		ModeTuple[] rows = database.queryAllAsArray("SELECT * FROM $$modes ORDER BY x DESC", ModeTuple.class);
+		assertEquals(10, rows.length);
+		assertEquals(9, rows[0].x);
+		assertEquals(0, database.queryAsArray("SELECT * FROM $$modes WHERE x > ?", ModeTuple.class, 99).length);
+	}
+
+	@Test
+	public void testRowCountHintIsRecorded() throws SQLException {
+		var database = getDatabase();
+		var query = "SELECT * FROM $$modes WHERE x < ?";
+		database.queryAsList(query, ModeTuple.class, 7);
+		assertEquals(7, database.getSQLTemplate(query).getRowCountHint());
+		assertEquals(3, database.queryAsList(query, ModeTuple.class, 3).size());
+		assertEquals(3, database.getSQLTemplate(query).getRowCountHint());
+	}
+
+	@Test
+	public void testInTransaction() throws SQLException {
+		var database = getDatabase();
+		var result = database.transact(xact -> {
+			xact.update("DELETE FROM $$modes WHERE x > ?", 4);
+			return Response.set(xact.queryAllAsArray("SELECT * FROM $$modes", ModeTuple.class).length);
+		});
+		assertEquals(5, result.value);
+	}
+
+}
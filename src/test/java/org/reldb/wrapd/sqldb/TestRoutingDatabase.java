@@ -0,0 +1,86 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.TestConfiguration;
+import org.reldb.wrapd.response.Response;
+import org.reldb.wrapd.sqldb.sqlite.Configuration;
+import org.reldb.wrapd.sqldb.sqlite.SQLiteCustomisations;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestRoutingDatabase {
+
+	private static DataSource getDataSource(String name) throws SQLException {
+		new DbHelper(Configuration.dbName);
+		var url = Configuration.dbURLPrefix + ":" + TestConfiguration.Directory + Configuration.dbName + "/" + name + ".sqlite";
+		var dataSource = new Pool(url, null, null).getDataSource();
+		var database = new Database(dataSource, Configuration.dbTablenamePrefix, new SQLiteCustomisations());
+		clearDb(database, new String[] {"$$routing"});
+		database.updateAll("CREATE TABLE $$routing (x INTEGER, y VARCHAR(20))");
+		database.update("INSERT INTO $$routing (x, y) VALUES (?, ?)", 1, name);
+		return dataSource;
+	}
+
+	private static RoutingDatabase getRoutingDatabase(RoutingDatabase.BalancingPolicy policy) throws SQLException {
+		return new RoutingDatabase(getDataSource("primary"), List.of(getDataSource("replica1"), getDataSource("replica2")),
+				policy, Configuration.dbTablenamePrefix, new SQLiteCustomisations());
+	}
+
+	private static Optional<?> whereAmI(Database database) throws SQLException {
+		return database.valueOfAll("SELECT y FROM $$routing WHERE x = 1");
+	}
+
+	@Test
+	public void testReadsUseReplicasInTurn() throws SQLException {
+		var database = getRoutingDatabase(new RoutingDatabase.RoundRobin());
+		assertEquals(Optional.of("replica1"), whereAmI(database));
+		assertEquals(Optional.of("replica2"), whereAmI(database));
+		assertEquals(Optional.of("replica1"), whereAmI(database));
+	}
+
+	@Test
+	public void testWritesAndTransactionsUsePrimary() throws SQLException {
+		var database = getRoutingDatabase(new RoutingDatabase.RoundRobin());
+		database.update("INSERT INTO $$routing (x, y) VALUES (?, ?)", 2, "written");
+		var result = database.transact(xact -> Response.set(xact.valueOf("SELECT y FROM $$routing WHERE x = ?", 2)));
+		assertTrue(result.isValid());
+		assertEquals(Optional.of("written"), result.value);
+		assertEquals(Optional.empty(), database.valueOf("SELECT y FROM $$routing WHERE x = ?", 2));
+	}
+
+	@Test
+	public void testOnPrimaryReadsYourWrites() throws SQLException {
+		var database = getRoutingDatabase(new RoutingDatabase.RoundRobin());
+		assertFalse(database.isOnPrimary());
+		assertEquals(Optional.of("primary"), database.onPrimary(TestRoutingDatabase::whereAmI));
+		assertFalse(database.isOnPrimary());
+		assertEquals(Optional.of("replica1"), whereAmI(database));
+	}
+
+	@Test
+	public void testLeastOutstandingAvoidsBusyReplica() throws SQLException {
+		var database = getRoutingDatabase(new RoutingDatabase.LeastOutstanding());
+		var replicas = database.getReplicas();
+		try (var stream = database.queryAllLazy("SELECT * FROM $$routing", RoutingTuple.class)) {
+			var busy = (replicas.get(0).getOutstanding() == 1) ? 0 : 1;
+			assertEquals(1, replicas.get(busy).getOutstanding());
+			for (var i = 0; i < 4; i++)
+				assertEquals(Optional.of("replica" + (2 - busy)), whereAmI(database));
+			assertEquals("replica" + (busy + 1), stream.findFirst().orElseThrow().y);
+		}
+		assertEquals(0, replicas.get(0).getOutstanding());
+		assertEquals(0, replicas.get(1).getOutstanding());
+	}
+
+	public static class RoutingTuple extends Tuple {
+		public Integer x;
+		public String y;
+	}
+
+}
@@ -0,0 +1,52 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSQLTemplate {
+
+	@Test
+	public void testTableNamePrefixSubstitution() {
+		var template = new SQLTemplate("SELECT * FROM $$a JOIN $$b ON $$a.x = $$b.x");
+		assertEquals("SELECT * FROM P_a JOIN P_b ON P_a.x = P_b.x", template.getSQL("P_"));
+		assertSame(template.getSQL("P_"), template.getSQL("P_"));
+		assertEquals("SELECT * FROM a JOIN b ON a.x = b.x", template.getSQL(""));
+	}
+
+	@Test
+	public void testTextWithoutPlaceholdersIsUnchanged() {
+		var text = "SELECT 1";
+		var template = new SQLTemplate(text);
+		assertFalse(template.hasTableNamePlaceholders());
+		assertSame(text, template.getSQL("P_"));
+	}
+
+	@Test
+	public void testParameters() {
+		var template = new SQLTemplate("SELECT * FROM $$t WHERE x = ? AND y = ?");
+		assertEquals(2, template.getParameterCount());
+		assertArrayEquals(new int[] {28, 38}, template.getParameterPositions());
+		template.checkParameterCount(template.getSQL("P_"), 1, 2);
+		assertThrows(IllegalArgumentException.class, () -> template.checkParameterCount(template.getSQL("P_"), 1));
+	}
+
+	@Test
+	public void testTemplatesAreEvictedBeyondCapacity() {
+		var database = new Database(null, "P_", null);
+		database.setSQLTemplateCacheCapacity(2);
+		var a = database.getSQLTemplate("SELECT * FROM $$a");
+		assertSame(a, database.getSQLTemplate("SELECT * FROM $$a"));
+		for (var i = 0; i < 10; i++)
+			database.getSQLTemplate("SELECT * FROM $$t" + i);
+		assertEquals(2, database.getSQLTemplateCacheSize());
+		var c = database.getSQLTemplate("SELECT * FROM $$c");
+		assertSame(c, database.getSQLTemplate("SELECT * FROM $$c"));
+		database.setSQLTemplateCacheCapacity(1);
+		assertEquals(1, database.getSQLTemplateCacheSize());
+		database.setSQLTemplateCacheCapacity(0);
+		assertEquals(0, database.getSQLTemplateCacheSize());
+		assertNotSame(database.getSQLTemplate("SELECT * FROM $$a"), database.getSQLTemplate("SELECT * FROM $$a"));
+	}
+
+}
@@ -0,0 +1,56 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.response.Response;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestScalarValueOf {
+
+	public static class ScalarTuple extends Tuple {
+		public Integer x;
+		public Integer y;
+	}
+
+	private static Database getDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$scalar"});
+		database.updateAll("CREATE TABLE $$scalar (x INTEGER, y INTEGER, PRIMARY KEY (x))");
+		for (var x = 0; x < 10; x++)
+			database.update("INSERT INTO $$scalar VALUES (?, ?)", x, x == 9 ? null : x * 10);
+		return database;
+	}
+
+	@Test
+	public void testPrimitiveValues() throws SQLException {
+		var database = getDatabase();
+		assertEquals(OptionalInt.of(30), database.intValueOf("SELECT y FROM $$scalar WHERE x = ?", 3));
+		assertEquals(OptionalLong.of(10), database.longValueOf("SELECT COUNT(*) FROM $$scalar"));
+		assertEquals(OptionalDouble.of(40.0), database.doubleValueOf("SELECT AVG(y) FROM $$scalar WHERE x < ?", 9));
+		assertEquals(OptionalInt.empty(), database.intValueOf("SELECT y FROM $$scalar WHERE x = ?", 99));
+		assertEquals(OptionalInt.empty(), database.intValueOf("SELECT y FROM $$scalar WHERE x = ?", 9));
+		assertEquals(Optional.of(0), database.valueOfAll("SELECT x FROM $$scalar ORDER BY x"));
+	}
+
+	@Test
+	public void testCachedStatementIsNotLimited() throws SQLException {
+		var database = getDatabase();
+		database.setPreparedStatementCacheSize(8);
+		var result = database.transact(xact -> {
+			var query = "SELECT * FROM $$scalar WHERE x >= ?";
+			assertEquals(OptionalInt.of(5), xact.intValueOf(query, 5));
+			return Response.set(xact.query(query, ScalarTuple.class, 5).count());
+		});
+		assertEquals(5L, result.value);
+	}
+
+}
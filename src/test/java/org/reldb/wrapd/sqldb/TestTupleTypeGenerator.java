@@ -1,14 +1,39 @@
 package org.reldb.wrapd.sqldb;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+import static org.reldb.wrapd.sqldb.Interceptor.intercept;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
 
 import org.junit.jupiter.api.Test;
 import org.reldb.wrapd.TestConfiguration;
 import org.reldb.wrapd.compiler.DirClassLoader;
 import org.reldb.wrapd.compiler.JavaCompiler;
 import org.reldb.wrapd.sqldb.TupleTypeGenerator;
+import org.reldb.wrapd.sqldb.sqlite.Configuration;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+import org.reldb.wrapd.sqldb.sqlite.SQLiteCustomisations;
 
 public class TestTupleTypeGenerator {
 
@@ -18,6 +43,29 @@ public class TestTupleTypeGenerator {
 		return baseDir + "/code";
 	}
 
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Tuple> compile(TupleTypeGenerator generator, TupleTypeGenerator.GenerateResult generateResult, String tuplePackage) throws Exception {
+		var codeDir = getCodeDirectory();
+		var compiler = new JavaCompiler(codeDir);
+		var compilation = compiler.compileJavaCode(compiler.getDefaultClassPath(), generateResult.generatedFile);
+		assertTrue(compilation.compiled, compilation.compilerMessages);
+		return (Class<? extends Tuple>)new DirClassLoader(codeDir, tuplePackage).forName(generator.getTupleClassName());
+	}
+
+	private static Database getNullableDatabase() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		var database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$nullable"});
+		database.updateAll("CREATE TABLE $$nullable (x INTEGER NOT NULL, y INTEGER, z VARCHAR(10), PRIMARY KEY (x))");
+		database.update("INSERT INTO $$nullable (x, y, z) VALUES (?, ?, ?)", 1, 10, "one");
+		database.update("INSERT INTO $$nullable (x, y, z) VALUES (?, ?, ?)", 2, null, null);
+		return database;
+	}
+
+	private static Class<?> getAttributeType(TupleTypeGenerator.GenerateResult generateResult, String name) {
+		return generateResult.attributes.stream().filter(attribute -> attribute.name.equals(name)).findFirst().orElseThrow().type;
+	}
+
 	@Test 
 	public void testTupleGenerator01() throws Exception {
 		var codeDir = getCodeDirectory();
@@ -46,6 +94,157 @@ public class TestTupleTypeGenerator {
 
 		// 4 defined fields plus serial number is 5
 		assertEquals(5, testClass.getFields().length);
+
+		// generated reflection-free mapper
+		assertNotNull(testClass.getMethod(ResultSetToTuple.MapperMethodName, ResultSet.class));
+	}
+
+	@Test
+	public void testImmutableTupleGenerator01() throws Exception {
+		var codeDir = getCodeDirectory();
+		var tuplePackage = "org.reldb.wrapd.test.tuples.tupletest.generated";
+		var tupleName = "TestImmutableTuple";
+
+		var generator = new TupleTypeGenerator(codeDir, tuplePackage, tupleName);
+		generator.destroy();
+		generator.setImmutable(true);
+		generator.addAttribute("Col1", String.class);
+		generator.addAttribute("Col2", Integer.class);
+		generator.addAttribute("Col3", byte[].class);
+		generator.addAttribute("Col4", double.class);
+		var generateResult = generator.generate();
+		var compiler = new JavaCompiler(codeDir);
+		var compilation = compiler.compileJavaCode(compiler.getDefaultClassPath(), generateResult.generatedFile);
+		assertTrue(compilation.compiled, compilation.compilerMessages);
+
+		var loader = new DirClassLoader(codeDir, tuplePackage);
+		var testClass = loader.forName(generator.getTupleClassName());
+		assertTrue(ImmutableTuple.class.isAssignableFrom(testClass));
+		assertTrue(Modifier.isFinal(testClass.getModifiers()));
+		for (Field field: testClass.getFields())
+			if (!Modifier.isStatic(field.getModifiers()))
+				assertTrue(Modifier.isFinal(field.getModifiers()));
+
+		var constructor = testClass.getConstructor(String.class, Integer.class, byte[].class, double.class);
+		var tuple1 = constructor.newInstance("x", 1, new byte[] {1, 2}, 0.5);
+		var tuple2 = constructor.newInstance("x", 1, new byte[] {1, 2}, 0.5);
+		var tuple3 = constructor.newInstance("x", null, new byte[] {1, 2}, 0.5);
+		assertEquals(tuple1, tuple2);
+		assertEquals(tuple1.hashCode(), tuple2.hashCode());
+		assertNotEquals(tuple1, tuple3);
+		assertEquals(2, new HashSet<>(List.of(tuple1, tuple2, tuple3)).size());
+	}
+
+	@Test
+	public void testChangeTrackingTupleGenerator01() throws Exception {
+		var codeDir = getCodeDirectory();
+		var tuplePackage = "org.reldb.wrapd.test.tuples.tupletest.generated";
+		var tupleName = "TestChangeTrackingTuple";
+
+		var generator = new TupleTypeGenerator(codeDir, tuplePackage, tupleName);
+		generator.destroy();
+		generator.setTableName("sometable");
+		generator.setChangeTracking(true);
+		generator.addAttribute("col1", String.class);
+		generator.addAttribute("col2", int.class);
+		var generateResult = generator.generate();
+		var compiler = new JavaCompiler(codeDir);
+		var compilation = compiler.compileJavaCode(compiler.getDefaultClassPath(), generateResult.generatedFile);
+		assertTrue(compilation.compiled, compilation.compilerMessages);
+
+		var loader = new DirClassLoader(codeDir, tuplePackage);
+		var testClass = loader.forName(generator.getTupleClassName());
+		assertTrue(UpdatableTuple.class.isAssignableFrom(testClass));
+		assertNotNull(testClass.getMethod("setCol1", String.class));
+		assertNotNull(testClass.getMethod("setCol2", int.class));
+	}
+
+	@Test
+	public void testPrimitivesOnlyForNotNullColumnsOfTableTuples() throws SQLException {
+		var database = getNullableDatabase();
+		var codeDir = getCodeDirectory();
+		var tuplePackage = "org.reldb.wrapd.test.tuples.tupletest.generated";
+		var query = "SELECT * FROM $$nullable";
+		var queryTuple = database.createTupleFromQueryAll(codeDir, tuplePackage, "TestNullableQueryTuple", query).value;
+		assertEquals(Integer.class, getAttributeType(queryTuple, "x"));
+		var tableTuple = database.createTupleFromQueryAllForUpdate(codeDir, tuplePackage, "TestNullableTableTuple", "$$nullable", query).value;
+		assertEquals(int.class, getAttributeType(tableTuple, "x"));
+		assertEquals(Integer.class, getAttributeType(tableTuple, "y"));
+		var immutableTuple = database.createImmutableTupleFromQueryAll(codeDir, tuplePackage, "TestNullableImmutableTuple", query).value;
+		assertEquals(Integer.class, getAttributeType(immutableTuple, "x"));
+	}
+
+	@Test
+	public void testNullInPrimitiveAttributeFails() throws Exception {
+		var database = getNullableDatabase();
+		var tuplePackage = "org.reldb.wrapd.test.tuples.tupletest.generated";
+		var generator = new TupleTypeGenerator(getCodeDirectory(), tuplePackage, "TestPrimitiveTuple");
+		generator.destroy();
+		generator.addAttribute("x", int.class);
+		generator.addAttribute("y", int.class);
+		var tupleClass = compile(generator, generator.generate(), tuplePackage);
+		assertEquals(1, database.queryAll("SELECT x, y FROM $$nullable WHERE y IS NOT NULL", tupleClass).count());
+		// generated mapper
+		assertThrows(SQLException.class, () -> database.queryAll("SELECT x, y FROM $$nullable", tupleClass).collect(Collectors.toList()));
+		// reflection
+		assertThrows(SQLException.class, () -> database.queryAll("SELECT y, x FROM $$nullable", tupleClass).collect(Collectors.toList()));
+		assertNull(database.queryAll("SELECT * FROM $$nullable WHERE x = 2", TestNullableTuple.class).findFirst().orElseThrow().y);
+	}
+
+	// Wrap a Statement so that the names of the methods called on its ResultSetS are recorded.
+	private static Statement recordingResultSetCalls(Statement statement, Set<String> calls) {
+		BiFunction<Method, Object, Object> recorder = (statementMethod, resultSet) -> !(resultSet instanceof ResultSet) ? resultSet
+			: intercept(ResultSet.class, (ResultSet)resultSet, (method, result) -> {
+				calls.add(method.getName());
+				return result;
+			});
+		return (statement instanceof PreparedStatement)
+			? intercept(PreparedStatement.class, (PreparedStatement)statement, recorder)
+			: intercept(Statement.class, statement, recorder);
+	}
+
+	// A DataSource that records the names of the methods called on the ResultSetS of its StatementS.
+	private static DataSource recordingResultSetCalls(DataSource dataSource, Set<String> calls) {
+		return intercept(DataSource.class, dataSource, "getConnection", connection ->
+			intercept(Connection.class, (Connection)connection, (method, statement) ->
+				(statement instanceof Statement) ? recordingResultSetCalls((Statement)statement, calls) : statement));
+	}
+
+	@Test
+	public void testGeneratedMapperIsUsedAndMatchesReflection() throws Exception {
+		getNullableDatabase();
+		var tuplePackage = "org.reldb.wrapd.test.tuples.tupletest.generated";
+		var generator = new TupleTypeGenerator(getCodeDirectory(), tuplePackage, "TestMappedNullableTuple");
+		generator.destroy();
+		generator.addAttribute("x", int.class);
+		generator.addAttribute("y", Integer.class);
+		generator.addAttribute("z", String.class);
+		var tupleClass = compile(generator, generator.generate(), tuplePackage);
+		var calls = new HashSet<String>();
+		var dataSource = recordingResultSetCalls(new Pool(Configuration.dbURL, null, null).getDataSource(), calls);
+		var database = new Database(dataSource, Configuration.dbTablenamePrefix, new SQLiteCustomisations());
+		var query = "SELECT x, y, z FROM $$nullable ORDER BY x";
+		// Reflection obtains the values of non-primitive attributes with getObject(...).
+		var reflected = database.queryAll(query, TestNullableTuple.class).collect(Collectors.toList());
+		assertTrue(calls.contains("getObject"));
+		calls.clear();
+		// The generated mapper uses typed getters.
+		var mapped = database.queryAll(query, tupleClass).collect(Collectors.toList());
+		assertTrue(calls.contains("getString"));
+		assertFalse(calls.contains("getObject"));
+		assertEquals(2, mapped.size());
+		assertEquals(reflected.size(), mapped.size());
+		for (var row = 0; row < mapped.size(); row++)
+			for (var attribute: List.of("x", "y", "z"))
+				assertEquals(TestNullableTuple.class.getField(attribute).get(reflected.get(row)), tupleClass.getField(attribute).get(mapped.get(row)));
+		assertNull(tupleClass.getField("y").get(mapped.get(1)));
+		assertNull(tupleClass.getField("z").get(mapped.get(1)));
+	}
+
+	public static class TestNullableTuple extends Tuple {
+		public int x;
+		public Integer y;
+		public String z;
 	}
 
 }
@@ -0,0 +1,180 @@
+package org.reldb.wrapd.sqldb;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reldb.wrapd.response.Result;
+import org.reldb.wrapd.sqldb.sqlite.GetDatabase;
+
+import java.sql.SQLException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.reldb.wrapd.sqldb.DbHelper.clearDb;
+
+public class TestUpdateTuples {
+
+	private static final int rowCount = 100;
+
+	private static Database database;
+
+	public static class UpdateTuple extends UpdatableTuple {
+		public Integer x;
+		public Integer y;
+		public Integer z;
+
+		public UpdateTuple() {}
+
+		public UpdateTuple(Database database) {
+			super(database);
+		}
+	}
+
+	public static class PrimitiveUpdateTuple extends UpdatableTuple {
+		public int x;
+		public long y;
+		public double z;
+
+		public PrimitiveUpdateTuple() {}
+
+		public PrimitiveUpdateTuple(Database database) {
+			super(database);
+		}
+	}
+
+	public static class ChangeTrackingUpdateTuple extends UpdatableTuple {
+		public Integer x;
+		public Integer y;
+		public Integer z;
+
+		public ChangeTrackingUpdateTuple() {}
+
+		public ChangeTrackingUpdateTuple(Database database) {
+			super(database);
+		}
+
+		@Override
+		protected boolean isChangeTracking() {
+			return true;
+		}
+
+		public void setY(Integer y) {
+			if (!isChangeRecorded("y"))
+				recordChange("y", this.y);
+			this.y = y;
+		}
+	}
+
+	@BeforeEach
+	public void setup() throws SQLException {
+		new DbHelper(org.reldb.wrapd.sqldb.sqlite.Configuration.dbName);
+		database = GetDatabase.getDatabase();
+		clearDb(database, new String[] {"$$updatetuples", "$$updatenokey"});
+		database.updateAll("CREATE TABLE $$updatetuples (x INTEGER, y INTEGER, z INTEGER, PRIMARY KEY (x))");
+		database.transact(xact -> {
+			for (var i = 0; i < rowCount; i++)
+				xact.update("INSERT INTO $$updatetuples (x, y, z) VALUES (?, ?, ?)", i, i * 2, i * 3);
+			return Result.OK;
+		});
+	}
+
+	@Test
+	public void testUpdateTuplesWithDifferentChangedColumns() throws SQLException {
+		var result = database.transact(xact -> {
+			var tuples = xact.queryAllForUpdate("SELECT * FROM $$updatetuples", UpdateTuple.class).collect(Collectors.toList());
+			for (var tuple: tuples) {
+				if (tuple.x % 3 == 0)
+					tuple.y = -tuple.y;
+				else if (tuple.x % 3 == 1) {
+					tuple.y = -tuple.y;
+					tuple.z = -tuple.z;
+				}
+			}
+			assertTrue(xact.updateTuples("$$updatetuples", tuples, 10).isEmpty());
+			return Result.OK;
+		});
+		assertTrue(result.isValid());
+		database.queryAll("SELECT * FROM $$updatetuples", UpdateTuple.class).forEach(tuple -> {
+			assertEquals((tuple.x % 3 == 2) ? tuple.x * 2 : -tuple.x * 2, (int) tuple.y);
+			assertEquals((tuple.x % 3 == 1) ? -tuple.x * 3 : tuple.x * 3, (int) tuple.z);
+		});
+	}
+
+	@Test
+	public void testUpdateTuplesFromStream() throws SQLException {
+		var failures = database.updateTuples("$$updatetuples",
+				database.queryAllForUpdate("SELECT * FROM $$updatetuples", UpdateTuple.class).peek(tuple -> tuple.z = 0), 7);
+		assertTrue(failures.isEmpty());
+		assertEquals(rowCount, database.queryAll("SELECT * FROM $$updatetuples WHERE z = 0", UpdateTuple.class).count());
+	}
+
+	@Test
+	public void testUpdatePrimitiveTuples() throws SQLException {
+		var failures = database.updateTuples("$$updatetuples",
+				database.queryAllForUpdate("SELECT * FROM $$updatetuples", PrimitiveUpdateTuple.class).peek(tuple -> {
+					if (tuple.x % 2 == 0)
+						tuple.z = 0.5;
+				}), 7);
+		assertTrue(failures.isEmpty());
+		assertEquals(rowCount / 2, database.queryAll("SELECT * FROM $$updatetuples WHERE z = 0.5", PrimitiveUpdateTuple.class).count());
+		database.queryAll("SELECT * FROM $$updatetuples WHERE z <> 0.5", PrimitiveUpdateTuple.class).forEach(tuple -> {
+			assertEquals(tuple.x * 2L, tuple.y);
+			assertEquals(tuple.x * 3.0, tuple.z);
+		});
+	}
+
+	@Test
+	public void testUpdateChangeTrackingTuples() throws SQLException {
+		var tuples = database.queryAllForUpdate("SELECT * FROM $$updatetuples", ChangeTrackingUpdateTuple.class).collect(Collectors.toList());
+		for (var tuple: tuples) {
+			assertNull(tuple.getBackup());
+			if (tuple.x % 2 == 0) {
+				tuple.setY(-1);
+				tuple.setY(-tuple.x);
+			} else if (tuple.x % 5 == 0)
+				tuple.setY(tuple.y);
+		}
+		var failures = database.updateTuples("$$updatetuples", tuples, 10);
+		assertTrue(failures.isEmpty());
+		database.queryAll("SELECT * FROM $$updatetuples", UpdateTuple.class).forEach(tuple -> {
+			assertEquals((tuple.x % 2 == 0) ? -tuple.x : tuple.x * 2, (int) tuple.y);
+			assertEquals(tuple.x * 3, (int) tuple.z);
+		});
+	}
+
+	@Test
+	public void testUpdateTupleIdentifiedByKey() throws SQLException {
+		database.updateAll("UPDATE $$updatetuples SET z = 0");
+		var result = database.transact(xact -> {
+			var tuple = xact.queryForUpdate("SELECT * FROM $$updatetuples WHERE x = ?", UpdateTuple.class, 5).findFirst().orElseThrow();
+			tuple.z = 7;
+			assertTrue(UpdatableTuple.isOk(xact.update(tuple, "$$updatetuples")));
+			return Result.OK;
+		});
+		assertTrue(result.isValid());
+		assertEquals(1, database.queryAll("SELECT * FROM $$updatetuples WHERE z = 7", UpdateTuple.class).count());
+		assertEquals(rowCount - 1, database.queryAll("SELECT * FROM $$updatetuples WHERE z = 0", UpdateTuple.class).count());
+	}
+
+	@Test
+	public void testUpdateTupleWithNullColumnInTableWithoutKey() throws SQLException {
+		database.updateAll("CREATE TABLE $$updatenokey (x INTEGER, y INTEGER, z INTEGER)");
+		database.update("INSERT INTO $$updatenokey (x, y, z) VALUES (?, ?, ?)", 1, null, 3);
+		database.update("INSERT INTO $$updatenokey (x, y, z) VALUES (?, ?, ?)", 2, 4, null);
+		database.update("INSERT INTO $$updatenokey (x, y, z) VALUES (?, ?, ?)", 3, null, null);
+		var result = database.transact(xact -> {
+			var tuple = xact.queryForUpdate("SELECT * FROM $$updatenokey WHERE x = ?", UpdateTuple.class, 1).findFirst().orElseThrow();
+			tuple.z = 30;
+			assertTrue(UpdatableTuple.isOk(xact.update(tuple, "$$updatenokey")));
+			return Result.OK;
+		});
+		assertTrue(result.isValid());
+		assertEquals(30, database.valueOf("SELECT z FROM $$updatenokey WHERE x = ?", 1).orElseThrow());
+		var failures = database.updateTuples("$$updatenokey",
+				database.queryAllForUpdate("SELECT * FROM $$updatenokey WHERE x > 1", UpdateTuple.class).peek(tuple -> tuple.y = 0), 10);
+		assertTrue(failures.isEmpty());
+		assertEquals(2, database.valueOfAll("SELECT COUNT(*) FROM $$updatenokey WHERE x > 1 AND y = 0").orElseThrow());
+	}
+
+}
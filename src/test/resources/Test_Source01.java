@@ -87,6 +87,16 @@ public class Test<db>_Source01 {
                 .forEach(row -> System.out.println("Row: a = " + row.a + " b = " + row.b + " c = " + row.c));
     }
 
+    @Test
+    public void testABC04() throws Exception {
+        var database = GetDatabase.getDatabase();
+        ClearABC.update(database);
+        populateABC(database);
+        System.out.println("== ABC (List and array) ==");
+        assertEquals(10, Abc.queryAsList(database).size());
+        assertEquals(10, new DatabaseAbstractionLayer(database).abcAsArray().length);
+    }
+
     @Test
     public void testJoin01() throws Exception {
         var database = GetDatabase.getDatabase();
@@ -104,6 +114,18 @@ public class Test<db>_Source01 {
                         " x = " + row.x + " y = " + row.y + " z = " + row.z));
     }
 
+    @Test
+    public void testImmutable01() throws Exception {
+        var database = GetDatabase.getDatabase();
+        ClearABC.update(database);
+        ClearXYZ.update(database);
+        populateABC(database);
+        populateXYZ(database);
+        System.out.println("== ImmutableABC (1007) ==");
+        assertEquals(20, ImmutableABC.queryAsList(database, 1007).size());
+        assertEquals(10, ImmutableABC.query(database, 1007).distinct().count());
+    }
+
     @Test
     public void testValueOf01() throws Exception {
         System.out.println("== ValueOfABCb ==");
@@ -136,6 +158,16 @@ public class Test<db>_Source01 {
         assertEquals(true, !result.isPresent());
     }
 
+    @Test
+    public void testValueOf04() throws Exception {
+        System.out.println("== ValueOfABCb (int) ==");
+        var database = GetDatabase.getDatabase();
+        ClearABC.update(database);
+        populateABC(database);
+        var result = ValueOfABCb.valueOfAsInt(database);
+        assertEquals(2000, result.getAsInt());
+    }
+
     @Test
     public void testDAL_abc01() throws Exception {
         var database = GetDatabase.getDatabase();
@@ -146,4 +178,14 @@ public class Test<db>_Source01 {
         dal.abc()
             .forEach(row -> System.out.println("Row: a = " + row.a + " b = " + row.b + " c = " + row.c));
     }
+
+    @Test
+    public void testDAL_abcAsync01() throws Exception {
+        var database = GetDatabase.getDatabase();
+        var dal = new DatabaseAbstractionLayer(database);
+        dal.clearABCAsync().get();
+        populateABC(database);
+        System.out.println("== ABC (async) ==");
+        assertEquals(10L, dal.abcAsync().get().count());
+    }
 }
\ No newline at end of file